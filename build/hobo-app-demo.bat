@@ -0,0 +1 @@
+java -cp lib/*;resource -Xmx768M -Xss16M -XX:+UseSerialGC -Djava.library.path=lib -Dmekon.test.default-reasoner=uk.ac.manchester.cs.factplusplus.owlapiv3.FaCTPlusPlusReasonerFactory uk.ac.manchester.cs.hobo.demo.app.HoboAppDemo
\ No newline at end of file
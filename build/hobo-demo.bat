@@ -0,0 +1 @@
+java -cp lib/*;demo/classes;resource -Xmx768M -Xss16M -XX:+UseSerialGC -Djava.library.path=lib -Dmekon.test.default-reasoner=uk.ac.manchester.cs.factplusplus.owlapiv3.FaCTPlusPlusReasonerFactory uk.ac.manchester.cs.hobo.user.explorer.HoboModelExplorer
\ No newline at end of file
@@ -0,0 +1 @@
+java -cp /root/project/build/client/* uk.ac.manchester.cs.mekon.user.explorer.MekonRemoteModelExplorer $1
\ No newline at end of file
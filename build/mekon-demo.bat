@@ -0,0 +1 @@
+java -cp lib/*;resource -Xmx768M -Xss16M -XX:+UseSerialGC -Djava.library.path=lib -Dmekon.test.default-reasoner=uk.ac.manchester.cs.factplusplus.owlapiv3.FaCTPlusPlusReasonerFactory uk.ac.manchester.cs.mekon.user.explorer.MekonModelExplorer
\ No newline at end of file
@@ -0,0 +1 @@
+java -cp lib/*;test/classes;demo/classes;resource -Xmx768M -Xss16M -XX:+UseSerialGC -Djava.library.path=lib -Dmekon.test.default-reasoner=uk.ac.manchester.cs.factplusplus.owlapiv3.FaCTPlusPlusReasonerFactory org.junit.runner.JUnitCore     uk.ac.manchester.cs.mekon.MekonTestSuite    uk.ac.manchester.cs.mekon.owl.MekonOWLTestSuite    uk.ac.manchester.cs.hobo.HoboTestSuite uk.ac.manchester.cs.mekon.basex.MekonBaseXTestSuite  
\ No newline at end of file
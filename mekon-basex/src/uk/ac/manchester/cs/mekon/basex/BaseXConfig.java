@@ -106,10 +106,11 @@ public class BaseXConfig implements BaseXConfigVocab {
 	}
 
 	/**
-	 * Sets the directory for the file-store. Defaults to a
-	 * a directory named "basex-store" under the current directory.
+	 * Sets the directory in which the database will be stored.
+	 * Defaults to a directory named "basex-store" under the current
+	 * directory.
 	 *
-	 * @param storeDirectory Directory for file-store
+	 * @param storeDirectory Directory for database
 	 */
 	public void setStoreDirectory(File storeDirectory) {
 
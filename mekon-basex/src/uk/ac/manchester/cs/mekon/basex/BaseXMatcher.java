@@ -24,8 +24,6 @@
 
 package uk.ac.manchester.cs.mekon.basex;
 
-import java.util.*;
-
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.store.motor.*;
@@ -33,19 +31,19 @@ import uk.ac.manchester.cs.mekon.store.disk.*;
 import uk.ac.manchester.cs.mekon.network.*;
 import uk.ac.manchester.cs.mekon_util.*;
 import uk.ac.manchester.cs.mekon_util.config.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
 
 /**
  * <i>BaseX</i>-specific implementation of {@link IMatcher}.
  *
  * @author Colin Puleston
  */
-public class BaseXMatcher extends NMatcher {
+public class BaseXMatcher extends NMatcher implements IBatchMatcher {
 
 	private IMatcherIndexes indexes = new LocalIndexes();
 	private QueryRenderer queryRenderer = new QueryRenderer();
 
-	private Database mainDatabase;
-	private Database tempDatabase;
+	private Database database;
 
 	/**
 	 * Constructs matcher with the default configuration (see
@@ -67,8 +65,7 @@ public class BaseXMatcher extends NMatcher {
 	 */
 	public BaseXMatcher(BaseXConfig config) {
 
-		mainDatabase = new Database(config);
-		tempDatabase = Database.createTempDB(config);
+		database = new Database(config);
 	}
 
 	/**
@@ -118,7 +115,9 @@ public class BaseXMatcher extends NMatcher {
 	 */
 	public void add(NNode instance, CIdentity identity) {
 
-		addToDatabase(mainDatabase, instance, indexes.getIndex(identity));
+		int index = indexes.getIndex(identity);
+
+		database.add(render(instance, index), index);
 	}
 
 	/**
@@ -128,7 +127,39 @@ public class BaseXMatcher extends NMatcher {
 	 */
 	public void remove(CIdentity identity) {
 
-		mainDatabase.remove(indexes.getIndex(identity));
+		database.remove(indexes.getIndex(identity));
+	}
+
+	/**
+	 * Disables automatic flushing of updates to disk on the XML
+	 * database, and defers the addition of instances to the
+	 * database, until the end of the batch (or until the next
+	 * query, if that comes first).
+	 */
+	public void startBatch() {
+
+		database.startBatch();
+	}
+
+	/**
+	 * Adds all instances whose addition has been deferred during
+	 * the batch, flushes all updates performed during the batch to
+	 * disk, and re-enables automatic flushing on the XML database.
+	 */
+	public void endBatch() {
+
+		database.endBatch();
+	}
+
+	/**
+	 * Behaves as for {@link #endBatch}, since updates already made
+	 * to the XML database during the batch cannot be rolled back,
+	 * and deferred additions must still be made in order to remain
+	 * consistent with the instance store.
+	 */
+	public void failBatch() {
+
+		database.endBatch();
 	}
 
 	/**
@@ -140,13 +171,15 @@ public class BaseXMatcher extends NMatcher {
 	 */
 	public IMatches match(NNode query) {
 
-		return new IUnrankedMatches(indexes.getIdentities(match(mainDatabase, query)));
+		String xQuery = queryRenderer.render(query);
+
+		return new IUnrankedMatches(indexes.getIdentities(database.executeQuery(xQuery)));
 	}
 
 	/**
 	 * Performs a single query-matching test by executing an
-	 * <i>XQuery</i> over a temporary XML database containing only a
-	 * single entry representing the specified instance.
+	 * <i>XQuery</i> directly over an in-memory XML rendering of the
+	 * specified instance, without reference to the database.
 	 *
 	 * @param query Query to be matched
 	 * @param instance Instance to test for matching
@@ -154,23 +187,19 @@ public class BaseXMatcher extends NMatcher {
 	 */
 	public boolean matches(NNode query, NNode instance) {
 
-		addToDatabase(tempDatabase, instance, 0);
+		String xQuery = queryRenderer.renderForSingleInstance(query);
+		String instanceVar = QueryRenderer.INSTANCE_VARIABLE;
 
-		boolean match = !match(tempDatabase, query).isEmpty();
-
-		tempDatabase.remove(0);
-
-		return match;
+		return !database.executeQuery(xQuery, instanceVar, render(instance, 0)).isEmpty();
 	}
 
 	/**
 	 * Closes the connection to the database, and, unless the matcher
-	 * is configured to persist the database, empties the file-store.
+	 * is configured to persist the database, drops the database.
 	 */
 	public void stop() {
 
-		mainDatabase.stop();
-		tempDatabase.stop();
+		database.stop();
 	}
 
 	/**
@@ -183,13 +212,8 @@ public class BaseXMatcher extends NMatcher {
 		return true;
 	}
 
-	private void addToDatabase(Database database, NNode instance, int index) {
-
-		database.add(new InstanceRenderer(instance).render(index), index);
-	}
-
-	private List<Integer> match(Database database, NNode query) {
+	private XDocument render(NNode instance, int index) {
 
-		return database.executeQuery(queryRenderer.render(query));
+		return new InstanceRenderer(instance).render(index);
 	}
 }
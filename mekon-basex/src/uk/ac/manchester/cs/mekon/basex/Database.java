@@ -25,9 +25,12 @@
 package uk.ac.manchester.cs.mekon.basex;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.Set;
+import java.util.Map;
 import java.util.List;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.ArrayList;
 
 import org.basex.core.*;
@@ -39,77 +42,99 @@ import org.basex.api.dom.*;
 
 import uk.ac.manchester.cs.mekon_util.xdoc.*;
 import uk.ac.manchester.cs.mekon_util.config.*;
-import uk.ac.manchester.cs.mekon_util.*;
 
 /**
  * @author Colin Puleston
  */
 class Database {
 
-	static private final String TEMP_DB_NAME = "TEMP-DB";
-
-	static private final String STORE_FILE_PREFIX = "INSTANCE-";
-	static private final String STORE_FILE_SUFFIX = ".xml";
-
-	static Database createTempDB(BaseXConfig config) {
-
-		return new Database(TEMP_DB_NAME, getTempDBStoreDir(config), false);
-	}
-
-	static private File getTempDBStoreDir(BaseXConfig config) {
-
-		return new File(config.getStoreDirectory(), TEMP_DB_NAME);
-	}
+	static private final String INSTANCE_PATH_PREFIX = "INSTANCE-";
 
 	private String databaseName;
 	private boolean persist;
 
-	private KFileStore fileStore = new KFileStore(STORE_FILE_PREFIX, STORE_FILE_SUFFIX);
 	private Context context = new Context();
 
+	private boolean batching = false;
+	private Map<Integer, byte[]> pendingAdds = new LinkedHashMap<Integer, byte[]>();
+
 	Database(BaseXConfig config) {
 
-		this(
-			config.getDatabaseName(),
-			config.getStoreDirectory(),
-			config.persistStore());
+		databaseName = config.getDatabaseName();
+		persist = config.persistStore();
+
+		setDatabaseDirectory(config.getStoreDirectory());
+
+		execute(new CreateDB(databaseName));
 	}
 
 	void add(XDocument instance, int index) {
 
-		File file = fileStore.getFile(index);
+		byte[] rendering = toBytes(instance);
 
-		instance.writeToFile(file);
+		if (batching) {
 
-		execute(new Add(getDatabasePath(file), file.getPath()));
+			pendingAdds.put(index, rendering);
+		}
+		else {
+
+			addToDatabase(index, rendering);
+		}
 	}
 
 	void remove(int index) {
 
-		File file = fileStore.getFile(index);
+		pendingAdds.remove(index);
+
+		execute(new Delete(getDatabasePath(index)));
+	}
+
+	void startBatch() {
+
+		batching = true;
 
-		execute(new Delete(getDatabasePath(file)));
+		setAutoFlush(false);
+	}
+
+	void endBatch() {
 
-		fileStore.removeFile(index);
+		try {
+
+			flushPendingAdds();
+			execute(new Flush());
+		}
+		finally {
+
+			batching = false;
+
+			setAutoFlush(true);
+		}
 	}
 
 	List<Integer> executeQuery(String query) {
 
+		flushPendingAdds();
+
+		return executeQuery(new QueryProcessor(query, context));
+	}
+
+	List<Integer> executeQuery(String query, String instanceVariable, XDocument instance) {
+
 		QueryProcessor proc = new QueryProcessor(query, context);
 
 		try {
 
-			return extractInstanceIndexes(proc.iter());
+			proc.bind(instanceVariable, toString(instance));
 		}
 		catch (QueryException e) {
 
+			proc.close();
+
 			throw new KSystemConfigException(e);
 		}
-		finally {
 
-			proc.close();
-		}
-    }
+		return executeQuery(proc);
+	}
 
 	void stop() {
 
@@ -125,22 +150,48 @@ class Database {
 				context = null;
 			}
 		}
+	}
+
+	private void setDatabaseDirectory(File directory) {
+
+		directory.mkdirs();
+
+		context.soptions.set(StaticOptions.DBPATH, directory.getAbsolutePath());
+	}
+
+	private void flushPendingAdds() {
 
-		if (!persist) {
+		for (Map.Entry<Integer, byte[]> entry : pendingAdds.entrySet()) {
 
-			fileStore.clear();
+			addToDatabase(entry.getKey(), entry.getValue());
 		}
+
+		pendingAdds.clear();
 	}
 
-	private Database(String databaseName, File storeDir, boolean persist) {
+	private void addToDatabase(int index, byte[] rendering) {
 
-		this.databaseName = databaseName;
-		this.persist = persist;
+		Add add = new Add(getDatabasePath(index));
 
-		fileStore.setDirectory(storeDir);
-		fileStore.clear();
+		add.setInput(new ByteArrayInputStream(rendering));
 
-		execute(new CreateDB(databaseName));
+		execute(add);
+	}
+
+	private List<Integer> executeQuery(QueryProcessor proc) {
+
+		try {
+
+			return extractInstanceIndexes(proc.iter());
+		}
+		catch (QueryException e) {
+
+			throw new KSystemConfigException(e);
+		}
+		finally {
+
+			proc.close();
+		}
 	}
 
 	private Command getStopCommand() {
@@ -148,11 +199,28 @@ class Database {
 		return persist ? new Close() : new DropDB(databaseName);
 	}
 
-	private String getDatabasePath(File file) {
+	private void setAutoFlush(boolean autoFlush) {
+
+		execute(new org.basex.core.cmd.Set(MainOptions.AUTOFLUSH, autoFlush));
+	}
+
+	private String getDatabasePath(int index) {
+
+		return INSTANCE_PATH_PREFIX + index;
+	}
+
+	private byte[] toBytes(XDocument instance) {
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		instance.writeToOutput(output);
+
+		return output.toByteArray();
+	}
 
-		String name = file.getName();
+	private String toString(XDocument instance) {
 
-		return name.substring(0, name.indexOf('.'));
+		return new String(toBytes(instance), StandardCharsets.UTF_8);
 	}
 
 	private String execute(Command command) {
@@ -34,8 +34,13 @@ import uk.ac.manchester.cs.mekon.network.*;
  */
 class QueryRenderer extends Renderer {
 
+	static final String INSTANCE_VARIABLE = "instance";
+
 	static private final String DOCS_VARIABLE = "$d";
 	static private final String DOCS_SET = "collection()";
+	static private final String INSTANCE_DOCS_SET = "parse-xml($" + INSTANCE_VARIABLE + ")";
+	static private final String INSTANCE_DECLARATION
+									= "declare variable $" + INSTANCE_VARIABLE + " external;";
 	static private final String ROOT_PATH = DOCS_VARIABLE + "/Instance";
 	static private final String INSTANCE_INDEX_PATH = ROOT_PATH + "/@" + INDEX_ATTR;
 
@@ -177,9 +182,9 @@ class QueryRenderer extends Renderer {
 			}
 		}
 
-		OneTimeRenderer(NNode rootNode) {
+		OneTimeRenderer(NNode rootNode, String docsSet) {
 
-			addForStatement(DOCS_VARIABLE, DOCS_SET);
+			addForStatement(DOCS_VARIABLE, docsSet);
 			addNodeStatements(ROOT_PATH, rootNode);
 			addStatement(whereStatement);
 			addStatement(RETURN_STATEMENT);
@@ -303,7 +308,16 @@ class QueryRenderer extends Renderer {
 
 		checkNonCyclic(rootNode);
 
-		return new OneTimeRenderer(rootNode).getRendering();
+		return new OneTimeRenderer(rootNode, DOCS_SET).getRendering();
+	}
+
+	String renderForSingleInstance(NNode rootNode) {
+
+		checkNonCyclic(rootNode);
+
+		String body = new OneTimeRenderer(rootNode, INSTANCE_DOCS_SET).getRendering();
+
+		return INSTANCE_DECLARATION + '\n' + body;
 	}
 
 	private String renderForStatement(String variable, String set) {
@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.basex;
+
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class DatabaseTest {
+
+	static private final String DATABASE_NAME = "MEKON-DATABASE-TEST";
+
+	static private final String TYPE_A = "TypeA";
+	static private final String TYPE_B = "TypeB";
+	static private final String NON_ASCII_TYPE = "Typ\u00E9";
+
+	static private final String MATCH_QUERY_FORMAT
+		= "for $d in collection() "
+		+ "where $d/Instance/Type/@id=\"%s\" "
+		+ "return $d/Instance/@index";
+
+	static private final String MATCHES_QUERY_FORMAT
+		= "declare variable $" + QueryRenderer.INSTANCE_VARIABLE + " external; "
+		+ "for $d in parse-xml($" + QueryRenderer.INSTANCE_VARIABLE + ") "
+		+ "where $d/Instance/Type/@id=\"%s\" "
+		+ "return $d/Instance/@index";
+
+	private Database database;
+
+	@Before
+	public void setUp() {
+
+		BaseXConfig config = new BaseXConfig();
+
+		config.setDatabaseName(DATABASE_NAME);
+
+		database = new Database(config);
+	}
+
+	@After
+	public void clearUp() {
+
+		database.stop();
+	}
+
+	@Test
+	public void test_batchedAddsFlushedBeforeQuery() {
+
+		database.startBatch();
+
+		add(TYPE_A, 1);
+		add(TYPE_B, 2);
+		add(TYPE_A, 3);
+
+		testMatches(TYPE_A, 1, 3);
+		testMatches(TYPE_B, 2);
+
+		database.endBatch();
+
+		testMatches(TYPE_A, 1, 3);
+		testMatches(TYPE_B, 2);
+	}
+
+	@Test
+	public void test_removeDuringBatchDropsQueuedAdd() {
+
+		add(TYPE_A, 1);
+
+		database.startBatch();
+
+		add(TYPE_A, 2);
+		add(TYPE_A, 3);
+
+		database.remove(2);
+
+		testMatches(TYPE_A, 1, 3);
+
+		database.endBatch();
+
+		testMatches(TYPE_A, 1, 3);
+	}
+
+	@Test
+	public void test_instanceMatchesViaParsedInstance() {
+
+		add(TYPE_A, 1);
+
+		testInstanceMatches(TYPE_A, TYPE_A, true);
+		testInstanceMatches(TYPE_B, TYPE_A, false);
+		testInstanceMatches(NON_ASCII_TYPE, NON_ASCII_TYPE, true);
+	}
+
+	private void add(String type, int index) {
+
+		database.add(createInstance(type, index), index);
+	}
+
+	private void testMatches(String type, Integer... expectedIndexes) {
+
+		List<Integer> indexes = database.executeQuery(renderMatchQuery(type));
+
+		assertEquals(
+			new HashSet<Integer>(Arrays.asList(expectedIndexes)),
+			new HashSet<Integer>(indexes));
+	}
+
+	private void testInstanceMatches(String instanceType, String queryType, boolean expectMatch) {
+
+		List<Integer> indexes = database.executeQuery(
+									renderMatchesQuery(queryType),
+									QueryRenderer.INSTANCE_VARIABLE,
+									createInstance(instanceType, 0));
+
+		assertEquals(expectMatch, !indexes.isEmpty());
+	}
+
+	private XDocument createInstance(String type, int index) {
+
+		XDocument document = new XDocument(Renderer.ROOT_ID);
+		XNode root = document.getRootNode();
+
+		root.setValue(Renderer.INDEX_ATTR, index);
+		root.addChild(Renderer.TYPE_ID).setValue(Renderer.ID_ATTR, type);
+
+		return document;
+	}
+
+	private String renderMatchQuery(String type) {
+
+		return String.format(MATCH_QUERY_FORMAT, type);
+	}
+
+	private String renderMatchesQuery(String type) {
+
+		return String.format(MATCHES_QUERY_FORMAT, type);
+	}
+}
@@ -33,6 +33,7 @@ import org.junit.runners.Suite.SuiteClasses;
  */
 @RunWith(Suite.class)
 @SuiteClasses({
-	BaseXMatcherTest.class})
+	BaseXMatcherTest.class,
+	DatabaseTest.class})
 public class MekonBaseXTestSuite {
 }
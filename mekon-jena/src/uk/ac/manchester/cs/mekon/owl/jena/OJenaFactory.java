@@ -24,7 +24,10 @@
 
 package uk.ac.manchester.cs.mekon.owl.jena;
 
+import java.util.*;
+
 import org.apache.jena.rdf.model.*;
+import org.apache.jena.ontology.*;
 
 import uk.ac.manchester.cs.mekon.owl.triples.*;
 
@@ -33,25 +36,91 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OJenaFactory implements OTFactory {
 
-	private Model model;
+	private OntModel model;
+	private Map<String, Model> instanceGraphs = new HashMap<String, Model>();
+	private OJenaParsedQueries parsedQueries = new OJenaParsedQueries();
+
+	private boolean batching = false;
+	private Map<String, Model> pendingGraphs = new LinkedHashMap<String, Model>();
 
 	public OTGraphAdder createGraphAdder(String contextURI) {
 
-		return new OJenaGraphAdder(model, contextURI);
+		return new OJenaGraphAdder(this, contextURI);
 	}
 
 	public OTGraphRemover createGraphRemover(String contextURI) {
 
-		return new OJenaGraphRemover(model, contextURI);
+		flushPendingGraphs();
+
+		return new OJenaGraphRemover(this, contextURI);
 	}
 
 	public OTQuery createQuery() {
 
-		return new OJenaQuery(model);
+		flushPendingGraphs();
+
+		return new OJenaQuery(model, parsedQueries);
 	}
 
-	OJenaFactory(Model model) {
+	public void startBatch() {
+
+		batching = true;
+	}
+
+	public void endBatch() {
+
+		batching = false;
+
+		flushPendingGraphs();
+	}
+
+	public void failBatch() {
+
+		endBatch();
+	}
+
+	OJenaFactory(OntModel model) {
 
 		this.model = model;
 	}
+
+	void addGraph(String graphURI, Model graph) {
+
+		if (batching) {
+
+			pendingGraphs.put(graphURI, graph);
+		}
+		else {
+
+			addGraphToModel(graphURI, graph);
+		}
+	}
+
+	void removeGraph(String graphURI) {
+
+		Model graph = instanceGraphs.remove(graphURI);
+
+		if (graph != null) {
+
+			model.remove(graph);
+		}
+	}
+
+	private void flushPendingGraphs() {
+
+		for (Map.Entry<String, Model> entry : pendingGraphs.entrySet()) {
+
+			addGraphToModel(entry.getKey(), entry.getValue());
+		}
+
+		pendingGraphs.clear();
+	}
+
+	private void addGraphToModel(String graphURI, Model graph) {
+
+		removeGraph(graphURI);
+
+		instanceGraphs.put(graphURI, graph);
+		model.add(graph);
+	}
 }
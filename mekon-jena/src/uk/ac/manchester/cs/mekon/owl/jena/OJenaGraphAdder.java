@@ -24,8 +24,6 @@
 
 package uk.ac.manchester.cs.mekon.owl.jena;
 
-import java.util.*;
-
 import org.apache.jena.rdf.model.*;
 
 import uk.ac.manchester.cs.mekon.owl.triples.*;
@@ -35,63 +33,39 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OJenaGraphAdder implements OTGraphAdder {
 
-	static private final String GRAPH_STATEMENT_URI = "urn:mekon-jena#graph-statement";
-
-	private Model model;
-
-	private Resource context;
-	private Property hasStatement;
+	private OJenaFactory factory;
+	private String contextURI;
 
-	private ValueConverter valueConverter;
-
-	private List<Statement> statements = new ArrayList<Statement>();
+	private Model graph = ModelFactory.createDefaultModel();
+	private ValueConverter valueConverter = new ValueConverter(graph);
 
 	public void addToGraph(OT_URI subject, OT_URI predicate, OTValue object) {
 
-		Statement statement = toStatement(subject, predicate, object);
-
-		statements.add(statement);
-		statements.add(createContextStatement(statement));
-	}
-
-	public void addGraphToStore() {
-
-		model.add(statements);
-	}
-
-	OJenaGraphAdder(Model model, String contextURI) {
-
-		this.model = model;
-
-		context = model.createResource(contextURI);
-		hasStatement = model.createProperty(GRAPH_STATEMENT_URI);
-
-		valueConverter = new ValueConverter(model);
-	}
-
-	private Statement toStatement(OT_URI subject, OT_URI predicate, OTValue object) {
-
 		Resource s = convertURI(subject);
 		Property p = convertPredicateURI(predicate);
 		RDFNode o = valueConverter.convert(object);
 
-		return model.createStatement(s, p, o);
+		graph.add(s, p, o);
 	}
 
-	private Statement createContextStatement(Statement statement) {
+	public void addGraphToStore() {
+
+		factory.addGraph(contextURI, graph);
+	}
 
-		ReifiedStatement ref = model.createReifiedStatement(statement);
+	OJenaGraphAdder(OJenaFactory factory, String contextURI) {
 
-		return model.createStatement(context, hasStatement, ref);
+		this.factory = factory;
+		this.contextURI = contextURI;
 	}
 
 	private Resource convertURI(OT_URI uri) {
 
-		return model.createResource(uri.toString());
+		return graph.createResource(uri.toString());
 	}
 
 	private Property convertPredicateURI(OT_URI uri) {
 
-		return model.createProperty(uri.toString());
+		return graph.createProperty(uri.toString());
 	}
 }
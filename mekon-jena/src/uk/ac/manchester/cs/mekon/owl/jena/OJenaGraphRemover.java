@@ -24,10 +24,6 @@
 
 package uk.ac.manchester.cs.mekon.owl.jena;
 
-import java.util.*;
-
-import org.apache.jena.rdf.model.*;
-
 import uk.ac.manchester.cs.mekon.owl.triples.*;
 
 /**
@@ -35,50 +31,17 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OJenaGraphRemover implements OTGraphRemover {
 
-	private Model model;
-	private Resource context;
+	private OJenaFactory factory;
+	private String contextURI;
 
 	public void removeGraphFromStore() {
 
-		for (Statement statement : getStatements()) {
-
-			removeStatement(statement);
-		}
-	}
-
-	OJenaGraphRemover(Model model, String contextURI) {
-
-		this.model = model;
-
-		context = model.createResource(contextURI);
-	}
-
-	private List<Statement> getStatements() {
-
-		StmtIterator iterator = getStatementIterator();
-		List<Statement> statements = iterator.toList();
-
-		iterator.close();
-
-		return statements;
-	}
-
-	private void removeStatement(Statement cxtStatement) {
-
-		ReifiedStatement reified = getReifiedStatement(cxtStatement);
-
-		model.remove(cxtStatement);
-		model.remove(reified.getStatement());
-		model.removeReification(reified);
-	}
-
-	private StmtIterator getStatementIterator() {
-
-		return model.listStatements(context, null, (RDFNode)null);
+		factory.removeGraph(contextURI);
 	}
 
-	private ReifiedStatement getReifiedStatement(Statement cxtStatement) {
+	OJenaGraphRemover(OJenaFactory factory, String contextURI) {
 
-		return cxtStatement.getObject().as(ReifiedStatement.class);
+		this.factory = factory;
+		this.contextURI = contextURI;
 	}
 }
@@ -37,10 +37,11 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
 class OJenaQuery implements OTQuery {
 
 	private Model model;
+	private OJenaParsedQueries parsedQueries;
 
 	private ValueConverter valueConverter;
 
-	public boolean executeAsk(String query, OTQueryConstants constants) {
+	public boolean executeAsk(OTQueryTemplate query, OTQueryConstants constants) {
 
 		QueryExecution exec = createExecution(query, constants);
 		boolean result = exec.execAsk();
@@ -50,7 +51,7 @@ class OJenaQuery implements OTQuery {
 		return result;
 	}
 
-	public Set<OT_URI> executeSelect(String query, OTQueryConstants constants) {
+	public Set<OT_URI> executeSelect(OTQueryTemplate query, OTQueryConstants constants) {
 
 		Set<OT_URI> bindings = new HashSet<OT_URI>();
 		QueryExecution exec = createExecution(query, constants);
@@ -66,16 +67,17 @@ class OJenaQuery implements OTQuery {
 		return bindings;
 	}
 
-	OJenaQuery(Model model) {
+	OJenaQuery(Model model, OJenaParsedQueries parsedQueries) {
 
 		this.model = model;
+		this.parsedQueries = parsedQueries;
 
 		valueConverter = new ValueConverter(model);
 	}
 
-	private QueryExecution createExecution(String query, OTQueryConstants constants) {
+	private QueryExecution createExecution(OTQueryTemplate query, OTQueryConstants constants) {
 
-		return createExecution(QueryFactory.create(query), constants);
+		return createExecution(parsedQueries.get(query), constants);
 	}
 
 	private QueryExecution createExecution(Query query, OTQueryConstants constants) {
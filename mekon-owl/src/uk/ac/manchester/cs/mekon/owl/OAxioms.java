@@ -42,6 +42,9 @@ class OAxioms {
 	private AxiomAdder adder = new AxiomAdder();
 	private AxiomRemover remover = new AxiomRemover();
 
+	private int batchDepth = 0;
+	private boolean reasonerFlushPending = false;
+
 	private abstract class AxiomProcessor {
 
 		void processAll(Set<? extends OWLAxiom> axioms) {
@@ -51,20 +54,31 @@ class OAxioms {
 				updateOntology(axiom);
 			}
 
+			updateOntologyCopies(axioms);
 			updateReasoner();
 		}
 
 		void process(OWLAxiom axiom) {
 
 			updateOntology(axiom);
+			updateOntologyCopies(Collections.singleton(axiom));
 			updateReasoner();
 		}
 
 		abstract void updateOntology(OWLAxiom axiom);
 
+		abstract void updateOntologyCopies(Set<? extends OWLAxiom> axioms);
+
 		private void updateReasoner() {
 
-			model.getReasoner().flush();
+			if (batchDepth > 0) {
+
+				reasonerFlushPending = true;
+			}
+			else {
+
+				model.flushReasoner();
+			}
 		}
 	}
 
@@ -74,6 +88,11 @@ class OAxioms {
 
 			OWLAPIVersion.addAxiom(ontology, axiom);
 		}
+
+		void updateOntologyCopies(Set<? extends OWLAxiom> axioms) {
+
+			model.addAxiomsToOntologyCopies(axioms);
+		}
 	}
 
 	private class AxiomRemover extends AxiomProcessor {
@@ -82,6 +101,11 @@ class OAxioms {
 
 			OWLAPIVersion.removeAxiom(ontology, axiom);
 		}
+
+		void updateOntologyCopies(Set<? extends OWLAxiom> axioms) {
+
+			model.removeAxiomsFromOntologyCopies(axioms);
+		}
 	}
 
 	private abstract class Purger {
@@ -188,6 +212,21 @@ class OAxioms {
 		remover.processAll(axioms);
 	}
 
+	synchronized void startBatch() {
+
+		batchDepth++;
+	}
+
+	synchronized void endBatch() {
+
+		if (batchDepth > 0 && --batchDepth == 0 && reasonerFlushPending) {
+
+			reasonerFlushPending = false;
+
+			model.flushReasoner();
+		}
+	}
+
 	void purge(OAxiomPurgeSpec purgeSpec) {
 
 		new DeclarationPurger(purgeSpec).purge();
@@ -26,6 +26,7 @@ package uk.ac.manchester.cs.mekon.owl;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.*;
 
 import org.semanticweb.owlapi.model.*;
 import org.semanticweb.owlapi.reasoner.*;
@@ -55,6 +56,7 @@ import uk.ac.manchester.cs.mekon_util.*;
 public class OModel {
 
 	private File mainSourceFile;
+	private List<File> sourceFiles;
 	private OWLOntologyManager manager;
 	private OWLOntology modelOntology;
 	private OWLOntology instanceOntology;
@@ -72,6 +74,13 @@ public class OModel {
 	private OAxioms modelAxioms;
 	private OAxioms instanceAxioms;
 
+	private AtomicLong reasoningGeneration = new AtomicLong(0);
+
+	private int reasonerPoolSize = 0;
+	private volatile OReasonerPool reasonerPool = null;
+
+	private OScratchOntologies scratchOntologies = new OScratchOntologies(this);
+
 	private abstract class ReasonerAccessor {
 
 		abstract OWLReasoner get();
@@ -189,6 +198,28 @@ public class OModel {
 		instanceAxioms.removeAll(axioms);
 	}
 
+	/**
+	 * Signals the start of a batch of updates to the instance-ontology
+	 * during which reasoner flushes will be deferred until the matching
+	 * invocation of {@link #endInstanceAxiomBatch}. Batches may be
+	 * nested, in which case the deferred flush will occur at the end of
+	 * the outermost batch.
+	 */
+	public void startInstanceAxiomBatch() {
+
+		instanceAxioms.startBatch();
+	}
+
+	/**
+	 * Signals the end of a batch of updates to the instance-ontology
+	 * (see {@link #startInstanceAxiomBatch}), flushing the reasoner if
+	 * any updates occurred during the batch.
+	 */
+	public void endInstanceAxiomBatch() {
+
+		instanceAxioms.endBatch();
+	}
+
 	/**
 	 * Performs axiom-purge operation in order to minimise memory usage
 	 * after the OWL-based model section has been built and the reasoner
@@ -201,6 +232,9 @@ public class OModel {
 	 */
 	public void purgeAxioms(OAxiomPurgeSpec purgeSpec) {
 
+		discardReasonerPool();
+		scratchOntologies.discard();
+
 		if (purgeSpec.retainConceptHierarchy()) {
 
 			InferredConceptHierarchy hierarchy = new InferredConceptHierarchy(this);
@@ -224,6 +258,8 @@ public class OModel {
 
 		objectProperties.initialiseForSupportedInferenceTypes();
 		dataProperties.initialiseForSupportedInferenceTypes();
+
+		checkCreateReasonerPool();
 	}
 
 	/**
@@ -232,10 +268,92 @@ public class OModel {
 	 */
 	public void updateReasoner() {
 
-		getReasoner().flush();
+		flushReasoner();
 		classify();
 	}
 
+	/**
+	 * Provides a counter that is incremented whenever the reasoner is
+	 * flushed following updates to either the model-ontology or the
+	 * instance-ontology. Can be used by components that cache the
+	 * results of reasoning operations in order to detect when those
+	 * results may no longer be valid.
+	 *
+	 * @return Current reasoning generation
+	 */
+	public long getReasoningGeneration() {
+
+		return reasoningGeneration.get();
+	}
+
+	/**
+	 * Provides the number of reasoner replicas in the pool that
+	 * supports concurrent reasoning (see {@link #startReasonerLease}).
+	 *
+	 * @return Number of replicas in pool, or zero if no pool has been
+	 * configured
+	 */
+	public int getReasonerPoolSize() {
+
+		return reasonerPoolSize;
+	}
+
+	/**
+	 * Leases a reasoner from the pool of reasoner replicas, if such a
+	 * pool has been configured, so that read-only reasoning operations
+	 * can be performed concurrently by multiple threads. Each replica
+	 * operates over an independent copy of the complete set of
+	 * ontologies, which is kept in step with any subsequent updates to
+	 * either the model-ontology or the instance-ontology. Until the
+	 * matching invocation of {@link #endReasonerLease}, all reasoning
+	 * operations performed via this model by the calling thread will
+	 * use the leased reasoner. The calling thread will block if all
+	 * replicas are currently leased. Leases may be nested, in which
+	 * case the reasoner will be returned to the pool at the end of the
+	 * outermost lease. If no pool has been configured, does nothing,
+	 * meaning that the single main reasoner will be used.
+	 * <p>
+	 * NOTE: Ontology updates must not be made by a thread whilst it
+	 * holds a lease.
+	 */
+	public void startReasonerLease() {
+
+		OReasonerPool pool = getReasonerPoolOrNull();
+
+		if (pool != null) {
+
+			pool.startLease();
+		}
+	}
+
+	/**
+	 * Ends the current reasoner lease for the calling thread (see
+	 * {@link #startReasonerLease}).
+	 */
+	public void endReasonerLease() {
+
+		OReasonerPool pool = getReasonerPoolOrNull();
+
+		if (pool != null) {
+
+			pool.endLease();
+		}
+	}
+
+	/**
+	 * Starts a session for performing reasoning over a set of transient
+	 * axioms without updating the instance-ontology (see {@link
+	 * OScratchSession}). The session should be ended via {@link
+	 * OScratchSession#end} once the required reasoning has been
+	 * performed.
+	 *
+	 * @return Started scratch session
+	 */
+	public OScratchSession startScratchSession() {
+
+		return new OScratchSession(this, scratchOntologies);
+	}
+
 	/**
 	 * Provides the OWL file from which the main entry-point
 	 * ontology was originally loaded.
@@ -247,6 +365,18 @@ public class OModel {
 		return mainSourceFile;
 	}
 
+	/**
+	 * Provides the OWL files from which the ontologies were
+	 * originally loaded, consisting of the main source file plus
+	 * any locally resolved imports.
+	 *
+	 * @return Files containing source ontologies
+	 */
+	public List<File> getSourceFiles() {
+
+		return new ArrayList<File>(sourceFiles);
+	}
+
 	/**
 	 * Provides the manager for the set of ontologies.
 	 *
@@ -299,11 +429,26 @@ public class OModel {
 
 	/**
 	 * Provides the reasoner for reasoning over the set of ontologies.
+	 * This will be the reasoner that is currently leased by the calling
+	 * thread, if applicable (see {@link #startReasonerLease}), or
+	 * otherwise the single main reasoner.
 	 *
 	 * @return Reasoner for ontologies
 	 */
 	public OWLReasoner getReasoner() {
 
+		OReasonerPool pool = reasonerPool;
+
+		if (pool != null) {
+
+			OWLReasoner leased = pool.getLeasedReasonerOrNull();
+
+			if (leased != null) {
+
+				return leased;
+			}
+		}
+
 		return reasonerAccessor.get();
 	}
 
@@ -691,6 +836,7 @@ public class OModel {
 
 	OModel(
 		File mainSourceFile,
+		List<File> sourceFiles,
 		OWLOntologyManager manager,
 		OWLOntology modelOntology,
 		OWLOntology instanceOntology,
@@ -698,6 +844,7 @@ public class OModel {
 		OReasoningType reasoningType) {
 
 		this.mainSourceFile = mainSourceFile;
+		this.sourceFiles = sourceFiles;
 		this.manager = manager;
 		this.modelOntology = modelOntology;
 		this.instanceOntology = instanceOntology;
@@ -713,6 +860,45 @@ public class OModel {
 		instanceAxioms = new OAxioms(this, instanceOntology);
 	}
 
+	void setReasonerPoolSize(int size) {
+
+		discardReasonerPool();
+
+		reasonerPoolSize = size;
+	}
+
+	void flushReasoner() {
+
+		getReasoner().flush();
+
+		if (reasonerPool != null) {
+
+			reasonerPool.flush();
+		}
+
+		reasoningGeneration.incrementAndGet();
+	}
+
+	void addAxiomsToOntologyCopies(Set<? extends OWLAxiom> axioms) {
+
+		if (reasonerPool != null) {
+
+			reasonerPool.addAxioms(axioms);
+		}
+
+		scratchOntologies.addAxioms(axioms);
+	}
+
+	void removeAxiomsFromOntologyCopies(Set<? extends OWLAxiom> axioms) {
+
+		if (reasonerPool != null) {
+
+			reasonerPool.removeAxioms(axioms);
+		}
+
+		scratchOntologies.removeAxioms(axioms);
+	}
+
 	void setIndirectNumericProperty(IRI iri) {
 
 		indirectNumericProperty = getIndirectNumericProperty(iri);
@@ -760,6 +946,30 @@ public class OModel {
 		OMonitor.pollForReasonerLoaded();
 	}
 
+	private synchronized OReasonerPool getReasonerPoolOrNull() {
+
+		checkCreateReasonerPool();
+
+		return reasonerPool;
+	}
+
+	private synchronized void checkCreateReasonerPool() {
+
+		if (reasonerPool == null && reasonerPoolSize > 0) {
+
+			reasonerPool = new OReasonerPool(this, reasonerPoolSize);
+		}
+	}
+
+	private synchronized void discardReasonerPool() {
+
+		if (reasonerPool != null) {
+
+			reasonerPool.dispose();
+			reasonerPool = null;
+		}
+	}
+
 	private OWLDataProperty getIndirectNumericProperty(IRI iri) {
 
 		if (iri == null) {
@@ -25,6 +25,7 @@
 package uk.ac.manchester.cs.mekon.owl;
 
 import java.io.*;
+import java.net.*;
 import java.util.*;
 
 import org.semanticweb.owlapi.model.*;
@@ -49,6 +50,7 @@ import uk.ac.manchester.cs.mekon_util.config.*;
 public class OModelBuilder extends OModelCreator {
 
 	private FileProvider mainSourceFileProvider;
+	private List<File> sourceFiles = new ArrayList<File>();
 	private IRI indirectNumericProperty = null;
 
 	/**
@@ -143,6 +145,8 @@ public class OModelBuilder extends OModelCreator {
 		OWLOntology mainInput = loadInputOntologies(sourceManager);
 		Set<OWLOntology> allInputs = OWLAPIVersion.getOntologies(sourceManager);
 
+		recordSourceFiles(sourceManager, allInputs);
+
 		IRI ontIRI = getOntologyIRI(mainInput);
 		OWLOntology model = createModelOntology(manager, allInputs, ontIRI);
 
@@ -164,6 +168,11 @@ public class OModelBuilder extends OModelCreator {
 		return mainSourceFileProvider.get();
 	}
 
+	List<File> getSourceFiles() {
+
+		return new ArrayList<File>(sourceFiles);
+	}
+
 	IRI getIndirectNumericProperty() {
 
 		return indirectNumericProperty;
@@ -184,6 +193,29 @@ public class OModelBuilder extends OModelCreator {
 		}
 	}
 
+	private void recordSourceFiles(OWLOntologyManager manager, Set<OWLOntology> inputs) {
+
+		sourceFiles.clear();
+		sourceFiles.add(getMainSourceFile());
+
+		for (OWLOntology input : inputs) {
+
+			File file = toFileOrNull(manager.getOntologyDocumentIRI(input));
+
+			if (file != null && !sourceFiles.contains(file)) {
+
+				sourceFiles.add(file);
+			}
+		}
+	}
+
+	private File toFileOrNull(IRI documentIRI) {
+
+		URI uri = documentIRI.toURI();
+
+		return "file".equals(uri.getScheme()) ? new File(uri) : null;
+	}
+
 	private OWLOntology loadInputOntologies(OWLOntologyManager manager) {
 
 		try {
@@ -88,6 +88,7 @@ class OModelConfig implements OModelConfigVocab {
 		builder.setReasoningType(getReasoningType());
 		builder.setIndirectNumericProperty(getIndirectNumericPropertyIRIOrNull());
 		builder.setInstanceOntologyIRI(getInstanceOntologyIRIOrNull());
+		builder.setReasonerPoolSize(configNode.getInteger(REASONER_POOL_SIZE_ATTR, 0));
 	}
 
 	private Class<? extends OWLReasonerFactory> getReasonerFactoryClass() {
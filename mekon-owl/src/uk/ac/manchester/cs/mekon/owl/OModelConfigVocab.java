@@ -39,4 +39,5 @@ public interface OModelConfigVocab {
 	static public final String REASONING_TYPE_ATTR = "reasoningType";
 	static public final String INDIRECT_NUMERIC_PROPERTY_URI_ATTR = "indirectNumericProperty";
 	static public final String INSTANCE_ONTOLOGY_URI_ATTR = "instanceOntology";
+	static public final String REASONER_POOL_SIZE_ATTR = "reasonerPoolSize";
 }
\ No newline at end of file
@@ -36,7 +36,9 @@ import uk.ac.manchester.cs.mekon.model.*;
  * object, possibly with a different type of reasoner and/or updated
  * reasoning-type. Copied models will contain only copies of the
  * contents of the model ontology. Any contents of the instance
- * ontology will not be copied.
+ * ontology will not be copied. The copied model will have a pool of
+ * reasoner replicas of the same size as that of the source model, if
+ * any (see {@link OModel#startReasonerLease}).
  *
  * @author Colin Puleston
  */
@@ -56,6 +58,7 @@ public class OModelCopier extends OModelCreator {
 		this.sourceModel = sourceModel;
 
 		setInstanceOntologyIRI(getInstanceOntologyIRI());
+		setReasonerPoolSize(sourceModel.getReasonerPoolSize());
 	}
 
 	OWLOntology createModelOntology(OWLOntologyManager manager) {
@@ -80,6 +83,11 @@ public class OModelCopier extends OModelCreator {
 		return sourceModel.getMainSourceFile();
 	}
 
+	List<File> getSourceFiles() {
+
+		return sourceModel.getSourceFiles();
+	}
+
 	IRI getIndirectNumericProperty() {
 
 		if (sourceModel.indirectNumericPropertyDefined()) {
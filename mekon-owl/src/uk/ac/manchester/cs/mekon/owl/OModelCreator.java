@@ -82,6 +82,7 @@ public abstract class OModelCreator {
 	private OWLReasonerFactory reasoner;
 	private OReasoningType reasoningType = OReasoningType.DL;
 	private IRI instancesIRI = DEFAULT_INSTANCES_IRI;
+	private int reasonerPoolSize = 0;
 
 	/**
 	 * Sets the factory to be used for creating the required reasoner.
@@ -130,6 +131,19 @@ public abstract class OModelCreator {
 		}
 	}
 
+	/**
+	 * Sets the number of reasoner replicas that are to be maintained
+	 * in order to allow concurrent reasoning operations (see {@link
+	 * OModel#startReasonerLease}). By default the size will be zero,
+	 * meaning that all operations will use the single main reasoner.
+	 *
+	 * @param size Number of reasoner replicas
+	 */
+	public void setReasonerPoolSize(int size) {
+
+		reasonerPoolSize = size;
+	}
+
 	/**
 	 * Creates and configures the required model. If the start-reasoner
 	 * option is not selected then the {@link OModel#startReasoner}
@@ -173,6 +187,8 @@ public abstract class OModelCreator {
 
 	abstract File getMainSourceFile();
 
+	abstract List<File> getSourceFiles();
+
 	abstract IRI getIndirectNumericProperty();
 
 	private OModel construct() {
@@ -181,10 +197,18 @@ public abstract class OModelCreator {
 		OWLOntologyManager man = createManager();
 		OWLOntology modOnt = createModelOntology(man);
 		OWLOntology instOnt = createInstanceOntology(man);
+		List<File> sourceFiles = getSourceFiles();
 
 		addImport(man, instOnt, getOntologyIRI(modOnt));
 
-		return new OModel(file, man, modOnt, instOnt, reasoner, reasoningType);
+		return new OModel(
+						file,
+						sourceFiles,
+						man,
+						modOnt,
+						instOnt,
+						reasoner,
+						reasoningType);
 	}
 
 	private void configure(OModel model) {
@@ -192,6 +216,8 @@ public abstract class OModelCreator {
 		model.purgeForReasoningType();
 		assertExternallyInferableHierarchy(model);
 		checkSetIndirectNumericProperty(model);
+
+		model.setReasonerPoolSize(reasonerPoolSize);
 	}
 
 	private OWLOntology createInstanceOntology(OWLOntologyManager manager) {
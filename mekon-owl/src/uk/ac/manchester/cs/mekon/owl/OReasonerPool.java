@@ -0,0 +1,265 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.owl.util.*;
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class OReasonerPool {
+
+	private OModel model;
+
+	private List<Replica> replicas = new ArrayList<Replica>();
+	private BlockingQueue<Replica> availables = new LinkedBlockingQueue<Replica>();
+
+	private ThreadLocal<Lease> leases = new ThreadLocal<Lease>();
+
+	private class Replica {
+
+		private OWLOntology ontology;
+		private OWLReasoner reasoner;
+
+		private Lock lock = new ReentrantLock();
+
+		Replica() {
+
+			ontology = createOntology();
+			reasoner = model.getReasonerFactory().createReasoner(ontology);
+
+			reasoner.precomputeInferences(InferenceType.values());
+		}
+
+		void update(Set<? extends OWLAxiom> axioms, boolean add) {
+
+			lock.lock();
+
+			try {
+
+				for (OWLAxiom axiom : axioms) {
+
+					if (add) {
+
+						OWLAPIVersion.addAxiom(ontology, axiom);
+					}
+					else {
+
+						OWLAPIVersion.removeAxiom(ontology, axiom);
+					}
+				}
+
+			}
+			finally {
+
+				lock.unlock();
+			}
+		}
+
+		void flush() {
+
+			lock.lock();
+
+			try {
+
+				reasoner.flush();
+			}
+			finally {
+
+				lock.unlock();
+			}
+		}
+
+		void dispose() {
+
+			reasoner.dispose();
+		}
+
+		private OWLOntology createOntology() {
+
+			OWLOntologyManager manager = OModelCreator.createManager();
+			IRI iri = OModelCreator.getOntologyIRI(model.getInstanceOntology());
+
+			try {
+
+				return manager.createOntology(iri, getSourceOntologies(), false);
+			}
+			catch (OWLOntologyCreationException e) {
+
+				throw new KModelException(e);
+			}
+		}
+
+		private Set<OWLOntology> getSourceOntologies() {
+
+			Set<OWLOntology> sources = new HashSet<OWLOntology>();
+
+			sources.add(model.getModelOntology());
+			sources.add(model.getInstanceOntology());
+
+			return sources;
+		}
+	}
+
+	private class Lease {
+
+		final Replica replica;
+		int depth = 1;
+
+		Lease(Replica replica) {
+
+			this.replica = replica;
+
+			replica.lock.lock();
+		}
+
+		void end() {
+
+			replica.lock.unlock();
+			availables.add(replica);
+		}
+	}
+
+	OReasonerPool(OModel model, int size) {
+
+		this.model = model;
+
+		for (int i = 0 ; i < size ; i++) {
+
+			Replica replica = new Replica();
+
+			replicas.add(replica);
+			availables.add(replica);
+		}
+	}
+
+	void startLease() {
+
+		Lease lease = leases.get();
+
+		if (lease != null) {
+
+			lease.depth++;
+		}
+		else {
+
+			leases.set(new Lease(takeReplica()));
+		}
+	}
+
+	void endLease() {
+
+		Lease lease = leases.get();
+
+		if (lease == null) {
+
+			throw new KAccessException("No reasoner currently leased by thread");
+		}
+
+		if (--lease.depth == 0) {
+
+			leases.remove();
+			lease.end();
+		}
+	}
+
+	OWLReasoner getLeasedReasonerOrNull() {
+
+		Lease lease = leases.get();
+
+		return lease != null ? lease.replica.reasoner : null;
+	}
+
+	void addAxioms(Set<? extends OWLAxiom> axioms) {
+
+		broadcast(axioms, true);
+	}
+
+	void removeAxioms(Set<? extends OWLAxiom> axioms) {
+
+		broadcast(axioms, false);
+	}
+
+	void flush() {
+
+		checkNoLease();
+
+		for (Replica replica : replicas) {
+
+			replica.flush();
+		}
+	}
+
+	void dispose() {
+
+		for (Replica replica : replicas) {
+
+			replica.dispose();
+		}
+	}
+
+	private void broadcast(Set<? extends OWLAxiom> axioms, boolean add) {
+
+		checkNoLease();
+
+		for (Replica replica : replicas) {
+
+			replica.update(axioms, add);
+		}
+	}
+
+	private void checkNoLease() {
+
+		if (leases.get() != null) {
+
+			throw new KAccessException(
+						"Cannot update ontology whilst reasoner leased by thread");
+		}
+	}
+
+	private Replica takeReplica() {
+
+		try {
+
+			return availables.take();
+		}
+		catch (InterruptedException e) {
+
+			Thread.currentThread().interrupt();
+
+			throw new KAccessException("Interrupted whilst awaiting reasoner");
+		}
+	}
+}
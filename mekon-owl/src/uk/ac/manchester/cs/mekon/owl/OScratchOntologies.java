@@ -0,0 +1,230 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.owl.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class OScratchOntologies {
+
+	private OModel model;
+
+	private List<ScratchOntology> all = new ArrayList<ScratchOntology>();
+	private Deque<ScratchOntology> idles = new ArrayDeque<ScratchOntology>();
+
+	private class Update {
+
+		final Set<OWLAxiom> axioms;
+		final boolean add;
+
+		Update(Set<? extends OWLAxiom> axioms, boolean add) {
+
+			this.axioms = new HashSet<OWLAxiom>(axioms);
+			this.add = add;
+		}
+
+		void apply(OWLOntology ontology) {
+
+			for (OWLAxiom axiom : axioms) {
+
+				if (add) {
+
+					OWLAPIVersion.addAxiom(ontology, axiom);
+				}
+				else {
+
+					OWLAPIVersion.removeAxiom(ontology, axiom);
+				}
+			}
+		}
+	}
+
+	class ScratchOntology {
+
+		private OWLOntology ontology;
+		private OWLReasoner reasoner = null;
+
+		private List<Update> pendingUpdates = new ArrayList<Update>();
+		private Set<OWLAxiom> scratchAxioms = new HashSet<OWLAxiom>();
+
+		ScratchOntology() {
+
+			ontology = createOntology();
+		}
+
+		void addAxioms(Set<? extends OWLAxiom> axioms) {
+
+			for (OWLAxiom axiom : axioms) {
+
+				if (scratchAxioms.add(axiom)) {
+
+					OWLAPIVersion.addAxiom(ontology, axiom);
+				}
+			}
+		}
+
+		OWLReasoner getFlushedReasoner() {
+
+			if (reasoner == null) {
+
+				reasoner = model.getReasonerFactory().createReasoner(ontology);
+			}
+			else {
+
+				reasoner.flush();
+			}
+
+			return reasoner;
+		}
+
+		private void applyPendingUpdates() {
+
+			for (Update update : pendingUpdates) {
+
+				update.apply(ontology);
+			}
+
+			pendingUpdates.clear();
+		}
+
+		private void clear() {
+
+			for (OWLAxiom axiom : scratchAxioms) {
+
+				OWLAPIVersion.removeAxiom(ontology, axiom);
+			}
+
+			scratchAxioms.clear();
+		}
+
+		private void dispose() {
+
+			if (reasoner != null) {
+
+				reasoner.dispose();
+			}
+		}
+
+		private OWLOntology createOntology() {
+
+			OWLOntologyManager manager = OModelCreator.createManager();
+			IRI iri = OModelCreator.getOntologyIRI(model.getInstanceOntology());
+
+			try {
+
+				return manager.createOntology(iri, getSourceOntologies(), false);
+			}
+			catch (OWLOntologyCreationException e) {
+
+				throw new KModelException(e);
+			}
+		}
+
+		private Set<OWLOntology> getSourceOntologies() {
+
+			Set<OWLOntology> sources = new HashSet<OWLOntology>();
+
+			sources.add(model.getModelOntology());
+			sources.add(model.getInstanceOntology());
+
+			return sources;
+		}
+	}
+
+	OScratchOntologies(OModel model) {
+
+		this.model = model;
+	}
+
+	synchronized ScratchOntology take() {
+
+		ScratchOntology scratch = idles.poll();
+
+		if (scratch == null) {
+
+			scratch = new ScratchOntology();
+
+			all.add(scratch);
+		}
+		else {
+
+			scratch.applyPendingUpdates();
+		}
+
+		return scratch;
+	}
+
+	synchronized void release(ScratchOntology scratch) {
+
+		scratch.clear();
+
+		if (all.contains(scratch)) {
+
+			idles.push(scratch);
+		}
+		else {
+
+			scratch.dispose();
+		}
+	}
+
+	synchronized void addAxioms(Set<? extends OWLAxiom> axioms) {
+
+		addUpdate(new Update(axioms, true));
+	}
+
+	synchronized void removeAxioms(Set<? extends OWLAxiom> axioms) {
+
+		addUpdate(new Update(axioms, false));
+	}
+
+	synchronized void discard() {
+
+		for (ScratchOntology scratch : idles) {
+
+			scratch.dispose();
+		}
+
+		all.clear();
+		idles.clear();
+	}
+
+	private void addUpdate(Update update) {
+
+		for (ScratchOntology scratch : all) {
+
+			scratch.pendingUpdates.add(update);
+		}
+	}
+}
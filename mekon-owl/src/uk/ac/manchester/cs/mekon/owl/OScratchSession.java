@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+import org.semanticweb.owlapi.reasoner.*;
+
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * Session for performing reasoning over a set of transient "scratch"
+ * axioms, such as those representing dynamically-created instances,
+ * without updating the instance-ontology, and hence without requiring
+ * a flush of the main reasoner, or of any reasoner replicas. Each
+ * session operates over a dedicated scratch ontology, which is an
+ * independent copy of the complete set of ontologies, and which has
+ * its own reasoner. Scratch axioms are buffered until the first
+ * reasoning operation of the session, and are removed when the
+ * session ends, after which the scratch ontology and reasoner become
+ * available for re-use by subsequent sessions. Scratch ontologies are
+ * brought into step with any intervening updates to either the
+ * model-ontology or the instance-ontology at the start of each
+ * session. Sessions are obtained via {@link OModel#startScratchSession}.
+ * <p>
+ * NOTE: A session should only be accessed by a single thread.
+ *
+ * @author Colin Puleston
+ */
+public class OScratchSession {
+
+	private OScratchOntologies scratchOntologies;
+	private OWLDataFactory dataFactory;
+	private OScratchOntologies.ScratchOntology scratch;
+
+	private OWLReasoner reasoner = null;
+
+	/**
+	 * Adds a set of scratch axioms to the session. Must be invoked
+	 * prior to any reasoning operations.
+	 *
+	 * @param axioms Axioms to be added
+	 * @throws KAccessException if reasoning operations have already
+	 * been performed, or the session has ended
+	 */
+	public void addAxioms(Set<? extends OWLAxiom> axioms) {
+
+		checkActive();
+
+		if (reasoner != null) {
+
+			throw new KAccessException(
+						"Cannot add scratch axioms after reasoning has started");
+		}
+
+		scratch.addAxioms(axioms);
+	}
+
+	/**
+	 * Tests whether an individual has a specific type, based on the
+	 * combination of the scratch axioms and the full set of ontologies.
+	 *
+	 * @param individual Individual to test
+	 * @param type Type to test for
+	 * @return True if individual has specified type
+	 * @throws KAccessException if the session has ended
+	 */
+	public boolean hasType(OWLIndividual individual, OWLClassExpression type) {
+
+		return getReasoner()
+				.isEntailed(
+					dataFactory
+						.getOWLClassAssertionAxiom(
+							type,
+							individual));
+	}
+
+	/**
+	 * Provides the reasoner for the session, which will be flushed on
+	 * the first invocation, in order to register the scratch axioms,
+	 * together with any outstanding updates to the copied ontologies.
+	 *
+	 * @return Reasoner for session
+	 * @throws KAccessException if the session has ended
+	 */
+	public OWLReasoner getReasoner() {
+
+		checkActive();
+
+		if (reasoner == null) {
+
+			reasoner = scratch.getFlushedReasoner();
+		}
+
+		return reasoner;
+	}
+
+	/**
+	 * Ends the session, removing all scratch axioms and making the
+	 * scratch ontology available for re-use. Does nothing if the
+	 * session has already ended.
+	 */
+	public void end() {
+
+		if (scratch != null) {
+
+			scratchOntologies.release(scratch);
+
+			scratch = null;
+			reasoner = null;
+		}
+	}
+
+	OScratchSession(OModel model, OScratchOntologies scratchOntologies) {
+
+		this.scratchOntologies = scratchOntologies;
+
+		dataFactory = model.getDataFactory();
+
+		scratch = scratchOntologies.take();
+	}
+
+	private void checkActive() {
+
+		if (scratch == null) {
+
+			throw new KAccessException("Scratch session has ended");
+		}
+	}
+}
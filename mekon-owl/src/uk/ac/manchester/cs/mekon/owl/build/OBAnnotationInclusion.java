@@ -138,11 +138,33 @@ public class OBAnnotationInclusion {
 		valueSubstitutions.put(owlValue, framesValue);
 	}
 
+	void addToSignature(OBConfigSignature signature) {
+
+		List<Object> fields = new ArrayList<Object>();
+
+		fields.add(annotationPropertyIRI);
+		fields.add(framesAnnotationId);
+		fields.add(valueSeparators);
+
+		for (Map.Entry<String, String> sub : getSortedValueSubstitutions()) {
+
+			fields.add(sub.getKey());
+			fields.add(sub.getValue());
+		}
+
+		signature.add("annotation-inclusion", fields.toArray());
+	}
+
 	void checkAdd(OModel model, OWLEntity owlEntity, CAnnotationsEditor editor) {
 
 		getEntityAnnotator(model).checkAdd(owlEntity, editor);
 	}
 
+	private Set<Map.Entry<String, String>> getSortedValueSubstitutions() {
+
+		return new TreeMap<String, String>(valueSubstitutions).entrySet();
+	}
+
 	private EntityAnnotator getEntityAnnotator(OModel model) {
 
 		if (entityAnnotator == null) {
@@ -211,6 +211,19 @@ public class OBAnnotations {
 		expressionLabels.setAllowCarriageReturns(false);
 	}
 
+	void addToSignature(OBConfigSignature signature) {
+
+		signature.add(
+			"frame-definitions",
+			annotateFramesWithOWLDefinitions,
+			annotateFramesWithMekonDefinitions);
+
+		for (OBAnnotationInclusion inclusion : inclusions) {
+
+			inclusion.addToSignature(signature);
+		}
+	}
+
 	void checkAnnotateFrame(CBuilder builder, CFrame frame, OWLEntity owlEntity) {
 
 		CAnnotationsEditor editor = builder.getFrameAnnotationsEditor(frame);
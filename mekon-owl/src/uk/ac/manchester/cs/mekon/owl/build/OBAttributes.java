@@ -24,10 +24,14 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import org.semanticweb.owlapi.model.*;
+
 /**
  * @author Colin Puleston
  */
 abstract class OBAttributes<A extends OBAttributes<A>> {
 
 	abstract A update(A updates);
+
+	abstract void addToSignature(OBConfigSignature signature, OWLEntity entity);
 }
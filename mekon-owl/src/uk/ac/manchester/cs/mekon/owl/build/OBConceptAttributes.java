@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import org.semanticweb.owlapi.model.*;
+
 /**
  * Represents a set of attributes that will determine the details
  * of the entities generated in the Frames Model (FM) for a
@@ -55,6 +57,11 @@ public class OBConceptAttributes extends OBAttributes<OBConceptAttributes> {
 		return updated;
 	}
 
+	void addToSignature(OBConfigSignature signature, OWLEntity entity) {
+
+		signature.add("concept", entity.getIRI(), hidden);
+	}
+
 	boolean hidden() {
 
 		return hidden;
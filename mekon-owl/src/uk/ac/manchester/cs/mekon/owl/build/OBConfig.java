@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import java.io.*;
+
 import org.semanticweb.owlapi.model.*;
 
 import uk.ac.manchester.cs.mekon_util.config.*;
@@ -51,6 +53,7 @@ class OBConfig implements OBConfigVocab {
 		setAxiomPurgePolicy(builder);
 		setAnnotateFramesWithOWLDefinitions(builder);
 		setAnnotateFramesWithMekonDefinitions(builder);
+		checkSetSnapshotFile(builder);
 	}
 
 	private void addConcepts(OBSectionBuilder builder) {
@@ -130,6 +133,26 @@ class OBConfig implements OBConfigVocab {
 		annos.setAnnotateFramesWithMekonDefinitions(annotateFramesWithMekonDefinitions());
 	}
 
+	private void checkSetSnapshotFile(OBSectionBuilder builder) {
+
+		String path = configNode.getString(SNAPSHOT_FILE_ATTR, null);
+
+		if (path != null) {
+
+			File configFile = configNode.getConfigFile().getFile();
+
+			builder.setSnapshotFile(resolveSnapshotFile(path, configFile));
+			builder.addSnapshotSourceFile(configFile);
+		}
+	}
+
+	private File resolveSnapshotFile(String path, File configFile) {
+
+		File file = new File(path);
+
+		return file.isAbsolute() ? file : new File(configFile.getParentFile(), path);
+	}
+
 	private OBAnnotationInclusion getAnnotationInclusion(KConfigNode incNode) {
 
 		IRI iri = getAnnotationPropertyIRI(incNode);
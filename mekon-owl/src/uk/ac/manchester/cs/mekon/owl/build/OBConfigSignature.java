@@ -0,0 +1,74 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.build;
+
+import java.util.*;
+
+/**
+ * Canonical rendering of the configuration of an {@link
+ * OBSectionBuilder}, irrespective of whether that configuration
+ * was specified via a configuration file or directly in code.
+ * Each configured item is represented by an entry whose fields are
+ * length-prefixed, with the entries being held in sorted order.
+ *
+ * @author Colin Puleston
+ */
+class OBConfigSignature {
+
+	static private final String NULL_FIELD = "~";
+
+	private SortedSet<String> entries = new TreeSet<String>();
+
+	void add(String itemType, Object... fields) {
+
+		StringBuilder entry = new StringBuilder(itemType);
+
+		for (Object field : fields) {
+
+			entry.append('|');
+			entry.append(renderField(field));
+		}
+
+		entries.add(entry.toString());
+	}
+
+	SortedSet<String> getEntries() {
+
+		return entries;
+	}
+
+	private String renderField(Object field) {
+
+		if (field == null) {
+
+			return NULL_FIELD;
+		}
+
+		String value = field.toString();
+
+		return value.length() + ":" + value;
+	}
+}
@@ -47,6 +47,7 @@ public interface OBConfigVocab {
 	static public final String ANNOTATE_FRAMES_WITH_OWL_DEFNS_ATTR = "annotateFramesWithOWLDefinitions";
 	static public final String ANNOTATE_FRAMES_WITH_MEKON_DEFNS_ATTR = "annotateFramesWithMekonDefinitions";
 	static public final String AXIOM_PURGE_POLICY_ATTR = "axiomPurgePolicy";
+	static public final String SNAPSHOT_FILE_ATTR = "snapshotFile";
 	static public final String ROOT_ENTITY_URI_ATTR = "rootURI";
 	static public final String ENTITY_INCLUSION_ATTR = "inclusion";
 	static public final String CONCEPT_HIDING_CANDIDATES_ATTR = "conceptHidingCandidates";
@@ -150,6 +150,14 @@ public abstract class OBEntities
 		entitiesToAttributes.put(entity, attributes);
 	}
 
+	void addToSignature(OBConfigSignature signature) {
+
+		for (Map.Entry<E, A> entry : entitiesToAttributes.entrySet()) {
+
+			entry.getValue().addToSignature(signature, entry.getKey());
+		}
+	}
+
 	abstract void addGroupEntity(G group, E entity, EntityLocation location);
 
 	abstract A createAttributes();
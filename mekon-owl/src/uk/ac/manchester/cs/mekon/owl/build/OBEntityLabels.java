@@ -42,6 +42,8 @@ public class OBEntityLabels {
 	private OModel model;
 	private OAnnotationReader annotationReader;
 
+	private List<IRI> annotationPropIRIs = new ArrayList<IRI>();
+
 	/**
 	 * Adds an annotation-property that will provide entity
 	 * labels. If specified property is not present in the ontology
@@ -56,6 +58,7 @@ public class OBEntityLabels {
 		if (props.contains(annotationPropIRI)) {
 
 			annotationReader.addProperty(props.get(annotationPropIRI));
+			annotationPropIRIs.add(annotationPropIRI);
 		}
 	}
 
@@ -80,6 +83,14 @@ public class OBEntityLabels {
 		annotationReader = new OAnnotationReader(model);
 	}
 
+	void addToSignature(OBConfigSignature signature) {
+
+		for (int i = 0 ; i < annotationPropIRIs.size() ; i++) {
+
+			signature.add("label-property", i, annotationPropIRIs.get(i));
+		}
+	}
+
 	String getLabel(OWLEntity entity) {
 
 		for (String label : annotationReader.getAllValues(entity)) {
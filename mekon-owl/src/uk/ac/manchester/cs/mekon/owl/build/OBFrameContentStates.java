@@ -0,0 +1,114 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.build;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * Records the content of a set of frames, so that it can be
+ * determined whether any of them have subsequently been modified.
+ *
+ * @author Colin Puleston
+ */
+class OBFrameContentStates {
+
+	private Map<CFrame, List<Object>> statesByFrame = new HashMap<CFrame, List<Object>>();
+
+	OBFrameContentStates(Collection<CFrame> frames) {
+
+		for (CFrame frame : frames) {
+
+			statesByFrame.put(frame, getState(frame));
+		}
+	}
+
+	Set<CFrame> getFrames() {
+
+		return statesByFrame.keySet();
+	}
+
+	boolean anyModified() {
+
+		for (Map.Entry<CFrame, List<Object>> entry : statesByFrame.entrySet()) {
+
+			if (!entry.getValue().equals(getState(entry.getKey()))) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private List<Object> getState(CFrame frame) {
+
+		List<Object> state = new ArrayList<Object>();
+
+		state.add(new ArrayList<CFrame>(frame.getSupers()));
+		state.add(new ArrayList<CFrame>(frame.getSubs()));
+
+		addSlotStates(state, frame);
+		addSlotValueStates(state, frame.getSlotValues());
+		addAnnotationStates(state, frame.getAnnotations());
+
+		return state;
+	}
+
+	private void addSlotStates(List<Object> state, CFrame frame) {
+
+		for (CSlot slot : frame.getSlots().asList()) {
+
+			CEditability editability = slot.getEditability();
+
+			state.add(slot.getIdentity());
+			state.add(slot.getValueType());
+			state.add(slot.getCardinality());
+			state.add(slot.getActivation());
+			state.add(editability.forAssertions());
+			state.add(editability.forQueries());
+		}
+	}
+
+	private void addSlotValueStates(List<Object> state, CSlotValues slotValues) {
+
+		for (CIdentity slotId : slotValues.getSlotIdentities()) {
+
+			state.add(slotId);
+			state.add(new ArrayList<CValue<?>>(slotValues.getValues(slotId)));
+		}
+	}
+
+	private void addAnnotationStates(List<Object> state, CAnnotations annotations) {
+
+		for (Object key : annotations.getKeys()) {
+
+			state.add(key);
+			state.add(new ArrayList<Object>(annotations.getAll(key)));
+		}
+	}
+}
@@ -56,6 +56,11 @@ class OBFrames {
 		this.iReasoner = iReasoner;
 	}
 
+	IReasoner getIReasoner() {
+
+		return iReasoner;
+	}
+
 	void createAll() {
 
 		createAllForConcepts();
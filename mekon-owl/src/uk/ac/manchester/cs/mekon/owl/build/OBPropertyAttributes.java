@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import org.semanticweb.owlapi.model.*;
+
 import uk.ac.manchester.cs.mekon.model.*;
 
 /**
@@ -141,6 +143,19 @@ public class OBPropertyAttributes extends OBAttributes<OBPropertyAttributes> {
 		return updated;
 	}
 
+	void addToSignature(OBConfigSignature signature, OWLEntity entity) {
+
+		signature.add(
+			"property",
+			entity.getIRI(),
+			frameSource,
+			slotCardinality,
+			slotAssertionsEditability,
+			slotQueriesEditability,
+			slotSources,
+			frameSlotsPolicy);
+	}
+
 	boolean frameSource() {
 
 		return frameSource;
@@ -24,6 +24,7 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import java.io.*;
 import java.util.*;
 
 import org.semanticweb.owlapi.model.*;
@@ -72,6 +73,9 @@ public class OBSectionBuilder implements CSectionBuilder {
 
 	private OBAxiomPurgePolicy axiomPurgePolicy = OBAxiomPurgePolicy.RETAIN_ALL;
 
+	private File snapshotFile = null;
+	private Set<File> snapshotSourceFiles = new HashSet<File>();
+
 	/**
 	 * Constructs section-builder with configuration defined via the
 	 * appropriately-tagged child of the specified
@@ -189,6 +193,32 @@ public class OBSectionBuilder implements CSectionBuilder {
 		this.axiomPurgePolicy = axiomPurgePolicy;
 	}
 
+	/**
+	 * Sets the file in which a compiled snapshot of the generated
+	 * model-section is to be maintained. If the file exists and
+	 * contains a snapshot whose fingerprint matches the current
+	 * source files then the section will be re-created directly from
+	 * the snapshot, bypassing the sanctioning mechanism. Otherwise
+	 * the section will be built in the standard manner and the
+	 * snapshot (re)written. The fingerprint is derived from the
+	 * locations, sizes and modification-times of the local files
+	 * from which the OWL ontologies were loaded, plus those of any
+	 * relevant configuration file, together with a canonical
+	 * rendering of the builder configuration itself, whether that
+	 * was specified via file or directly in code. A snapshot only
+	 * records the frames created by the section, so if building the
+	 * section modifies any frames that already existed (by adding
+	 * slots, slot-values, annotations or sub/super-frame links) then
+	 * no snapshot will be written, and any existing one deleted. By
+	 * default no snapshot is used.
+	 *
+	 * @param snapshotFile File for compiled snapshot of section
+	 */
+	public void setSnapshotFile(File snapshotFile) {
+
+		this.snapshotFile = snapshotFile;
+	}
+
 	/**
 	 * Provides the model over which the sanctioning is operating.
 	 *
@@ -256,14 +286,22 @@ public class OBSectionBuilder implements CSectionBuilder {
 
 	/**
 	 * Builds the model-section from the set of OWL ontologies via
-	 * the standard sanctioning mechanism.
+	 * the standard sanctioning mechanism, or directly from the
+	 * compiled snapshot if one has been specified and is up-to-date
+	 * (see {@link #setSnapshotFile}).
 	 *
 	 * @param builder Builder for use in building model-section
 	 */
 	public void build(CBuilder builder) {
 
-		buildIntermediate();
-		buildFinal(builder);
+		if (snapshotFile != null) {
+
+			buildViaSnapshot(builder);
+		}
+		else {
+
+			buildFromOntologies(builder);
+		}
 
 		if (iMatcher != null) {
 
@@ -294,6 +332,11 @@ public class OBSectionBuilder implements CSectionBuilder {
 		annotations = new OBAnnotations(model, frames, slots, labels);
 	}
 
+	void addSnapshotSourceFile(File sourceFile) {
+
+		snapshotSourceFiles.add(sourceFile);
+	}
+
 	void initialise(OModel model, KConfigNode parentConfigNode) {
 
 		initialise(model);
@@ -311,6 +354,50 @@ public class OBSectionBuilder implements CSectionBuilder {
 		}
 	}
 
+	private void buildViaSnapshot(CBuilder builder) {
+
+		OBSnapshot snapshot = new OBSnapshot(
+									snapshotFile,
+									model,
+									snapshotSourceFiles,
+									createConfigSignature());
+
+		if (!snapshot.checkLoad(builder, frames.getIReasoner())) {
+
+			OBFrameContentStates preBuildStates = createFrameContentStates(builder);
+
+			buildFromOntologies(builder);
+
+			if (preBuildStates.anyModified()) {
+
+				snapshot.discard();
+			}
+			else {
+
+				snapshot.save(getNewFrames(builder, preBuildStates.getFrames()));
+			}
+		}
+	}
+
+	private OBConfigSignature createConfigSignature() {
+
+		OBConfigSignature signature = new OBConfigSignature();
+
+		labels.addToSignature(signature);
+		concepts.addToSignature(signature);
+		properties.addToSignature(signature);
+		slots.addToSignature(signature);
+		annotations.addToSignature(signature);
+
+		return signature;
+	}
+
+	private void buildFromOntologies(CBuilder builder) {
+
+		buildIntermediate();
+		buildFinal(builder);
+	}
+
 	private void buildIntermediate() {
 
 		frames.createAll();
@@ -341,6 +428,26 @@ public class OBSectionBuilder implements CSectionBuilder {
 		}
 	}
 
+	private OBFrameContentStates createFrameContentStates(CBuilder builder) {
+
+		return new OBFrameContentStates(builder.getFrames().asList());
+	}
+
+	private List<CFrame> getNewFrames(CBuilder builder, Set<CFrame> preBuildFrames) {
+
+		List<CFrame> newFrames = new ArrayList<CFrame>();
+
+		for (CFrame frame : builder.getFrames().asList()) {
+
+			if (!preBuildFrames.contains(frame)) {
+
+				newFrames.add(frame);
+			}
+		}
+
+		return newFrames;
+	}
+
 	private OBAxiomPurgeSpec createAxiomPurgeSpec() {
 
 		return new OBAxiomPurgeSpec(retainConceptHierarchy(), concepts, properties);
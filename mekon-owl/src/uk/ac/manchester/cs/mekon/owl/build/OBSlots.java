@@ -318,6 +318,11 @@ class OBSlots {
 		defaultFrameSlotsPolicy = value;
 	}
 
+	void addToSignature(OBConfigSignature signature) {
+
+		signature.add("slot-defaults", defaultSlotSources, defaultFrameSlotsPolicy);
+	}
+
 	void createAll() {
 
 		new OBRestrictionSlotDeriver(model, this, concepts, properties).createAll();
@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.build;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.security.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon.model.serial.*;
+import uk.ac.manchester.cs.mekon.owl.*;
+import uk.ac.manchester.cs.mekon_util.config.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * @author Colin Puleston
+ */
+class OBSnapshot {
+
+	static private final String FORMAT_VERSION = "2";
+	static private final String DIGEST_ALGORITHM = "SHA-256";
+	static private final int FILE_BUFFER_SIZE = 8192;
+	static private final String UNREADABLE_FILE_MARKER = "~";
+
+	private File file;
+	private String fingerprint;
+
+	OBSnapshot(
+		File file,
+		OModel model,
+		Collection<File> extraSourceFiles,
+		OBConfigSignature configSignature) {
+
+		this.file = file;
+
+		fingerprint = createFingerprint(
+							getSourceFiles(model, extraSourceFiles),
+							configSignature);
+	}
+
+	boolean checkLoad(CBuilder builder, IReasoner iReasoner) {
+
+		XDocument document = checkReadDocument();
+
+		if (document == null) {
+
+			return false;
+		}
+
+		CModelSnapshotParser parser = new CModelSnapshotParser();
+
+		if (!fingerprint.equals(parser.getFingerprint(document))) {
+
+			return false;
+		}
+
+		parser.setIReasoner(iReasoner);
+		parser.parse(document, builder);
+
+		return true;
+	}
+
+	void save(Collection<CFrame> frames) {
+
+		new CModelSnapshotRenderer().render(frames, fingerprint).writeToFile(file);
+	}
+
+	void discard() {
+
+		if (file.exists()) {
+
+			file.delete();
+		}
+	}
+
+	private XDocument checkReadDocument() {
+
+		if (!file.exists()) {
+
+			return null;
+		}
+
+		try {
+
+			return new XDocument(file);
+		}
+		catch (XDocumentException e) {
+
+			return null;
+		}
+	}
+
+	private SortedSet<File> getSourceFiles(OModel model, Collection<File> extraSourceFiles) {
+
+		SortedSet<File> files = new TreeSet<File>(extraSourceFiles);
+
+		files.addAll(model.getSourceFiles());
+
+		return files;
+	}
+
+	private String createFingerprint(
+						SortedSet<File> sourceFiles,
+						OBConfigSignature configSignature) {
+
+		MessageDigest digest = createDigest();
+
+		digest.update(FORMAT_VERSION.getBytes());
+
+		for (File sourceFile : sourceFiles) {
+
+			updateDigest(digest, sourceFile);
+		}
+
+		for (String configEntry : configSignature.getEntries()) {
+
+			updateDigest(digest, configEntry);
+		}
+
+		return toHexString(digest.digest());
+	}
+
+	private void updateDigest(MessageDigest digest, String item) {
+
+		digest.update((item.length() + ":" + item).getBytes(StandardCharsets.UTF_8));
+	}
+
+	private void updateDigest(MessageDigest digest, File sourceFile) {
+
+		updateDigest(digest, sourceFile.getAbsolutePath());
+
+		try {
+
+			InputStream input = new FileInputStream(sourceFile);
+
+			try {
+
+				byte[] buffer = new byte[FILE_BUFFER_SIZE];
+
+				for (int n ; (n = input.read(buffer)) != -1 ; ) {
+
+					digest.update(buffer, 0, n);
+				}
+			}
+			finally {
+
+				input.close();
+			}
+
+			updateDigest(digest, Long.toString(sourceFile.length()));
+		}
+		catch (IOException e) {
+
+			updateDigest(digest, UNREADABLE_FILE_MARKER);
+		}
+	}
+
+	private MessageDigest createDigest() {
+
+		try {
+
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		}
+		catch (NoSuchAlgorithmException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	private String toHexString(byte[] bytes) {
+
+		StringBuilder hex = new StringBuilder();
+
+		for (byte b : bytes) {
+
+			hex.append(String.format("%02x", b));
+		}
+
+		return hex.toString();
+	}
+}
@@ -27,7 +27,6 @@ package uk.ac.manchester.cs.mekon.owl.reason;
 import java.util.*;
 
 import org.semanticweb.owlapi.model.*;
-import org.semanticweb.owlapi.reasoner.*;
 
 import uk.ac.manchester.cs.mekon.network.*;
 import uk.ac.manchester.cs.mekon.owl.*;
@@ -38,9 +37,7 @@ import uk.ac.manchester.cs.mekon.owl.util.*;
  */
 class IndividualNetwork extends InstanceConstruct {
 
-	private OModel model;
-
-	private IndividualsRenderer renderer;
+	private OScratchSession scratchSession;
 	private OWLNamedIndividual rootIndividual;
 
 	IndividualNetwork(
@@ -49,20 +46,18 @@ class IndividualNetwork extends InstanceConstruct {
 		IRI rootIRI,
 		IndividualsRenderer renderer) {
 
-		this.model = model;
-		this.renderer = renderer;
-
-		rootIndividual = renderer.render(node, rootIRI);
+		scratchSession = model.startScratchSession();
+		rootIndividual = renderer.render(node, rootIRI, scratchSession);
 	}
 
 	boolean matches(ConceptExpression queryExpression) {
 
-		return model.hasType(rootIndividual, queryExpression.getOWLConstruct());
+		return scratchSession.hasType(rootIndividual, queryExpression.getOWLConstruct());
 	}
 
 	void cleanUp() {
 
-		renderer.removeGroup(rootIndividual);
+		scratchSession.end();
 	}
 
 	boolean suggestsTypes() {
@@ -77,16 +72,14 @@ class IndividualNetwork extends InstanceConstruct {
 
 	Set<OWLClass> getInferredTypes() {
 
-		return OWLAPIVersion.getEntities(getReasoner().getTypes(rootIndividual, true));
+		return OWLAPIVersion.getEntities(
+					scratchSession
+						.getReasoner()
+						.getTypes(rootIndividual, true));
 	}
 
 	Set<OWLClass> getSuggestedTypes() {
 
 		throw new Error("Method should never be invoked!");
 	}
-
-	private OWLReasoner getReasoner() {
-
-		return model.getReasoner();
-	}
 }
@@ -43,13 +43,10 @@ class IndividualsRenderer {
 	private Map<IRI, OWLNamedIndividual> rootIndividualsByIRI
 							= new HashMap<IRI, OWLNamedIndividual>();
 
-	private Map<OWLNamedIndividual, IRI> rootIRIsByIndividual
-							= new HashMap<OWLNamedIndividual, IRI>();
-
 	private Map<OWLNamedIndividual, Set<OWLAxiom>> axiomsByRootIndividual
 							= new HashMap<OWLNamedIndividual, Set<OWLAxiom>>();
 
-	private class GroupRenderer extends Renderer<OWLNamedIndividual> {
+	private abstract class GroupRenderer extends Renderer<OWLNamedIndividual> {
 
 		private NNode rootNode;
 		private IRI rootIRI;
@@ -186,7 +183,6 @@ class IndividualsRenderer {
 
 				if (!isAxiom(axiom)) {
 
-					model.addInstanceAxiom(axiom);
 					axioms.add(axiom);
 				}
 			}
@@ -218,9 +214,7 @@ class IndividualsRenderer {
 
 			OWLNamedIndividual rootIndividual = renderNode(rootNode);
 
-			rootIndividualsByIRI.put(rootIRI, rootIndividual);
-			rootIRIsByIndividual.put(rootIndividual, rootIRI);
-			axiomsByRootIndividual.put(rootIndividual, axioms);
+			addAxioms(rootIndividual, rootIRI, axioms);
 
 			return rootIndividual;
 		}
@@ -239,6 +233,50 @@ class IndividualsRenderer {
 
 			return dataFactory.getOWLObjectOneOf(operands);
 		}
+
+		abstract void addAxioms(
+							OWLNamedIndividual rootIndividual,
+							IRI rootIRI,
+							Set<OWLAxiom> axioms);
+	}
+
+	private class InstanceOntologyGroupRenderer extends GroupRenderer {
+
+		InstanceOntologyGroupRenderer(NNode rootNode, IRI rootIRI) {
+
+			super(rootNode, rootIRI);
+		}
+
+		void addAxioms(
+				OWLNamedIndividual rootIndividual,
+				IRI rootIRI,
+				Set<OWLAxiom> axioms) {
+
+			model.addInstanceAxioms(axioms);
+
+			rootIndividualsByIRI.put(rootIRI, rootIndividual);
+			axiomsByRootIndividual.put(rootIndividual, axioms);
+		}
+	}
+
+	private class ScratchGroupRenderer extends GroupRenderer {
+
+		private OScratchSession scratchSession;
+
+		ScratchGroupRenderer(NNode rootNode, IRI rootIRI, OScratchSession scratchSession) {
+
+			super(rootNode, rootIRI);
+
+			this.scratchSession = scratchSession;
+		}
+
+		void addAxioms(
+				OWLNamedIndividual rootIndividual,
+				IRI rootIRI,
+				Set<OWLAxiom> axioms) {
+
+			scratchSession.addAxioms(axioms);
+		}
 	}
 
 	IndividualsRenderer(ReasoningModel reasoningModel) {
@@ -250,7 +288,12 @@ class IndividualsRenderer {
 
 	OWLNamedIndividual render(NNode node, IRI rootIRI) {
 
-		return new GroupRenderer(node, rootIRI).render();
+		return new InstanceOntologyGroupRenderer(node, rootIRI).render();
+	}
+
+	OWLNamedIndividual render(NNode node, IRI rootIRI, OScratchSession scratchSession) {
+
+		return new ScratchGroupRenderer(node, rootIRI, scratchSession).render();
 	}
 
 	boolean groupExists(IRI rootIRI) {
@@ -264,27 +307,12 @@ class IndividualsRenderer {
 
 		if (rootIndividual != null) {
 
-			rootIRIsByIndividual.remove(rootIndividual);
-			removeAxioms(rootIndividual);
-		}
-	}
-
-	void removeGroup(OWLNamedIndividual rootIndividual) {
-
-		IRI rootIRI = rootIRIsByIndividual.remove(rootIndividual);
-
-		if (rootIRI != null) {
-
-			rootIndividualsByIRI.remove(rootIRI);
 			removeAxioms(rootIndividual);
 		}
 	}
 
 	private void removeAxioms(OWLNamedIndividual rootIndividual) {
 
-		for (OWLAxiom axiom : axiomsByRootIndividual.remove(rootIndividual)) {
-
-			model.removeInstanceAxiom(axiom);
-		}
+		model.removeInstanceAxioms(axiomsByRootIndividual.remove(rootIndividual));
 	}
 }
\ No newline at end of file
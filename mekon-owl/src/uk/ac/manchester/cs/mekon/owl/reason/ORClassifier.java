@@ -77,13 +77,6 @@ public class ORClassifier extends NClassifier {
 		return ORClassifierConfig.configNodeExists(parentConfigNode);
 	}
 
-	static private ReasoningModel createReasoningModel(
-									OModel model,
-									KConfigNode parentConfigNode) {
-
-		return new ORClassifierConfig(model, parentConfigNode).getReasoningModel();
-	}
-
 	private ReasoningModel reasoningModel;
 	private OntologyEntityResolver entityResolver;
 
@@ -118,7 +111,7 @@ public class ORClassifier extends NClassifier {
 	 */
 	public ORClassifier(OModel model, KConfigNode parentConfigNode) {
 
-		this(createReasoningModel(model, parentConfigNode));
+		this(new ORClassifierConfig(model, parentConfigNode));
 	}
 
 	/**
@@ -131,6 +124,8 @@ public class ORClassifier extends NClassifier {
 	public void setSemantics(ORSemantics semantics) {
 
 		reasoningModel.setSemantics(semantics);
+
+		clearClassificationCache();
 	}
 
 	/**
@@ -165,28 +160,56 @@ public class ORClassifier extends NClassifier {
 		List<CIdentity> inferredIds = new ArrayList<CIdentity>();
 		List<CIdentity> suggestedIds = new ArrayList<CIdentity>();
 
-		if (ops.inferreds()) {
+		getModel().startReasonerLease();
 
-			inferredIds.addAll(getInferredTypes(construct, instance));
-		}
+		try {
 
-		if (construct.suggestsTypes() && ops.suggesteds()) {
+			if (ops.inferreds()) {
 
-			suggestedIds.addAll(getSuggestedTypes(construct));
+				inferredIds.addAll(getInferredTypes(construct, instance));
+			}
+
+			if (construct.suggestsTypes() && ops.suggesteds()) {
+
+				suggestedIds.addAll(getSuggestedTypes(construct));
+			}
 		}
+		finally {
 
-		construct.cleanUp();
+			getModel().endReasonerLease();
+			construct.cleanUp();
+		}
 
 		ORMonitor.pollForClassifierDone(getModel(), owlConstruct);
 
 		return new IClassification(inferredIds, suggestedIds);
 	}
 
+	/**
+	 * Provides the current reasoning generation of the model (see
+	 * {@link OModel#getReasoningGeneration}), so that any cached
+	 * classification results are discarded whenever the model or
+	 * instance ontologies are updated.
+	 *
+	 * @return Current reasoning generation of model
+	 */
+	protected long getClassificationGeneration() {
+
+		return getModel().getReasoningGeneration();
+	}
+
 	void setForceIndividualBasedClassification(boolean value) {
 
 		forceIndividualBasedClassification = value;
 	}
 
+	private ORClassifier(ORClassifierConfig config) {
+
+		this(config.getReasoningModel());
+
+		setClassificationCacheSize(config.getClassificationCacheSize());
+	}
+
 	private ORClassifier(ReasoningModel reasoningModel) {
 
 		this.reasoningModel = reasoningModel;
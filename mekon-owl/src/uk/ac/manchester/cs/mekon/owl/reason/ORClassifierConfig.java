@@ -42,6 +42,11 @@ class ORClassifierConfig extends ORConfig {
 		super(model, parentConfigNode);
 	}
 
+	int getClassificationCacheSize() {
+
+		return getConfigNode().getInteger(CLASSIFICATION_CACHE_SIZE_ATTR, 0);
+	}
+
 	String getRootId() {
 
 		return CLASSIFIER_ROOT_ID;
@@ -109,7 +109,18 @@ public class ORConceptsMatcher extends ORMatcher {
 
 	boolean matches(ConceptExpression queryExpr, NNode instance) {
 
-		return queryExpr.subsumes(createConceptExpression(instance));
+		ConceptExpression instanceExpr = createConceptExpression(instance);
+
+		getModel().startReasonerLease();
+
+		try {
+
+			return queryExpr.subsumes(instanceExpr);
+		}
+		finally {
+
+			getModel().endReasonerLease();
+		}
 	}
 
 	ExpressionRenderer getQueryRenderer() {
@@ -124,7 +135,7 @@ public class ORConceptsMatcher extends ORMatcher {
 
 	private ConceptExpression createConceptExpression(NNode node) {
 
-		return new ConceptExpression(getModel(), expressionRenderer, node);
+		return renderExpression(expressionRenderer, node);
 	}
 
 	private OWLClass addConcept(IRI iri) {
@@ -123,11 +123,15 @@ public class ORIndividualsMatcher extends ORMatcher {
 	boolean matches(ConceptExpression queryExpr, NNode instance) {
 
 		IndividualNetwork network = createNetwork(instance);
-		boolean result = network.matches(queryExpr);
 
-		network.cleanUp();
+		try {
 
-		return result;
+			return network.matches(queryExpr);
+		}
+		finally {
+
+			network.cleanUp();
+		}
 	}
 
 	ExpressionRenderer getQueryRenderer() {
@@ -147,8 +151,11 @@ public class ORIndividualsMatcher extends ORMatcher {
 
 	private IndividualNetwork createNetwork(NNode node) {
 
-		IRI rootIRI = dynamicRootIRIs.assign();
+		synchronized (getRenderLock()) {
 
-		return new IndividualNetwork(getModel(), node, rootIRI, dynamicRenderer);
+			IRI rootIRI = dynamicRootIRIs.assign();
+
+			return new IndividualNetwork(getModel(), node, rootIRI, dynamicRenderer);
+		}
 	}
 }
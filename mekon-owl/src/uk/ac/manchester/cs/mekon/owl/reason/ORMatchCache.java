@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.reason;
+
+import java.util.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ORMatchCache {
+
+	private long timeToLive = 0;
+
+	private KLRUMap<OWLObject, Result> results = new KLRUMap<OWLObject, Result>(0);
+	private long generation = 0;
+
+	private class Result {
+
+		final List<IRI> matches;
+		final long timestamp = System.currentTimeMillis();
+
+		Result(List<IRI> matches) {
+
+			this.matches = Collections.unmodifiableList(new ArrayList<IRI>(matches));
+		}
+
+		boolean expired() {
+
+			return timeToLive > 0 && System.currentTimeMillis() - timestamp > timeToLive;
+		}
+	}
+
+	synchronized void setMaxSize(int maxSize) {
+
+		results.resetMaxSize(maxSize);
+	}
+
+	synchronized void setTimeToLive(long timeToLive) {
+
+		this.timeToLive = timeToLive;
+	}
+
+	synchronized void invalidate() {
+
+		generation++;
+
+		results.clear();
+	}
+
+	synchronized boolean enabled() {
+
+		return results.getMaxSize() > 0;
+	}
+
+	synchronized long getGeneration() {
+
+		return generation;
+	}
+
+	synchronized List<IRI> getOrNull(OWLObject query) {
+
+		Result result = results.get(query);
+
+		if (result == null) {
+
+			return null;
+		}
+
+		if (result.expired()) {
+
+			results.remove(query);
+
+			return null;
+		}
+
+		return result.matches;
+	}
+
+	synchronized void checkAdd(OWLObject query, List<IRI> matches, long preGeneration) {
+
+		if (enabled() && preGeneration == generation) {
+
+			results.put(query, new Result(matches));
+		}
+	}
+}
@@ -39,10 +39,19 @@ import uk.ac.manchester.cs.mekon_util.config.*;
 /**
  * Base-class for {@link OROntologyLinkedMatcher}-extensions that
  * represent the instances directly as constructs in the ontology.
+ * <p>
+ * The matching operations can be invoked concurrently (see {@link
+ * IConcurrentMatcher}). If the model has a pool of reasoner replicas
+ * (see {@link OModel#startReasonerLease}) then the reasoning for each
+ * operation will be performed via a leased replica, so that operations
+ * invoked by different threads proceed in parallel. Otherwise the
+ * operations will be serialised internally.
  *
  * @author Colin Puleston
  */
-public abstract class ORMatcher extends OROntologyLinkedMatcher {
+public abstract class ORMatcher
+						extends OROntologyLinkedMatcher
+						implements IConcurrentMatcher {
 
 	/**
 	 * Test whether an appropriately-tagged child of the specified
@@ -79,6 +88,10 @@ public abstract class ORMatcher extends OROntologyLinkedMatcher {
 
 	private String instanceFileName = null;
 
+	private ORMatchCache matchCache = new ORMatchCache();
+
+	private Object renderLock = new Object();
+
 	/**
 	 * Sets the open/closed world semantics that are to be embodied
 	 * by the OWL constructs that will be created and classified.
@@ -88,6 +101,42 @@ public abstract class ORMatcher extends OROntologyLinkedMatcher {
 	public void setSemantics(ORSemantics semantics) {
 
 		reasoningModel.setSemantics(semantics);
+		clearMatchCache();
+	}
+
+	/**
+	 * Sets the maximum number of query results that will be cached,
+	 * keyed by the OWL expressions to which the queries are rendered.
+	 * Any cached results will be discarded whenever an instance is
+	 * added to or removed from the store. By default the size will
+	 * be zero, meaning that no caching will occur.
+	 *
+	 * @param maxSize Maximum number of query results to be cached
+	 */
+	public void setMatchCacheSize(int maxSize) {
+
+		matchCache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Sets the time after which any cached query results (see
+	 * {@link #setMatchCacheSize}) will expire. By default the
+	 * time will be zero, meaning that results will never expire.
+	 *
+	 * @param timeToLive Expiry time in milliseconds
+	 */
+	public void setMatchCacheTimeToLive(long timeToLive) {
+
+		matchCache.setTimeToLive(timeToLive);
+	}
+
+	/**
+	 * Discards any cached query results (see {@link
+	 * #setMatchCacheSize}).
+	 */
+	public void clearMatchCache() {
+
+		matchCache.invalidate();
 	}
 
 	/**
@@ -119,22 +168,28 @@ public abstract class ORMatcher extends OROntologyLinkedMatcher {
 
 	protected List<IRI> matchInOntologyLinkedStore(NNode query) {
 
-		ConceptExpression queryExpr = createQueryExpression(query);
-		OWLObject owlQueryExpr = queryExpr.getOWLConstruct();
-
-		ORMonitor.pollForMatcherRequest(getModel(), owlQueryExpr);
+		if (concurrentReasoning()) {
 
-		List<IRI> matches = purgeMatches(match(queryExpr));
+			return performMatch(query);
+		}
 
-		ORMonitor.pollForMatchesFound(getModel(), matches);
-		ORMonitor.pollForMatcherDone(getModel(), owlQueryExpr);
+		synchronized (this) {
 
-		return matches;
+			return performMatch(query);
+		}
 	}
 
 	protected boolean matchesWithRespectToOntology(NNode query, NNode instance) {
 
-		return matches(createQueryExpression(query), instance);
+		if (concurrentReasoning()) {
+
+			return performMatches(query, instance);
+		}
+
+		synchronized (this) {
+
+			return performMatches(query, instance);
+		}
 	}
 
 	ORMatcher(OModel model) {
@@ -147,22 +202,51 @@ public abstract class ORMatcher extends OROntologyLinkedMatcher {
 		initialise(configure(model, parentConfigNode));
 	}
 
+	void onStoreUpdated() {
+
+		if (matchCache.enabled()) {
+
+			matchCache.invalidate();
+
+			ORMonitor.pollForMatcherCacheInvalidated(getModel());
+		}
+	}
+
 	abstract List<IRI> match(ConceptExpression queryExpr);
 
 	abstract boolean matches(ConceptExpression queryExpr, NNode instance);
 
 	abstract ExpressionRenderer getQueryRenderer();
 
+	boolean concurrentReasoning() {
+
+		return getModel().getReasonerPoolSize() != 0;
+	}
+
 	ReasoningModel getReasoningModel() {
 
 		return reasoningModel;
 	}
 
+	Object getRenderLock() {
+
+		return renderLock;
+	}
+
+	ConceptExpression renderExpression(ExpressionRenderer renderer, NNode node) {
+
+		synchronized (renderLock) {
+
+			return new ConceptExpression(getModel(), renderer, node);
+		}
+	}
+
 	private ReasoningModel configure(OModel model, KConfigNode parentConfigNode) {
 
 		ORMatcherConfig config = new ORMatcherConfig(model, parentConfigNode);
 
 		config.checkConfigPersistentInstances(this);
+		config.checkConfigMatchCache(this);
 
 		return config.getReasoningModel();
 	}
@@ -176,9 +260,67 @@ public abstract class ORMatcher extends OROntologyLinkedMatcher {
 		initialiseLinkedMatcher(reasoningModel.getModel());
 	}
 
+	private List<IRI> performMatch(NNode query) {
+
+		ConceptExpression queryExpr = createQueryExpression(query);
+		OWLObject owlQueryExpr = queryExpr.getOWLConstruct();
+
+		ORMonitor.pollForMatcherRequest(getModel(), owlQueryExpr);
+
+		List<IRI> matches = matchViaCache(queryExpr, owlQueryExpr);
+
+		ORMonitor.pollForMatchesFound(getModel(), matches);
+		ORMonitor.pollForMatcherDone(getModel(), owlQueryExpr);
+
+		return matches;
+	}
+
+	private boolean performMatches(NNode query, NNode instance) {
+
+		return matches(createQueryExpression(query), instance);
+	}
+
 	private ConceptExpression createQueryExpression(NNode node) {
 
-		return new ConceptExpression(getModel(), getQueryRenderer(), node);
+		return renderExpression(getQueryRenderer(), node);
+	}
+
+	private List<IRI> matchViaCache(ConceptExpression queryExpr, OWLObject owlQueryExpr) {
+
+		if (!matchCache.enabled()) {
+
+			return matchWithLeasedReasoner(queryExpr);
+		}
+
+		List<IRI> matches = matchCache.getOrNull(owlQueryExpr);
+
+		if (matches != null) {
+
+			ORMonitor.pollForMatcherCacheHit(getModel(), owlQueryExpr);
+
+			return new ArrayList<IRI>(matches);
+		}
+
+		long generation = matchCache.getGeneration();
+
+		matches = matchWithLeasedReasoner(queryExpr);
+		matchCache.checkAdd(owlQueryExpr, matches, generation);
+
+		return matches;
+	}
+
+	private List<IRI> matchWithLeasedReasoner(ConceptExpression queryExpr) {
+
+		getModel().startReasonerLease();
+
+		try {
+
+			return purgeMatches(match(queryExpr));
+		}
+		finally {
+
+			getModel().endReasonerLease();
+		}
 	}
 
 	private List<IRI> purgeMatches(List<IRI> matches) {
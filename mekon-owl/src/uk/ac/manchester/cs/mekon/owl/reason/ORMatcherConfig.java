@@ -52,6 +52,14 @@ class ORMatcherConfig extends ORConfig {
 		}
 	}
 
+	void checkConfigMatchCache(ORMatcher matcher) {
+
+		KConfigNode node = getConfigNode();
+
+		matcher.setMatchCacheSize(node.getInteger(MATCH_CACHE_SIZE_ATTR, 0));
+		matcher.setMatchCacheTimeToLive(node.getInteger(MATCH_CACHE_TIME_TO_LIVE_ATTR, 0));
+	}
+
 	String getRootId() {
 
 		return MATCHER_ROOT_ID;
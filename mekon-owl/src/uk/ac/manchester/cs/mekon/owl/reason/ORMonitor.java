@@ -105,6 +105,22 @@ public abstract class ORMonitor {
 		}
 	}
 
+	static synchronized void pollForMatcherCacheHit(OModel model, OWLObject request) {
+
+		for (ORMonitor monitor : monitors) {
+
+			monitor.onMatcherCacheHit(model, request);
+		}
+	}
+
+	static synchronized void pollForMatcherCacheInvalidated(OModel model) {
+
+		for (ORMonitor monitor : monitors) {
+
+			monitor.onMatcherCacheInvalidated(model);
+		}
+	}
+
 	static synchronized void pollForMatchesFound(OModel model, List<IRI> matches) {
 
 		for (ORMonitor monitor : monitors) {
@@ -164,6 +180,27 @@ public abstract class ORMonitor {
 	 */
 	protected abstract void onMatcherRequest(OModel model, OWLObject request);
 
+	/**
+	 * Method invoked when the results for an instance-match request
+	 * have been retrieved from the matcher's query-result cache,
+	 * rather than via reasoning. Does nothing by default.
+	 *
+	 * @param model Relevant model
+	 * @param request Received request
+	 */
+	protected void onMatcherCacheHit(OModel model, OWLObject request) {
+	}
+
+	/**
+	 * Method invoked when the matcher's query-result cache has been
+	 * invalidated as the result of an update to the instance store.
+	 * Does nothing by default.
+	 *
+	 * @param model Relevant model
+	 */
+	protected void onMatcherCacheInvalidated(OModel model) {
+	}
+
 	/**
 	 * Method invoked immediately after instance-match operation
 	 *
@@ -60,7 +60,9 @@ import uk.ac.manchester.cs.mekon.owl.util.*;
  *
  * @author Colin Puleston
  */
-public abstract class OROntologyLinkedMatcher extends NMatcher {
+public abstract class OROntologyLinkedMatcher
+							extends NMatcher
+							implements IBatchMatcher {
 
 	private OModel model;
 
@@ -95,6 +97,7 @@ public abstract class OROntologyLinkedMatcher extends NMatcher {
 		entityResolver.resolve(instance);
 
 		addToOntologyLinkedStore(instance, instanceIRIs.mapToIRI(identity));
+		onStoreUpdated();
 	}
 
 	/**
@@ -107,6 +110,7 @@ public abstract class OROntologyLinkedMatcher extends NMatcher {
 	public void remove(CIdentity identity) {
 
 		removeFromOntologyLinkedStore(instanceIRIs.mapToIRI(identity));
+		onStoreUpdated();
 	}
 
 	/**
@@ -145,6 +149,35 @@ public abstract class OROntologyLinkedMatcher extends NMatcher {
 		return matchesWithRespectToOntology(query, instance);
 	}
 
+	/**
+	 * Starts a batch of instance-ontology updates on the model (see
+	 * {@link OModel#startInstanceAxiomBatch}), so that reasoner
+	 * flushes are deferred until the end of the batch.
+	 */
+	public void startBatch() {
+
+		model.startInstanceAxiomBatch();
+	}
+
+	/**
+	 * Ends the current batch of instance-ontology updates on the
+	 * model (see {@link OModel#endInstanceAxiomBatch}), flushing the
+	 * reasoner if required.
+	 */
+	public void endBatch() {
+
+		model.endInstanceAxiomBatch();
+	}
+
+	/**
+	 * Behaves as for {@link #endBatch}, so that the instance
+	 * ontology remains consistent with the instance store.
+	 */
+	public void failBatch() {
+
+		model.endInstanceAxiomBatch();
+	}
+
 	/**
 	 * Does nothing since no clear-ups are required for this type
 	 * of store.
@@ -218,6 +251,9 @@ public abstract class OROntologyLinkedMatcher extends NMatcher {
 		entityResolver = new OntologyEntityResolver(model);
 	}
 
+	void onStoreUpdated() {
+	}
+
 	boolean instanceIRI(IRI iri) {
 
 		return instanceIRIs.mappedIRI(iri);
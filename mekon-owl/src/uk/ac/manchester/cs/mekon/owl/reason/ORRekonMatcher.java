@@ -120,6 +120,11 @@ public class ORRekonMatcher extends ORMatcher {
 					instExpr.getOWLConstruct());
 	}
 
+	boolean concurrentReasoning() {
+
+		return false;
+	}
+
 	ExpressionRenderer getQueryRenderer() {
 
 		return expressionRenderer;
@@ -157,6 +162,6 @@ public class ORRekonMatcher extends ORMatcher {
 
 	private ConceptExpression createConceptExpression(NNode node) {
 
-		return new ConceptExpression(getModel(), expressionRenderer, node);
+		return renderExpression(expressionRenderer, node);
 	}
 }
@@ -58,7 +58,7 @@ class MatchQuery extends SpecificQuery {
 		return executeSelect(ROOT_NODE_VARIABLE, renderQueryBody(query));
 	}
 
-	private String renderQueryBody(NNode query) {
+	private OTQueryTemplate renderQueryBody(NNode query) {
 
 		return new QueryBodyRenderer(getConstants()).render(query);
 	}
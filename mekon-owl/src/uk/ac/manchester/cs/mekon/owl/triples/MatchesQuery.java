@@ -63,7 +63,7 @@ class MatchesQuery extends SpecificQuery {
 		return executeAsk(renderQueryBody(query, baseURI));
 	}
 
-	private String renderQueryBody(NNode query, String baseURI) {
+	private OTQueryTemplate renderQueryBody(NNode query, String baseURI) {
 
 		return new QueryBodyRenderer(baseURI).render(query);
 	}
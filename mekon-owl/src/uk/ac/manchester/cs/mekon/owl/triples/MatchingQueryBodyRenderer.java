@@ -39,18 +39,11 @@ import uk.ac.manchester.cs.mekon.owl.reason.*;
 abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable> {
 
 	static private final String NODE_VARIABLE_FORMAT = "?n%d";
-	static private final String UNION_TRIPLE_FORMAT = "{%s %s %s}";
-	static private final String UNION_OPERATOR = " UNION ";
-	static private final String UNION_TERMINATOR = "\n";
 	static private final String LIMIT_VARIABLE_FORMAT = "?l%d";
 	static private final String MIN_OPERATOR = ">=";
 	static private final String MAX_OPERATOR = "<=";
-	static private final String LIMIT_FILTER_FORMAT = "FILTER (%s %s %s)\n";
-	static private final String SIMPLE_TRIPLE_FORMAT = "%s %s %s .\n";
-	static private final String QUERY_BODY_FORMAT = "{\n%s%s}";
 
-	private StringBuilder statements = new StringBuilder();
-	private StringBuilder filters = new StringBuilder();
+	private OTQueryTemplate template = new OTQueryTemplate();
 
 	private OTQueryConstants constants;
 	private int limitCount = 0;
@@ -60,11 +53,11 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 		this.constants = constants;
 	}
 
-	String render(NNode instance) {
+	OTQueryTemplate render(NNode instance) {
 
 		renderFromRoot(instance);
 
-		return getQueryBody();
+		return template;
 	}
 
 	QueryVariable renderDynamicNode(int index) {
@@ -81,7 +74,10 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 
 	void renderTriple(QueryVariable subject, OT_URI predicate, OTValue object) {
 
-		statements.append(getSimpleTripleString(subject, predicate, object));
+		template.addSimpleTriple(
+			renderValue(subject),
+			renderValue(predicate),
+			renderValue(object));
 	}
 
 	void checkRenderDisjunctionType(QueryVariable subject, OT_URI predicate, NNode node) {
@@ -138,12 +134,15 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 
 	private void renderUnion(QueryVariable subject, OT_URI predicate, Set<OTValue> objects) {
 
-		statements.append(getUnionString(subject, predicate, objects));
+		template.addUnion(
+			renderValue(subject),
+			renderValue(predicate),
+			renderValues(objects));
 	}
 
 	private Set<OTValue> renderTypeDisjuncts(NNode node) {
 
-		Set<OTValue> objects = new HashSet<OTValue>();
+		Set<OTValue> objects = new LinkedHashSet<OTValue>();
 
 		for (IRI typeDisjunctIRI : NetworkIRIs.getTypeDisjuncts(node)) {
 
@@ -155,7 +154,7 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 
 	private Set<OTValue> renderLinkValues(NLink link) {
 
-		Set<OTValue> tripleValues = new HashSet<OTValue>();
+		Set<OTValue> tripleValues = new LinkedHashSet<OTValue>();
 
 		for (NNode value : link.getValues()) {
 
@@ -179,7 +178,7 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 
 		String var = getNextLimitVariable();
 
-		filters.append(getLimitFilterString(var, op, renderDefiniteNumberValue(value)));
+		template.addFilter(var, op, renderDefiniteNumberValue(value));
 
 		return new QueryVariable(var);
 	}
@@ -189,70 +188,21 @@ abstract class MatchingQueryBodyRenderer extends InstanceRenderer<QueryVariable>
 		return renderValue(renderDefiniteNumber(value));
 	}
 
-	private String renderValue(OTValue value) {
-
-		return value.getQueryRendering(constants);
-	}
-
-	private String getUnionString(
-						QueryVariable subject,
-						OT_URI predicate,
-						Set<OTValue> objects) {
-
-		StringBuilder union = new StringBuilder();
+	private List<String> renderValues(Set<OTValue> values) {
 
-		for (OTValue object : objects) {
+		List<String> renderings = new ArrayList<String>();
 
-			if (union.length() != 0) {
+		for (OTValue value : values) {
 
-				union.append(UNION_OPERATOR);
-			}
-
-			union.append(getUnionTripleString(subject, predicate, object));
+			renderings.add(renderValue(value));
 		}
 
-		union.append(UNION_TERMINATOR);
-
-		return union.toString();
-	}
-
-	private String getUnionTripleString(
-						QueryVariable subject,
-						OT_URI predicate,
-						OTValue object) {
-
-		return getTripleString(UNION_TRIPLE_FORMAT, subject, predicate, object);
+		return renderings;
 	}
 
-	private String getSimpleTripleString(
-						QueryVariable subject,
-						OT_URI predicate,
-						OTValue object) {
-
-		return getTripleString(SIMPLE_TRIPLE_FORMAT, subject, predicate, object);
-	}
-
-	private String getTripleString(
-						String format,
-						QueryVariable subject,
-						OT_URI predicate,
-						OTValue object) {
-
-		return String.format(
-					format,
-					renderValue(subject),
-					renderValue(predicate),
-					renderValue(object));
-	}
-
-	private String getLimitFilterString(String var, String op, String value) {
-
-		return String.format(LIMIT_FILTER_FORMAT, var, op, value);
-	}
-
-	private String getQueryBody() {
+	private String renderValue(OTValue value) {
 
-		return String.format(QUERY_BODY_FORMAT, statements, filters);
+		return value.getQueryRendering(constants);
 	}
 
 	private String getNodeVariable(int index) {
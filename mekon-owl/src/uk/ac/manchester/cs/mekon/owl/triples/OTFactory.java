@@ -54,4 +54,28 @@ public interface OTFactory {
 	 * @return Created query
 	 */
 	public OTQuery createQuery();
+
+	/**
+	 * Signals the start of a batch of graph additions and/or
+	 * removals, after which any commit operations may be deferred
+	 * until {@link #endBatch} is invoked. Any pending updates must
+	 * be visible to subsequently created queries and removers.
+	 */
+	public void startBatch();
+
+	/**
+	 * Signals the end of the current batch of graph additions
+	 * and/or removals, at which point any deferred updates should
+	 * be committed to the triple store.
+	 */
+	public void endBatch();
+
+	/**
+	 * Signals that the current batch of graph additions and/or
+	 * removals has been abandoned after a failure, at which point
+	 * all successfully applied updates should be committed as for
+	 * {@link #endBatch}, so that the triple store remains
+	 * consistent with the instance store.
+	 */
+	public void failBatch();
 }
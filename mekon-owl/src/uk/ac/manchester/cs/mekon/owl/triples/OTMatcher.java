@@ -68,6 +68,50 @@ public abstract class OTMatcher extends OROntologyLinkedMatcher {
 		return false;
 	}
 
+	/**
+	 * Extends the default batch-start behaviour to also start a
+	 * batch on the triple store.
+	 */
+	public void startBatch() {
+
+		super.startBatch();
+
+		store.startBatch();
+	}
+
+	/**
+	 * Extends the default batch-end behaviour to also end the batch
+	 * on the triple store.
+	 */
+	public void endBatch() {
+
+		try {
+
+			store.endBatch();
+		}
+		finally {
+
+			super.endBatch();
+		}
+	}
+
+	/**
+	 * Extends the default batch-failure behaviour to also end the
+	 * batch on the triple store, committing all successfully applied
+	 * updates.
+	 */
+	public void failBatch() {
+
+		try {
+
+			store.failBatch();
+		}
+		finally {
+
+			super.failBatch();
+		}
+	}
+
 	/**
 	 */
 	protected void addToOntologyLinkedStore(NNode instance, IRI iri) {
@@ -36,19 +36,19 @@ public interface OTQuery {
 	/**
 	 * Executes an ASK query.
 	 *
-	 * @param query String representation of SPARQL query to execute
+	 * @param query Template for SPARQL query to execute
 	 * @param constants Constants for query.
 	 * @return Result of query execution
 	 */
-	public boolean executeAsk(String query, OTQueryConstants constants);
+	public boolean executeAsk(OTQueryTemplate query, OTQueryConstants constants);
 
 	/**
 	 * Executes a SELECT query whose result will be a list of bindings
 	 * for a single URI-valued variable.
 	 *
-	 * @param query String representation of SPARQL query to execute
+	 * @param query Template for SPARQL query to execute
 	 * @param constants Constants for query.
 	 * @return Result of query execution
 	 */
-	public Set<OT_URI> executeSelect(String query, OTQueryConstants constants);
+	public Set<OT_URI> executeSelect(OTQueryTemplate query, OTQueryConstants constants);
 }
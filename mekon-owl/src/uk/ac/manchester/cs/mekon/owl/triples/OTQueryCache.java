@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.triples;
+
+import java.util.*;
+
+/**
+ * Cache of implementation-specific prepared versions of SPARQL
+ * queries, keyed by query-template (see {@link OTQueryTemplate}).
+ * Since templates depend only on the structure of the relevant
+ * query-networks, queries differing only in their constants will
+ * share a single prepared query, and query-strings are only
+ * rendered when a new prepared query is required. Least-recently-used
+ * entries are discarded once the maximum size is reached.
+ *
+ * @author Colin Puleston
+ */
+public abstract class OTQueryCache<Q> {
+
+	/**
+	 * Default maximum number of prepared queries to be cached.
+	 */
+	static public final int DEFAULT_MAX_SIZE = 256;
+
+	private Map<OTQueryTemplate, Q> preparedQueries;
+
+	private class PreparedQueries extends LinkedHashMap<OTQueryTemplate, Q> {
+
+		static private final long serialVersionUID = -1;
+
+		private int maxSize;
+
+		PreparedQueries(int maxSize) {
+
+			super(16, 0.75f, true);
+
+			this.maxSize = maxSize;
+		}
+
+		protected boolean removeEldestEntry(Map.Entry<OTQueryTemplate, Q> eldest) {
+
+			return size() > maxSize;
+		}
+	}
+
+	/**
+	 * Retrieves the prepared version of the specified query, creating
+	 * and caching it if required.
+	 *
+	 * @param query Template for SPARQL query
+	 * @return Prepared version of query
+	 */
+	public synchronized Q get(OTQueryTemplate query) {
+
+		Q prepared = preparedQueries.get(query);
+
+		if (prepared == null) {
+
+			prepared = prepare(query.getQueryString());
+
+			preparedQueries.put(query, prepared);
+		}
+
+		return prepared;
+	}
+
+	/**
+	 * Provides the number of currently cached prepared queries.
+	 *
+	 * @return Number of cached prepared queries
+	 */
+	public synchronized int size() {
+
+		return preparedQueries.size();
+	}
+
+	/**
+	 * Constructor for cache with the default maximum size.
+	 */
+	protected OTQueryCache() {
+
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Constructor for cache with specified maximum size.
+	 *
+	 * @param maxSize Maximum number of prepared queries to be cached
+	 */
+	protected OTQueryCache(int maxSize) {
+
+		preparedQueries = new PreparedQueries(maxSize);
+	}
+
+	/**
+	 * Creates the implementation-specific prepared version of the
+	 * specified query.
+	 *
+	 * @param query String representation of SPARQL query
+	 * @return Prepared version of query
+	 */
+	protected abstract Q prepare(String query);
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.owl.triples;
+
+import java.util.*;
+
+/**
+ * Represents the structure of a SPARQL query generated by {@link
+ * OTMatcher}, in terms of the sequences of variables that make up
+ * its statements and filters. Since all constants are represented
+ * by variables (see {@link OTQueryConstants}), queries differing
+ * only in their constants will have equal templates. Templates can
+ * therefore be used as keys for cached prepared queries (see {@link
+ * OTQueryCache}), with the string representation of the query only
+ * being rendered when actually required.
+ *
+ * @author Colin Puleston
+ */
+public class OTQueryTemplate {
+
+	static private final String ASK_FORMAT = "ASK {%s}";
+	static private final String SELECT_FORMAT = "SELECT %s {%s}";
+	static private final String BODY_FORMAT = "{\n%s%s}";
+	static private final String SIMPLE_TRIPLE_FORMAT = "%s %s %s .\n";
+	static private final String UNION_TRIPLE_FORMAT = "{%s %s %s}";
+	static private final String UNION_OPERATOR = " UNION ";
+	static private final String UNION_TERMINATOR = "\n";
+	static private final String FILTER_FORMAT = "FILTER (%s %s %s)\n";
+
+	static private final String SIMPLE_TRIPLE_TYPE = "T";
+	static private final String UNION_TYPE = "U";
+
+	private String selectVariable = null;
+
+	private List<List<String>> statements = new ArrayList<List<String>>();
+	private List<List<String>> filters = new ArrayList<List<String>>();
+
+	private String queryString = null;
+
+	/**
+	 * Templates are equal if they are of the same type (ASK or SELECT),
+	 * with the same selection-variable if applicable, and with equal
+	 * sequences of statements and filters.
+	 *
+	 * @param other Other object to test against
+	 * @return True if templates are equal
+	 */
+	public boolean equals(Object other) {
+
+		if (other instanceof OTQueryTemplate) {
+
+			OTQueryTemplate t = (OTQueryTemplate)other;
+
+			return equalSelectVariables(t)
+					&& statements.equals(t.statements)
+					&& filters.equals(t.filters);
+		}
+
+		return false;
+	}
+
+	/**
+	 */
+	public int hashCode() {
+
+		return statements.hashCode() + filters.hashCode();
+	}
+
+	/**
+	 * Provides the string representation of the query, rendering it
+	 * if not already rendered.
+	 *
+	 * @return String representation of query
+	 */
+	public synchronized String getQueryString() {
+
+		if (queryString == null) {
+
+			queryString = renderQuery();
+		}
+
+		return queryString;
+	}
+
+	/**
+	 * Provides the string representation of the query.
+	 *
+	 * @return String representation of query
+	 */
+	public String toString() {
+
+		return getQueryString();
+	}
+
+	void setSelectVariable(String selectVariable) {
+
+		this.selectVariable = selectVariable;
+	}
+
+	void addSimpleTriple(String subject, String predicate, String object) {
+
+		statements.add(Arrays.asList(SIMPLE_TRIPLE_TYPE, subject, predicate, object));
+	}
+
+	void addUnion(String subject, String predicate, List<String> objects) {
+
+		List<String> union = new ArrayList<String>();
+
+		union.add(UNION_TYPE);
+		union.add(subject);
+		union.add(predicate);
+		union.addAll(objects);
+
+		statements.add(union);
+	}
+
+	void addFilter(String variable, String operator, String value) {
+
+		filters.add(Arrays.asList(variable, operator, value));
+	}
+
+	private boolean equalSelectVariables(OTQueryTemplate other) {
+
+		return selectVariable == null
+				? other.selectVariable == null
+				: selectVariable.equals(other.selectVariable);
+	}
+
+	private String renderQuery() {
+
+		String body = renderBody();
+
+		return selectVariable == null
+				? String.format(ASK_FORMAT, body)
+				: String.format(SELECT_FORMAT, selectVariable, body);
+	}
+
+	private String renderBody() {
+
+		StringBuilder statementsString = new StringBuilder();
+		StringBuilder filtersString = new StringBuilder();
+
+		for (List<String> statement : statements) {
+
+			statementsString.append(renderStatement(statement));
+		}
+
+		for (List<String> filter : filters) {
+
+			filtersString.append(renderFilter(filter));
+		}
+
+		return String.format(BODY_FORMAT, statementsString, filtersString);
+	}
+
+	private String renderStatement(List<String> statement) {
+
+		String subject = statement.get(1);
+		String predicate = statement.get(2);
+
+		if (statement.get(0).equals(SIMPLE_TRIPLE_TYPE)) {
+
+			return renderTriple(SIMPLE_TRIPLE_FORMAT, subject, predicate, statement.get(3));
+		}
+
+		return renderUnion(subject, predicate, statement.subList(3, statement.size()));
+	}
+
+	private String renderUnion(String subject, String predicate, List<String> objects) {
+
+		StringBuilder union = new StringBuilder();
+
+		for (String object : objects) {
+
+			if (union.length() != 0) {
+
+				union.append(UNION_OPERATOR);
+			}
+
+			union.append(renderTriple(UNION_TRIPLE_FORMAT, subject, predicate, object));
+		}
+
+		union.append(UNION_TERMINATOR);
+
+		return union.toString();
+	}
+
+	private String renderTriple(
+						String format,
+						String subject,
+						String predicate,
+						String object) {
+
+		return String.format(format, subject, predicate, object);
+	}
+
+	private String renderFilter(List<String> filter) {
+
+		return String.format(FILTER_FORMAT, filter.get(0), filter.get(1), filter.get(2));
+	}
+}
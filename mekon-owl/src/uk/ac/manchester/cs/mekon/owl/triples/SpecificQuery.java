@@ -31,9 +31,6 @@ import java.util.*;
  */
 abstract class SpecificQuery {
 
-	static private final String ASK_FORMAT = "ASK {%s}";
-	static private final String SELECT_FORMAT = "SELECT %s {%s}";
-
 	private OTQuery query;
 	private OTQueryConstants constants = new OTQueryConstants();
 
@@ -47,23 +44,15 @@ abstract class SpecificQuery {
 		return constants;
 	}
 
-	boolean executeAsk(String queryBody) {
-
-		return query.executeAsk(renderAsk(queryBody), constants);
-	}
-
-	Set<OT_URI> executeSelect(String variable, String queryBody) {
+	boolean executeAsk(OTQueryTemplate template) {
 
-		return query.executeSelect(renderSelect(variable, queryBody), constants);
+		return query.executeAsk(template, constants);
 	}
 
-	private String renderAsk(String queryBody) {
-
-		return String.format(ASK_FORMAT, queryBody);
-	}
+	Set<OT_URI> executeSelect(String variable, OTQueryTemplate template) {
 
-	private String renderSelect(String variable, String queryBody) {
+		template.setSelectVariable(variable);
 
-		return String.format(SELECT_FORMAT, variable, queryBody);
+		return query.executeSelect(template, constants);
 	}
 }
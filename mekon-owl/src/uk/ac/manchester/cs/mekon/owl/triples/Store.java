@@ -55,6 +55,21 @@ class Store {
 		getAssertion(iri).remove();
 	}
 
+	void startBatch() {
+
+		factory.startBatch();
+	}
+
+	void endBatch() {
+
+		factory.endBatch();
+	}
+
+	void failBatch() {
+
+		factory.failBatch();
+	}
+
 	List<IRI> match(NNode query) {
 
 		List<IRI> matches = new ArrayList<IRI>();
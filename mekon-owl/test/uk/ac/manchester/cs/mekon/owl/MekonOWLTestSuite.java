@@ -41,6 +41,8 @@ import uk.ac.manchester.cs.mekon.owl.generate.*;
 	ORClassifierTest.class,
 	ORConceptsMatcherTest.class,
 	ORIndividualsMatcherTest.class,
+	ORPooledIndividualsMatcherTest.class,
+	ORPooledConceptsMatcherTest.class,
 	ORRekonMatcherTest.class,
 	OGGeneratorTest.class})
 public class MekonOWLTestSuite {
@@ -49,9 +49,35 @@ public class ODemoModel extends DemoModelIds {
 
 	static public OModel create(Class<? extends OWLReasonerFactory> reasonerFactory) {
 
-		OModelBuilder bldr = new OModelBuilder(OWL_FILE, reasonerFactory);
+		return create(reasonerFactory, 0);
+	}
+
+	static public OModel createWithReasonerPool(int reasonerPoolSize) {
+
+		return create(DefaultTestReasoner.getFactoryClass(), reasonerPoolSize);
+	}
+
+	static public OModel create(File owlFile) {
+
+		return create(owlFile, DefaultTestReasoner.getFactoryClass(), 0);
+	}
+
+	static private OModel create(
+							Class<? extends OWLReasonerFactory> reasonerFactory,
+							int reasonerPoolSize) {
+
+		return create(OWL_FILE, reasonerFactory, reasonerPoolSize);
+	}
+
+	static private OModel create(
+							File owlFile,
+							Class<? extends OWLReasonerFactory> reasonerFactory,
+							int reasonerPoolSize) {
+
+		OModelBuilder bldr = new OModelBuilder(owlFile, reasonerFactory);
 
 		bldr.setIndirectNumericProperty(toIRI(NUMERIC_PROPERTY));
+		bldr.setReasonerPoolSize(reasonerPoolSize);
 
 		return bldr.create(true);
 	}
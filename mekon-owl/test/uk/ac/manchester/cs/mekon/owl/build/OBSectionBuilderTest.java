@@ -24,6 +24,9 @@
 
 package uk.ac.manchester.cs.mekon.owl.build;
 
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
 import java.util.*;
 
 import org.junit.Test;
@@ -45,9 +48,36 @@ public class OBSectionBuilderTest extends DemoModelBasedTest {
 
 	static private final List<IValue> NO_IVALUES = Collections.emptyList();
 
+	static private final long STALE_SNAPSHOT_TIME = 1000000000000L;
+
+	static private final CIdentity ADDED_CONCEPT = new CIdentity(
+											"http://mekon/demo.owl#AddedConcept",
+											"AddedConcept");
+
+	static private final String ADDED_CONCEPT_DECLARATION
+		= "<owl:Class rdf:about=\"" + ADDED_CONCEPT.getIdentifier() + "\">"
+		+ "<rdfs:subClassOf rdf:resource=\"" + CORE_CONCEPT.getIdentifier() + "\"/>"
+		+ "</owl:Class>\n";
+
+	static private final String ONTOLOGY_END_TAG = "</rdf:RDF>";
+
 	private OBSectionBuilder sectionBuilder;
+	private CSectionBuilder preSectionBuilder = null;
 	private boolean cFrameValuedSlotsEnabled = false;
 
+	private class JobFrameSectionBuilder implements CSectionBuilder {
+
+		public boolean supportsIncrementalBuild() {
+
+			return false;
+		}
+
+		public void build(CBuilder builder) {
+
+			builder.addFrame(JOB, false);
+		}
+	}
+
 	private enum FrameStatus {
 
 		EXPOSED, HIDDEN, ABSENT;
@@ -271,6 +301,172 @@ public class OBSectionBuilderTest extends DemoModelBasedTest {
 		testSlotValues();
 	}
 
+	@Test
+	public void test_snapshot() throws IOException {
+
+		File snapshotFile = File.createTempFile("mekon-snapshot", ".xml");
+
+		snapshotFile.delete();
+
+		try {
+
+			enableCFrameValuedSlots();
+
+			assertTrue(buildModelRebuildsSnapshot(snapshotFile));
+			assertTrue(snapshotFile.exists());
+
+			resetSectionBuilder();
+			enableCFrameValuedSlots();
+
+			assertFalse(buildModelRebuildsSnapshot(snapshotFile));
+
+			testFrameStatus(CITIZEN, FrameStatus.EXPOSED);
+			testFrameSupers(CITIZEN, CORE_CONCEPT);
+			testFrameSupers(ACADEMIC_JOB, JOB);
+
+			testSlots();
+			testSlotValues();
+
+			resetSectionBuilder();
+
+			assertTrue(buildModelRebuildsSnapshot(snapshotFile));
+
+			testSlotValues();
+
+			resetSectionBuilder();
+			addConcepts(JOB);
+
+			assertTrue(buildModelRebuildsSnapshot(snapshotFile));
+
+			testFrameStatus(CITIZEN, FrameStatus.ABSENT);
+			testFrameSupers(ACADEMIC_JOB, JOB);
+		}
+		finally {
+
+			snapshotFile.delete();
+		}
+	}
+
+	@Test
+	public void test_snapshotAfterOntologyChange() throws IOException {
+
+		File ontologyFile = File.createTempFile("mekon-demo", ".owl");
+		File snapshotFile = File.createTempFile("mekon-snapshot", ".xml");
+
+		snapshotFile.delete();
+
+		try {
+
+			copyFile(ODemoModel.OWL_FILE, ontologyFile);
+
+			resetSectionBuilder(ontologyFile);
+			assertTrue(buildModelRebuildsSnapshot(snapshotFile));
+
+			resetSectionBuilder(ontologyFile);
+			assertFalse(buildModelRebuildsSnapshot(snapshotFile));
+
+			testFrameStatus(ADDED_CONCEPT, FrameStatus.ABSENT);
+
+			addConceptToOntology(ontologyFile);
+
+			resetSectionBuilder(ontologyFile);
+			assertTrue(buildModelRebuildsSnapshot(snapshotFile));
+
+			testFrameStatus(ADDED_CONCEPT, FrameStatus.EXPOSED);
+			testFrameSupers(ADDED_CONCEPT, CORE_CONCEPT);
+		}
+		finally {
+
+			ontologyFile.delete();
+			snapshotFile.delete();
+		}
+	}
+
+	@Test
+	public void test_snapshotNotUsedWhenPreExistingFramesModified() throws IOException {
+
+		File snapshotFile = File.createTempFile("mekon-snapshot", ".xml");
+
+		snapshotFile.delete();
+
+		try {
+
+			preSectionBuilder = new JobFrameSectionBuilder();
+
+			buildModelRebuildsSnapshot(snapshotFile);
+
+			assertFalse(snapshotFile.exists());
+			testFrameSupers(ACADEMIC_JOB, JOB);
+
+			resetSectionBuilder();
+
+			buildModelRebuildsSnapshot(snapshotFile);
+
+			assertFalse(snapshotFile.exists());
+			testFrameSupers(ACADEMIC_JOB, JOB);
+		}
+		finally {
+
+			snapshotFile.delete();
+		}
+	}
+
+	private void resetSectionBuilder() {
+
+		resetSectionBuilder(ODemoModel.create());
+	}
+
+	private void resetSectionBuilder(File ontologyFile) {
+
+		resetSectionBuilder(ODemoModel.create(ontologyFile));
+	}
+
+	private void resetSectionBuilder(OModel model) {
+
+		sectionBuilder = new OBSectionBuilder(model);
+		cFrameValuedSlotsEnabled = false;
+	}
+
+	private void copyFile(File from, File to) throws IOException {
+
+		writeFile(to, readFile(from));
+	}
+
+	private void addConceptToOntology(File ontologyFile) throws IOException {
+
+		String ontology = readFile(ontologyFile);
+		int end = ontology.lastIndexOf(ONTOLOGY_END_TAG);
+
+		writeFile(
+			ontologyFile,
+			ontology.substring(0, end)
+				+ ADDED_CONCEPT_DECLARATION
+				+ ontology.substring(end));
+	}
+
+	private String readFile(File file) throws IOException {
+
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+	}
+
+	private void writeFile(File file, String contents) throws IOException {
+
+		Files.write(file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private boolean buildModelRebuildsSnapshot(File snapshotFile) {
+
+		if (snapshotFile.exists()) {
+
+			snapshotFile.setLastModified(STALE_SNAPSHOT_TIME);
+		}
+
+		sectionBuilder.setSnapshotFile(snapshotFile);
+		buildModel();
+
+		return snapshotFile.lastModified() != STALE_SNAPSHOT_TIME;
+	}
+
 	private void enableCFrameValuedSlots() {
 
 		sectionBuilder
@@ -323,7 +519,14 @@ public class OBSectionBuilderTest extends DemoModelBasedTest {
 
 	private void buildModel() {
 
-		buildModel(sectionBuilder);
+		if (preSectionBuilder != null) {
+
+			buildModel(preSectionBuilder, sectionBuilder);
+		}
+		else {
+
+			buildModel(sectionBuilder);
+		}
 	}
 
 	private OBConceptGroup addConcepts(CIdentity rootId) {
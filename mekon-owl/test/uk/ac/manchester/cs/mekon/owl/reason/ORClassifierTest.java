@@ -28,6 +28,7 @@ import java.util.*;
 
 import org.junit.Test;
 import org.junit.Before;
+import static org.junit.Assert.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.network.*;
@@ -41,6 +42,7 @@ import uk.ac.manchester.cs.mekon.test_util.*;
  */
 public class ORClassifierTest extends DemoModelBasedTest {
 
+	private OModel model;
 	private ORClassifier classifier;
 
 	private CIdentity[] unemployedCitizenConcepts = new CIdentity[]{UNEMPLOYED_CITIZEN};
@@ -51,7 +53,7 @@ public class ORClassifierTest extends DemoModelBasedTest {
 	@Before
 	public void setUp() {
 
-		OModel model = ODemoModel.create();
+		model = ODemoModel.create();
 		OBSectionBuilder sectionBuilder = new OBSectionBuilder(model);
 
 		classifier = new ORClassifier(model);
@@ -96,6 +98,70 @@ public class ORClassifierTest extends DemoModelBasedTest {
 		testClosedWorldSemanticsByMinimalExclusion(true);
 	}
 
+	@Test
+	public void test_forceIndividualsLeavesInstanceOntologyUnchanged() {
+
+		int initialAxiomCount = model.getInstanceOntology().getAxiomCount();
+		long initialGeneration = model.getReasoningGeneration();
+
+		testOpenWorldSemantics(true);
+
+		assertEquals(initialAxiomCount, model.getInstanceOntology().getAxiomCount());
+		assertEquals(initialGeneration, model.getReasoningGeneration());
+	}
+
+	@Test
+	public void test_classificationCache() {
+
+		classifier.setClassificationCacheSize(100);
+
+		testOpenWorldSemantics(false);
+
+		NClassificationCacheStats initialStats = getClassificationCacheStats();
+
+		testClassifications(false);
+
+		NClassificationCacheStats repeatStats = getClassificationCacheStats();
+
+		assertEquals(initialStats.getMisses(), repeatStats.getMisses());
+		assertTrue(repeatStats.getHits() > initialStats.getHits());
+
+		model.updateReasoner();
+
+		IFrame citizen = createIFrame(CITIZEN);
+
+		addISlotValue(citizen, EMPLOYMENT_PROPERTY, createIFrame(EMPLOYMENT));
+		testInferredTypes(citizen, unemployedCitizenConcepts);
+
+		NClassificationCacheStats postUpdateStats = getClassificationCacheStats();
+
+		assertTrue(postUpdateStats.getMisses() > repeatStats.getMisses());
+		assertTrue(postUpdateStats.getCachedResults() < repeatStats.getCachedResults());
+	}
+
+	@Test
+	public void test_classificationCacheKeysDistinguishDataValues() {
+
+		classifier.setClassificationCacheSize(100);
+
+		String nameFeatureKey = "]D" + NAME_PROPERTY.getIdentifier() + ",[";
+
+		createPersonal("A;" + nameFeatureKey + "B", "C");
+
+		IFrame personal = createIFrame(PERSONAL);
+
+		addStringSlotValue(personal, ADDRESS_PROPERTY, "A");
+
+		NClassificationCacheStats preStats = getClassificationCacheStats();
+
+		addStringSlotValue(personal, NAME_PROPERTY, "B;" + nameFeatureKey + "C");
+
+		NClassificationCacheStats postStats = getClassificationCacheStats();
+
+		assertEquals(preStats.getHits(), postStats.getHits());
+		assertEquals(preStats.getMisses() + 1, postStats.getMisses());
+	}
+
 	private void testOpenWorldSemantics(boolean individuals) {
 
 		setOpenWorldSemantics();
@@ -179,6 +245,26 @@ public class ORClassifierTest extends DemoModelBasedTest {
 		classifier.setSemantics(semantics);
 	}
 
+	private IFrame createPersonal(String address, String name) {
+
+		IFrame personal = createIFrame(PERSONAL);
+
+		addStringSlotValue(personal, ADDRESS_PROPERTY, address);
+		addStringSlotValue(personal, NAME_PROPERTY, name);
+
+		return personal;
+	}
+
+	private void addStringSlotValue(IFrame container, CIdentity slotId, String value) {
+
+		addISlotValue(container, slotId, CString.FREE.instantiate(value));
+	}
+
+	private NClassificationCacheStats getClassificationCacheStats() {
+
+		return classifier.getClassificationCacheStats();
+	}
+
 	private void testInferredTypes(IFrame iFrame, CIdentity... typeIds) {
 
 		Set<CFrame> infTypes = iFrame.getInferredTypes().asSet();
@@ -24,6 +24,15 @@
 
 package uk.ac.manchester.cs.mekon.owl.reason;
 
+import java.util.*;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.owl.*;
 
 /**
@@ -31,8 +40,99 @@ import uk.ac.manchester.cs.mekon.owl.*;
  */
 public class ORConceptsMatcherTest extends OROntologyLinkedMatcherTest {
 
+	static private final CIdentity UNDERGRAD_TEACHING_JOB_COPY_ID = new CIdentity("UndergradTeachingCopyId", "UndergradTeachingCopy");
+
+	private int reasonerMatches = 0;
+
+	class MatchCountingMatcher extends ORConceptsMatcher {
+
+		MatchCountingMatcher(OModel oModel) {
+
+			super(oModel);
+		}
+
+		List<IRI> match(ConceptExpression queryExpr) {
+
+			reasonerMatches++;
+
+			return super.match(queryExpr);
+		}
+	}
+
+	@Test
+	public void test_matchCache() {
+
+		getORMatcher().setMatchCacheSize(10);
+
+		test_addAndQuery();
+		int preCachedMatches = reasonerMatches;
+
+		test_addAndQuery();
+		assertEquals(preCachedMatches, reasonerMatches);
+
+		test_addRemoveAndQuery();
+		assertEquals(preCachedMatches * 2, reasonerMatches);
+	}
+
+	@Test
+	public void test_matchCacheInvalidatedByAdd() {
+
+		getORMatcher().setMatchCacheSize(10);
+
+		testAcademiaMatching();
+		testAcademiaMatching();
+		assertEquals(1, reasonerMatches);
+
+		addUndergradTeachingJobCopy();
+
+		testAcademiaMatching(UNDERGRAD_TEACHING_JOB_COPY_ID);
+		assertEquals(2, reasonerMatches);
+	}
+
+	@Test
+	public void test_matchCacheInvalidatedByRemove() {
+
+		getORMatcher().setMatchCacheSize(10);
+
+		addUndergradTeachingJobCopy();
+
+		testAcademiaMatching(UNDERGRAD_TEACHING_JOB_COPY_ID);
+		testAcademiaMatching(UNDERGRAD_TEACHING_JOB_COPY_ID);
+		assertEquals(1, reasonerMatches);
+
+		getClientStore().remove(UNDERGRAD_TEACHING_JOB_COPY_ID);
+
+		testAcademiaMatching();
+		assertEquals(2, reasonerMatches);
+	}
+
 	protected OROntologyLinkedMatcher createMatcher(OModel oModel) {
 
-		return new ORConceptsMatcher(oModel);
+		return new MatchCountingMatcher(oModel);
+	}
+
+	private void addUndergradTeachingJobCopy() {
+
+		IStore store = getClientStore();
+		IFrame job = store.get(UNDERGRAD_TEACHING_JOB_ID).getRootFrame();
+
+		store.add(job, UNDERGRAD_TEACHING_JOB_COPY_ID);
+	}
+
+	private void testAcademiaMatching(CIdentity... extraMatchIds) {
+
+		List<CIdentity> matchIds = new ArrayList<CIdentity>();
+
+		matchIds.add(UNDERGRAD_TEACHING_JOB_ID);
+		matchIds.add(POSTGRAD_TEACHING_JOB_ID);
+		matchIds.add(ACADEMIC_RESEARCHING_JOB_ID);
+		matchIds.addAll(Arrays.asList(extraMatchIds));
+
+		testMatching(createAcademiaQuery(), matchIds.toArray(new CIdentity[matchIds.size()]));
+	}
+
+	private ORMatcher getORMatcher() {
+
+		return (ORMatcher)getMatcher();
 	}
 }
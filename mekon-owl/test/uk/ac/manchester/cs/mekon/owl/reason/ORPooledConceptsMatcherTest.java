@@ -0,0 +1,171 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.owl.reason;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import org.semanticweb.owlapi.model.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.network.*;
+import uk.ac.manchester.cs.mekon.owl.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class ORPooledConceptsMatcherTest extends ORConceptsMatcherTest {
+
+	static private final int MATCHING_THREADS = 2;
+	static private final long RENDEZVOUS_TIMEOUT_SECS = 10;
+
+	private Rendezvous matchRendezvous = new Rendezvous();
+	private Rendezvous matchesRendezvous = new Rendezvous();
+
+	private class Rendezvous {
+
+		private CountDownLatch arrivals = new CountDownLatch(MATCHING_THREADS);
+
+		private volatile boolean active = false;
+		private volatile boolean timedOut = false;
+
+		void activate() {
+
+			active = true;
+		}
+
+		void checkAwait() {
+
+			if (active) {
+
+				arrivals.countDown();
+
+				try {
+
+					if (!arrivals.await(RENDEZVOUS_TIMEOUT_SECS, TimeUnit.SECONDS)) {
+
+						timedOut = true;
+					}
+				}
+				catch (InterruptedException e) {
+
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+
+		boolean reached() {
+
+			return !timedOut && arrivals.getCount() == 0;
+		}
+	}
+
+	private class RendezvousMatcher extends MatchCountingMatcher {
+
+		RendezvousMatcher(OModel oModel) {
+
+			super(oModel);
+		}
+
+		List<IRI> match(ConceptExpression queryExpr) {
+
+			matchRendezvous.checkAwait();
+
+			return super.match(queryExpr);
+		}
+
+		boolean matches(ConceptExpression queryExpr, NNode instance) {
+
+			matchesRendezvous.checkAwait();
+
+			return super.matches(queryExpr, instance);
+		}
+	}
+
+	private class AcademiaQueryTester implements Runnable {
+
+		private IFrame query = createAcademiaQuery();
+
+		public void run() {
+
+			testMatching(
+				query,
+				UNDERGRAD_TEACHING_JOB_ID,
+				POSTGRAD_TEACHING_JOB_ID,
+				ACADEMIC_RESEARCHING_JOB_ID);
+		}
+	}
+
+	@Test
+	public void test_concurrentMatching() throws Exception {
+
+		List<AcademiaQueryTester> testers = new ArrayList<AcademiaQueryTester>();
+		ExecutorService threads = Executors.newFixedThreadPool(MATCHING_THREADS);
+
+		for (int i = 0 ; i < MATCHING_THREADS ; i++) {
+
+			testers.add(new AcademiaQueryTester());
+		}
+
+		matchRendezvous.activate();
+		matchesRendezvous.activate();
+
+		try {
+
+			List<Future<?>> results = new ArrayList<Future<?>>();
+
+			for (AcademiaQueryTester tester : testers) {
+
+				results.add(threads.submit(tester));
+			}
+
+			for (Future<?> result : results) {
+
+				result.get();
+			}
+		}
+		finally {
+
+			threads.shutdown();
+		}
+
+		assertTrue("Matches not performed concurrently", matchRendezvous.reached());
+		assertTrue("Match-checks not performed concurrently", matchesRendezvous.reached());
+	}
+
+	protected OROntologyLinkedMatcher createMatcher(OModel oModel) {
+
+		return new RendezvousMatcher(oModel);
+	}
+
+	OModel createDemoModel() {
+
+		return ODemoModel.createWithReasonerPool(MATCHING_THREADS);
+	}
+}
@@ -26,6 +26,8 @@ package uk.ac.manchester.cs.mekon.owl.stardog;
 
 import com.complexible.stardog.api.*;
 
+import com.stardog.stark.*;
+
 import uk.ac.manchester.cs.mekon.owl.triples.*;
 
 /**
@@ -34,24 +36,76 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
 class OStardogFactory implements OTFactory {
 
 	private Connection connection;
+	private OStardogPreparedQueries preparedQueries;
+
+	private boolean batching = false;
 
 	public OTGraphAdder createGraphAdder(String contextURI) {
 
-		return new OStardogGraphAdder(connection, contextURI);
+		return new OStardogGraphAdder(this, connection, contextURI);
 	}
 
 	public OTGraphRemover createGraphRemover(String contextURI) {
 
-		return new OStardogGraphRemover(connection, contextURI);
+		return new OStardogGraphRemover(this, connection, contextURI);
 	}
 
 	public OTQuery createQuery() {
 
-		return new OStardogQuery(connection);
+		return new OStardogQuery(preparedQueries);
+	}
+
+	public void startBatch() {
+
+		connection.begin();
+
+		batching = true;
+	}
+
+	public void endBatch() {
+
+		batching = false;
+
+		connection.commit();
+	}
+
+	public void failBatch() {
+
+		endBatch();
 	}
 
 	OStardogFactory(Connection connection) {
 
 		this.connection = connection;
+
+		preparedQueries = new OStardogPreparedQueries(connection);
+	}
+
+	void startUpdate() {
+
+		if (!batching) {
+
+			connection.begin();
+		}
+	}
+
+	void endUpdate() {
+
+		if (!batching) {
+
+			connection.commit();
+		}
+	}
+
+	void failUpdate(IRI context) {
+
+		if (batching) {
+
+			connection.remove().context(context);
+		}
+		else {
+
+			connection.rollback();
+		}
 	}
 }
@@ -37,6 +37,7 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OStardogGraphAdder implements OTGraphAdder {
 
+	private OStardogFactory factory;
 	private Connection connection;
 	private IRI context;
 
@@ -70,14 +71,23 @@ class OStardogGraphAdder implements OTGraphAdder {
 
 	public void addGraphToStore() {
 
-		connection.begin();
+		factory.startUpdate();
 
-		for (Triple triple : triples) {
+		try {
 
-			triple.add();
+			for (Triple triple : triples) {
+
+				triple.add();
+			}
+		}
+		catch (RuntimeException e) {
+
+			factory.failUpdate(context);
+
+			throw e;
 		}
 
-		connection.commit();
+		factory.endUpdate();
 	}
 
 	public void addToGraph(OT_URI subject, OT_URI predicate, OTValue object) {
@@ -85,8 +95,12 @@ class OStardogGraphAdder implements OTGraphAdder {
 		new Triple(subject, predicate, object);
 	}
 
-	OStardogGraphAdder(Connection connection, String contextURI) {
+	OStardogGraphAdder(
+		OStardogFactory factory,
+		Connection connection,
+		String contextURI) {
 
+		this.factory = factory;
 		this.connection = connection;
 
 		context = Values.iri(contextURI);
@@ -37,25 +37,39 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OStardogGraphRemover implements OTGraphRemover {
 
+	private OStardogFactory factory;
 	private Connection connection;
 	private IRI context;
 
 	public void removeGraphFromStore() {
 
-		connection.begin();
+		factory.startUpdate();
 
-		Iterator<Statement> triples = getAllTriples();
+		try {
 
-		while (triples.hasNext()) {
+			Iterator<Statement> triples = getAllTriples();
 
-			connection.remove().statement(triples.next());
+			while (triples.hasNext()) {
+
+				connection.remove().statement(triples.next());
+			}
+		}
+		catch (RuntimeException e) {
+
+			factory.failUpdate(context);
+
+			throw e;
 		}
 
-		connection.commit();
+		factory.endUpdate();
 	}
 
-	OStardogGraphRemover(Connection connection, String contextURI) {
+	OStardogGraphRemover(
+		OStardogFactory factory,
+		Connection connection,
+		String contextURI) {
 
+		this.factory = factory;
 		this.connection = connection;
 
 		context = Values.iri(contextURI);
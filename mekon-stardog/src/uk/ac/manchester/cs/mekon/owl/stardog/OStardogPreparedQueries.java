@@ -0,0 +1,78 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.owl.stardog;
+
+import com.complexible.stardog.api.*;
+
+import com.stardog.stark.query.SelectQueryResult;
+
+import uk.ac.manchester.cs.mekon.owl.triples.*;
+
+/**
+ * @author Colin Puleston
+ */
+class OStardogPreparedQueries {
+
+	private Connection connection;
+
+	private AskQueries askQueries = new AskQueries();
+	private SelectQueries selectQueries = new SelectQueries();
+
+	private class AskQueries extends OTQueryCache<Query<Boolean>> {
+
+		protected Query<Boolean> prepare(String query) {
+
+			return connection.ask(query);
+		}
+	}
+
+	private class SelectQueries extends OTQueryCache<Query<SelectQueryResult>> {
+
+		protected Query<SelectQueryResult> prepare(String query) {
+
+			return connection.select(query);
+		}
+	}
+
+	OStardogPreparedQueries(Connection connection) {
+
+		this.connection = connection;
+	}
+
+	Query<Boolean> getAsk(OTQueryTemplate query) {
+
+		return askQueries.get(query);
+	}
+
+	Query<SelectQueryResult> getSelect(OTQueryTemplate query) {
+
+		return selectQueries.get(query);
+	}
+
+	Query<Void> createUpdate(String query) {
+
+		return connection.update(query);
+	}
+}
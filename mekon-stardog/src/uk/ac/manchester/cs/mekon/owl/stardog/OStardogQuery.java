@@ -40,21 +40,20 @@ import uk.ac.manchester.cs.mekon.owl.triples.*;
  */
 class OStardogQuery implements OTQuery {
 
-	private Connection connection;
+	private OStardogPreparedQueries preparedQueries;
 
-	private abstract class Executor<R> {
+	private class Executor<R> {
 
-		R execute(String query, OTQueryConstants constants) {
+		R execute(Query<R> query, OTQueryConstants constants) {
 
-			Query<R> queryExec = create(query);
+			synchronized (query) {
 
-			addConstants(queryExec, constants);
+				addConstants(query, constants);
 
-			return queryExec.execute();
+				return query.execute();
+			}
 		}
 
-		abstract Query<R> create(String query);
-
 		private void addConstants(Query<?> query, OTQueryConstants constants) {
 
 			for (OTValue constant : constants.getConstants()) {
@@ -66,44 +65,20 @@ class OStardogQuery implements OTQuery {
 		}
 	}
 
-	private class AskExecutor extends Executor<Boolean> {
-
-		Query<Boolean> create(String query) {
+	public boolean executeAsk(OTQueryTemplate query, OTQueryConstants constants) {
 
-			return connection.ask(query);
-		}
-	}
-
-	private class UpdateExecutor extends Executor<Void> {
-
-		Query<Void> create(String query) {
-
-			return connection.update(query);
-		}
-	}
-
-	private class SelectExecutor extends Executor<SelectQueryResult> {
-
-		Query<SelectQueryResult> create(String query) {
-
-			return connection.select(query);
-		}
-	}
-
-	public boolean executeAsk(String query, OTQueryConstants constants) {
-
-		return new AskExecutor().execute(query, constants);
+		return new Executor<Boolean>().execute(preparedQueries.getAsk(query), constants);
 	}
 
 	public void executeUpdate(String query, OTQueryConstants constants) {
 
-		new UpdateExecutor().execute(query, constants);
+		new Executor<Void>().execute(preparedQueries.createUpdate(query), constants);
 	}
 
-	public Set<OT_URI> executeSelect(String query, OTQueryConstants constants) {
+	public Set<OT_URI> executeSelect(OTQueryTemplate query, OTQueryConstants constants) {
 
 		Set<OT_URI> bindings = new HashSet<OT_URI>();
-		SelectQueryResult result = new SelectExecutor().execute(query, constants);
+		SelectQueryResult result = executeSelectQuery(query, constants);
 
 		while (result.hasNext()) {
 
@@ -115,9 +90,18 @@ class OStardogQuery implements OTQuery {
 		return bindings;
 	}
 
-	OStardogQuery(Connection connection) {
+	OStardogQuery(OStardogPreparedQueries preparedQueries) {
+
+		this.preparedQueries = preparedQueries;
+	}
+
+	private SelectQueryResult executeSelectQuery(
+								OTQueryTemplate query,
+								OTQueryConstants constants) {
+
+		Query<SelectQueryResult> prepared = preparedQueries.getSelect(query);
 
-		this.connection = connection;
+		return new Executor<SelectQueryResult>().execute(prepared, constants);
 	}
 
 	private OT_URI getSingleBoundURI(BindingSet bindings) {
@@ -53,6 +53,7 @@ class Store {
 				instance = customiser.onNewInstance(instance, id);
 			}
 
+			awaitInstanceUpdates();
 			store.add(instance, id);
 			showStoredMessage(id);
 
@@ -133,9 +134,16 @@ class Store {
 
 	private List<CIdentity> getAssertionMatches(IFrame query) {
 
+		awaitInstanceUpdates();
+
 		return extractAssertions(store.match(query).getAllMatches());
 	}
 
+	private void awaitInstanceUpdates() {
+
+		store.getModel().getIUpdating().awaitQuiescence();
+	}
+
 	private List<CIdentity> extractAssertions(List<CIdentity> all) {
 
 		List<CIdentity> assertions = new ArrayList<CIdentity>();
@@ -56,6 +56,7 @@ class InstanceStoreActions {
 
 		if (checkStorageRequired(id)) {
 
+			awaitInstanceUpdates();
 			getStore().add(instance, id);
 
 			showStoredMessage(id);
@@ -107,6 +108,8 @@ class InstanceStoreActions {
 
 	IMatches executeQuery(IFrame query, boolean reportNoMatches) {
 
+		awaitInstanceUpdates();
+
 		IMatches matches = getStore().match(query);
 
 		if (reportNoMatches && !matches.anyMatches()) {
@@ -229,6 +232,11 @@ class InstanceStoreActions {
 		JOptionPane.showMessageDialog(null, msg);
 	}
 
+	private void awaitInstanceUpdates() {
+
+		getStore().getModel().getIUpdating().awaitQuiescence();
+	}
+
 	private IStore getStore() {
 
 		if (store == null) {
@@ -34,19 +34,28 @@ import uk.ac.manchester.cs.mekon_util.remote.client.*;
  */
 public class MekonRemoteModelExplorer {
 
+	static private final String BINARY_TRANSPORT_OPTION = "-binary";
+	static private final String COMPRESSED_TRANSPORT_OPTION = "-compressed";
+
 	static public void main(String[] args) {
 
-		URL serverURL = getServerURLFromArgs(args);
-		RMekonClient client = new RMekonClient(new RNetClient(serverURL), false);
+		RNetClient netClient = new RNetClient(getServerURLFromArgs(args));
+
+		setTransportOptionsFromArgs(netClient, args);
+
+		RMekonClient client = new RMekonClient(netClient, false);
 
 		new MekonModelExplorer(client.getCModel(), client.getIStore());
 	}
 
 	static private URL getServerURLFromArgs(String[] args) {
 
-		if (args.length != 1) {
+		if (args.length == 0) {
 
-			exitForInputError("Expected single argument specifying server URL");
+			exitForInputError(
+				"Expected argument specifying server URL, optionally followed by "
+				+ BINARY_TRANSPORT_OPTION + " and/or "
+				+ COMPRESSED_TRANSPORT_OPTION);
 		}
 
 		try {
@@ -61,6 +70,27 @@ public class MekonRemoteModelExplorer {
 		}
 	}
 
+	static private void setTransportOptionsFromArgs(RNetClient netClient, String[] args) {
+
+		for (int i = 1 ; i < args.length ; i++) {
+
+			String option = args[i];
+
+			if (option.equals(BINARY_TRANSPORT_OPTION)) {
+
+				netClient.setBinaryTransport(true);
+			}
+			else if (option.equals(COMPRESSED_TRANSPORT_OPTION)) {
+
+				netClient.setCompressedTransport(true);
+			}
+			else {
+
+				exitForInputError("Unrecognised option: " + option);
+			}
+		}
+	}
+
 	static private void exitForInputError(String message) {
 
 		System.out.println("INPUT ERROR: " + message);
@@ -0,0 +1,87 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon_util;
+
+import java.util.*;
+
+/**
+ * Access-ordered map of bounded size, from which the least-recently
+ * accessed entry is removed whenever the maximum size is exceeded.
+ *
+ * @author Colin Puleston
+ */
+public class KLRUMap<K, V> extends LinkedHashMap<K, V> {
+
+	static private final long serialVersionUID = -1;
+
+	private int maxSize;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param maxSize Maximum number of entries
+	 */
+	public KLRUMap(int maxSize) {
+
+		super(16, 0.75f, true);
+
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Sets the maximum number of entries, removing all current
+	 * entries.
+	 *
+	 * @param maxSize Maximum number of entries
+	 */
+	public void resetMaxSize(int maxSize) {
+
+		this.maxSize = maxSize;
+
+		clear();
+	}
+
+	/**
+	 * Provides the maximum number of entries.
+	 *
+	 * @return Maximum number of entries
+	 */
+	public int getMaxSize() {
+
+		return maxSize;
+	}
+
+	/**
+	 * Removes the least-recently accessed entry if the maximum size
+	 * has been exceeded.
+	 *
+	 * @param eldest Least-recently accessed entry
+	 * @return True if entry is to be removed
+	 */
+	protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+
+		return size() > maxSize;
+	}
+}
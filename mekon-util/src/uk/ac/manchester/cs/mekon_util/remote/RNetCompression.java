@@ -0,0 +1,80 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon_util.remote;
+
+import java.io.*;
+import java.util.zip.*;
+
+/**
+ * Provides mechanisms for the gzip-compression of documents sent
+ * between network client and server.
+ *
+ * @author Colin Puleston
+ */
+public class RNetCompression {
+
+	/**
+	 * Name of content-encoding representing gzip-compression.
+	 */
+	static public final String ENCODING = "gzip";
+
+	/**
+	 * Tests whether an input-stream contains gzip-compressed content.
+	 * The stream must support marking, and will be reset to its initial
+	 * position after the test.
+	 *
+	 * @param input Relevant input-stream
+	 * @return True if stream contains compressed content
+	 * @throws IOException if stream cannot be read from or reset
+	 */
+	static public boolean compressedFormat(InputStream input) throws IOException {
+
+		input.mark(2);
+
+		int first = input.read();
+		int second = input.read();
+
+		input.reset();
+
+		return first == (GZIPInputStream.GZIP_MAGIC & 0xFF)
+				&& second == (GZIPInputStream.GZIP_MAGIC >> 8);
+	}
+
+	/**
+	 * Provides a stream that will decompress the content of an
+	 * input-stream that has been found to be compressed (see
+	 * {@link #compressedFormat}). The returned stream will support
+	 * marking.
+	 *
+	 * @param input Relevant input-stream
+	 * @return Decompressing input-stream
+	 * @throws IOException if compressed content is not valid
+	 */
+	static public InputStream toDecompressing(InputStream input) throws IOException {
+
+		return new BufferedInputStream(new GZIPInputStream(input));
+	}
+}
@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon_util.remote;
+
+import java.util.*;
+import javax.xml.parsers.*;
+
+import org.w3c.dom.*;
+
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * Provides mechanisms for packing a set of documents into a single
+ * "envelope" document, so that multiple action requests, or the
+ * responses to those requests, can be sent between network client
+ * and server in a single round trip, and for subsequently unpacking
+ * the envelope.
+ *
+ * @author Colin Puleston
+ */
+public class RNetEnvelope {
+
+	/**
+	 * Packs a set of documents into an envelope document.
+	 *
+	 * @param envelopeId Identifier for root-node of envelope document
+	 * @param documents Documents to be packed
+	 * @return Envelope document
+	 */
+	static public XDocument pack(String envelopeId, List<XDocument> documents) {
+
+		XDocument envelope = new XDocument(envelopeId);
+		Document envelopeDOM = envelope.getDOMDocument();
+		Element envelopeRoot = envelopeDOM.getDocumentElement();
+
+		for (XDocument document : documents) {
+
+			envelopeRoot.appendChild(envelopeDOM.importNode(getRoot(document), true));
+		}
+
+		return new XDocument(envelopeDOM);
+	}
+
+	/**
+	 * Unpacks the set of documents contained in an envelope document.
+	 *
+	 * @param envelope Envelope document
+	 * @return Unpacked documents, in the order in which they were packed
+	 */
+	static public List<XDocument> unpack(XDocument envelope) {
+
+		List<XDocument> documents = new ArrayList<XDocument>();
+		NodeList nodes = getRoot(envelope).getChildNodes();
+
+		for (int i = 0 ; i < nodes.getLength() ; i++) {
+
+			Node node = nodes.item(i);
+
+			if (node instanceof Element) {
+
+				documents.add(unpack((Element)node));
+			}
+		}
+
+		return documents;
+	}
+
+	static private XDocument unpack(Element root) {
+
+		Document document = createDOMDocument();
+
+		document.appendChild(document.importNode(root, true));
+
+		return new XDocument(document);
+	}
+
+	static private Document createDOMDocument() {
+
+		try {
+
+			return DocumentBuilderFactory.newInstance().newDocumentBuilder().newDocument();
+		}
+		catch (ParserConfigurationException e) {
+
+			throw new XDocumentException(e);
+		}
+	}
+
+	static private Element getRoot(XDocument document) {
+
+		return document.getDOMDocument().getDocumentElement();
+	}
+}
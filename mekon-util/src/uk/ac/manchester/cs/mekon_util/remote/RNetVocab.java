@@ -34,4 +34,7 @@ public interface RNetVocab {
 
 	static public final String SERVER_INIT_REQUEST_ID = "ServerInitialisationRequest";
 	static public final String SERVER_INIT_OK_RESPONSE_ID = "ServerInitialisationOk";
+
+	static public final String MULTI_ACTION_REQUEST_ID = "MultiActionRequest";
+	static public final String MULTI_ACTION_RESPONSE_ID = "MultiActionResponse";
 }
@@ -26,18 +26,31 @@ package uk.ac.manchester.cs.mekon_util.remote.client;
 
 import java.io.*;
 import java.net.*;
+import java.util.*;
+import java.util.zip.*;
 
 import uk.ac.manchester.cs.mekon_util.xdoc.*;
 import uk.ac.manchester.cs.mekon_util.remote.*;
 
 /**
  * Represents a network client, via which server-side actions
- * can be specified and performed.
+ * can be specified and performed. For HTTP-based access, each
+ * request is sent with a fixed content-length, and each response
+ * is read in full, so that the underlying connection can be kept
+ * alive and re-used for subsequent requests.
  *
  * @author Colin Puleston
  */
 public class RNetClient implements RNetVocab {
 
+	static private final String CONNECTION_HEADER = "Connection";
+	static private final String KEEP_ALIVE_CONNECTION = "keep-alive";
+
+	static private final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+	static private final String ACCEPT_ENCODING_HEADER = "Accept-Encoding";
+
+	static private final int TRANSFER_BUFFER_SIZE = 8192;
+
 	/**
 	 * Creates object and invokes {@link #initialiseServer} method,
 	 * interpreting first argument as the required server URL.
@@ -79,6 +92,9 @@ public class RNetClient implements RNetVocab {
 	private int connectTimeoutInMillis = 0;
 	private int readTimeoutInMillis = 0;
 
+	private boolean binaryTransport = false;
+	private boolean compressedTransport = false;
+
 	/**
 	 * Constructor.
 	 *
@@ -111,6 +127,30 @@ public class RNetClient implements RNetVocab {
 		readTimeoutInMillis = timeInSeconds * 1000;
 	}
 
+	/**
+	 * Sets whether requests should be sent to the server in the compact
+	 * binary document format, rather than as XML. The server will respond
+	 * in the same format as the request. By default XML will be used.
+	 *
+	 * @param binaryTransport True if binary format is to be used
+	 */
+	public void setBinaryTransport(boolean binaryTransport) {
+
+		this.binaryTransport = binaryTransport;
+	}
+
+	/**
+	 * Sets whether requests should be gzip-compressed before being sent
+	 * to the server. The server will respond with the same compression
+	 * as the request. By default no compression will be used.
+	 *
+	 * @param compressedTransport True if compression is to be used
+	 */
+	public void setCompressedTransport(boolean compressedTransport) {
+
+		this.compressedTransport = compressedTransport;
+	}
+
 	/**
 	 * Sets handler for any runtime-exceptions resulting from
 	 * server-access operations. By default all such exceptions will
@@ -149,11 +189,7 @@ public class RNetClient implements RNetVocab {
 
 		try {
 
-			URLConnection connection = connect();
-
-			send(connection, request);
-
-			return receive(connection);
+			return exchange(render(request));
 		}
 		catch (IOException e) {
 
@@ -165,6 +201,31 @@ public class RNetClient implements RNetVocab {
 		}
 	}
 
+	/**
+	 * Accesses the server to perform a set of actions, with all
+	 * requests being sent, and all responses being returned, in a
+	 * single round trip.
+	 *
+	 * @param requests Documents representing specifications of required
+	 * actions
+	 * @return Documents representing outputs produced by actions, in
+	 * the same order as the corresponding requests, or singleton list
+	 * containing document, or null value, produced by exception handler
+	 * if relevant
+	 */
+	public List<XDocument> performActionsOnServer(List<XDocument> requests) {
+
+		XDocument envelope = RNetEnvelope.pack(MULTI_ACTION_REQUEST_ID, requests);
+		XDocument response = performActionOnServer(envelope);
+
+		if (response != null && response.getRootNode().hasId(MULTI_ACTION_RESPONSE_ID)) {
+
+			return RNetEnvelope.unpack(response);
+		}
+
+		return Collections.singletonList(response);
+	}
+
 	/**
 	 * Uses the net-clients exception-handler (see {@link
 	 * #setExceptionHandler}) to handle a client-generated server-access
@@ -179,7 +240,25 @@ public class RNetClient implements RNetVocab {
 		return exceptionHandler.handle(exception);
 	}
 
-	private URLConnection connect() throws IOException {
+	private XDocument exchange(byte[] request) throws IOException {
+
+		URLConnection connection = connect(request.length);
+
+		try {
+
+			send(connection, request);
+
+			return receive(connection);
+		}
+		catch (IOException e) {
+
+			discardErrorResponse(connection);
+
+			throw e;
+		}
+	}
+
+	private URLConnection connect(int requestLength) throws IOException {
 
 		URLConnection connection = serverURL.openConnection();
 
@@ -188,26 +267,106 @@ public class RNetClient implements RNetVocab {
 		connection.setConnectTimeout(connectTimeoutInMillis);
 		connection.setReadTimeout(readTimeoutInMillis);
 
+		if (connection instanceof HttpURLConnection) {
+
+			configureHttp((HttpURLConnection)connection, requestLength);
+		}
+
 		connection.connect();
 
 		return connection;
 	}
 
-	private void send(URLConnection connection, XDocument request) throws IOException {
+	private void configureHttp(HttpURLConnection connection, int requestLength) {
+
+		connection.setFixedLengthStreamingMode(requestLength);
+		connection.setRequestProperty(CONNECTION_HEADER, KEEP_ALIVE_CONNECTION);
+
+		if (compressedTransport) {
+
+			connection.setRequestProperty(CONTENT_ENCODING_HEADER, RNetCompression.ENCODING);
+			connection.setRequestProperty(ACCEPT_ENCODING_HEADER, RNetCompression.ENCODING);
+		}
+	}
+
+	private byte[] render(XDocument request) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		OutputStream output = compressedTransport ? new GZIPOutputStream(bytes) : bytes;
+		OutputStream bufferedOutput = new BufferedOutputStream(output);
+
+		if (binaryTransport) {
+
+			request.writeToBinaryOutput(bufferedOutput);
+		}
+		else {
+
+			request.writeToOutput(bufferedOutput);
+		}
+
+		bufferedOutput.flush();
+		output.close();
+
+		return bytes.toByteArray();
+	}
+
+	private void send(URLConnection connection, byte[] request) throws IOException {
 
 		OutputStream output = connection.getOutputStream();
 
-		request.writeToOutput(new BufferedOutputStream(output));
+		output.write(request);
 		output.close();
 	}
 
 	private XDocument receive(URLConnection connection) throws IOException {
 
-		InputStream input = connection.getInputStream();
-		XDocument response = new XDocument(new BufferedInputStream(input));
+		InputStream input = new ByteArrayInputStream(readFully(connection.getInputStream()));
+
+		if (RNetCompression.compressedFormat(input)) {
 
-		input.close();
+			input = RNetCompression.toDecompressing(input);
+		}
+
+		return new XDocument(input);
+	}
+
+	private void discardErrorResponse(URLConnection connection) {
+
+		if (connection instanceof HttpURLConnection) {
+
+			InputStream errorInput = ((HttpURLConnection)connection).getErrorStream();
+
+			if (errorInput != null) {
+
+				try {
+
+					readFully(errorInput);
+				}
+				catch (IOException e) {
+				}
+			}
+		}
+	}
+
+	private byte[] readFully(InputStream input) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+
+		try {
+
+			int count;
+
+			while ((count = input.read(buffer)) != -1) {
+
+				bytes.write(buffer, 0, count);
+			}
+		}
+		finally {
+
+			input.close();
+		}
 
-		return response;
+		return bytes.toByteArray();
 	}
 }
@@ -25,14 +25,22 @@
 package uk.ac.manchester.cs.mekon_util.remote.server;
 
 import java.io.*;
+import java.util.*;
+import java.util.zip.*;
 import javax.servlet.*;
+import javax.servlet.http.*;
 
 import uk.ac.manchester.cs.mekon_util.remote.*;
 import uk.ac.manchester.cs.mekon_util.xdoc.*;
 
 /**
  * Servlet via which server-side actions can be specified and
- * performed.
+ * performed. Requests can be sent either as XML or in the compact
+ * binary document format, and can optionally be gzip-compressed,
+ * with the response being sent in the same format and compression
+ * as the request. Multiple requests can also be packed into a
+ * single envelope document (see {@link RNetEnvelope}), in which case
+ * the responses will be returned in a matching envelope.
  *
  * @author Colin Puleston
  */
@@ -40,6 +48,8 @@ public abstract class RNetServer extends GenericServlet implements RNetVocab {
 
 	static private final long serialVersionUID = -1;
 
+	static private final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
 	/**
 	 */
 	public void init() throws ServletException {
@@ -65,10 +75,20 @@ public abstract class RNetServer extends GenericServlet implements RNetVocab {
 
 		try {
 
-			XDocument requestDoc = new XDocument(getInputStream(request));
-			XDocument responseDoc = confirmInitOrPerformAction(requestDoc);
+			InputStream input = getInputStream(request);
+			boolean compressed = RNetCompression.compressedFormat(input);
+
+			if (compressed) {
+
+				input = RNetCompression.toDecompressing(input);
+			}
+
+			boolean binary = XDocument.binaryFormat(input);
+
+			XDocument requestDoc = new XDocument(input);
+			XDocument responseDoc = performActionOrActions(requestDoc);
 
-			responseDoc.writeToOutput(getOutputStream(response));
+			writeResponse(responseDoc, response, binary, compressed);
 		}
 		catch (RuntimeException e) {
 
@@ -95,6 +115,23 @@ public abstract class RNetServer extends GenericServlet implements RNetVocab {
 	 */
 	protected abstract XDocument performAction(XDocument request);
 
+	private XDocument performActionOrActions(XDocument request) {
+
+		if (request.getRootNode().hasId(MULTI_ACTION_REQUEST_ID)) {
+
+			List<XDocument> responses = new ArrayList<XDocument>();
+
+			for (XDocument subRequest : RNetEnvelope.unpack(request)) {
+
+				responses.add(confirmInitOrPerformAction(subRequest));
+			}
+
+			return RNetEnvelope.pack(MULTI_ACTION_RESPONSE_ID, responses);
+		}
+
+		return confirmInitOrPerformAction(request);
+	}
+
 	private XDocument confirmInitOrPerformAction(XDocument request) {
 
 		if (request.getRootNode().hasId(SERVER_INIT_REQUEST_ID)) {
@@ -105,6 +142,58 @@ public abstract class RNetServer extends GenericServlet implements RNetVocab {
 		return performAction(request);
 	}
 
+	private void writeResponse(
+					XDocument response,
+					ServletResponse servletResponse,
+					boolean binary,
+					boolean compressed)
+					throws IOException {
+
+		OutputStream output = getOutputStream(servletResponse);
+
+		if (compressed) {
+
+			setCompressedEncoding(servletResponse);
+			writeCompressedResponse(response, output, binary);
+		}
+		else {
+
+			writeResponse(response, output, binary);
+		}
+	}
+
+	private void writeCompressedResponse(
+					XDocument response,
+					OutputStream output,
+					boolean binary)
+					throws IOException {
+
+		GZIPOutputStream compressor = new GZIPOutputStream(output);
+
+		writeResponse(response, new BufferedOutputStream(compressor), binary);
+
+		compressor.finish();
+		output.flush();
+	}
+
+	private void writeResponse(
+					XDocument response,
+					OutputStream output,
+					boolean binary)
+					throws IOException {
+
+		if (binary) {
+
+			response.writeToBinaryOutput(output);
+		}
+		else {
+
+			response.writeToOutput(output);
+		}
+
+		output.flush();
+	}
+
 	private InputStream getInputStream(ServletRequest request) throws IOException {
 
 		return new BufferedInputStream(request.getInputStream());
@@ -115,6 +204,17 @@ public abstract class RNetServer extends GenericServlet implements RNetVocab {
 		return new BufferedOutputStream(response.getOutputStream());
 	}
 
+	private void setCompressedEncoding(ServletResponse response) {
+
+		if (response instanceof HttpServletResponse) {
+
+			((HttpServletResponse)response)
+				.setHeader(
+					CONTENT_ENCODING_HEADER,
+					RNetCompression.ENCODING);
+		}
+	}
+
 	private void setLibraryPath() {
 
 		LibraryPathHandler.setLibraryPath(getServletContext());
@@ -0,0 +1,334 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon_util.xdoc;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.util.*;
+
+import org.w3c.dom.*;
+
+/**
+ * @author Colin Puleston
+ */
+class XBinaryDocument {
+
+	static private final byte[] FORMAT_MARKER = {'M', 'K', 'X', 'B'};
+	static private final int FORMAT_VERSION = 1;
+
+	static private final int NEW_STRING_REF = 0;
+
+	static private class Writer {
+
+		private DataOutputStream output;
+		private Map<String, Integer> stringRefs = new HashMap<String, Integer>();
+
+		Writer(OutputStream output) {
+
+			this.output = new DataOutputStream(output);
+		}
+
+		void write(Document document) throws IOException {
+
+			output.write(FORMAT_MARKER);
+			output.writeByte(FORMAT_VERSION);
+
+			writeElement(document.getDocumentElement());
+			output.flush();
+		}
+
+		private void writeElement(Element element) throws IOException {
+
+			NamedNodeMap attributes = element.getAttributes();
+			List<Element> children = getChildElements(element);
+
+			writeString(element.getTagName());
+			writeVarInt(attributes.getLength());
+
+			for (int i = 0 ; i < attributes.getLength() ; i++) {
+
+				Node attribute = attributes.item(i);
+
+				writeString(attribute.getNodeName());
+				writeString(attribute.getNodeValue());
+			}
+
+			writeVarInt(children.size());
+
+			for (Element child : children) {
+
+				writeElement(child);
+			}
+		}
+
+		private void writeString(String value) throws IOException {
+
+			Integer ref = stringRefs.get(value);
+
+			if (ref != null) {
+
+				writeVarInt(ref);
+			}
+			else {
+
+				byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+
+				stringRefs.put(value, stringRefs.size() + 1);
+
+				writeVarInt(NEW_STRING_REF);
+				writeVarInt(bytes.length);
+				output.write(bytes);
+			}
+		}
+
+		private void writeVarInt(int value) throws IOException {
+
+			while ((value & ~0x7F) != 0) {
+
+				output.writeByte((value & 0x7F) | 0x80);
+
+				value >>>= 7;
+			}
+
+			output.writeByte(value);
+		}
+
+		private List<Element> getChildElements(Element element) {
+
+			List<Element> children = new ArrayList<Element>();
+			NodeList childNodes = element.getChildNodes();
+
+			for (int i = 0 ; i < childNodes.getLength() ; i++) {
+
+				Node node = childNodes.item(i);
+
+				if (node instanceof Element) {
+
+					children.add((Element)node);
+				}
+			}
+
+			return children;
+		}
+	}
+
+	static private class Reader {
+
+		private DataInputStream input;
+		private Map<String, String> sharedStrings;
+
+		private List<String> strings = new ArrayList<String>();
+
+		Reader(InputStream input, Map<String, String> sharedStrings) {
+
+			this.input = new DataInputStream(input);
+			this.sharedStrings = sharedStrings;
+		}
+
+		Document read() throws IOException {
+
+			checkFormatMarker();
+			checkFormatVersion();
+
+			Document document = DOMDocument.create(readString());
+
+			readElementContents(document, document.getDocumentElement());
+
+			return document;
+		}
+
+		private void checkFormatMarker() throws IOException {
+
+			byte[] marker = new byte[FORMAT_MARKER.length];
+
+			input.readFully(marker);
+
+			if (!Arrays.equals(marker, FORMAT_MARKER)) {
+
+				throw new XDocumentException("Not a binary-format document");
+			}
+		}
+
+		private void checkFormatVersion() throws IOException {
+
+			int version = input.readUnsignedByte();
+
+			if (version != FORMAT_VERSION) {
+
+				throw new XDocumentException(
+							"Unsupported binary-format version: "
+							+ version);
+			}
+		}
+
+		private void readElementContents(
+						Document document,
+						Element element)
+						throws IOException {
+
+			int attributeCount = readVarInt();
+
+			for (int i = 0 ; i < attributeCount ; i++) {
+
+				element.setAttribute(readString(), readString());
+			}
+
+			int childCount = readVarInt();
+
+			for (int i = 0 ; i < childCount ; i++) {
+
+				Element child = document.createElement(readString());
+
+				element.appendChild(child);
+				readElementContents(document, child);
+			}
+		}
+
+		private String readString() throws IOException {
+
+			int ref = readVarInt();
+
+			if (ref == NEW_STRING_REF) {
+
+				return readNewString();
+			}
+
+			if (ref > strings.size()) {
+
+				throw new XDocumentException("Invalid string-reference: " + ref);
+			}
+
+			return strings.get(ref - 1);
+		}
+
+		private String readNewString() throws IOException {
+
+			byte[] bytes = new byte[readVarInt()];
+
+			input.readFully(bytes);
+
+			String value = toSharedString(new String(bytes, StandardCharsets.UTF_8));
+
+			strings.add(value);
+
+			return value;
+		}
+
+		private String toSharedString(String value) {
+
+			String shared = sharedStrings.get(value);
+
+			return shared != null ? shared : value;
+		}
+
+		private int readVarInt() throws IOException {
+
+			int value = 0;
+
+			for (int shift = 0 ; shift < 32 ; shift += 7) {
+
+				int b = input.readUnsignedByte();
+
+				value |= (b & 0x7F) << shift;
+
+				if ((b & 0x80) == 0) {
+
+					return value;
+				}
+			}
+
+			throw new XDocumentException("Invalid variable-length integer");
+		}
+	}
+
+	static boolean binaryFormat(InputStream input) {
+
+		input.mark(FORMAT_MARKER.length);
+
+		try {
+
+			byte[] marker = new byte[FORMAT_MARKER.length];
+			int count = 0;
+
+			while (count < marker.length) {
+
+				int read = input.read(marker, count, marker.length - count);
+
+				if (read == -1) {
+
+					return false;
+				}
+
+				count += read;
+			}
+
+			return Arrays.equals(marker, FORMAT_MARKER);
+		}
+		catch (IOException e) {
+
+			throw new XDocumentException(e);
+		}
+		finally {
+
+			resetStream(input);
+		}
+	}
+
+	static Document read(InputStream input, Map<String, String> sharedStrings) {
+
+		try {
+
+			return new Reader(input, sharedStrings).read();
+		}
+		catch (IOException e) {
+
+			throw new XDocumentException(e);
+		}
+	}
+
+	static void write(Document document, OutputStream output) {
+
+		try {
+
+			new Writer(output).write(document);
+		}
+		catch (IOException e) {
+
+			throw new XDocumentException(e);
+		}
+	}
+
+	static private void resetStream(InputStream input) {
+
+		try {
+
+			input.reset();
+		}
+		catch (IOException e) {
+
+			throw new XDocumentException(e);
+		}
+	}
+}
@@ -24,6 +24,7 @@
 package uk.ac.manchester.cs.mekon_util.xdoc;
 
 import java.io.*;
+import java.util.*;
 
 import org.w3c.dom.*;
 
@@ -39,6 +40,21 @@ public class XDocument {
 	private Document domDocument;
 	private XNode rootNode;
 
+	/**
+	 * Tests whether an input-stream contains a binary serialisation
+	 * of a document, as produced via {@link #writeToBinaryOutput}. The
+	 * stream must support marking, and will be reset to its initial
+	 * position after the test.
+	 *
+	 * @param input Relevant input-stream
+	 * @return True if stream contains binary serialisation
+	 * @throws XDocumentException if stream cannot be read from or reset
+	 */
+	static public boolean binaryFormat(InputStream input) {
+
+		return XBinaryDocument.binaryFormat(input);
+	}
+
 	/**
 	 * Constructor that loads document from a file.
 	 *
@@ -53,7 +69,11 @@ public class XDocument {
 	}
 
 	/**
-	 * Constructor that loads document from an input-stream.
+	 * Constructor that loads document from an input-stream. The
+	 * stream can contain either the standard XML serialisation of the
+	 * document or the binary serialisation produced via {@link
+	 * #writeToBinaryOutput}, with the format being detected
+	 * automatically.
 	 *
 	 * @param inputStream Relevant input-stream
 	 * @throws XDocumentException if input-stream contains incorrectly
@@ -61,7 +81,24 @@ public class XDocument {
 	 */
 	public XDocument(InputStream inputStream) {
 
-		this(DOMDocument.read(inputStream));
+		this(inputStream, Collections.<String, String>emptyMap());
+	}
+
+	/**
+	 * Constructor that loads document from an input-stream, as for
+	 * {@link #XDocument(InputStream)}. When a binary serialisation is
+	 * read, any names or values that are found as keys in the supplied
+	 * map will be replaced by the corresponding map-values, allowing
+	 * frequently occurring strings to be shared between documents.
+	 *
+	 * @param inputStream Relevant input-stream
+	 * @param sharedStrings Map of strings to shared versions
+	 * @throws XDocumentException if input-stream contains incorrectly
+	 * specified information, either syntactically or semantically
+	 */
+	public XDocument(InputStream inputStream, Map<String, String> sharedStrings) {
+
+		this(readDocument(toMarkable(inputStream), sharedStrings));
 	}
 
 	/**
@@ -110,6 +147,26 @@ public class XDocument {
 		DOMDocument.write(domDocument, output);
 	}
 
+	/**
+	 * Writes a compact binary serialisation of the current document
+	 * to an output-stream. Element and attribute names, and attribute
+	 * values, are each written only once, with subsequent occurrences
+	 * represented via variable-length integer references.
+	 * <p>
+	 * This is a compact storage and transport encoding only. When it
+	 * is read back the full document tree is still rebuilt, so the
+	 * savings are in size and in avoiding XML lexing, rather than in
+	 * the construction or subsequent processing of the tree.
+	 *
+	 * @param output Relevant output-stream
+	 * @throws XDocumentException if document cannot be written to
+	 * output-stream for some reason
+	 */
+	public void writeToBinaryOutput(OutputStream output) {
+
+		XBinaryDocument.write(domDocument, output);
+	}
+
 	/**
 	 * Provides the DOM representation of the XML document being
 	 * accessed.
@@ -136,6 +193,23 @@ public class XDocument {
 		return domDocument.createElement(id);
 	}
 
+	static private Document readDocument(
+								InputStream input,
+								Map<String, String> sharedStrings) {
+
+		if (XBinaryDocument.binaryFormat(input)) {
+
+			return XBinaryDocument.read(input, sharedStrings);
+		}
+
+		return DOMDocument.read(input);
+	}
+
+	static private InputStream toMarkable(InputStream input) {
+
+		return input.markSupported() ? input : new BufferedInputStream(input);
+	}
+
 	private Element getRootElement() {
 
 		Element root = domDocument.getDocumentElement();
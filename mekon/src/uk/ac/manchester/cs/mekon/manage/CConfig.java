@@ -26,6 +26,7 @@ package uk.ac.manchester.cs.mekon.manage;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.model.motor.*;
@@ -131,9 +132,40 @@ class CConfig implements CConfigVocab {
 		KConfigNode node = rootNode.getChild(INSTANCE_UPDATING_ID);
 
 		builder.setAutoUpdate(node.getBoolean(INSTANCE_AUTO_UPDATE_ATTR));
+		checkSetAsyncAutoUpdate(builder, node);
 		setUpdateOpEnabling(builder, node.getChild(INSTANCE_UPDATE_DEFAULT_OPS_ID));
 	}
 
+	private void checkSetAsyncAutoUpdate(CBuilder builder, KConfigNode node) {
+
+		if (node.getBoolean(INSTANCE_ASYNC_AUTO_UPDATE_ATTR, false)) {
+
+			builder.setAsyncAutoUpdateExecutor(createAsyncAutoUpdateExecutor(node));
+			checkSetAsyncAutoUpdateDelay(builder, node);
+			builder.setAsyncAutoUpdate(true);
+		}
+	}
+
+	private Executor createAsyncAutoUpdateExecutor(KConfigNode node) {
+
+		Class<? extends Executor> type = getAsyncAutoUpdateExecutorClass(node);
+
+		return new KConfigObjectConstructor<Executor>(type).construct();
+	}
+
+	private Class<? extends Executor> getAsyncAutoUpdateExecutorClass(KConfigNode node) {
+
+		return node.getClass(INSTANCE_ASYNC_AUTO_UPDATE_EXECUTOR_ATTR, Executor.class);
+	}
+
+	private void checkSetAsyncAutoUpdateDelay(CBuilder builder, KConfigNode node) {
+
+		if (node.getString(INSTANCE_ASYNC_AUTO_UPDATE_DELAY_ATTR, null) != null) {
+
+			builder.setAsyncAutoUpdateDelay(node.getInteger(INSTANCE_ASYNC_AUTO_UPDATE_DELAY_ATTR));
+		}
+	}
+
 	private void setUpdateOpEnabling(CBuilder builder, KConfigNode node) {
 
 		for (Map.Entry<String, IUpdateOp> entry : updateOpsByAttr.entrySet()) {
@@ -185,6 +217,10 @@ class CConfig implements CConfigVocab {
 			setDefaultDiskStoreDir(storeBldr);
 		}
 
+		storeBldr.setStoreFormat(getDiskStoreFormat(node));
+		storeBldr.setReloadParallelism(getDiskStoreReloadParallelism(node));
+		storeBldr.setInstanceCacheSize(getDiskStoreInstanceCacheSize(node));
+
 		addDiskSubStores(storeBldr, node);
 	}
 
@@ -214,6 +250,24 @@ class CConfig implements CConfigVocab {
 		return node.getString(INSTANCE_DISK_STORE_DIR_ATTR, null);
 	}
 
+	private IDiskStoreFormat getDiskStoreFormat(KConfigNode node) {
+
+		return node.getEnum(
+					INSTANCE_DISK_STORE_FORMAT_ATTR,
+					IDiskStoreFormat.class,
+					IDiskStoreFormat.MULTI_FILE);
+	}
+
+	private int getDiskStoreReloadParallelism(KConfigNode node) {
+
+		return node.getInteger(INSTANCE_DISK_STORE_RELOAD_PARALLELISM_ATTR, 1);
+	}
+
+	private int getDiskStoreInstanceCacheSize(KConfigNode node) {
+
+		return node.getInteger(INSTANCE_DISK_STORE_CACHE_SIZE_ATTR, 0);
+	}
+
 	private File getDiskStoreDir(String dirName) {
 
 		File parentDir = getConfigFileDir();
@@ -49,10 +49,16 @@ public interface CConfigVocab {
 
 	static public final String SECTION_BLDER_CLASS_ATTR = "builder";
 	static public final String INSTANCE_DISK_STORE_DIR_ATTR = "directory";
+	static public final String INSTANCE_DISK_STORE_FORMAT_ATTR = "format";
+	static public final String INSTANCE_DISK_STORE_RELOAD_PARALLELISM_ATTR = "reloadParallelism";
+	static public final String INSTANCE_DISK_STORE_CACHE_SIZE_ATTR = "instanceCacheSize";
 	static public final String INSTANCE_DISK_SUBSTORE_NAME_ATTR = "name";
 	static public final String INSTANCE_DISK_SUBSTORE_SPLIT_ATTR = "splitByFunction";
 	static public final String INSTANCE_DISK_GROUP_ROOT_TYPE_ATTR = "rootType";
 	static public final String INSTANCE_AUTO_UPDATE_ATTR = "autoUpdate";
+	static public final String INSTANCE_ASYNC_AUTO_UPDATE_ATTR = "asyncAutoUpdate";
+	static public final String INSTANCE_ASYNC_AUTO_UPDATE_DELAY_ATTR = "asyncAutoUpdateDelay";
+	static public final String INSTANCE_ASYNC_AUTO_UPDATE_EXECUTOR_ATTR = "asyncAutoUpdateExecutor";
 	static public final String INSTANCE_UPDATE_INFERREDS_ATTR = "inferredTypes";
 	static public final String INSTANCE_UPDATE_SUGGESTEDS_ATTR = "suggestedTypes";
 	static public final String INSTANCE_UPDATE_SLOTS_ATTR = "slots";
@@ -90,6 +90,20 @@ public class IDiskStoreManager {
 		return storeAccessor.storeFor(model);
 	}
 
+	/**
+	 * Provides the current usage statistics for the instance-cache
+	 * of the instance-store for the specified model.
+	 *
+	 * @param model Relevant model
+	 * @return Usage statistics for instance-cache
+	 * @throws KAccessException if instance-store has not been created
+	 * for model
+	 */
+	static public IInstanceCacheStats getInstanceCacheStats(CModel model) {
+
+		return storeAccessor.getInstanceCacheStats(model);
+	}
+
 	/**
 	 * Performs any necessary instance-store clear-ups after all
 	 * access of specified model has terminated.
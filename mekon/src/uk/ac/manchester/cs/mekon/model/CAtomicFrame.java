@@ -479,12 +479,16 @@ class CAtomicFrame extends CFrame {
 
 		supers.add(sup);
 		sup.addSub(this);
+
+		model.onHierarchyUpdate();
 	}
 
 	private void removeLinksToSuper(CAtomicFrame sup) {
 
 		supers.remove(sup);
 		sup.removeSub(this);
+
+		model.onHierarchyUpdate();
 	}
 
 	private int insertSub(CAtomicFrame sub, int index) {
@@ -26,6 +26,7 @@ package uk.ac.manchester.cs.mekon.model;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 import uk.ac.manchester.cs.mekon.model.motor.*;
 import uk.ac.manchester.cs.mekon.model.zlink.*;
@@ -46,6 +47,21 @@ class CBuilderImpl implements CBuilder {
 		model.getIUpdating().setAutoUpdate(autoUpdate);
 	}
 
+	public void setAsyncAutoUpdate(boolean async) {
+
+		model.getIUpdating().setAsyncAutoUpdate(async);
+	}
+
+	public void setAsyncAutoUpdateDelay(long delayMillis) {
+
+		model.getIUpdating().setAsyncAutoUpdateDelay(delayMillis);
+	}
+
+	public void setAsyncAutoUpdateExecutor(Executor executor) {
+
+		model.getIUpdating().setAsyncAutoUpdateExecutor(executor);
+	}
+
 	public void setDefaultUpdateOp(IUpdateOp op, boolean enabled) {
 
 		model.getIUpdating().setDefaultOp(op, enabled);
@@ -36,6 +36,10 @@ class CFrameSubsumptions {
 	private List<CAtomicFrame> ancestors = null;
 	private List<CAtomicFrame> structuredAncestors = null;
 
+	private int index = -1;
+	private int[] ancestorIndexes = null;
+	private int indexedHierarchyVersion = -1;
+
 	private class SubsumptionTester extends CHierarchyCrawler {
 
 		private CAtomicFrame testSubsumer;
@@ -236,6 +240,9 @@ class CFrameSubsumptions {
 
 		ancestors = null;
 		structuredAncestors = null;
+
+		index = -1;
+		ancestorIndexes = null;
 	}
 
 	void setAncestors(List<CAtomicFrame> ancestors) {
@@ -248,9 +255,26 @@ class CFrameSubsumptions {
 		this.structuredAncestors = structuredAncestors;
 	}
 
+	void setIndex(int index) {
+
+		this.index = index;
+	}
+
+	void setAncestorIndexes(int[] ancestorIndexes, int hierarchyVersion) {
+
+		this.ancestorIndexes = ancestorIndexes;
+
+		indexedHierarchyVersion = hierarchyVersion;
+	}
+
+	int getIndex() {
+
+		return index;
+	}
+
 	boolean isSubsumer(CAtomicFrame testSubsumer) {
 
-		if (testSubsumer == frame) {
+		if (testSubsumer == frame || testSubsumer.isRoot()) {
 
 			return true;
 		}
@@ -260,6 +284,13 @@ class CFrameSubsumptions {
 			return false;
 		}
 
+		CFrameSubsumptions testSubsumptions = testSubsumer.getSubsumptions();
+
+		if (indexed() && testSubsumptions.indexed()) {
+
+			return Arrays.binarySearch(ancestorIndexes, testSubsumptions.index) >= 0;
+		}
+
 		return new SubsumptionTester(testSubsumer).isSubsumption();
 	}
 
@@ -282,4 +313,10 @@ class CFrameSubsumptions {
 
 		return new StructuredDescendantsChecker().anyFound();
 	}
+
+	private boolean indexed() {
+
+		return ancestorIndexes != null
+				&& indexedHierarchyVersion == frame.getModel().getHierarchyVersion();
+	}
 }
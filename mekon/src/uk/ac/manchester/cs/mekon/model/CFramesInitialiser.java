@@ -121,6 +121,67 @@ class CFramesInitialiser {
 		}
 	}
 
+	private class SubsumptionIndexer extends Processor {
+
+		private Map<List<CAtomicFrame>, int[]> directToAncestorIndexes
+					= new HashMap<List<CAtomicFrame>, int[]>();
+
+		void processAll() {
+
+			assignIndexes();
+
+			super.processAll();
+		}
+
+		void process(CAtomicFrame frame) {
+
+			CFrameSubsumptions subsumptions = frame.getSubsumptions();
+			int hierarchyVersion = frame.getModel().getHierarchyVersion();
+
+			subsumptions.setAncestorIndexes(getAncestorIndexes(frame), hierarchyVersion);
+		}
+
+		private void assignIndexes() {
+
+			int index = 0;
+
+			for (CFrame frame : frames) {
+
+				frame.asAtomicFrame().getSubsumptions().setIndex(index++);
+			}
+		}
+
+		private int[] getAncestorIndexes(CAtomicFrame frame) {
+
+			List<CAtomicFrame> direct = frame.getAtomicSupers().getAll();
+			int[] ancestorIndexes = directToAncestorIndexes.get(direct);
+
+			if (ancestorIndexes == null) {
+
+				ancestorIndexes = findAncestorIndexes(frame);
+				directToAncestorIndexes.put(direct, ancestorIndexes);
+			}
+
+			return ancestorIndexes;
+		}
+
+		private int[] findAncestorIndexes(CAtomicFrame frame) {
+
+			List<CAtomicFrame> ancestors = frame.getSubsumptions().getAncestors(CVisibility.ALL);
+			int[] ancestorIndexes = new int[ancestors.size()];
+			int i = 0;
+
+			for (CAtomicFrame ancestor : ancestors) {
+
+				ancestorIndexes[i++] = ancestor.getSubsumptions().getIndex();
+			}
+
+			Arrays.sort(ancestorIndexes);
+
+			return ancestorIndexes;
+		}
+	}
+
 	private class SlotStructureValidater extends Processor {
 
 		void process(CAtomicFrame frame) {
@@ -143,6 +204,7 @@ class CFramesInitialiser {
 
 		new SubsumptionStarter().processAll();
 		new SubsumptionCompleter().processAll();
+		new SubsumptionIndexer().processAll();
 	}
 
 	void completeInitialisation() {
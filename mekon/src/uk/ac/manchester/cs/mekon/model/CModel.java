@@ -59,6 +59,7 @@ public class CModel implements CAnnotatable {
 	private IUpdating iUpdating = new IUpdating(this);
 
 	private boolean initialised = false;
+	private int hierarchyVersion = 0;
 
 	private CBuildListeners buildListeners = new CBuildListeners();
 
@@ -172,6 +173,16 @@ public class CModel implements CAnnotatable {
 		buildListeners.onBuildComplete();
 	}
 
+	void onHierarchyUpdate() {
+
+		hierarchyVersion++;
+	}
+
+	int getHierarchyVersion() {
+
+		return hierarchyVersion;
+	}
+
 	boolean initialised() {
 
 		return initialised;
@@ -184,11 +184,12 @@ class IAtomicFrame extends IFrame {
 
 		private void checkAutoUpdates() {
 
-			if (autoUpdateEnabled && !autoUpdating) {
+			if (autoUpdateEnabled && !getIUpdating().checkScheduleAutoUpdate(IAtomicFrame.this)) {
 
-				autoUpdating = true;
-				autoUpdate(new HashSet<IFrame>());
-				autoUpdating = false;
+				if (!autoUpdating) {
+
+					performAutoUpdate();
+				}
 			}
 		}
 	}
@@ -298,6 +299,20 @@ class IAtomicFrame extends IFrame {
 		return new IAtomicFrame(getType(), copyFunction, freeInstance);
 	}
 
+	void performAutoUpdate() {
+
+		autoUpdating = true;
+
+		try {
+
+			autoUpdate(new HashSet<IFrame>());
+		}
+		finally {
+
+			autoUpdating = false;
+		}
+	}
+
 	void autoUpdate(Set<IFrame> visited) {
 
 		if (visited.add(this)) {
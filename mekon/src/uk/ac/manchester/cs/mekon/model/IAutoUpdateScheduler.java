@@ -0,0 +1,313 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.model;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class IAutoUpdateScheduler {
+
+	static private final String TIMER_THREAD_NAME = "MEKON-auto-update-timer";
+
+	private ScheduledExecutorService timer;
+
+	private volatile long delayMillis;
+	private volatile Executor updateExecutor;
+
+	private Map<IAtomicFrame, Update> pendingUpdates = new HashMap<IAtomicFrame, Update>();
+	private List<Update> dueUpdates = new ArrayList<Update>();
+	private int runningUpdates = 0;
+	private RuntimeException updateFailure = null;
+
+	private Object performLock = new Object();
+	private volatile Thread updatingThread = null;
+
+	private class TimerThreadFactory implements ThreadFactory {
+
+		public Thread newThread(Runnable runnable) {
+
+			Thread thread = new Thread(runnable, TIMER_THREAD_NAME);
+
+			thread.setDaemon(true);
+
+			return thread;
+		}
+	}
+
+	private class Update implements Runnable {
+
+		private IAtomicFrame instance;
+		private ScheduledFuture<?> timing;
+
+		private class Release implements Runnable {
+
+			public void run() {
+
+				release(Update.this);
+			}
+		}
+
+		public void run() {
+
+			if (startUpdate(this)) {
+
+				perform(instance);
+			}
+		}
+
+		Update(IAtomicFrame instance) {
+
+			this.instance = instance;
+
+			timing = timer.schedule(new Release(), delayMillis, TimeUnit.MILLISECONDS);
+		}
+
+		void cancel() {
+
+			timing.cancel(false);
+		}
+	}
+
+	IAutoUpdateScheduler(long delayMillis, Executor updateExecutor) {
+
+		this.delayMillis = delayMillis;
+		this.updateExecutor = updateExecutor;
+
+		timer = Executors.newSingleThreadScheduledExecutor(new TimerThreadFactory());
+	}
+
+	void setDelay(long delayMillis) {
+
+		this.delayMillis = delayMillis;
+	}
+
+	void setUpdateExecutor(Executor updateExecutor) {
+
+		this.updateExecutor = updateExecutor;
+	}
+
+	void schedule(IAtomicFrame instance) {
+
+		addPendingUpdate(instance);
+		performDueUpdates();
+	}
+
+	void awaitQuiescence() {
+
+		if (onUpdateThread()) {
+
+			return;
+		}
+
+		while (performPendingUpdates() || awaitRunningUpdates());
+
+		checkRethrowFailure();
+	}
+
+	boolean onUpdateThread() {
+
+		return Thread.currentThread() == updatingThread;
+	}
+
+	void shutdown() {
+
+		timer.shutdown();
+	}
+
+	private synchronized void addPendingUpdate(IAtomicFrame instance) {
+
+		Update pending = pendingUpdates.put(instance, new Update(instance));
+
+		if (pending != null) {
+
+			pending.cancel();
+		}
+	}
+
+	private void release(Update update) {
+
+		Executor executor = updateExecutor;
+
+		if (executor != null) {
+
+			try {
+
+				executor.execute(update);
+			}
+			catch (RuntimeException e) {
+
+				registerFailure(e);
+			}
+		}
+		else {
+
+			addDueUpdate(update);
+		}
+	}
+
+	private void performDueUpdates() {
+
+		for (Update update : takeDueUpdates()) {
+
+			update.run();
+		}
+	}
+
+	private boolean performPendingUpdates() {
+
+		List<Update> updates = takePendingUpdates();
+
+		for (Update update : updates) {
+
+			perform(update.instance);
+		}
+
+		return !updates.isEmpty();
+	}
+
+	private void perform(IAtomicFrame instance) {
+
+		try {
+
+			synchronized (performLock) {
+
+				updatingThread = Thread.currentThread();
+
+				try {
+
+					instance.performAutoUpdate();
+				}
+				finally {
+
+					updatingThread = null;
+				}
+			}
+		}
+		catch (RuntimeException e) {
+
+			registerFailure(e);
+		}
+		finally {
+
+			endUpdate();
+		}
+	}
+
+	private synchronized void addDueUpdate(Update update) {
+
+		dueUpdates.add(update);
+	}
+
+	private synchronized List<Update> takeDueUpdates() {
+
+		List<Update> updates = dueUpdates;
+
+		dueUpdates = new ArrayList<Update>();
+
+		return updates;
+	}
+
+	private synchronized List<Update> takePendingUpdates() {
+
+		List<Update> updates = new ArrayList<Update>(pendingUpdates.values());
+
+		for (Update update : updates) {
+
+			update.cancel();
+		}
+
+		pendingUpdates.clear();
+		dueUpdates.clear();
+
+		runningUpdates += updates.size();
+
+		return updates;
+	}
+
+	private synchronized boolean startUpdate(Update update) {
+
+		if (pendingUpdates.get(update.instance) == update) {
+
+			pendingUpdates.remove(update.instance);
+			runningUpdates++;
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private synchronized void endUpdate() {
+
+		runningUpdates--;
+
+		notifyAll();
+	}
+
+	private synchronized boolean awaitRunningUpdates() {
+
+		while (runningUpdates != 0 && pendingUpdates.isEmpty()) {
+
+			try {
+
+				wait();
+			}
+			catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+
+				throw new KAccessException("Interrupted whilst awaiting instance updates");
+			}
+		}
+
+		return !pendingUpdates.isEmpty();
+	}
+
+	private synchronized void registerFailure(RuntimeException failure) {
+
+		if (updateFailure == null) {
+
+			updateFailure = failure;
+		}
+	}
+
+	private synchronized void checkRethrowFailure() {
+
+		RuntimeException failure = updateFailure;
+
+		if (failure != null) {
+
+			updateFailure = null;
+
+			throw failure;
+		}
+	}
+}
@@ -25,6 +25,7 @@
 package uk.ac.manchester.cs.mekon.model;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import uk.ac.manchester.cs.mekon.model.motor.*;
 
@@ -36,6 +37,8 @@ import uk.ac.manchester.cs.mekon.model.motor.*;
  */
 public class IUpdating {
 
+	static private final long DEFAULT_ASYNC_AUTO_UPDATE_DELAY = 100;
+
 	static private final Set<IUpdateOp> NO_OPS = Collections.<IUpdateOp>emptySet();
 	static private final Set<IUpdateOp> INITIALISATION_OPS = new HashSet<IUpdateOp>();
 
@@ -50,6 +53,10 @@ public class IUpdating {
 	private boolean autoUpdate = true;
 	private Set<IUpdateOp> defaultOps = IUpdateOp.valuesAsSet();
 
+	private long asyncAutoUpdateDelay = DEFAULT_ASYNC_AUTO_UPDATE_DELAY;
+	private Executor asyncAutoUpdateExecutor = null;
+	private volatile IAutoUpdateScheduler asyncScheduler = null;
+
 	/**
 	 * Specifies whether automatic updating of instance-level
 	 * frames will occur.
@@ -61,6 +68,77 @@ public class IUpdating {
 		return autoUpdate;
 	}
 
+	/**
+	 * Specifies whether automatic updates are to be performed
+	 * asynchronously. If so, the updates triggered by successive
+	 * slot-value edits on a particular instance-level frame will be
+	 * coalesced, with a single update becoming due once no further
+	 * edits have been made for the period specified by {@link
+	 * #getAsyncAutoUpdateDelay}. Due updates are handed to the executor
+	 * provided by {@link #getAsyncAutoUpdateExecutor}, if any, or
+	 * otherwise are performed on the editing thread itself, either
+	 * when the next edit is made or when {@link #awaitQuiescence} is
+	 * invoked. Updates are never performed on the internal timing
+	 * thread, and never concurrently with one another.
+	 *
+	 * @return True if auto-updates are to be performed asynchronously
+	 */
+	public boolean asyncAutoUpdate() {
+
+		return asyncScheduler != null;
+	}
+
+	/**
+	 * Provides the period for which edits to an instance-level frame
+	 * must cease before an asynchronous auto-update is performed (see
+	 * {@link #asyncAutoUpdate}).
+	 *
+	 * @return Relevant period in milliseconds
+	 */
+	public long getAsyncAutoUpdateDelay() {
+
+		return asyncAutoUpdateDelay;
+	}
+
+	/**
+	 * Provides the executor, if any, via which due asynchronous
+	 * auto-updates are to be performed (see {@link #asyncAutoUpdate}).
+	 * Since updates edit the instance-level frames, the executor
+	 * should run them on the thread from which the frames are
+	 * themselves edited (for a Swing client, for example, an executor
+	 * that delegates to <code>SwingUtilities.invokeLater</code>).
+	 *
+	 * @return Relevant executor, or null if updates are to be
+	 * performed directly on the editing thread
+	 */
+	public Executor getAsyncAutoUpdateExecutor() {
+
+		return asyncAutoUpdateExecutor;
+	}
+
+	/**
+	 * Blocks until all pending asynchronous auto-updates (see {@link
+	 * #asyncAutoUpdate}) have been performed. Any updates that have
+	 * not yet been started are performed immediately on the invoking
+	 * thread, irrespective of any specified delay or executor. Does
+	 * nothing if asynchronous updating is not enabled, or if invoked
+	 * from within an update. Invoked by the disk-based instance store
+	 * before instances are added or queries are executed.
+	 *
+	 * @throws RuntimeException if any of the completed updates failed,
+	 * in which case the exception thrown by the first such update will
+	 * be re-thrown
+	 */
+	public void awaitQuiescence() {
+
+		IAutoUpdateScheduler scheduler = asyncScheduler;
+
+		if (scheduler != null) {
+
+			scheduler.awaitQuiescence();
+		}
+	}
+
 	/**
 	 * Checks whether the specified update operation is one of the
 	 * default operations.
@@ -94,6 +172,49 @@ public class IUpdating {
 		this.autoUpdate = autoUpdate;
 	}
 
+	synchronized void setAsyncAutoUpdate(boolean async) {
+
+		if (async) {
+
+			if (asyncScheduler == null) {
+
+				asyncScheduler = new IAutoUpdateScheduler(
+									asyncAutoUpdateDelay,
+									asyncAutoUpdateExecutor);
+			}
+		}
+		else {
+
+			if (asyncScheduler != null) {
+
+				asyncScheduler.awaitQuiescence();
+				asyncScheduler.shutdown();
+
+				asyncScheduler = null;
+			}
+		}
+	}
+
+	synchronized void setAsyncAutoUpdateDelay(long delayMillis) {
+
+		asyncAutoUpdateDelay = delayMillis;
+
+		if (asyncScheduler != null) {
+
+			asyncScheduler.setDelay(delayMillis);
+		}
+	}
+
+	synchronized void setAsyncAutoUpdateExecutor(Executor executor) {
+
+		asyncAutoUpdateExecutor = executor;
+
+		if (asyncScheduler != null) {
+
+			asyncScheduler.setUpdateExecutor(executor);
+		}
+	}
+
 	void setDefaultOp(IUpdateOp op, boolean enabled) {
 
 		if (enabled) {
@@ -140,6 +261,20 @@ public class IUpdating {
 		return autoUpdate ? update(instance) : NO_OPS;
 	}
 
+	boolean checkScheduleAutoUpdate(IAtomicFrame instance) {
+
+		IAutoUpdateScheduler scheduler = asyncScheduler;
+
+		if (autoUpdate && scheduler != null && !scheduler.onUpdateThread()) {
+
+			scheduler.schedule(instance);
+
+			return true;
+		}
+
+		return false;
+	}
+
 	Set<IUpdateOp> checkManualUpdate(IFrame instance) {
 
 		return autoUpdate ? NO_OPS : update(instance);
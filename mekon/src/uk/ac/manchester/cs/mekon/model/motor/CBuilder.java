@@ -25,6 +25,7 @@
 package uk.ac.manchester.cs.mekon.model.motor;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon_util.*;
@@ -45,6 +46,42 @@ public interface CBuilder {
 	 */
 	public void setAutoUpdate(boolean autoUpdate);
 
+	/**
+	 * Specifies whether the {@link IUpdating#autoUpdate} facility,
+	 * if enabled, will operate asynchronously (see {@link
+	 * IUpdating#asyncAutoUpdate}). By default auto-update will be
+	 * synchronous. When enabled via the configuration file, an
+	 * executor class must also be specified (see {@link
+	 * #setAsyncAutoUpdateExecutor}), since otherwise due updates
+	 * would only be performed when the next edit is made or when
+	 * {@link IUpdating#awaitQuiescence} is invoked.
+	 *
+	 * @param async True if auto-update is to be asynchronous
+	 */
+	public void setAsyncAutoUpdate(boolean async);
+
+	/**
+	 * Sets the period for which edits to an instance-level frame
+	 * must cease before an asynchronous auto-update is performed
+	 * (see {@link IUpdating#getAsyncAutoUpdateDelay}). By default
+	 * the period will be 100 milliseconds.
+	 *
+	 * @param delayMillis Relevant period in milliseconds
+	 */
+	public void setAsyncAutoUpdateDelay(long delayMillis);
+
+	/**
+	 * Sets the executor via which asynchronous auto-updates will be
+	 * performed once due (see {@link
+	 * IUpdating#getAsyncAutoUpdateExecutor}). By default no executor
+	 * is used, and due updates will be performed on the editing
+	 * thread.
+	 *
+	 * @param executor Relevant executor, or null if updates are to be
+	 * performed on the editing thread
+	 */
+	public void setAsyncAutoUpdateExecutor(Executor executor);
+
 	/**
 	 * Resets default enabled-status for a specific instance-update
 	 * operation, as represented via the {@link IUpdating} object
@@ -0,0 +1,312 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.model.serial;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * Parser for the XML serialisation of a compiled snapshot of a
+ * set of frames from the Frames Model (FM), as produced by {@link
+ * CModelSnapshotRenderer}. Re-creates the frames, together with
+ * their slots, fixed slot-values and annotations, via the specified
+ * {@link CBuilder}.
+ *
+ * @author Colin Puleston
+ */
+public class CModelSnapshotParser extends FSerialiser {
+
+	private IReasoner iReasoner = null;
+
+	private class OneTimeParser {
+
+		private CBuilder builder;
+
+		OneTimeParser(CBuilder builder) {
+
+			this.builder = builder;
+		}
+
+		List<CFrame> parse(XNode rootNode) {
+
+			List<XNode> frameNodes = rootNode.getChildren(CFRAME_ID);
+			List<CFrame> frames = new ArrayList<CFrame>();
+
+			for (XNode frameNode : frameNodes) {
+
+				frames.add(parseFrame(frameNode));
+			}
+
+			for (XNode frameNode : frameNodes) {
+
+				parseFrameDetails(frameNode);
+			}
+
+			for (XNode slotAnnosNode : rootNode.getChildren(CSLOT_ANNOTATIONS_ID)) {
+
+				parseSlotAnnotations(slotAnnosNode);
+			}
+
+			return frames;
+		}
+
+		private CFrame parseFrame(XNode node) {
+
+			CFrame frame = builder.resolveFrame(parseIdentity(node), parseHidden(node));
+
+			builder.getFrameEditor(frame).setSource(parseSource(node));
+
+			if (iReasoner != null) {
+
+				builder.setIReasoner(frame, iReasoner);
+			}
+
+			return frame;
+		}
+
+		private void parseFrameDetails(XNode node) {
+
+			CFrame frame = getFrame(node);
+			CFrameEditor editor = builder.getFrameEditor(frame);
+
+			for (XNode subNode : node.getChildren(CSUB_ID)) {
+
+				builder.getFrameEditor(getFrame(subNode)).addSuper(frame);
+			}
+
+			parseAnnotations(builder.getFrameAnnotationsEditor(frame), node);
+
+			for (XNode slotNode : node.getChildren(CSLOT_ID)) {
+
+				parseSlot(editor, slotNode);
+			}
+
+			for (XNode valuesNode : node.getChildren(CSLOT_VALUES_ID)) {
+
+				parseSlotValues(editor, valuesNode);
+			}
+		}
+
+		private void parseSlot(CFrameEditor frameEditor, XNode node) {
+
+			CIdentity id = parseIdentity(node);
+			CValue<?> valueType = parseValue(node.getAllChildren().get(0));
+			CCardinality cardinality = node.getEnum(CARDINALITY_ATTR, CCardinality.class);
+
+			CSlot slot = frameEditor.addSlot(id, valueType, cardinality);
+			CSlotEditor slotEditor = builder.getSlotEditor(slot);
+
+			slotEditor.setSource(parseSource(node));
+			slotEditor.absorbActivation(parseActivation(node));
+			slotEditor.absorbAssertionsEditability(parseEditability(node, ASSERTIONS_EDITABILITY_ATTR));
+			slotEditor.absorbQueriesEditability(parseEditability(node, QUERIES_EDITABILITY_ATTR));
+		}
+
+		private void parseSlotValues(CFrameEditor frameEditor, XNode node) {
+
+			CIdentity slotId = parseIdentity(node);
+
+			for (XNode valueNode : node.getAllChildren()) {
+
+				frameEditor.addSlotValue(slotId, parseValue(valueNode));
+			}
+		}
+
+		private void parseSlotAnnotations(XNode node) {
+
+			CIdentity slotId = parseIdentity(node);
+			CAnnotationsEditor editor = builder.getSlotAnnotationsEditor(slotId);
+
+			for (XNode annoNode : node.getChildren(ANNOTATION_ID)) {
+
+				editor.remove(getAnnotationKey(annoNode), parseAnnotationValue(annoNode));
+			}
+
+			parseAnnotations(editor, node);
+		}
+
+		private void parseAnnotations(CAnnotationsEditor editor, XNode node) {
+
+			for (XNode annoNode : node.getChildren(ANNOTATION_ID)) {
+
+				editor.add(getAnnotationKey(annoNode), parseAnnotationValue(annoNode));
+			}
+		}
+
+		private Object parseAnnotationValue(XNode node) {
+
+			if (node.hasAttribute(ANNOTATION_VALUE_ATTR)) {
+
+				return node.getString(ANNOTATION_VALUE_ATTR);
+			}
+
+			return parseValue(node.getAllChildren().get(0));
+		}
+
+		private CValue<?> parseValue(XNode node) {
+
+			if (node.hasId(MFRAME_ID)) {
+
+				return parseValue(node.getAllChildren().get(0)).castAs(CFrame.class).getType();
+			}
+
+			if (node.hasId(CFRAME_ID)) {
+
+				return parseCFrame(node);
+			}
+
+			if (node.hasId(CEXTENSION_ID)) {
+
+				return parseExtension(node);
+			}
+
+			if (node.hasId(CNUMBER_ID)) {
+
+				return parseCNumber(node);
+			}
+
+			if (node.hasId(CSTRING_ID)) {
+
+				return parseCString(node);
+			}
+
+			throw new XDocumentException("Unrecognised value-type tag: " + node.getId());
+		}
+
+		private CFrame parseCFrame(XNode node) {
+
+			List<CFrame> disjuncts = new ArrayList<CFrame>();
+
+			for (CIdentity disjunctId : parseCFrameAsDisjunctIds(node)) {
+
+				disjuncts.add(getFrame(disjunctId));
+			}
+
+			return CFrame.resolveDisjunction(disjuncts);
+		}
+
+		private CFrame parseExtension(XNode node) {
+
+			CExtender extender = new CExtender(getFrame(node));
+
+			extender.setConcreteExtension(node.getBoolean(CONCRETE_ATTR));
+
+			for (XNode valuesNode : node.getChildren(CSLOT_VALUES_ID)) {
+
+				CIdentity slotId = parseIdentity(valuesNode);
+
+				for (XNode valueNode : valuesNode.getAllChildren()) {
+
+					extender.addSlotValue(slotId, parseValue(valueNode));
+				}
+			}
+
+			return extender.extend();
+		}
+
+		private CFrame getFrame(XNode node) {
+
+			return getFrame(parseIdentity(node));
+		}
+
+		private CFrame getFrame(CIdentity id) {
+
+			CFrame frame = builder.getFrames().getOrNull(id);
+
+			if (frame == null) {
+
+				throw new XDocumentException("Unrecognised frame: " + id);
+			}
+
+			return frame;
+		}
+
+		private boolean parseHidden(XNode node) {
+
+			return node.getBoolean(HIDDEN_ATTR, false);
+		}
+
+		private CSource parseSource(XNode node) {
+
+			return node.getEnum(SOURCE_ATTR, CSource.class);
+		}
+
+		private CActivation parseActivation(XNode node) {
+
+			return node.getEnum(ACTIVATION_ATTR, CActivation.class);
+		}
+
+		private IEditability parseEditability(XNode node, String attr) {
+
+			return node.getEnum(attr, IEditability.class);
+		}
+
+		private String getAnnotationKey(XNode node) {
+
+			return node.getString(ANNOTATION_KEY_ATTR);
+		}
+	}
+
+	/**
+	 * Sets the reasoner to be attached to all re-created frames.
+	 * Defaults to null, meaning that the default reasoner for the
+	 * model will be used.
+	 *
+	 * @param iReasoner Reasoner for re-created frames
+	 */
+	public void setIReasoner(IReasoner iReasoner) {
+
+		this.iReasoner = iReasoner;
+	}
+
+	/**
+	 * Retrieves the source-fingerprint with which the snapshot in
+	 * the specified document was tagged when rendered.
+	 *
+	 * @param document Document containing serialised snapshot
+	 * @return Source-fingerprint for snapshot
+	 */
+	public String getFingerprint(XDocument document) {
+
+		return document.getRootNode().getString(FINGERPRINT_ATTR);
+	}
+
+	/**
+	 * Parses serialised snapshot from specified document, re-creating
+	 * the represented frames via the specified builder.
+	 *
+	 * @param document Document containing serialised snapshot
+	 * @param builder Builder for re-creating frames
+	 * @return Re-created frames
+	 */
+	public List<CFrame> parse(XDocument document, CBuilder builder) {
+
+		return new OneTimeParser(builder).parse(document.getRootNode());
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.model.serial;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * Renderer for the XML serialisation of a compiled snapshot of a
+ * set of frames from the Frames Model (FM), together with their
+ * slots, fixed slot-values and annotations. The snapshot is tagged
+ * with a client-supplied fingerprint of the sources from which the
+ * frames were derived, so that it can be re-used by the relevant
+ * section-builder for as long as those sources are unchanged.
+ *
+ * @author Colin Puleston
+ */
+public class CModelSnapshotRenderer extends FSerialiser {
+
+	private class OneTimeRenderer {
+
+		private Set<CFrame> frames;
+		private Set<CIdentity> slotIds = new LinkedHashSet<CIdentity>();
+
+		private XNode rootNode;
+
+		private class ValueRenderer extends CValueVisitor {
+
+			private XNode parentNode;
+
+			protected void visit(CFrame value) {
+
+				if (value.getCategory().extension()) {
+
+					renderExtension(value, parentNode.addChild(CEXTENSION_ID));
+				}
+				else {
+
+					renderCFrame(value, parentNode.addChild(CFRAME_ID));
+				}
+			}
+
+			protected void visit(CNumber value) {
+
+				renderCNumber(value, parentNode.addChild(CNUMBER_ID));
+			}
+
+			protected void visit(CString value) {
+
+				renderCString(value, parentNode.addChild(CSTRING_ID));
+			}
+
+			protected void visit(MFrame value) {
+
+				renderValue(value.getRootCFrame(), parentNode.addChild(MFRAME_ID));
+			}
+
+			ValueRenderer(XNode parentNode) {
+
+				this.parentNode = parentNode;
+			}
+		}
+
+		OneTimeRenderer(Collection<CFrame> frames, XNode rootNode) {
+
+			this.frames = new LinkedHashSet<CFrame>(frames);
+			this.rootNode = rootNode;
+		}
+
+		void render() {
+
+			for (CFrame frame : frames) {
+
+				renderFrame(frame, rootNode.addChild(CFRAME_ID));
+			}
+
+			if (!frames.isEmpty()) {
+
+				renderAllSlotAnnotations(frames.iterator().next().getModel());
+			}
+		}
+
+		private void renderFrame(CFrame frame, XNode node) {
+
+			renderIdentity(frame, node);
+
+			node.setValue(HIDDEN_ATTR, frame.hidden());
+			node.setValue(SOURCE_ATTR, frame.getSource());
+
+			renderSubs(frame, node);
+			renderAnnotations(frame.getAnnotations(), node);
+			renderSlots(frame, node);
+			renderSlotValues(frame.getSlotValues(), node);
+		}
+
+		private void renderSubs(CFrame frame, XNode parentNode) {
+
+			for (CFrame sub : frame.getSubs()) {
+
+				if (frames.contains(sub)) {
+
+					renderIdentity(sub, parentNode.addChild(CSUB_ID));
+				}
+			}
+		}
+
+		private void renderSlots(CFrame frame, XNode parentNode) {
+
+			for (CSlot slot : frame.getSlots().asList()) {
+
+				renderSlot(slot, parentNode.addChild(CSLOT_ID));
+				slotIds.add(slot.getIdentity());
+			}
+		}
+
+		private void renderSlot(CSlot slot, XNode node) {
+
+			CEditability editability = slot.getEditability();
+
+			renderIdentity(slot, node);
+
+			node.setValue(SOURCE_ATTR, slot.getSource());
+			node.setValue(CARDINALITY_ATTR, slot.getCardinality());
+			node.setValue(ACTIVATION_ATTR, slot.getActivation());
+			node.setValue(ASSERTIONS_EDITABILITY_ATTR, editability.forAssertions());
+			node.setValue(QUERIES_EDITABILITY_ATTR, editability.forQueries());
+
+			renderValue(slot.getValueType(), node);
+		}
+
+		private void renderSlotValues(CSlotValues slotValues, XNode parentNode) {
+
+			for (CIdentity slotId : slotValues.getSlotIdentities()) {
+
+				XNode node = parentNode.addChild(CSLOT_VALUES_ID);
+
+				renderIdentity(slotId, node);
+
+				for (CValue<?> value : slotValues.getValues(slotId)) {
+
+					renderValue(value, node);
+				}
+			}
+		}
+
+		private void renderExtension(CFrame extension, XNode node) {
+
+			renderIdentity(extension.getAtomicFrame(), node);
+
+			node.setValue(CONCRETE_ATTR, extension.getCategory().concreteExtension());
+
+			renderSlotValues(extension.getSlotValues(), node);
+		}
+
+		private void renderAllSlotAnnotations(CModel model) {
+
+			for (CIdentity slotId : slotIds) {
+
+				renderSlotAnnotations(model, slotId);
+			}
+		}
+
+		private void renderSlotAnnotations(CModel model, CIdentity slotId) {
+
+			CAnnotations annos = model.getSlotAnnotations(slotId);
+
+			if (!annos.getKeys().isEmpty()) {
+
+				XNode node = rootNode.addChild(CSLOT_ANNOTATIONS_ID);
+
+				renderIdentity(slotId, node);
+				renderAnnotations(annos, node);
+			}
+		}
+
+		private void renderAnnotations(CAnnotations annos, XNode parentNode) {
+
+			for (Object key : annos.getKeys()) {
+
+				for (Object value : annos.getAll(key)) {
+
+					renderAnnotation(key, value, parentNode.addChild(ANNOTATION_ID));
+				}
+			}
+		}
+
+		private void renderAnnotation(Object key, Object value, XNode node) {
+
+			node.setValue(ANNOTATION_KEY_ATTR, key);
+
+			if (value instanceof CValue) {
+
+				renderValue((CValue<?>)value, node);
+			}
+			else {
+
+				node.setValue(ANNOTATION_VALUE_ATTR, value);
+			}
+		}
+
+		private void renderValue(CValue<?> value, XNode parentNode) {
+
+			new ValueRenderer(parentNode).visit(value);
+		}
+	}
+
+	/**
+	 * Renders a snapshot of the specified set of frames to produce
+	 * an XML document. Only sub-frame links between frames within
+	 * the set will be represented.
+	 *
+	 * @param frames Frames to render
+	 * @param fingerprint Fingerprint of sources from which frames
+	 * were derived
+	 * @return Rendered document
+	 */
+	public XDocument render(Collection<CFrame> frames, String fingerprint) {
+
+		XDocument document = new XDocument(CMODEL_SNAPSHOT_ID);
+		XNode rootNode = document.getRootNode();
+
+		rootNode.setValue(FINGERPRINT_ATTR, fingerprint);
+
+		new OneTimeRenderer(frames, rootNode).render();
+
+		return document;
+	}
+}
@@ -51,6 +51,11 @@ public interface FSerialiserVocab {
 	static public final String ISLOT_ID = "ISlot";
 	static public final String IVALUES_ID = "IValues";
 	static public final String ANNOTATION_ID = "CAnnotation";
+	static public final String CMODEL_SNAPSHOT_ID = "CModelSnapshot";
+	static public final String CEXTENSION_ID = "CExtension";
+	static public final String CSUB_ID = "CSub";
+	static public final String CSLOT_VALUES_ID = "CSlotValues";
+	static public final String CSLOT_ANNOTATIONS_ID = "CSlotAnnotations";
 
 	static public final String IDENTIFIER_ATTR = "id";
 	static public final String LABEL_ATTR = "label";
@@ -67,4 +72,9 @@ public interface FSerialiserVocab {
 	static public final String EDITABILITY_ATTR = "editability";
 	static public final String ANNOTATION_KEY_ATTR = "key";
 	static public final String ANNOTATION_VALUE_ATTR =  "value";
+	static public final String FINGERPRINT_ATTR = "fingerprint";
+	static public final String HIDDEN_ATTR = "hidden";
+	static public final String CONCRETE_ATTR = "concrete";
+	static public final String ASSERTIONS_EDITABILITY_ATTR = "assertionsEditability";
+	static public final String QUERIES_EDITABILITY_ATTR = "queriesEditability";
 }
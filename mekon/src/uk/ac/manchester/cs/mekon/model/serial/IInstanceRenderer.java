@@ -41,6 +41,7 @@ import uk.ac.manchester.cs.mekon_util.xdoc.*;
 public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 
 	private boolean renderAsTree = false;
+	private boolean renderNonRootsAsStubs = false;
 
 	private class OneTimeRenderer {
 
@@ -80,6 +81,25 @@ public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 
 			private XNode renderNonDisjunctionDirect() {
 
+				return renderNonDisjunction(true);
+			}
+
+			private XNode renderNonDisjunctionIndirect() {
+
+				XNode localNode = renderCommon(IFRAME_XDOC_ID_REF_ATTR);
+
+				if (xidResolution.newFrame()) {
+
+					parentNode = containerNode;
+
+					renderNonDisjunction(!renderNonRootsAsStubs);
+				}
+
+				return localNode;
+			}
+
+			private XNode renderNonDisjunction(boolean slotValues) {
+
 				XNode node = renderCommon(IFRAME_XDOC_ID_ATTR);
 
 				renderCFrame(frame.getType(), node);
@@ -92,27 +112,13 @@ public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 
 					for (ISlot slot : frame.getSlots().asList()) {
 
-						renderISlot(slot, node);
+						renderISlot(slot, node, slotValues);
 					}
 				}
 
 				return node;
 			}
 
-			private XNode renderNonDisjunctionIndirect() {
-
-				XNode localNode = renderCommon(IFRAME_XDOC_ID_REF_ATTR);
-
-				if (xidResolution.newFrame()) {
-
-					parentNode = containerNode;
-
-					renderNonDisjunctionDirect();
-				}
-
-				return localNode;
-			}
-
 			private XNode renderDisjunction() {
 
 				XNode node = renderCommon(IFRAME_XDOC_ID_ATTR);
@@ -289,7 +295,7 @@ public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 			return node;
 		}
 
-		private void renderISlot(ISlot slot, XNode parentNode) {
+		private void renderISlot(ISlot slot, XNode parentNode, boolean values) {
 
 			XNode node = parentNode.addChild(ISLOT_ID);
 
@@ -298,12 +304,15 @@ public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 
 			node.setValue(EDITABILITY_ATTR, slot.getEditability());
 
-			if (!slot.getValues().isEmpty()) {
+			if (values) {
 
-				renderISlotValues(slot, node);
-			}
+				if (!slot.getValues().isEmpty()) {
 
-			checkRenderISlotValuesUpdate(slot, node);
+					renderISlotValues(slot, node);
+				}
+
+				checkRenderISlotValuesUpdate(slot, node);
+			}
 		}
 
 		private void renderCSlot(CSlot slot, XNode parentNode) {
@@ -365,6 +374,21 @@ public class IInstanceRenderer extends FSerialiser implements ISerialiserVocab {
 		this.renderAsTree = renderAsTree;
 	}
 
+	/**
+	 * Sets whether, when rendering as a graph, all frames other than
+	 * the root-frame should be rendered as "stubs", whose slots are
+	 * rendered without any slot-values. Used when the recipient is
+	 * already expected to hold the other frames. By default all frames
+	 * will be rendered in full.
+	 *
+	 * @param renderNonRootsAsStubs True if non-root frames are to be
+	 * rendered as stubs
+	 */
+	public void setRenderNonRootsAsStubs(boolean renderNonRootsAsStubs) {
+
+		this.renderNonRootsAsStubs = renderNonRootsAsStubs;
+	}
+
 	/**
 	 * Renders a frame/slot network to produce an XML document.
 	 *
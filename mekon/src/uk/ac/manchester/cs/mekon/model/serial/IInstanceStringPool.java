@@ -0,0 +1,116 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.model.serial;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * Pool of strings derived from the frame and slot identities of a
+ * particular model, used when reading serialised instances so that
+ * the identifiers and labels in the resulting documents are shared
+ * with those in the model, rather than being duplicated for each
+ * instance. Reading can be from either the standard XML format or the
+ * compact binary format produced via {@link
+ * XDocument#writeToBinaryOutput}, with the sharing only applying to
+ * the binary format.
+ *
+ * @author Colin Puleston
+ */
+public class IInstanceStringPool {
+
+	private CModel model;
+	private Map<String, String> strings = null;
+
+	/**
+	 * Constructor.
+	 *
+	 * @param model Model whose identities are to provide the pool
+	 */
+	public IInstanceStringPool(CModel model) {
+
+		this.model = model;
+	}
+
+	/**
+	 * Reads a serialised instance document from an input-stream.
+	 *
+	 * @param input Input-stream containing document in either XML or
+	 * binary format
+	 * @return Document read from stream
+	 * @throws XDocumentException if input-stream does not contain a
+	 * valid document
+	 */
+	public XDocument read(InputStream input) {
+
+		return new XDocument(input, getStrings());
+	}
+
+	private synchronized Map<String, String> getStrings() {
+
+		if (strings == null) {
+
+			strings = createStrings();
+		}
+
+		return strings;
+	}
+
+	private Map<String, String> createStrings() {
+
+		Map<String, String> strings = new HashMap<String, String>();
+
+		for (CFrame frame : model.getFrames().asList()) {
+
+			addStrings(strings, frame);
+
+			for (CSlot slot : frame.getSlots().asList()) {
+
+				addStrings(strings, slot);
+			}
+		}
+
+		return strings;
+	}
+
+	private void addStrings(Map<String, String> strings, CIdentified identified) {
+
+		CIdentity identity = identified.getIdentity();
+
+		addString(strings, identity.getIdentifier());
+		addString(strings, identity.getLabel());
+	}
+
+	private void addString(Map<String, String> strings, String string) {
+
+		if (!strings.containsKey(string)) {
+
+			strings.put(string, string);
+		}
+	}
+}
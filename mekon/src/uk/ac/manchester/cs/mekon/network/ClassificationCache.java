@@ -0,0 +1,125 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ClassificationCache {
+
+	private KLRUMap<String, IClassification> results;
+	private long generation = 0;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	ClassificationCache(int maxSize) {
+
+		results = new KLRUMap<String, IClassification>(maxSize);
+	}
+
+	synchronized void setMaxSize(int maxSize) {
+
+		results.resetMaxSize(maxSize);
+	}
+
+	synchronized void clear() {
+
+		results.clear();
+	}
+
+	synchronized boolean enabled() {
+
+		return results.getMaxSize() > 0;
+	}
+
+	synchronized IClassification getOrNull(String key, long currentGeneration) {
+
+		checkGeneration(currentGeneration);
+
+		IClassification result = results.get(key);
+
+		if (result != null) {
+
+			hits++;
+		}
+		else {
+
+			misses++;
+		}
+
+		return result;
+	}
+
+	synchronized void checkAdd(
+						String key,
+						IClassification result,
+						long preGeneration,
+						long postGeneration) {
+
+		if (preGeneration == postGeneration && preGeneration == generation) {
+
+			results.put(key, copyResult(result));
+		}
+	}
+
+	synchronized NClassificationCacheStats getStats() {
+
+		return new NClassificationCacheStats(
+						results.getMaxSize(),
+						results.size(),
+						hits,
+						misses);
+	}
+
+	private void checkGeneration(long currentGeneration) {
+
+		if (currentGeneration != generation) {
+
+			results.clear();
+
+			generation = currentGeneration;
+		}
+	}
+
+	private IClassification copyResult(IClassification result) {
+
+		List<CIdentity> inferreds = copyTypes(result.getInferredTypes());
+		List<CIdentity> suggesteds = copyTypes(result.getSuggestedTypes());
+
+		return new IClassification(inferreds, suggesteds);
+	}
+
+	private List<CIdentity> copyTypes(List<CIdentity> types) {
+
+		return Collections.unmodifiableList(new ArrayList<CIdentity>(types));
+	}
+}
@@ -0,0 +1,565 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class CompactNetwork {
+
+	static final byte LINK = 0;
+	static final byte DISJUNCTION_LINK = 1;
+	static final byte STRING = 2;
+	static final byte NUMBER_OBJECT = 3;
+	static final byte INTEGER = 4;
+	static final byte LONG = 5;
+	static final byte FLOAT = 6;
+	static final byte DOUBLE = 7;
+
+	static byte getNumberKind(Class<? extends Number> numberType) {
+
+		if (numberType == Integer.class) {
+
+			return INTEGER;
+		}
+
+		if (numberType == Long.class) {
+
+			return LONG;
+		}
+
+		if (numberType == Float.class) {
+
+			return FLOAT;
+		}
+
+		if (numberType == Double.class) {
+
+			return DOUBLE;
+		}
+
+		return NUMBER_OBJECT;
+	}
+
+	static boolean linkKind(byte kind) {
+
+		return kind == LINK || kind == DISJUNCTION_LINK;
+	}
+
+	static boolean numberKind(byte kind) {
+
+		return kind >= NUMBER_OBJECT;
+	}
+
+	static boolean primitiveNumberKind(byte kind) {
+
+		return kind > NUMBER_OBJECT;
+	}
+
+	static boolean floatingPointKind(byte kind) {
+
+		return kind == FLOAT || kind == DOUBLE;
+	}
+
+	private int[] nodeFrames;
+	private int[] nodeInstanceRefs;
+	private int[] nodeTypeOffsets;
+	private int[] typeDisjuncts;
+	private int[] nodeFeatureOffsets;
+	private IFrame[] nodeIFrames = null;
+
+	private byte[] featureKinds;
+	private int[] featureTypes;
+	private int[] featureValueStarts;
+	private int[] featureValueCounts;
+
+	private int[] values;
+	private long[] numbers;
+	private INumber[] numberObjects;
+
+	private class Encoder {
+
+		private CompactNetworkDictionary dictionary;
+		private QueryCustomiser queryCustomiser;
+
+		private List<NNode> nodes = new ArrayList<NNode>();
+		private Map<NNode, Integer> nodeIndexes = new IdentityHashMap<NNode, Integer>();
+		private Set<NNode> iFrameNodes
+					= Collections.newSetFromMap(new IdentityHashMap<NNode, Boolean>());
+
+		private int typeDisjunctCount = 0;
+		private int featureCount = 0;
+		private int valueCount = 0;
+		private int numberCount = 0;
+		private int numberObjectCount = 0;
+
+		private int nextTypeDisjunct = 0;
+		private int nextFeature = 0;
+		private int nextValue = 0;
+		private int nextNumber = 0;
+		private int nextNumberObject = 0;
+
+		Encoder(
+			NNode rootNode,
+			CompactNetworkDictionary dictionary,
+			QueryCustomiser queryCustomiser) {
+
+			this.dictionary = dictionary;
+			this.queryCustomiser = queryCustomiser;
+
+			collectNode(rootNode);
+			createArrays();
+
+			for (int i = 0 ; i < nodes.size() ; i++) {
+
+				encodeNode(i, nodes.get(i));
+			}
+
+			nodeTypeOffsets[nodes.size()] = nextTypeDisjunct;
+			nodeFeatureOffsets[nodes.size()] = nextFeature;
+		}
+
+		private void collectNode(NNode node) {
+
+			if (nodeIndexes.containsKey(node)) {
+
+				return;
+			}
+
+			nodeIndexes.put(node, nodes.size());
+			nodes.add(node);
+
+			typeDisjunctCount += node.getTypeDisjunctsView().size();
+
+			for (NFeature<?> feature : node.getFeaturesView()) {
+
+				List<?> fValues = feature.getValuesView();
+
+				if (fValues.isEmpty()) {
+
+					continue;
+				}
+
+				featureCount++;
+
+				if (feature instanceof NLink) {
+
+					collectLinkValues((NLink)feature);
+				}
+				else if (feature instanceof NNumber) {
+
+					countNumberValues((NNumber)feature);
+				}
+				else {
+
+					valueCount += fValues.size();
+				}
+			}
+		}
+
+		private void collectLinkValues(NLink link) {
+
+			boolean retainIFrames = queryCustomiser.customMatchFeature(link);
+
+			valueCount += link.getValuesView().size();
+
+			for (NNode value : link.getValuesView()) {
+
+				if (retainIFrames && value.getIFrame() != null) {
+
+					iFrameNodes.add(value);
+				}
+
+				collectNode(value);
+			}
+		}
+
+		private void countNumberValues(NNumber number) {
+
+			int count = number.getValuesView().size();
+
+			if (primitiveNumberKind(getFeatureKind(number))) {
+
+				numberCount += count;
+			}
+			else {
+
+				valueCount += count;
+				numberObjectCount += count;
+			}
+		}
+
+		private void createArrays() {
+
+			int nodeCount = nodes.size();
+
+			nodeFrames = new int[nodeCount];
+			nodeInstanceRefs = new int[nodeCount];
+			nodeTypeOffsets = new int[nodeCount + 1];
+			typeDisjuncts = new int[typeDisjunctCount];
+			nodeFeatureOffsets = new int[nodeCount + 1];
+
+			if (!iFrameNodes.isEmpty()) {
+
+				nodeIFrames = new IFrame[nodeCount];
+			}
+
+			featureKinds = new byte[featureCount];
+			featureTypes = new int[featureCount];
+			featureValueStarts = new int[featureCount];
+			featureValueCounts = new int[featureCount];
+
+			values = new int[valueCount];
+			numbers = new long[numberCount];
+			numberObjects = numberObjectCount != 0 ? new INumber[numberObjectCount] : null;
+		}
+
+		private void encodeNode(int index, NNode node) {
+
+			CFrame cFrame = node.getCFrame();
+
+			nodeFrames[index] = cFrame != null ? dictionary.internFrame(cFrame) : -1;
+			nodeInstanceRefs[index] = getInstanceRefId(node);
+			nodeTypeOffsets[index] = nextTypeDisjunct;
+
+			for (CIdentity typeDisjunct : node.getTypeDisjunctsView()) {
+
+				typeDisjuncts[nextTypeDisjunct++] = dictionary.internIdentity(typeDisjunct);
+			}
+
+			if (iFrameNodes.contains(node)) {
+
+				nodeIFrames[index] = node.getIFrame();
+			}
+
+			nodeFeatureOffsets[index] = nextFeature;
+
+			for (NFeature<?> feature : node.getFeaturesView()) {
+
+				if (feature.hasValues()) {
+
+					encodeFeature(feature);
+				}
+			}
+		}
+
+		private int getInstanceRefId(NNode node) {
+
+			CIdentity instanceRef = node.getInstanceRef();
+
+			return instanceRef != null ? dictionary.internIdentity(instanceRef) : -1;
+		}
+
+		private void encodeFeature(NFeature<?> feature) {
+
+			byte kind = getFeatureKind(feature);
+			int index = nextFeature++;
+
+			featureKinds[index] = kind;
+			featureTypes[index] = dictionary.internIdentity(feature.getType());
+			featureValueCounts[index] = feature.getValuesView().size();
+
+			if (primitiveNumberKind(kind)) {
+
+				featureValueStarts[index] = nextNumber;
+
+				encodeNumbers((NNumber)feature, floatingPointKind(kind));
+			}
+			else {
+
+				featureValueStarts[index] = nextValue;
+
+				encodeValues(feature, kind);
+			}
+		}
+
+		private void encodeValues(NFeature<?> feature, byte kind) {
+
+			for (Object value : feature.getValuesView()) {
+
+				values[nextValue++] = getValue(value, kind);
+			}
+		}
+
+		private int getValue(Object value, byte kind) {
+
+			if (linkKind(kind)) {
+
+				return nodeIndexes.get((NNode)value);
+			}
+
+			if (kind == STRING) {
+
+				return dictionary.internString((String)value);
+			}
+
+			numberObjects[nextNumberObject] = (INumber)value;
+
+			return nextNumberObject++;
+		}
+
+		private void encodeNumbers(NNumber feature, boolean floatingPoint) {
+
+			for (INumber value : feature.getValuesView()) {
+
+				numbers[nextNumber++] = floatingPoint
+											? Double.doubleToRawLongBits(value.asDouble())
+											: value.asLong();
+			}
+		}
+
+		private byte getFeatureKind(NFeature<?> feature) {
+
+			if (feature instanceof NLink) {
+
+				return ((NLink)feature).disjunctionLink() ? DISJUNCTION_LINK : LINK;
+			}
+
+			if (feature instanceof NNumber) {
+
+				return getNumbersKind(((NNumber)feature).getValuesView());
+			}
+
+			return STRING;
+		}
+
+		private byte getNumbersKind(List<INumber> numberValues) {
+
+			byte kind = NUMBER_OBJECT;
+
+			for (INumber number : numberValues) {
+
+				if (!number.definite()) {
+
+					return NUMBER_OBJECT;
+				}
+
+				byte numberKind = getNumberKind(number.getNumberType());
+
+				if (kind != NUMBER_OBJECT && kind != numberKind) {
+
+					return NUMBER_OBJECT;
+				}
+
+				kind = numberKind;
+			}
+
+			return kind;
+		}
+	}
+
+	CompactNetwork(
+		NNode rootNode,
+		CompactNetworkDictionary dictionary,
+		QueryCustomiser queryCustomiser) {
+
+		new Encoder(rootNode, dictionary, queryCustomiser);
+	}
+
+	NNode toIndexableRootNode(CompactNetworkDictionary dictionary) {
+
+		NNode rootNode = toValueNode(0, dictionary);
+
+		for (int f = getFeaturesStart(0) ; f < getFeaturesEnd(0) ; f++) {
+
+			rootNode.addFeature(toIndexableFeature(f, dictionary));
+		}
+
+		return rootNode;
+	}
+
+	int getFrameId(int node) {
+
+		return nodeFrames[node];
+	}
+
+	int getInstanceRefId(int node) {
+
+		return nodeInstanceRefs[node];
+	}
+
+	boolean typeDisjunctsContainAll(int node, int[] testIds) {
+
+		int start = nodeTypeOffsets[node];
+		int end = nodeTypeOffsets[node + 1];
+
+		for (int testId : testIds) {
+
+			if (!containsTypeDisjunct(start, end, testId)) {
+
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	IFrame getIFrameOrNull(int node) {
+
+		return nodeIFrames != null ? nodeIFrames[node] : null;
+	}
+
+	int getNodeCount() {
+
+		return nodeFrames.length;
+	}
+
+	int getFeaturesStart(int node) {
+
+		return nodeFeatureOffsets[node];
+	}
+
+	int getFeaturesEnd(int node) {
+
+		return nodeFeatureOffsets[node + 1];
+	}
+
+	byte getFeatureKind(int feature) {
+
+		return featureKinds[feature];
+	}
+
+	int getFeatureType(int feature) {
+
+		return featureTypes[feature];
+	}
+
+	int getValuesStart(int feature) {
+
+		return featureValueStarts[feature];
+	}
+
+	int getValuesEnd(int feature) {
+
+		return featureValueStarts[feature] + featureValueCounts[feature];
+	}
+
+	int getValue(int value) {
+
+		return values[value];
+	}
+
+	long getPrimitiveNumber(int value) {
+
+		return numbers[value];
+	}
+
+	INumber getNumber(byte kind, int value) {
+
+		switch (kind) {
+
+			case INTEGER:
+				return new INumber((int)numbers[value]);
+
+			case LONG:
+				return new INumber(numbers[value]);
+
+			case FLOAT:
+				return new INumber((float)Double.longBitsToDouble(numbers[value]));
+
+			case DOUBLE:
+				return new INumber(Double.longBitsToDouble(numbers[value]));
+		}
+
+		return numberObjects[values[value]];
+	}
+
+	private boolean containsTypeDisjunct(int start, int end, int testId) {
+
+		for (int i = start ; i < end ; i++) {
+
+			if (typeDisjuncts[i] == testId) {
+
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private NFeature<?> toIndexableFeature(int feature, CompactNetworkDictionary dictionary) {
+
+		byte kind = featureKinds[feature];
+		CIdentity type = dictionary.getIdentity(featureTypes[feature]);
+
+		if (linkKind(kind)) {
+
+			NLink link = new NLink(type);
+
+			for (int v = getValuesStart(feature) ; v < getValuesEnd(feature) ; v++) {
+
+				link.addValue(toValueNode(values[v], dictionary));
+			}
+
+			link.setDisjunctionLink(kind == DISJUNCTION_LINK);
+
+			return link;
+		}
+
+		if (kind == STRING) {
+
+			NString string = new NString(type);
+
+			for (int v = getValuesStart(feature) ; v < getValuesEnd(feature) ; v++) {
+
+				string.addValue(dictionary.getString(values[v]));
+			}
+
+			return string;
+		}
+
+		NNumber number = new NNumber(type);
+
+		for (int v = getValuesStart(feature) ; v < getValuesEnd(feature) ; v++) {
+
+			number.addValue(getNumber(kind, v));
+		}
+
+		return number;
+	}
+
+	private NNode toValueNode(int node, CompactNetworkDictionary dictionary) {
+
+		int frameId = nodeFrames[node];
+
+		if (frameId != -1) {
+
+			return new NNode(dictionary.getFrame(frameId));
+		}
+
+		List<CIdentity> types = new ArrayList<CIdentity>();
+
+		for (int i = nodeTypeOffsets[node] ; i < nodeTypeOffsets[node + 1] ; i++) {
+
+			types.add(dictionary.getIdentity(typeDisjuncts[i]));
+		}
+
+		return new NNode(types);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class CompactNetworkDictionary {
+
+	private Entries<CIdentity> identities = new Entries<CIdentity>();
+	private Entries<CFrame> frames = new Entries<CFrame>();
+	private Entries<String> strings = new Entries<String>();
+
+	private class Entries<E> {
+
+		private List<E> entries = new ArrayList<E>();
+		private Map<E, Integer> ids = new HashMap<E, Integer>();
+
+		int intern(E entry) {
+
+			Integer id = ids.get(entry);
+
+			if (id == null) {
+
+				id = entries.size();
+
+				entries.add(entry);
+				ids.put(entry, id);
+			}
+
+			return id;
+		}
+
+		int lookup(E entry) {
+
+			Integer id = ids.get(entry);
+
+			return id != null ? id : -1;
+		}
+
+		E get(int id) {
+
+			return entries.get(id);
+		}
+	}
+
+	int internIdentity(CIdentity identity) {
+
+		return identities.intern(identity);
+	}
+
+	int internFrame(CFrame frame) {
+
+		return frames.intern(frame);
+	}
+
+	int internString(String string) {
+
+		return strings.intern(string);
+	}
+
+	int lookupIdentity(CIdentity identity) {
+
+		return identities.lookup(identity);
+	}
+
+	int lookupString(String string) {
+
+		return strings.lookup(string);
+	}
+
+	CIdentity getIdentity(int id) {
+
+		return identities.get(id);
+	}
+
+	CFrame getFrame(int id) {
+
+		return frames.get(id);
+	}
+
+	String getString(int id) {
+
+		return strings.get(id);
+	}
+}
@@ -0,0 +1,426 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class InstanceFeatureIndex {
+
+	private QueryCustomiser queryCustomiser;
+
+	private Postings<CIdentity> featureTypePostings = new Postings<CIdentity>();
+
+	private LinkValuesIndex linkValuesIndex = new LinkValuesIndex();
+	private NumberValuesIndex numberValuesIndex = new NumberValuesIndex();
+	private StringValuesIndex stringValuesIndex = new StringValuesIndex();
+
+	private class Postings<K> {
+
+		private Map<K, Set<CIdentity>> postings = new HashMap<K, Set<CIdentity>>();
+
+		void add(K key, CIdentity identity) {
+
+			Set<CIdentity> posting = postings.get(key);
+
+			if (posting == null) {
+
+				posting = new HashSet<CIdentity>();
+				postings.put(key, posting);
+			}
+
+			posting.add(identity);
+		}
+
+		void remove(K key, CIdentity identity) {
+
+			Set<CIdentity> posting = postings.get(key);
+
+			if (posting != null) {
+
+				posting.remove(identity);
+
+				if (posting.isEmpty()) {
+
+					postings.remove(key);
+				}
+			}
+		}
+
+		Set<CIdentity> get(K key) {
+
+			Set<CIdentity> posting = postings.get(key);
+
+			return posting != null ? posting : Collections.<CIdentity>emptySet();
+		}
+
+		Map<K, Set<CIdentity>> asMap() {
+
+			return postings;
+		}
+	}
+
+	private abstract class ValuesIndex<K, V, F extends NFeature<V>> {
+
+		private Map<CIdentity, Postings<K>> indexedValues
+							= new HashMap<CIdentity, Postings<K>>();
+
+		private Postings<CIdentity> unindexedValues = new Postings<CIdentity>();
+
+		void add(NNode instance, CIdentity identity) {
+
+			for (F feature : getFeatures(instance)) {
+
+				CIdentity type = feature.getType();
+
+				for (V value : feature.getValues()) {
+
+					K key = getKeyOrNull(value);
+
+					if (key != null) {
+
+						resolveIndexedValues(type).add(key, identity);
+					}
+					else {
+
+						unindexedValues.add(type, identity);
+					}
+				}
+			}
+		}
+
+		void remove(NNode instance, CIdentity identity) {
+
+			for (F feature : getFeatures(instance)) {
+
+				CIdentity type = feature.getType();
+				Postings<K> typeValues = indexedValues.get(type);
+
+				for (V value : feature.getValues()) {
+
+					K key = getKeyOrNull(value);
+
+					if (key != null) {
+
+						if (typeValues != null) {
+
+							typeValues.remove(key, identity);
+						}
+					}
+					else {
+
+						unindexedValues.remove(type, identity);
+					}
+				}
+
+				if (typeValues != null && typeValues.asMap().isEmpty()) {
+
+					indexedValues.remove(type);
+				}
+			}
+		}
+
+		void collectCandidateSets(NNode query, List<Set<CIdentity>> candidateSets) {
+
+			for (F qFeature : getFeatures(query)) {
+
+				if (constrainsAllValues(qFeature) && !customMatchFeature(qFeature)) {
+
+					collectCandidateSets(qFeature, candidateSets);
+				}
+			}
+		}
+
+		boolean constrainsAllValues(F qFeature) {
+
+			return true;
+		}
+
+		abstract List<F> getFeatures(NNode node);
+
+		abstract K getKeyOrNull(V iValue);
+
+		abstract List<Set<CIdentity>> getMatchingPostingsOrNull(
+											Postings<K> typeValues,
+											V qValue);
+
+		private void collectCandidateSets(
+						F qFeature,
+						List<Set<CIdentity>> candidateSets) {
+
+			CIdentity type = qFeature.getType();
+			Postings<K> typeValues = indexedValues.get(type);
+
+			if (typeValues == null) {
+
+				typeValues = new Postings<K>();
+			}
+
+			for (V qValue : qFeature.getValues()) {
+
+				List<Set<CIdentity>> postings = getMatchingPostingsOrNull(typeValues, qValue);
+
+				if (postings != null) {
+
+					postings.add(unindexedValues.get(type));
+					candidateSets.add(getUnion(postings));
+				}
+			}
+		}
+
+		private Postings<K> resolveIndexedValues(CIdentity type) {
+
+			Postings<K> typeValues = indexedValues.get(type);
+
+			if (typeValues == null) {
+
+				typeValues = new Postings<K>();
+				indexedValues.put(type, typeValues);
+			}
+
+			return typeValues;
+		}
+	}
+
+	private class LinkValuesIndex extends ValuesIndex<CFrame, NNode, NLink> {
+
+		boolean constrainsAllValues(NLink qFeature) {
+
+			return !qFeature.disjunctionLink();
+		}
+
+		List<NLink> getFeatures(NNode node) {
+
+			return node.getLinks();
+		}
+
+		CFrame getKeyOrNull(NNode iValue) {
+
+			return iValue.getCFrame();
+		}
+
+		List<Set<CIdentity>> getMatchingPostingsOrNull(
+								Postings<CFrame> typeValues,
+								NNode qValue) {
+
+			CFrame qType = qValue.getCFrame();
+
+			if (qType == null || qValue.instanceRef()) {
+
+				return null;
+			}
+
+			List<Set<CIdentity>> postings = new ArrayList<Set<CIdentity>>();
+
+			for (Map.Entry<CFrame, Set<CIdentity>> entry : typeValues.asMap().entrySet()) {
+
+				if (qType.subsumes(entry.getKey())) {
+
+					postings.add(entry.getValue());
+				}
+			}
+
+			return postings;
+		}
+	}
+
+	private class NumberValuesIndex extends ValuesIndex<Double, INumber, NNumber> {
+
+		List<NNumber> getFeatures(NNode node) {
+
+			return node.getNumbers();
+		}
+
+		Double getKeyOrNull(INumber iValue) {
+
+			return iValue.definite() ? iValue.asDouble() : null;
+		}
+
+		List<Set<CIdentity>> getMatchingPostingsOrNull(
+								Postings<Double> typeValues,
+								INumber qValue) {
+
+			CNumber qType = qValue.getType();
+
+			double min = qType.hasMin() ? qType.getMin().asDouble() : Double.NEGATIVE_INFINITY;
+			double max = qType.hasMax() ? qType.getMax().asDouble() : Double.POSITIVE_INFINITY;
+
+			List<Set<CIdentity>> postings = new ArrayList<Set<CIdentity>>();
+
+			for (Map.Entry<Double, Set<CIdentity>> entry : typeValues.asMap().entrySet()) {
+
+				double value = entry.getKey();
+
+				if (value >= min && value <= max) {
+
+					postings.add(entry.getValue());
+				}
+			}
+
+			return postings;
+		}
+	}
+
+	private class StringValuesIndex extends ValuesIndex<String, String, NString> {
+
+		List<NString> getFeatures(NNode node) {
+
+			return node.getStrings();
+		}
+
+		String getKeyOrNull(String iValue) {
+
+			return iValue;
+		}
+
+		List<Set<CIdentity>> getMatchingPostingsOrNull(
+								Postings<String> typeValues,
+								String qValue) {
+
+			List<Set<CIdentity>> postings = new ArrayList<Set<CIdentity>>();
+
+			postings.add(typeValues.get(qValue));
+
+			return postings;
+		}
+	}
+
+	InstanceFeatureIndex(QueryCustomiser queryCustomiser) {
+
+		this.queryCustomiser = queryCustomiser;
+	}
+
+	void add(NNode instance, CIdentity identity) {
+
+		for (CIdentity featureType : getPopulatedFeatureTypes(instance)) {
+
+			featureTypePostings.add(featureType, identity);
+		}
+
+		linkValuesIndex.add(instance, identity);
+		numberValuesIndex.add(instance, identity);
+		stringValuesIndex.add(instance, identity);
+	}
+
+	void remove(NNode instance, CIdentity identity) {
+
+		for (CIdentity featureType : getPopulatedFeatureTypes(instance)) {
+
+			featureTypePostings.remove(featureType, identity);
+		}
+
+		linkValuesIndex.remove(instance, identity);
+		numberValuesIndex.remove(instance, identity);
+		stringValuesIndex.remove(instance, identity);
+	}
+
+	Set<CIdentity> getCandidatesOrNull(NNode query) {
+
+		if (query.instanceRef()) {
+
+			return null;
+		}
+
+		List<Set<CIdentity>> candidateSets = new ArrayList<Set<CIdentity>>();
+
+		for (CIdentity featureType : getPopulatedFeatureTypes(query)) {
+
+			candidateSets.add(featureTypePostings.get(featureType));
+		}
+
+		linkValuesIndex.collectCandidateSets(query, candidateSets);
+		numberValuesIndex.collectCandidateSets(query, candidateSets);
+		stringValuesIndex.collectCandidateSets(query, candidateSets);
+
+		return candidateSets.isEmpty() ? null : getIntersection(candidateSets);
+	}
+
+	private Set<CIdentity> getPopulatedFeatureTypes(NNode node) {
+
+		Set<CIdentity> types = new HashSet<CIdentity>();
+
+		for (NFeature<?> feature : node.getFeatures()) {
+
+			if (feature.hasValues()) {
+
+				types.add(feature.getType());
+			}
+		}
+
+		return types;
+	}
+
+	private boolean customMatchFeature(NFeature<?> feature) {
+
+		return queryCustomiser.customMatchFeature(feature);
+	}
+
+	private Set<CIdentity> getUnion(List<Set<CIdentity>> sets) {
+
+		Set<CIdentity> union = new HashSet<CIdentity>();
+
+		for (Set<CIdentity> set : sets) {
+
+			union.addAll(set);
+		}
+
+		return union;
+	}
+
+	private Set<CIdentity> getIntersection(List<Set<CIdentity>> sets) {
+
+		Set<CIdentity> smallest = sets.get(0);
+
+		for (Set<CIdentity> set : sets) {
+
+			if (set.size() < smallest.size()) {
+
+				smallest = set;
+			}
+		}
+
+		Set<CIdentity> intersection = new HashSet<CIdentity>(smallest);
+
+		for (Set<CIdentity> set : sets) {
+
+			if (intersection.isEmpty()) {
+
+				break;
+			}
+
+			if (set != smallest) {
+
+				intersection.retainAll(set);
+			}
+		}
+
+		return intersection;
+	}
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+/**
+ * Snapshot of the usage statistics for the cache of classification
+ * results maintained by a network-based classifier (see {@link
+ * NClassifier#setClassificationCacheSize}).
+ *
+ * @author Colin Puleston
+ */
+public class NClassificationCacheStats {
+
+	private int maxSize;
+	private int cachedResults;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Provides the maximum number of classification results that can
+	 * be held in the cache.
+	 *
+	 * @return Maximum size of cache, or zero if cache disabled
+	 */
+	public int getMaxSize() {
+
+		return maxSize;
+	}
+
+	/**
+	 * Provides the number of classification results currently held
+	 * in the cache.
+	 *
+	 * @return Number of cached results
+	 */
+	public int getCachedResults() {
+
+		return cachedResults;
+	}
+
+	/**
+	 * Provides the number of classification requests that have been
+	 * satisfied from the cache.
+	 *
+	 * @return Number of cache hits
+	 */
+	public long getHits() {
+
+		return hits;
+	}
+
+	/**
+	 * Provides the number of classification requests that have
+	 * required the classification to be performed.
+	 *
+	 * @return Number of cache misses
+	 */
+	public long getMisses() {
+
+		return misses;
+	}
+
+	NClassificationCacheStats(int maxSize, int cachedResults, long hits, long misses) {
+
+		this.maxSize = maxSize;
+		this.cachedResults = cachedResults;
+		this.hits = hits;
+		this.misses = misses;
+	}
+}
@@ -39,12 +39,19 @@ import uk.ac.manchester.cs.mekon.model.motor.*;
  * The classification process can be customised by adding one or
  * more pre-processors to modify the networks that will be passed
  * to the abstract classification method (see {@link #addPreProcessor}).
+ * <p>
+ * The results of classification operations can optionally be cached
+ * (see {@link #setClassificationCacheSize}), keyed by the structure
+ * of the pre-processed networks, so that repeated classification of
+ * structurally identical instances does not require the actual
+ * classification to be repeated.
  *
  * @author Colin Puleston
  */
 public abstract class NClassifier extends IClassifier {
 
 	private NetworkCreator networkCreator = new NetworkCreator();
+	private ClassificationCache cache = new ClassificationCache(0);
 
 	/**
 	 * Registers a pre-processor to perform certain required
@@ -58,12 +65,45 @@ public abstract class NClassifier extends IClassifier {
 		networkCreator.addPreProcessor(preProcessor);
 	}
 
+	/**
+	 * Sets the maximum number of classification results that will be
+	 * cached, with the least-recently-used results being discarded
+	 * once the limit is reached. Any currently cached results will be
+	 * discarded. Defaults to zero, meaning that caching is disabled.
+	 *
+	 * @param maxSize Maximum number of cached results
+	 */
+	public void setClassificationCacheSize(int maxSize) {
+
+		cache.setMaxSize(maxSize);
+	}
+
+	/**
+	 * Discards any currently cached classification results.
+	 */
+	public void clearClassificationCache() {
+
+		cache.clear();
+	}
+
+	/**
+	 * Provides the current usage statistics for the classification
+	 * cache.
+	 *
+	 * @return Usage statistics for classification cache
+	 */
+	public NClassificationCacheStats getClassificationCacheStats() {
+
+		return cache.getStats();
+	}
+
 	/**
 	 * Converts the specified instance-level instance frame to the
 	 * network-based representation, runs any registered pre-processors
 	 * over the resulting network, then invokes {@link
 	 * #classify(NNode, IClassifierOps)} to perform the classification
-	 * operation.
+	 * operation, unless the result is available from the
+	 * classification cache.
 	 *
 	 * @param instance Instance to classify
 	 * @param ops Types of classification operations to be performed
@@ -71,7 +111,14 @@ public abstract class NClassifier extends IClassifier {
 	 */
 	protected IClassification classify(IFrame instance, IClassifierOps ops) {
 
-		return classify(toNetwork(instance), ops);
+		NNode network = toNetwork(instance);
+
+		if (cache.enabled()) {
+
+			return classifyViaCache(network, ops);
+		}
+
+		return classify(network, ops);
 	}
 
 	/**
@@ -83,6 +130,47 @@ public abstract class NClassifier extends IClassifier {
 	 */
 	protected abstract IClassification classify(NNode instance, IClassifierOps ops);
 
+	/**
+	 * Provides the current generation of the knowledge source over
+	 * which classification is performed. Any change in generation
+	 * between classification requests will result in all cached
+	 * classification results being discarded. If any change occurs
+	 * during a classification operation then the result of that
+	 * operation will not be cached.
+	 * The default implementation returns zero, meaning that cached
+	 * results are never invalidated. Should be overridden by
+	 * classifiers whose results can change over time.
+	 *
+	 * @return Current generation of knowledge source
+	 */
+	protected long getClassificationGeneration() {
+
+		return 0;
+	}
+
+	private IClassification classifyViaCache(NNode network, IClassifierOps ops) {
+
+		String key = createCacheKey(network, ops);
+		long preGeneration = getClassificationGeneration();
+		IClassification result = cache.getOrNull(key, preGeneration);
+
+		if (result == null) {
+
+			result = classify(network, ops);
+
+			cache.checkAdd(key, result, preGeneration, getClassificationGeneration());
+		}
+
+		return result;
+	}
+
+	private String createCacheKey(NNode network, IClassifierOps ops) {
+
+		String opsKey = (ops.inferreds() ? "I" : "") + (ops.suggesteds() ? "S" : "");
+
+		return opsKey + ":" + new NetworkStructureKey(network).getKey();
+	}
+
 	private NNode toNetwork(IFrame rootFrame) {
 
 		return networkCreator.createNetwork(rootFrame);
@@ -25,12 +25,14 @@
 package uk.ac.manchester.cs.mekon.network;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.store.motor.*;
 import uk.ac.manchester.cs.mekon.store.disk.*;
 
+import uk.ac.manchester.cs.mekon_util.*;
 import uk.ac.manchester.cs.mekon_util.config.*;
 
 /**
@@ -41,18 +43,109 @@ import uk.ac.manchester.cs.mekon_util.config.*;
  * networks, taking into account subsumption relationships between
  * the {@link CFrame} representations of the node-types, where
  * available.
+ * <p>
+ * The stored instances are indexed by the types and values of the
+ * features attached to their root-nodes, so that the set of
+ * instances to be matched against any particular query can be
+ * pruned prior to the full recursive matching process.
+ * <p>
+ * Matching operations only read from the stored networks and
+ * indexes, and hence can be performed concurrently (see {@link
+ * IConcurrentMatcher}), provided that any registered pre-processors
+ * are also thread-safe. Individual matching operations can also be
+ * split across multiple threads (see {@link #setParallelMatching}).
+ * <p>
+ * The stored networks can optionally be held in a compact, immutable
+ * encoding, in which the node-types and feature-types are interned
+ * as integer identifiers, the links and values are held in flat
+ * arrays, definite numeric values are held in primitive form, and
+ * string values are held in a dictionary that is shared between
+ * all stored instances. Matching is then performed directly on the
+ * encoded forms (see {@link #setCompactInstances}).
  *
  * @author Colin Puleston
  */
-public class NDirectMatcher extends NMatcher {
+public class NDirectMatcher extends NMatcher implements IConcurrentMatcher {
+
+	static private final int DEFAULT_PARALLEL_SPLIT_THRESHOLD = 256;
 
 	private Map<CFrame, InstanceGroup> instanceGroups
 					= new HashMap<CFrame, InstanceGroup>();
 
+	private CompactNetworkDictionary compactDictionary = null;
+
+	private volatile ForkJoinPool parallelPool = null;
+	private volatile int parallelSplitThreshold = DEFAULT_PARALLEL_SPLIT_THRESHOLD;
+
+	private boolean candidatePruning = true;
+
+	private abstract class StoredInstance {
+
+		abstract NNode getIndexableNode();
+
+		abstract NNode getNodeOrNull();
+
+		abstract boolean matchedBy(QueryNodeDirectMatcher matcher);
+	}
+
+	private class NetworkInstance extends StoredInstance {
+
+		private NNode node;
+
+		NetworkInstance(NNode node) {
+
+			this.node = node;
+		}
+
+		NNode getIndexableNode() {
+
+			return node;
+		}
+
+		NNode getNodeOrNull() {
+
+			return node;
+		}
+
+		boolean matchedBy(QueryNodeDirectMatcher matcher) {
+
+			return matcher.matches(node);
+		}
+	}
+
+	private class CompactInstance extends StoredInstance {
+
+		private CompactNetwork network;
+
+		CompactInstance(NNode node) {
+
+			network = new CompactNetwork(node, compactDictionary, getQueryCustomiser());
+		}
+
+		NNode getIndexableNode() {
+
+			return network.toIndexableRootNode(compactDictionary);
+		}
+
+		NNode getNodeOrNull() {
+
+			return null;
+		}
+
+		boolean matchedBy(QueryNodeDirectMatcher matcher) {
+
+			return matcher.matches(network);
+		}
+	}
+
 	private class InstanceGroup {
 
 		private CFrame rootFrameType;
-		private Map<CIdentity, NNode> instances = new HashMap<CIdentity, NNode>();
+		private Map<CIdentity, StoredInstance> instances
+						= new HashMap<CIdentity, StoredInstance>();
+
+		private InstanceFeatureIndex featureIndex
+					= new InstanceFeatureIndex(getQueryCustomiser());
 
 		InstanceGroup(CFrame rootFrameType) {
 
@@ -61,26 +154,240 @@ public class NDirectMatcher extends NMatcher {
 
 		void add(NNode instance, CIdentity identity) {
 
-			instances.put(identity, instance);
+			StoredInstance previous = instances.put(identity, createStoredInstance(instance));
+
+			if (previous != null) {
+
+				featureIndex.remove(previous.getIndexableNode(), identity);
+			}
+
+			featureIndex.add(instance, identity);
 		}
 
 		boolean checkRemove(CIdentity identity) {
 
-			return instances.remove(identity) != null;
+			StoredInstance removed = instances.remove(identity);
+
+			if (removed != null) {
+
+				featureIndex.remove(removed.getIndexableNode(), identity);
+
+				return true;
+			}
+
+			return false;
+		}
+
+		NNode getInstanceOrNull(CIdentity identity) {
+
+			StoredInstance instance = instances.get(identity);
+
+			return instance != null ? instance.getNodeOrNull() : null;
+		}
+
+		void regenerateInstances() {
+
+			for (CIdentity identity : new ArrayList<CIdentity>(instances.keySet())) {
+
+				add(regenerateInstanceNetwork(identity), identity);
+			}
 		}
 
-		void collectMatches(NNode query, List<CIdentity> matches) {
+		void collectCandidates(NNode query, MatchCandidates candidates) {
 
 			if (getType(query).subsumes(rootFrameType)) {
 
-				for (Map.Entry<CIdentity, NNode> entry : instances.entrySet()) {
+				Set<CIdentity> indexCandidates = getIndexCandidatesOrNull(query);
+
+				if (indexCandidates == null) {
+
+					collectAllCandidates(candidates);
+				}
+				else {
+
+					collectIndexCandidates(indexCandidates, candidates);
+				}
+			}
+		}
+
+		private Set<CIdentity> getIndexCandidatesOrNull(NNode query) {
+
+			return candidatePruning ? featureIndex.getCandidatesOrNull(query) : null;
+		}
+
+		private void collectAllCandidates(MatchCandidates candidates) {
+
+			for (Map.Entry<CIdentity, StoredInstance> entry : instances.entrySet()) {
+
+				candidates.add(entry.getKey(), entry.getValue());
+			}
+		}
+
+		private void collectIndexCandidates(
+							Set<CIdentity> indexCandidates,
+							MatchCandidates candidates) {
+
+			for (CIdentity candidate : indexCandidates) {
+
+				candidates.add(candidate, instances.get(candidate));
+			}
+		}
+	}
+
+	private class QueryMatchers {
+
+		private QueryNodeDirectMatcher coreMatcher;
+		private QueryNodeDirectMatcher customMatcher = null;
+
+		QueryMatchers(NNode query, NNode customQuery) {
+
+			coreMatcher = createQueryMatcher(query);
+
+			if (customQuery != null) {
+
+				customMatcher = createQueryMatcher(customQuery);
+			}
+		}
+
+		boolean matches(StoredInstance instance) {
+
+			if (!instance.matchedBy(coreMatcher)) {
+
+				return false;
+			}
+
+			return customMatcher == null || instance.matchedBy(customMatcher);
+		}
+
+		private QueryNodeDirectMatcher createQueryMatcher(NNode query) {
+
+			return new QueryNodeDirectMatcher(getQueryCustomiser(), query, compactDictionary);
+		}
+	}
+
+	private class MatchCandidates {
+
+		private NNode query;
+		private NNode customQuery;
+
+		private List<CIdentity> identities = new ArrayList<CIdentity>();
+		private List<StoredInstance> instances = new ArrayList<StoredInstance>();
+
+		private class ParallelMatchTask extends RecursiveAction {
+
+			static private final long serialVersionUID = -1;
+
+			private boolean[] results;
+			private int splitThreshold;
+
+			private int from;
+			private int to;
+
+			protected void compute() {
+
+				if (to - from <= splitThreshold) {
+
+					computeDirectly();
+				}
+				else {
+
+					int mid = (from + to) / 2;
+
+					invokeAll(createSubTask(from, mid), createSubTask(mid, to));
+				}
+			}
+
+			ParallelMatchTask(boolean[] results, int splitThreshold, int from, int to) {
+
+				this.results = results;
+				this.splitThreshold = splitThreshold;
+				this.from = from;
+				this.to = to;
+			}
+
+			private void computeDirectly() {
 
-					if (matches(query, entry.getValue())) {
+				QueryMatchers queryMatchers = createQueryMatchers();
 
-						matches.add(entry.getKey());
-					}
+				for (int i = from ; i < to ; i++) {
+
+					results[i] = queryMatchers.matches(instances.get(i));
+				}
+			}
+
+			private ParallelMatchTask createSubTask(int subFrom, int subTo) {
+
+				return new ParallelMatchTask(results, splitThreshold, subFrom, subTo);
+			}
+		}
+
+		MatchCandidates(NNode query, NNode customQuery) {
+
+			this.query = query;
+			this.customQuery = customQuery;
+
+			for (InstanceGroup group : instanceGroups.values()) {
+
+				group.collectCandidates(query, this);
+			}
+		}
+
+		void add(CIdentity identity, StoredInstance instance) {
+
+			identities.add(identity);
+			instances.add(instance);
+		}
+
+		IMatches match() {
+
+			ForkJoinPool pool = parallelPool;
+			int splitThreshold = parallelSplitThreshold;
+
+			if (pool == null || instances.size() <= splitThreshold) {
+
+				return matchSequentially();
+			}
+
+			return matchInParallel(pool, splitThreshold);
+		}
+
+		private IMatches matchSequentially() {
+
+			QueryMatchers queryMatchers = createQueryMatchers();
+			List<CIdentity> matches = new ArrayList<CIdentity>();
+
+			for (int i = 0 ; i < instances.size() ; i++) {
+
+				if (queryMatchers.matches(instances.get(i))) {
+
+					matches.add(identities.get(i));
+				}
+			}
+
+			return new IUnrankedMatches(matches);
+		}
+
+		private IMatches matchInParallel(ForkJoinPool pool, int splitThreshold) {
+
+			boolean[] results = new boolean[instances.size()];
+			List<CIdentity> matches = new ArrayList<CIdentity>();
+
+			pool.invoke(new ParallelMatchTask(results, splitThreshold, 0, results.length));
+
+			for (int i = 0 ; i < results.length ; i++) {
+
+				if (results[i]) {
+
+					matches.add(identities.get(i));
 				}
 			}
+
+			return new IUnrankedMatches(matches);
+		}
+
+		private QueryMatchers createQueryMatchers() {
+
+			return new QueryMatchers(query, customQuery);
 		}
 	}
 
@@ -97,6 +404,90 @@ public class NDirectMatcher extends NMatcher {
 		return true;
 	}
 
+	/**
+	 * Enables parallel matching, whereby the candidate instances for
+	 * each query are split into sub-sets that are tested concurrently
+	 * via the specified pool. The results are provided in the same
+	 * order as for sequential matching. Calls to any custom
+	 * value-matchers that do not implement {@link
+	 * IConcurrentValueMatcher} will be serialised.
+	 *
+	 * @param pool Pool via which matching is to be performed
+	 * @param splitThreshold Maximum number of candidate instances to be
+	 * tested by a single task, with queries having no more candidates
+	 * than this being matched sequentially
+	 */
+	public void setParallelMatching(ForkJoinPool pool, int splitThreshold) {
+
+		if (splitThreshold < 1) {
+
+			throw new KAccessException(
+						"Invalid parallel-matching split-threshold: "
+						+ splitThreshold);
+		}
+
+		parallelSplitThreshold = splitThreshold;
+		parallelPool = pool;
+	}
+
+	/**
+	 * Enables parallel matching via the specified pool, using the
+	 * default split-threshold (see {@link #setParallelMatching(
+	 * ForkJoinPool, int)}).
+	 *
+	 * @param pool Pool via which matching is to be performed
+	 */
+	public void setParallelMatching(ForkJoinPool pool) {
+
+		setParallelMatching(pool, DEFAULT_PARALLEL_SPLIT_THRESHOLD);
+	}
+
+	/**
+	 * Disables parallel matching, which is the default state.
+	 */
+	public void setSequentialMatching() {
+
+		parallelPool = null;
+	}
+
+	/**
+	 * Specifies whether the stored instances are to be held in the
+	 * compact encoded form, rather than as the original networks,
+	 * which is the default. With the compact form the retained
+	 * networks will not be available via {@link
+	 * #getStoredInstanceOrNull}, and hence will be regenerated
+	 * from the store whenever required. Instance-level frames are
+	 * only retained for link-values that are subject to custom
+	 * matching. Can only be invoked prior to the addition of any
+	 * instances.
+	 *
+	 * @param compact True if instances are to be held in compact form
+	 * @throws KAccessException if any instances have already been
+	 * added
+	 */
+	public void setCompactInstances(boolean compact) {
+
+		if (!instanceGroups.isEmpty()) {
+
+			throw new KAccessException(
+						"Cannot change instance-storage format "
+						+ "after instances have been added");
+		}
+
+		compactDictionary = compact ? new CompactNetworkDictionary() : null;
+	}
+
+	/**
+	 * Specifies whether the stored instances are held in the
+	 * compact encoded form (see {@link #setCompactInstances}).
+	 *
+	 * @return True if instances held in compact form
+	 */
+	public boolean compactInstances() {
+
+		return compactDictionary != null;
+	}
+
 	/**
 	 * {@inheritDoc}
 	 */
@@ -133,14 +524,7 @@ public class NDirectMatcher extends NMatcher {
 	 */
 	public IMatches match(NNode query) {
 
-		List<CIdentity> matches = new ArrayList<CIdentity>();
-
-		for (InstanceGroup group : instanceGroups.values()) {
-
-			group.collectMatches(query, matches);
-		}
-
-		return new IUnrankedMatches(matches);
+		return new MatchCandidates(query, null).match();
 	}
 
 	/**
@@ -158,6 +542,30 @@ public class NDirectMatcher extends NMatcher {
 	public void stop() {
 	}
 
+	/**
+	 * Provides the retained network-based representation of the
+	 * specified stored instance.
+	 *
+	 * @param identity Unique identity of stored instance
+	 * @return Retained network-based representation of instance, or
+	 * null if instance not present, or if instances are held in
+	 * compact form
+	 */
+	protected NNode getStoredInstanceOrNull(CIdentity identity) {
+
+		for (InstanceGroup group : instanceGroups.values()) {
+
+			NNode instance = group.getInstanceOrNull(identity);
+
+			if (instance != null) {
+
+				return instance;
+			}
+		}
+
+		return null;
+	}
+
 	/**
 	 * Specifies that referenced instances are to be expanded.
 	 *
@@ -168,6 +576,42 @@ public class NDirectMatcher extends NMatcher {
 		return true;
 	}
 
+	void setCandidatePruning(boolean enabled) {
+
+		candidatePruning = enabled;
+	}
+
+	void addValueMatchCustomiser(IValueMatchCustomiser customiser) {
+
+		super.addValueMatchCustomiser(customiser);
+
+		if (compactDictionary != null && customiser.getMatcher() instanceof ICustomFrameMatcher) {
+
+			for (InstanceGroup group : instanceGroups.values()) {
+
+				group.regenerateInstances();
+			}
+		}
+	}
+
+	IMatches matchCustomised(CustomisedQuery query) {
+
+		NNode coreQuery = query.getCoreQuery();
+		NNode customQuery = query.getCustomQuery();
+
+		return new MatchCandidates(coreQuery, customQuery).match();
+	}
+
+	private StoredInstance createStoredInstance(NNode instance) {
+
+		if (compactDictionary != null) {
+
+			return new CompactInstance(instance);
+		}
+
+		return new NetworkInstance(instance);
+	}
+
 	private CFrame getType(NNode instance) {
 
 		CFrame type = instance.getCFrame();
@@ -93,7 +93,7 @@ public abstract class NEntity {
 
 		if (atomicType()) {
 
-			return typeDisjuncts.iterator().next();
+			return typeDisjuncts.get(0);
 		}
 
 		throw new KAccessException("Does not have atomic type: " + this);
@@ -111,6 +111,11 @@ public abstract class NEntity {
 		return new ArrayList<CIdentity>(typeDisjuncts);
 	}
 
+	List<CIdentity> getTypeDisjunctsView() {
+
+		return typeDisjuncts;
+	}
+
 	NEntity(CIdentity type) {
 
 		typeDisjuncts.add(type);
@@ -173,6 +173,11 @@ public abstract class NFeature<V> extends NEntity {
 		return copy;
 	}
 
+	List<V> getValuesView() {
+
+		return values;
+	}
+
 	abstract NFeature<V> copyNoValues();
 
 	abstract V resolveCopyValue(V value);
@@ -58,6 +58,7 @@ public abstract class NMatcher implements IMatcher {
 	private class CustomisedQueryNodeMatcher  {
 
 		private CustomisedQuery query;
+		private QueryNodeDirectMatcher customQueryMatcher = null;
 
 		CustomisedQueryNodeMatcher(CustomisedQuery query) {
 
@@ -114,7 +115,7 @@ public abstract class NMatcher implements IMatcher {
 
 			for (CIdentity id : coreMatches) {
 
-				if (customMatches(getInstanceNode(id))) {
+				if (customMatches(getStoredInstanceNode(id))) {
 
 					filtered.add(id);
 				}
@@ -135,12 +136,24 @@ public abstract class NMatcher implements IMatcher {
 
 		private boolean customMatches(NNode instance) {
 
-			return matchesDirect(query.getCustomQuery(), instance);
+			return getCustomQueryMatcher().matches(instance);
 		}
 
-		private NNode getInstanceNode(CIdentity id) {
+		private QueryNodeDirectMatcher getCustomQueryMatcher() {
 
-			return new NNetwork(store.get(id).getRootFrame()).getRootNode();
+			if (customQueryMatcher == null) {
+
+				customQueryMatcher = createDirectMatcher(query.getCustomQuery());
+			}
+
+			return customQueryMatcher;
+		}
+
+		private NNode getStoredInstanceNode(CIdentity id) {
+
+			NNode instance = getStoredInstanceOrNull(id);
+
+			return instance != null ? instance : regenerateInstanceNetwork(id);
 		}
 	}
 
@@ -201,7 +214,7 @@ public abstract class NMatcher implements IMatcher {
 			return match(nQuery);
 		}
 
-		return new CustomisedQueryNodeMatcher(cnQuery).match();
+		return matchCustomised(cnQuery);
 	}
 
 	/**
@@ -255,6 +268,35 @@ public abstract class NMatcher implements IMatcher {
 	 */
 	protected abstract boolean matches(NNode query, NNode instance);
 
+	/**
+	 * Provides the network-based representation of the specified
+	 * stored instance, where such a representation is retained by the
+	 * matcher. This is used when applying any custom value-matching
+	 * to the results of a core matching operation, so as to avoid the
+	 * need to regenerate the instance from the store. The default
+	 * implementation returns null, in which case the instance will be
+	 * regenerated. Should be overridden by matchers that retain the
+	 * networks for the stored instances.
+	 * <p>
+	 * Custom value-matching is always applied to networks in the
+	 * same form as those passed to {@link #add(NNode, CIdentity)}:
+	 * that is, with any registered pre-processors having been run
+	 * and, where {@link #expandInstanceRefs} is true, with referenced
+	 * instances expanded. Hence the returned network should be the
+	 * one that was originally added, or an equivalent. The instance
+	 * frames attached to the nodes, which are passed to any {@link
+	 * ICustomFrameMatcher}, will be free-instance copies of the
+	 * stored frames, rather than frames regenerated via the model.
+	 *
+	 * @param identity Unique identity of stored instance
+	 * @return Retained network-based representation of instance, or
+	 * null if not retained
+	 */
+	protected NNode getStoredInstanceOrNull(CIdentity identity) {
+
+		return null;
+	}
+
 	/**
 	 * Specifies whether the instantiations of the network-based
 	 * representations that are passed to the abstract methods will
@@ -271,9 +313,29 @@ public abstract class NMatcher implements IMatcher {
 		queryCustomiser.addValueMatchCustomiser(customiser);
 	}
 
+	NNode regenerateInstanceNetwork(CIdentity identity) {
+
+		return instanceToNetwork(store.get(identity).getRootFrame());
+	}
+
+	IMatches matchCustomised(CustomisedQuery query) {
+
+		return new CustomisedQueryNodeMatcher(query).match();
+	}
+
+	QueryCustomiser getQueryCustomiser() {
+
+		return queryCustomiser;
+	}
+
 	boolean matchesDirect(NNode query, NNode instance) {
 
-		return new QueryNodeDirectMatcher(queryCustomiser).matches(query, instance);
+		return createDirectMatcher(query).matches(instance);
+	}
+
+	QueryNodeDirectMatcher createDirectMatcher(NNode query) {
+
+		return new QueryNodeDirectMatcher(queryCustomiser, query);
 	}
 
 	private NNode instanceToNetwork(IFrame instance) {
@@ -335,6 +335,11 @@ public class NNode extends NEntity {
 		this.iFrame = iFrame;
 	}
 
+	List<NFeature<?>> getFeaturesView() {
+
+		return features;
+	}
+
 	void renderAttributes(NEntityRenderer renderer) {
 
 		if (instanceRef()) {
@@ -0,0 +1,124 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class NetworkStructureKey {
+
+	private StringBuilder key = new StringBuilder();
+	private Map<NNode, Integer> visitedNodes = new HashMap<NNode, Integer>();
+
+	NetworkStructureKey(NNode rootNode) {
+
+		addNode(rootNode);
+	}
+
+	String getKey() {
+
+		return key.toString();
+	}
+
+	private void addNode(NNode node) {
+
+		Integer visitIndex = visitedNodes.get(node);
+
+		if (visitIndex != null) {
+
+			key.append('#').append(visitIndex);
+
+			return;
+		}
+
+		visitedNodes.put(node, visitedNodes.size());
+
+		key.append('(');
+		addTypes(node);
+
+		if (node.instanceRef()) {
+
+			key.append('@');
+			addString(node.getInstanceRef().getIdentifier());
+		}
+
+		for (NLink link : node.getLinks()) {
+
+			addLink(link);
+		}
+
+		for (NDataFeature<?> dataFeature : node.getDataFeatures()) {
+
+			addDataFeature(dataFeature);
+		}
+
+		key.append(')');
+	}
+
+	private void addLink(NLink link) {
+
+		key.append(link.disjunctionLink() ? "|L" : "L");
+		addTypes(link);
+		key.append('[');
+
+		for (NNode value : link.getValues()) {
+
+			addNode(value);
+		}
+
+		key.append(']');
+	}
+
+	private void addDataFeature(NDataFeature<?> dataFeature) {
+
+		key.append('D');
+		addTypes(dataFeature);
+		key.append('[');
+
+		for (Object value : dataFeature.getValues()) {
+
+			addString(value.toString());
+		}
+
+		key.append(']');
+	}
+
+	private void addTypes(NEntity entity) {
+
+		for (CIdentity type : entity.getTypeDisjuncts()) {
+
+			addString(type.getIdentifier());
+		}
+	}
+
+	private void addString(String value) {
+
+		key.append(value.length()).append(':').append(value);
+	}
+}
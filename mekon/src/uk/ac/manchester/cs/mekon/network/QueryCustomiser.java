@@ -163,7 +163,7 @@ class QueryCustomiser {
 		return castCustomValueMatcher(customiser.getMatcher(), slotId, expectClass);
 	}
 
-	private boolean customMatchFeature(NFeature<?> feature) {
+	boolean customMatchFeature(NFeature<?> feature) {
 
 		return valueMatchCustomisers.keySet().contains(feature.getType());
 	}
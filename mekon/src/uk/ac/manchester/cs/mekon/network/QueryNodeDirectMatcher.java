@@ -29,31 +29,164 @@ import java.util.*;
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.disk.*;
 
-import uk.ac.manchester.cs.mekon_util.*;
-
 /**
  * @author Colin Puleston
  */
 class QueryNodeDirectMatcher {
 
 	private QueryCustomiser queryCustomiser;
+	private CompactNetworkDictionary dictionary;
+
+	private QueryPlanNode rootPlanNode;
+	private int planNodeCount = 0;
+
+	private TestingStack testing = new TestingStack();
+	private MatchesCache matches;
+	private CompactMatchesCache compactMatches = null;
+
+	private class QueryPlanNode {
+
+		private int index;
+
+		private boolean instanceRef;
+		private CIdentity instanceRefId;
+
+		private CFrame cFrame;
+		private List<CIdentity> typeDisjuncts;
+
+		private int instanceRefCode = -1;
+		private int[] typeDisjunctCodes = null;
+
+		private FeaturePlan<?, ?>[] featurePlans = new FeaturePlan<?, ?>[0];
+
+		QueryPlanNode(NNode query) {
+
+			index = planNodeCount++;
+
+			instanceRef = query.instanceRef();
+			instanceRefId = query.getInstanceRef();
+
+			cFrame = query.getCFrame();
+			typeDisjuncts = query.getTypeDisjuncts();
 
-	private LinksMatcher linksMatcher = new LinksMatcher();
-	private NumbersMatcher numbersMatcher = new NumbersMatcher();
-	private StringsMatcher stringsMatcher = new StringsMatcher();
+			if (dictionary != null) {
 
-	private KSetMap<NNode, NNode> testing = new KSetMap<NNode, NNode>();
-	private KSetMap<NNode, NNode> matches = new KSetMap<NNode, NNode>();
+				if (instanceRef) {
 
-	private abstract class FeaturesMatcher<V, F extends NFeature<V>> {
+					instanceRefCode = dictionary.lookupIdentity(instanceRefId);
+				}
+
+				typeDisjunctCodes = lookupTypeDisjunctCodesOrNull();
+			}
+		}
 
-		boolean matches(NNode query, NNode instance) {
+		void compileFeatures(NNode query, Map<NNode, QueryPlanNode> compiledNodes) {
+
+			if (instanceRef) {
+
+				return;
+			}
+
+			List<FeaturePlan<?, ?>> plans = new ArrayList<FeaturePlan<?, ?>>();
+
+			for (NLink link : query.getLinks()) {
+
+				if (link.hasValues()) {
+
+					plans.add(new LinkPlan(link, compiledNodes));
+				}
+			}
 
-			List<F> iFeatures = getValueFeatures(instance);
+			for (NNumber number : query.getNumbers()) {
 
-			for (F qFeature : getValueFeatures(query)) {
+				if (number.hasValues()) {
 
-				if (!anyMatches(qFeature, iFeatures)) {
+					plans.add(new NumberPlan(number));
+				}
+			}
+
+			for (NString string : query.getStrings()) {
+
+				if (string.hasValues()) {
+
+					plans.add(new StringPlan(string));
+				}
+			}
+
+			Collections.sort(plans, new FeaturePlanSelectivityOrderer());
+
+			featurePlans = plans.toArray(featurePlans);
+		}
+
+		boolean matches(NNode instance) {
+
+			if (testing.contains(index, instance, 0)) {
+
+				return true;
+			}
+
+			if (matches.contains(index, instance)) {
+
+				return true;
+			}
+
+			boolean subsumption = false;
+
+			testing.push(index, instance, 0);
+
+			if (nodeMatch(instance)) {
+
+				subsumption = true;
+				matches.add(index, instance);
+			}
+
+			testing.pop();
+
+			return subsumption;
+		}
+
+		boolean matches(CompactNetwork instance, int node) {
+
+			if (testing.contains(index, instance, node)) {
+
+				return true;
+			}
+
+			if (compactMatches.contains(index, node)) {
+
+				return true;
+			}
+
+			boolean subsumption = false;
+
+			testing.push(index, instance, node);
+
+			if (nodeMatch(instance, node)) {
+
+				subsumption = true;
+				compactMatches.add(index, node);
+			}
+
+			testing.pop();
+
+			return subsumption;
+		}
+
+		private boolean nodeMatch(NNode instance) {
+
+			if (instanceRef) {
+
+				return instance.instanceRef() && instanceRefId.equals(instance.getInstanceRef());
+			}
+
+			if (!typeSubsumption(instance)) {
+
+				return false;
+			}
+
+			for (FeaturePlan<?, ?> featurePlan : featurePlans) {
+
+				if (!featurePlan.matches(instance)) {
 
 					return false;
 				}
@@ -62,11 +195,33 @@ class QueryNodeDirectMatcher {
 			return true;
 		}
 
-		boolean valueMatches(F qFeature, F iFeature) {
+		private boolean typeSubsumption(NNode instance) {
 
-			for (V qValue : qFeature.getValues()) {
+			CFrame iFrame = instance.getCFrame();
 
-				if (!anyValueMatches(qValue, iFeature)) {
+			if (cFrame != null && iFrame != null) {
+
+				return cFrame.subsumes(iFrame);
+			}
+
+			return instance.getTypeDisjunctsView().containsAll(typeDisjuncts);
+		}
+
+		private boolean nodeMatch(CompactNetwork instance, int node) {
+
+			if (instanceRef) {
+
+				return instanceRefCode != -1 && instanceRefCode == instance.getInstanceRefId(node);
+			}
+
+			if (!typeSubsumption(instance, node)) {
+
+				return false;
+			}
+
+			for (FeaturePlan<?, ?> featurePlan : featurePlans) {
+
+				if (!featurePlan.matches(instance, node)) {
 
 					return false;
 				}
@@ -75,11 +230,88 @@ class QueryNodeDirectMatcher {
 			return true;
 		}
 
-		boolean anyValueMatches(F qFeature, F iFeature) {
+		private boolean typeSubsumption(CompactNetwork instance, int node) {
+
+			int iFrameId = instance.getFrameId(node);
+
+			if (cFrame != null && iFrameId != -1) {
+
+				return cFrame.subsumes(dictionary.getFrame(iFrameId));
+			}
+
+			return typeDisjunctCodes != null
+					&& instance.typeDisjunctsContainAll(node, typeDisjunctCodes);
+		}
+
+		private int[] lookupTypeDisjunctCodesOrNull() {
+
+			int[] codes = new int[typeDisjuncts.size()];
+
+			for (int i = 0 ; i < codes.length ; i++) {
+
+				codes[i] = dictionary.lookupIdentity(typeDisjuncts.get(i));
+
+				if (codes[i] == -1) {
+
+					return null;
+				}
+			}
+
+			return codes;
+		}
+	}
+
+	private abstract class FeaturePlan<V, F extends NFeature<V>> {
+
+		private CIdentity type;
+		private Class<F> featureClass;
+
+		private int typeCode = -1;
+
+		private int valueCount;
+		private boolean customised = false;
+		private Object customMatchLock = null;
+
+		FeaturePlan(F qFeature, Class<F> featureClass) {
+
+			this.featureClass = featureClass;
+
+			type = qFeature.getType();
+			valueCount = qFeature.getValuesView().size();
+
+			if (dictionary != null) {
+
+				typeCode = dictionary.lookupIdentity(type);
+			}
+		}
+
+		void setCustomMatcher(ICustomValueMatcher matcher) {
+
+			if (matcher != null) {
 
-			for (V qValue : qFeature.getValues()) {
+				customised = true;
 
-				if (anyValueMatches(qValue, iFeature)) {
+				if (!(matcher instanceof IConcurrentValueMatcher)) {
+
+					customMatchLock = matcher;
+				}
+			}
+		}
+
+		Object getCustomMatchLockOrNull() {
+
+			return customMatchLock;
+		}
+
+		boolean matches(NNode instance) {
+
+			List<NFeature<?>> iFeatures = instance.getFeaturesView();
+
+			for (int i = 0 ; i < iFeatures.size() ; i++) {
+
+				NFeature<?> iFeature = iFeatures.get(i);
+
+				if (candidateFeature(iFeature) && valuesMatch(featureClass.cast(iFeature))) {
 
 					return true;
 				}
@@ -88,30 +320,89 @@ class QueryNodeDirectMatcher {
 			return false;
 		}
 
-		abstract List<F> getFeatures(NNode node);
+		boolean matches(CompactNetwork instance, int node) {
 
-		abstract boolean valueMatch(CIdentity featureType, V qValue, V iValue);
+			if (typeCode == -1) {
 
-		private List<F> getValueFeatures(NNode node) {
+				return false;
+			}
 
-			List<F> valueFeatures = new ArrayList<F>();
+			int end = instance.getFeaturesEnd(node);
 
-			for (F feature : getFeatures(node)) {
+			for (int f = instance.getFeaturesStart(node) ; f < end ; f++) {
 
-				if (feature.hasValues()) {
+				if (candidateFeature(instance, f) && valuesMatch(instance, f)) {
 
-					valueFeatures.add(feature);
+					return true;
 				}
 			}
 
-			return valueFeatures;
+			return false;
 		}
 
-		private boolean anyMatches(F qFeature, List<F> iFeatures) {
+		int getSelectivityRank() {
 
-			for (F iFeature : iFeatures) {
+			return customised ? 1 : 0;
+		}
+
+		int getKindRank() {
 
-				if (match(qFeature, iFeature)) {
+			return 0;
+		}
+
+		int getValueCount() {
+
+			return valueCount;
+		}
+
+		boolean valuesMatch(F iFeature) {
+
+			List<V> iValues = iFeature.getValuesView();
+
+			for (int i = 0 ; i < valueCount ; i++) {
+
+				if (!anyValueMatches(i, iValues)) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		boolean anyValuesMatch(F iFeature) {
+
+			List<V> iValues = iFeature.getValuesView();
+
+			for (int i = 0 ; i < valueCount ; i++) {
+
+				if (anyValueMatches(i, iValues)) {
+
+					return true;
+				}
+			}
+
+			return false;
+		}
+
+		boolean valuesMatch(CompactNetwork instance, int iFeature) {
+
+			for (int i = 0 ; i < valueCount ; i++) {
+
+				if (!anyValueMatches(i, instance, iFeature)) {
+
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		boolean anyValuesMatch(CompactNetwork instance, int iFeature) {
+
+			for (int i = 0 ; i < valueCount ; i++) {
+
+				if (anyValueMatches(i, instance, iFeature)) {
 
 					return true;
 				}
@@ -120,18 +411,37 @@ class QueryNodeDirectMatcher {
 			return false;
 		}
 
-		private boolean match(F qFeature, F iFeature) {
+		abstract boolean valueMatch(int qValueIndex, V iValue);
+
+		abstract boolean candidateKind(byte iKind);
+
+		abstract boolean valueMatch(
+							int qValueIndex,
+							CompactNetwork instance,
+							byte iKind,
+							int iValue);
+
+		private boolean candidateFeature(NFeature<?> iFeature) {
+
+			return iFeature.getClass() == featureClass
+					&& iFeature.hasValues()
+					&& type.equals(iFeature.getType());
+		}
+
+		private boolean candidateFeature(CompactNetwork instance, int iFeature) {
 
-			return equalTypes(qFeature, iFeature) && valueMatches(qFeature, iFeature);
+			return candidateKind(instance.getFeatureKind(iFeature))
+					&& typeCode == instance.getFeatureType(iFeature);
 		}
 
-		private boolean anyValueMatches(V qValue, F iFeature) {
+		private boolean anyValueMatches(int qValueIndex, CompactNetwork instance, int iFeature) {
 
-			CIdentity featureType = iFeature.getType();
+			byte iKind = instance.getFeatureKind(iFeature);
+			int end = instance.getValuesEnd(iFeature);
 
-			for (V iValue : iFeature.getValues()) {
+			for (int v = instance.getValuesStart(iFeature) ; v < end ; v++) {
 
-				if (valueMatch(featureType, qValue, iValue)) {
+				if (valueMatch(qValueIndex, instance, iKind, v)) {
 
 					return true;
 				}
@@ -140,169 +450,552 @@ class QueryNodeDirectMatcher {
 			return false;
 		}
 
-		private boolean equalTypes(F qFeature, F iFeature) {
+		private boolean anyValueMatches(int qValueIndex, List<V> iValues) {
+
+			for (int i = 0 ; i < iValues.size() ; i++) {
+
+				if (valueMatch(qValueIndex, iValues.get(i))) {
+
+					return true;
+				}
+			}
 
-			return qFeature.getType().equals(iFeature.getType());
+			return false;
 		}
 	}
 
-	private class LinksMatcher extends FeaturesMatcher<NNode, NLink> {
+	private class LinkPlan extends FeaturePlan<NNode, NLink> {
+
+		private boolean disjunctionLink;
+
+		private QueryPlanNode[] qValues;
+		private IFrame[] qFrames;
+
+		private ICustomFrameMatcher customMatcher;
+
+		LinkPlan(NLink qFeature, Map<NNode, QueryPlanNode> compiledNodes) {
+
+			super(qFeature, NLink.class);
 
-		boolean valueMatches(NLink qFeature, NLink iFeature) {
+			List<NNode> values = qFeature.getValues();
 
-			if (qFeature.disjunctionLink() && !iFeature.disjunctionLink()) {
+			disjunctionLink = qFeature.disjunctionLink();
 
-				return anyValueMatches(qFeature, iFeature);
+			qValues = new QueryPlanNode[values.size()];
+			qFrames = new IFrame[values.size()];
+
+			for (int i = 0 ; i < qValues.length ; i++) {
+
+				NNode value = values.get(i);
+
+				qValues[i] = compile(value, compiledNodes);
+				qFrames[i] = value.getIFrame();
 			}
 
-			return super.valueMatches(qFeature, iFeature);
+			customMatcher = lookForCustomMatcher(qFeature, ICustomFrameMatcher.class);
+
+			setCustomMatcher(customMatcher);
 		}
 
-		List<NLink> getFeatures(NNode node) {
+		int getKindRank() {
 
-			return node.getLinks();
+			return 2;
 		}
 
-		boolean valueMatch(CIdentity featureType, NNode qValue, NNode iValue) {
+		boolean valuesMatch(NLink iFeature) {
 
-			ICustomFrameMatcher matcher = lookForCustomMatcher(featureType);
+			if (disjunctionLink && !iFeature.disjunctionLink()) {
 
-			if (matcher != null) {
+				return anyValuesMatch(iFeature);
+			}
 
-				IFrame qFrame = qValue.getIFrame();
+			return super.valuesMatch(iFeature);
+		}
+
+		boolean valuesMatch(CompactNetwork instance, int iFeature) {
+
+			if (disjunctionLink
+				&& instance.getFeatureKind(iFeature) != CompactNetwork.DISJUNCTION_LINK) {
+
+				return anyValuesMatch(instance, iFeature);
+			}
+
+			return super.valuesMatch(instance, iFeature);
+		}
+
+		boolean candidateKind(byte iKind) {
+
+			return CompactNetwork.linkKind(iKind);
+		}
+
+		boolean valueMatch(int qValueIndex, CompactNetwork instance, byte iKind, int iValue) {
+
+			int iNode = instance.getValue(iValue);
+
+			if (customMatcher != null) {
+
+				IFrame qFrame = qFrames[qValueIndex];
+				IFrame iFrame = instance.getIFrameOrNull(iNode);
+
+				if (qFrame != null && iFrame != null) {
+
+					return customMatch(qFrame, iFrame);
+				}
+			}
+
+			return qValues[qValueIndex].matches(instance, iNode);
+		}
+
+		boolean valueMatch(int qValueIndex, NNode iValue) {
+
+			if (customMatcher != null) {
+
+				IFrame qFrame = qFrames[qValueIndex];
 				IFrame iFrame = iValue.getIFrame();
 
-				if (qFrame != null && iFrame != null ) {
+				if (qFrame != null && iFrame != null) {
 
-					return matcher.matches(qFrame, iFrame);
+					return customMatch(qFrame, iFrame);
 				}
 			}
 
-			return QueryNodeDirectMatcher.this.matches(qValue, iValue);
+			return qValues[qValueIndex].matches(iValue);
 		}
 
-		private ICustomFrameMatcher lookForCustomMatcher(CIdentity featureType) {
+		private boolean customMatch(IFrame qFrame, IFrame iFrame) {
 
-			return lookForCustomValueMatcher(featureType, ICustomFrameMatcher.class);
+			Object lock = getCustomMatchLockOrNull();
+
+			if (lock == null) {
+
+				return customMatcher.matches(qFrame, iFrame);
+			}
+
+			synchronized (lock) {
+
+				return customMatcher.matches(qFrame, iFrame);
+			}
 		}
 	}
 
-	private class NumbersMatcher extends FeaturesMatcher<INumber, NNumber> {
+	private class NumberPlan extends FeaturePlan<INumber, NNumber> {
+
+		private INumber[] qValues;
+		private CNumber[] qValueTypes;
+		private PrimitiveRange[] qPrimitiveRanges;
+
+		private ICustomNumberMatcher customMatcher;
+
+		private class PrimitiveRange {
+
+			private byte kind;
+
+			private long minLong;
+			private long maxLong;
+
+			private double minDouble;
+			private double maxDouble;
+
+			PrimitiveRange(CNumber qValueType) {
+
+				kind = CompactNetwork.getNumberKind(qValueType.getNumberType());
+
+				if (CompactNetwork.primitiveNumberKind(kind)) {
+
+					INumber min = qValueType.getMin();
+					INumber max = qValueType.getMax();
 
-		List<NNumber> getFeatures(NNode node) {
+					boolean hasMin = qValueType.hasMin();
+					boolean hasMax = qValueType.hasMax();
 
-			return node.getNumbers();
+					minLong = hasMin ? min.asLong() : Long.MIN_VALUE;
+					maxLong = hasMax ? max.asLong() : Long.MAX_VALUE;
+
+					minDouble = hasMin ? min.asDouble() : Double.NEGATIVE_INFINITY;
+					maxDouble = hasMax ? max.asDouble() : Double.POSITIVE_INFINITY;
+				}
+			}
+
+			boolean contains(byte iKind, long iValue) {
+
+				if (iKind != kind) {
+
+					return false;
+				}
+
+				if (CompactNetwork.floatingPointKind(iKind)) {
+
+					double value = Double.longBitsToDouble(iValue);
+
+					return value >= minDouble && value <= maxDouble;
+				}
+
+				return iValue >= minLong && iValue <= maxLong;
+			}
 		}
 
-		boolean valueMatch(CIdentity featureType, INumber qValue, INumber iValue) {
+		NumberPlan(NNumber qFeature) {
 
-			ICustomNumberMatcher matcher = lookForCustomMatcher(featureType);
+			super(qFeature, NNumber.class);
 
-			if (matcher != null) {
+			List<INumber> values = qFeature.getValues();
+
+			qValues = values.toArray(new INumber[values.size()]);
+			qValueTypes = new CNumber[qValues.length];
+
+			for (int i = 0 ; i < qValues.length ; i++) {
+
+				qValueTypes[i] = qValues[i].getType();
+			}
+
+			if (dictionary != null) {
+
+				qPrimitiveRanges = new PrimitiveRange[qValues.length];
+
+				for (int i = 0 ; i < qValues.length ; i++) {
+
+					qPrimitiveRanges[i] = new PrimitiveRange(qValueTypes[i]);
+				}
+			}
+
+			customMatcher = lookForCustomMatcher(qFeature, ICustomNumberMatcher.class);
+
+			setCustomMatcher(customMatcher);
+		}
+
+		int getKindRank() {
+
+			return 1;
+		}
+
+		boolean valueMatch(int qValueIndex, INumber iValue) {
+
+			if (customMatcher != null) {
+
+				return customMatch(qValues[qValueIndex], iValue);
+			}
+
+			return qValueTypes[qValueIndex].subsumes(iValue.getType());
+		}
 
-				return matcher.matches(qValue, iValue);
+		boolean candidateKind(byte iKind) {
+
+			return CompactNetwork.numberKind(iKind);
+		}
+
+		boolean valueMatch(int qValueIndex, CompactNetwork instance, byte iKind, int iValue) {
+
+			if (customMatcher == null && CompactNetwork.primitiveNumberKind(iKind)) {
+
+				long value = instance.getPrimitiveNumber(iValue);
+
+				return qPrimitiveRanges[qValueIndex].contains(iKind, value);
 			}
 
-			return qValue.getType().subsumes(iValue.getType());
+			return valueMatch(qValueIndex, instance.getNumber(iKind, iValue));
 		}
 
-		private ICustomNumberMatcher lookForCustomMatcher(CIdentity featureType) {
+		private boolean customMatch(INumber qValue, INumber iValue) {
+
+			Object lock = getCustomMatchLockOrNull();
 
-			return lookForCustomValueMatcher(featureType, ICustomNumberMatcher.class);
+			if (lock == null) {
+
+				return customMatcher.matches(qValue, iValue);
+			}
+
+			synchronized (lock) {
+
+				return customMatcher.matches(qValue, iValue);
+			}
 		}
 	}
 
-	private class StringsMatcher extends FeaturesMatcher<String, NString> {
+	private class StringPlan extends FeaturePlan<String, NString> {
+
+		private String[] qValues;
+		private int[] qValueCodes;
 
-		List<NString> getFeatures(NNode node) {
+		private ICustomStringMatcher customMatcher;
 
-			return node.getStrings();
+		StringPlan(NString qFeature) {
+
+			super(qFeature, NString.class);
+
+			List<String> values = qFeature.getValues();
+
+			qValues = values.toArray(new String[values.size()]);
+
+			if (dictionary != null) {
+
+				qValueCodes = new int[qValues.length];
+
+				for (int i = 0 ; i < qValues.length ; i++) {
+
+					qValueCodes[i] = dictionary.lookupString(qValues[i]);
+				}
+			}
+
+			customMatcher = lookForCustomMatcher(qFeature, ICustomStringMatcher.class);
+
+			setCustomMatcher(customMatcher);
 		}
 
-		boolean valueMatch(CIdentity featureType, String qValue, String iValue) {
+		boolean valueMatch(int qValueIndex, String iValue) {
 
-			ICustomStringMatcher matcher = lookForCustomMatcher(featureType);
+			if (customMatcher != null) {
 
-			if (matcher != null) {
+				return customMatch(qValues[qValueIndex], iValue);
+			}
+
+			return qValues[qValueIndex].equals(iValue);
+		}
+
+		boolean candidateKind(byte iKind) {
+
+			return iKind == CompactNetwork.STRING;
+		}
+
+		boolean valueMatch(int qValueIndex, CompactNetwork instance, byte iKind, int iValue) {
 
-				return matcher.matches(qValue, iValue);
+			int iValueCode = instance.getValue(iValue);
+
+			if (customMatcher != null) {
+
+				return customMatch(qValues[qValueIndex], dictionary.getString(iValueCode));
 			}
 
-			return qValue.equals(iValue);
+			return qValueCodes[qValueIndex] == iValueCode;
 		}
 
-		private ICustomStringMatcher lookForCustomMatcher(CIdentity featureType) {
+		private boolean customMatch(String qValue, String iValue) {
+
+			Object lock = getCustomMatchLockOrNull();
+
+			if (lock == null) {
+
+				return customMatcher.matches(qValue, iValue);
+			}
+
+			synchronized (lock) {
 
-			return lookForCustomValueMatcher(featureType, ICustomStringMatcher.class);
+				return customMatcher.matches(qValue, iValue);
+			}
 		}
 	}
 
-	QueryNodeDirectMatcher(QueryCustomiser queryCustomiser) {
+	private class FeaturePlanSelectivityOrderer implements Comparator<FeaturePlan<?, ?>> {
 
-		this.queryCustomiser = queryCustomiser;
+		public int compare(FeaturePlan<?, ?> plan1, FeaturePlan<?, ?> plan2) {
+
+			int c = plan1.getSelectivityRank() - plan2.getSelectivityRank();
+
+			if (c == 0) {
+
+				c = plan1.getKindRank() - plan2.getKindRank();
+			}
+
+			if (c == 0) {
+
+				c = plan2.getValueCount() - plan1.getValueCount();
+			}
+
+			return c;
+		}
 	}
 
-	boolean matches(NNode query, NNode instance) {
+	private class TestingStack {
 
-		if (testing.getSet(query).contains(instance)) {
+		private int[] planNodeIndexes = new int[16];
+		private Object[] instances = new Object[16];
+		private int[] instanceNodes = new int[16];
+		private int size = 0;
 
-			return true;
+		boolean contains(int planNodeIndex, Object instance, int instanceNode) {
+
+			for (int i = size - 1 ; i >= 0 ; i--) {
+
+				if (instances[i] == instance
+					&& instanceNodes[i] == instanceNode
+					&& planNodeIndexes[i] == planNodeIndex) {
+
+					return true;
+				}
+			}
+
+			return false;
 		}
 
-		if (matches.getSet(query).contains(instance)) {
+		void push(int planNodeIndex, Object instance, int instanceNode) {
 
-			return true;
+			if (size == instances.length) {
+
+				planNodeIndexes = Arrays.copyOf(planNodeIndexes, size * 2);
+				instances = Arrays.copyOf(instances, size * 2);
+				instanceNodes = Arrays.copyOf(instanceNodes, size * 2);
+			}
+
+			planNodeIndexes[size] = planNodeIndex;
+			instanceNodes[size] = instanceNode;
+			instances[size++] = instance;
 		}
 
-		boolean subsumption = false;
+		void pop() {
 
-		testing.add(query, instance);
+			instances[--size] = null;
+		}
+	}
+
+	private class MatchesCache {
+
+		private List<Set<NNode>> matchedInstances = new ArrayList<Set<NNode>>();
+
+		private int[] populatedIndexes;
+		private int populatedCount = 0;
+
+		MatchesCache(int planNodeCount) {
+
+			populatedIndexes = new int[planNodeCount];
 
-		if (nodeMatch(query, instance)) {
+			for (int i = 0 ; i < planNodeCount ; i++) {
 
-			subsumption = true;
-			matches.add(query, instance);
+				matchedInstances.add(createIdentitySet());
+			}
+		}
+
+		boolean contains(int planNodeIndex, NNode instance) {
+
+			return matchedInstances.get(planNodeIndex).contains(instance);
 		}
 
-		testing.remove(query, instance);
+		void add(int planNodeIndex, NNode instance) {
+
+			Set<NNode> matched = matchedInstances.get(planNodeIndex);
+
+			if (matched.isEmpty()) {
 
-		return subsumption;
+				populatedIndexes[populatedCount++] = planNodeIndex;
+			}
+
+			matched.add(instance);
+		}
+
+		void clear() {
+
+			for (int i = 0 ; i < populatedCount ; i++) {
+
+				matchedInstances.get(populatedIndexes[i]).clear();
+			}
+
+			populatedCount = 0;
+		}
+
+		private Set<NNode> createIdentitySet() {
+
+			return Collections.newSetFromMap(new IdentityHashMap<NNode, Boolean>());
+		}
 	}
 
-	private boolean nodeMatch(NNode query, NNode instance) {
+	private class CompactMatchesCache {
 
-		if (query.instanceRef()) {
+		private long[] matchedNodes = new long[0];
+		private int wordsPerPlanNode = 0;
 
-			if (!instance.instanceRef()) {
+		boolean contains(int planNodeIndex, int instanceNode) {
 
-				return false;
+			int word = getWordIndex(planNodeIndex, instanceNode);
+
+			return (matchedNodes[word] & getBitMask(instanceNode)) != 0;
+		}
+
+		void add(int planNodeIndex, int instanceNode) {
+
+			matchedNodes[getWordIndex(planNodeIndex, instanceNode)] |= getBitMask(instanceNode);
+		}
+
+		void reset(int instanceNodeCount) {
+
+			wordsPerPlanNode = (instanceNodeCount + 63) >>> 6;
+
+			int size = wordsPerPlanNode * planNodeCount;
+
+			if (size > matchedNodes.length) {
+
+				matchedNodes = new long[size];
+			}
+			else {
+
+				Arrays.fill(matchedNodes, 0, size, 0L);
 			}
+		}
+
+		private int getWordIndex(int planNodeIndex, int instanceNode) {
 
-			return query.getInstanceRef().equals(instance.getInstanceRef());
+			return planNodeIndex * wordsPerPlanNode + (instanceNode >>> 6);
 		}
 
-		return typeSubsumption(query, instance)
-				&& linksMatcher.matches(query, instance)
-				&& numbersMatcher.matches(query, instance)
-				&& stringsMatcher.matches(query, instance);
+		private long getBitMask(int instanceNode) {
+
+			return 1L << (instanceNode & 63);
+		}
 	}
 
-	private boolean typeSubsumption(NNode query, NNode instance) {
+	QueryNodeDirectMatcher(QueryCustomiser queryCustomiser, NNode query) {
 
-		CFrame qFrame = query.getCFrame();
-		CFrame iFrame = instance.getCFrame();
+		this(queryCustomiser, query, null);
+	}
+
+	QueryNodeDirectMatcher(
+		QueryCustomiser queryCustomiser,
+		NNode query,
+		CompactNetworkDictionary dictionary) {
 
-		if (qFrame != null && iFrame != null) {
+		this.queryCustomiser = queryCustomiser;
+		this.dictionary = dictionary;
 
-			return qFrame.subsumes(iFrame);
+		rootPlanNode = compile(query, new IdentityHashMap<NNode, QueryPlanNode>());
+		matches = new MatchesCache(planNodeCount);
+
+		if (dictionary != null) {
+
+			compactMatches = new CompactMatchesCache();
 		}
+	}
 
-		return instance.getTypeDisjuncts().containsAll(query.getTypeDisjuncts());
+	boolean matches(NNode instance) {
+
+		matches.clear();
+
+		return rootPlanNode.matches(instance);
 	}
 
-	private <M extends ICustomValueMatcher>M lookForCustomValueMatcher(
-													CIdentity featureType,
-													Class<M> expectClass) {
+	boolean matches(CompactNetwork instance) {
+
+		compactMatches.reset(instance.getNodeCount());
+
+		return rootPlanNode.matches(instance, 0);
+	}
+
+	private QueryPlanNode compile(NNode query, Map<NNode, QueryPlanNode> compiledNodes) {
+
+		QueryPlanNode planNode = compiledNodes.get(query);
+
+		if (planNode == null) {
+
+			planNode = new QueryPlanNode(query);
+			compiledNodes.put(query, planNode);
+
+			planNode.compileFeatures(query, compiledNodes);
+		}
+
+		return planNode;
+	}
+
+	private <M extends ICustomValueMatcher>M lookForCustomMatcher(
+												NFeature<?> qFeature,
+												Class<M> expectClass) {
+
+		CIdentity featureType = qFeature.getType();
 
 		return queryCustomiser.lookForCustomValueMatcher(featureType, expectClass);
 	}
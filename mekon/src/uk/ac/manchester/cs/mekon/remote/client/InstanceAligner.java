@@ -36,7 +36,7 @@ class InstanceAligner {
 
 	private IEditor iEditor;
 
-	private IFrame updateRoot;
+	private RUpdates updates;
 	private Map<IFrame, IFrame> updatesToMasters;
 
 	private Set<IFrame> alignedMasters = new HashSet<IFrame>();
@@ -225,23 +225,50 @@ class InstanceAligner {
 	InstanceAligner(IEditor iEditor, RUpdates updates) {
 
 		this.iEditor = iEditor;
+		this.updates = updates;
 
-		updateRoot = updates.getRoot();
 		updatesToMasters = updates.getUpdatesToMasters();
 	}
 
 	void align(IFrame masterRoot) {
 
-		alignFromFrame(masterRoot, updateRoot);
+		if (updates.completeNetwork()) {
+
+			alignFromFrame(masterRoot, updates.getRoot());
+		}
+		else {
+
+			alignAllMapped();
+		}
+	}
+
+	private void alignAllMapped() {
+
+		Map<IFrame, IFrame> mapped = new IdentityHashMap<IFrame, IFrame>(updatesToMasters);
+
+		for (Map.Entry<IFrame, IFrame> entry : mapped.entrySet()) {
+
+			alignFromFrame(entry.getValue(), entry.getKey());
+		}
 	}
 
 	private IFrame getAlignedFrame(IFrame update) {
 
-		IFrame master = updatesToMasters.get(update);
+		IFrame master = updates.getStubMasterOrNull(update);
+
+		if (master != null) {
+
+			return master;
+		}
+
+		update = updates.resolveStubUpdate(update);
+		master = updatesToMasters.get(update);
 
 		if (master == null) {
 
 			master = createNewMasterFrame(update);
+
+			updatesToMasters.put(update, master);
 		}
 
 		alignFromFrame(master, update);
@@ -252,7 +279,7 @@ class InstanceAligner {
 	private IFrame createNewMasterFrame(IFrame update) {
 
 		CFrame type = update.getType();
-		IFrameFunction function = updateRoot.getFunction();
+		IFrameFunction function = update.getFunction();
 
 		if (update.getCategory().disjunction()) {
 
@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.remote.client;
 
+import java.util.*;
+
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.remote.client.xml.*;
@@ -53,6 +55,11 @@ public class RMekonClient {
 			return netClient.performActionOnServer(request);
 		}
 
+		protected List<XDocument> performActionsOnServer(List<XDocument> requests) {
+
+			return netClient.performActionsOnServer(requests);
+		}
+
 		protected XDocument handleServerAccessException(RServerAccessException exception) {
 
 			return netClient.handleServerAccessException(exception);
@@ -71,6 +78,11 @@ public class RMekonClient {
 			return netClient.performActionOnServer(request);
 		}
 
+		protected List<XDocument> performActionsOnServer(List<XDocument> requests) {
+
+			return netClient.performActionsOnServer(requests);
+		}
+
 		protected XDocument handleServerAccessException(RServerAccessException exception) {
 
 			return netClient.handleServerAccessException(exception);
@@ -37,10 +37,14 @@ import uk.ac.manchester.cs.mekon.model.*;
 public class RUpdates {
 
 	private IFrame root;
-	private Map<IFrame, IFrame> updatesToMasters = new HashMap<IFrame, IFrame>();
+
+	private Map<IFrame, IFrame> updatesToMasters = new IdentityHashMap<IFrame, IFrame>();
+	private Map<IFrame, IFrame> stubsToMasters = new IdentityHashMap<IFrame, IFrame>();
+	private Map<IFrame, IFrame> stubsToUpdates = new IdentityHashMap<IFrame, IFrame>();
 
 	/**
-	 * Constructor.
+	 * Constructor for updates represented via a complete updated version
+	 * of the frame/slot network.
 	 *
 	 * @param root Root-frame of updated frame/slot network
 	 */
@@ -49,6 +53,17 @@ public class RUpdates {
 		this.root = root;
 	}
 
+	/**
+	 * Constructor for updates represented only via updated versions of
+	 * those frames that have changed. Any other frames referenced from
+	 * the updated frames will be represented by "stubs" (see {@link
+	 * #addStubMapping} and {@link #addStubRedirection}).
+	 */
+	public RUpdates() {
+
+		this(null);
+	}
+
 	/**
 	 * Adds a mapping between a frame from the master version of the
 	 * frame/slot network as held on the client, and the corresponding
@@ -62,13 +77,74 @@ public class RUpdates {
 		updatesToMasters.put(update, master);
 	}
 
+	/**
+	 * Adds a mapping between a frame from the master version of the
+	 * frame/slot network, which has not changed as a result of the
+	 * update process, and a "stub" frame by which it is referenced
+	 * from the updated frames. The master frame will be used directly
+	 * in place of the stub.
+	 *
+	 * @param master Unchanged frame from master version of network
+	 * @param stub Stub representing unchanged frame
+	 */
+	public void addStubMapping(IFrame master, IFrame stub) {
+
+		stubsToMasters.put(stub, master);
+	}
+
+	/**
+	 * Adds a mapping between a frame from the updated version of the
+	 * frame/slot network, and a "stub" frame by which it is referenced
+	 * from other updated frames. The updated frame will be processed in
+	 * place of the stub.
+	 *
+	 * @param update Frame from updated version of network
+	 * @param stub Stub representing updated frame
+	 */
+	public void addStubRedirection(IFrame update, IFrame stub) {
+
+		stubsToUpdates.put(stub, update);
+	}
+
+	/**
+	 * Provides the frame from the master version of the frame/slot
+	 * network that corresponds to the specified frame from the updated
+	 * version. Once the updates have been applied to the master version,
+	 * this will include any frames that were created as a result.
+	 *
+	 * @param update Frame from updated version of network
+	 * @return Corresponding frame from master version of network, or
+	 * null if not applicable
+	 */
+	public IFrame getMasterOrNull(IFrame update) {
+
+		return updatesToMasters.get(update);
+	}
+
 	IFrame getRoot() {
 
 		return root;
 	}
 
+	boolean completeNetwork() {
+
+		return root != null;
+	}
+
 	Map<IFrame, IFrame> getUpdatesToMasters() {
 
 		return updatesToMasters;
 	}
+
+	IFrame getStubMasterOrNull(IFrame stub) {
+
+		return stubsToMasters.get(stub);
+	}
+
+	IFrame resolveStubUpdate(IFrame update) {
+
+		IFrame stubbed = stubsToUpdates.get(update);
+
+		return stubbed != null ? stubbed : update;
+	}
 }
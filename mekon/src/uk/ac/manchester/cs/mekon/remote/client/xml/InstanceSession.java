@@ -0,0 +1,132 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.remote.client.xml;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.remote.client.*;
+
+/**
+ * @author Colin Puleston
+ */
+class InstanceSession {
+
+	static private final String NEW_FRAME_XDOC_ID_FORMAT = "cxid-%s";
+
+	private String id;
+	private IFrame rootFrame;
+
+	private Map<IFrame, String> mastersToIds = new IdentityHashMap<IFrame, String>();
+	private Map<String, IFrame> idsToMasters = new HashMap<String, IFrame>();
+
+	private Map<String, IFrame> idsToPendingUpdates = new HashMap<String, IFrame>();
+	private RUpdates pendingUpdates = null;
+
+	private int newFrameCount = 0;
+
+	InstanceSession(String id, IFrame rootFrame, Map<IFrame, String> mastersToIds) {
+
+		this.id = id;
+		this.rootFrame = rootFrame;
+
+		for (Map.Entry<IFrame, String> entry : mastersToIds.entrySet()) {
+
+			addMaster(entry.getKey(), entry.getValue());
+		}
+	}
+
+	void setPendingUpdates(Map<String, IFrame> idsToUpdates, RUpdates updates) {
+
+		checkCompletePending();
+
+		idsToPendingUpdates.putAll(idsToUpdates);
+		pendingUpdates = updates;
+	}
+
+	String addNewFrame(IFrame master) {
+
+		String xid = String.format(NEW_FRAME_XDOC_ID_FORMAT, newFrameCount++);
+
+		addMaster(master, xid);
+
+		return xid;
+	}
+
+	String getId() {
+
+		return id;
+	}
+
+	IFrame getRootFrame() {
+
+		return rootFrame;
+	}
+
+	String getXDocIdOrNull(IFrame master) {
+
+		checkCompletePending();
+
+		return mastersToIds.get(master);
+	}
+
+	IFrame getMasterOrNull(String xid) {
+
+		checkCompletePending();
+
+		return idsToMasters.get(xid);
+	}
+
+	private void checkCompletePending() {
+
+		if (pendingUpdates != null) {
+
+			for (Map.Entry<String, IFrame> entry : idsToPendingUpdates.entrySet()) {
+
+				String xid = entry.getKey();
+
+				if (!idsToMasters.containsKey(xid)) {
+
+					IFrame master = pendingUpdates.getMasterOrNull(entry.getValue());
+
+					if (master != null) {
+
+						addMaster(master, xid);
+					}
+				}
+			}
+
+			idsToPendingUpdates.clear();
+			pendingUpdates = null;
+		}
+	}
+
+	private void addMaster(IFrame master, String xid) {
+
+		mastersToIds.put(master, xid);
+		idsToMasters.put(xid, master);
+	}
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.remote.client.xml;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+abstract class InstanceSessions {
+
+	static private final int MAX_SESSIONS = 50;
+
+	private Map<IFrame, InstanceSession> sessions = new SessionsMap();
+
+	private class SessionsMap extends LinkedHashMap<IFrame, InstanceSession> {
+
+		static private final long serialVersionUID = -1;
+
+		SessionsMap() {
+
+			super(MAX_SESSIONS, 0.75f, true);
+		}
+
+		protected boolean removeEldestEntry(Map.Entry<IFrame, InstanceSession> eldest) {
+
+			if (size() > MAX_SESSIONS) {
+
+				onEvicted(eldest.getValue());
+
+				return true;
+			}
+
+			return false;
+		}
+	}
+
+	void add(InstanceSession session) {
+
+		sessions.put(session.getRootFrame(), session);
+	}
+
+	InstanceSession lookup(IFrame rootFrame) {
+
+		InstanceSession session = sessions.get(rootFrame);
+
+		return session != null && session.getRootFrame() == rootFrame ? session : null;
+	}
+
+	InstanceSession removeOrNull(IFrame rootFrame) {
+
+		return sessions.remove(rootFrame);
+	}
+
+	abstract void onEvicted(InstanceSession session);
+}
@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.remote.client.xml;
 
+import java.util.*;
+
 import uk.ac.manchester.cs.mekon_util.remote.client.*;
 import uk.ac.manchester.cs.mekon_util.xdoc.*;
 
@@ -47,6 +49,29 @@ public abstract class XClientEntity {
 	 */
 	protected abstract XDocument performActionOnServer(XDocument requestDoc);
 
+	/**
+	 * Accesses the server to perform a set of actions. The default
+	 * method, which simply performs each action in turn via {@link
+	 * #performActionOnServer}, can be overriden to send all requests,
+	 * and receive all responses, in a single round trip.
+	 *
+	 * @param requestDocs Documents representing specifications of
+	 * required actions
+	 * @return Documents representing outputs produced by actions, in
+	 * the same order as the corresponding requests
+	 */
+	protected List<XDocument> performActionsOnServer(List<XDocument> requestDocs) {
+
+		List<XDocument> responseDocs = new ArrayList<XDocument>();
+
+		for (XDocument requestDoc : requestDocs) {
+
+			responseDocs.add(performActionOnServer(requestDoc));
+		}
+
+		return responseDocs;
+	}
+
 	/**
 	 * Handles a client-generated server-access exception. The default
 	 * method, which simply throws the supplied exception, can be
@@ -68,13 +93,38 @@ public abstract class XClientEntity {
 
 	XResponseParser performAction(XRequestRenderer request) {
 
+		return toResponse(performActionOnServer(toRequestDoc(request)));
+	}
+
+	List<XResponseParser> performActions(List<XRequestRenderer> requests) {
+
+		List<XDocument> requestDocs = new ArrayList<XDocument>();
+		List<XResponseParser> responses = new ArrayList<XResponseParser>();
+
+		for (XRequestRenderer request : requests) {
+
+			requestDocs.add(toRequestDoc(request));
+		}
+
+		for (XDocument responseDoc : performActionsOnServer(requestDocs)) {
+
+			responses.add(toResponse(responseDoc));
+		}
+
+		return responses;
+	}
+
+	private XDocument toRequestDoc(XRequestRenderer request) {
+
 		if (expiryCheckTime != -1) {
 
 			request.setClientExpiryCheckTime(expiryCheckTime);
 		}
 
-		XDocument requestDoc = request.getDocument();
-		XDocument responseDoc = performActionOnServer(requestDoc);
+		return request.getDocument();
+	}
+
+	private XResponseParser toResponse(XDocument responseDoc) {
 
 		XResponseParser response = new XResponseParser(responseDoc);
 
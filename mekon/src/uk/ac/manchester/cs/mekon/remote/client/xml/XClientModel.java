@@ -54,6 +54,21 @@ public abstract class XClientModel extends XClientEntity {
 	private RClientModel rClientModel;
 	private RClientInstanceParser responseParser;
 
+	private InstanceSessions instanceSessions = new ServerLinkedInstanceSessions();
+
+	private class ServerLinkedInstanceSessions extends InstanceSessions {
+
+		void onEvicted(InstanceSession session) {
+
+			XRequestRenderer request
+				= new XRequestRenderer(RModelActionType.DISCARD_INSTANCE_SESSION);
+
+			request.setInstanceSession(session.getId());
+
+			performAction(request);
+		}
+	}
+
 	private abstract class InstanceAction {
 
 		private Map<IFrame, String> mastersToIds = new HashMap<IFrame, String>();
@@ -63,12 +78,18 @@ public abstract class XClientModel extends XClientEntity {
 
 			XRequestRenderer request = getRequest(masterRoot);
 			XResponseParser response = performAction(request);
+			RUpdates updates = createUpdates(parseInstance(response));
 
-			return createUpdates(parseInstance(response));
+			checkStartSession(masterRoot, response, updates);
+
+			return updates;
 		}
 
 		abstract RModelActionType getActionType();
 
+		void customiseRequest(XRequestRenderer request, IFrame masterRoot) {
+		}
+
 		void customiseRenderInput(IInstanceRenderInput input) {
 		}
 
@@ -77,10 +98,27 @@ public abstract class XClientModel extends XClientEntity {
 			XRequestRenderer request = new XRequestRenderer(getActionType());
 
 			request.addParameter(createRenderInput(masterRoot));
+			customiseRequest(request, masterRoot);
 
 			return request;
 		}
 
+		private void checkStartSession(
+						IFrame masterRoot,
+						XResponseParser response,
+						RUpdates updates) {
+
+			String sessionId = response.getNewInstanceSessionOrNull();
+
+			if (sessionId != null) {
+
+				InstanceSession session = new InstanceSession(sessionId, masterRoot, mastersToIds);
+
+				session.setPendingUpdates(idsToUpdates, updates);
+				instanceSessions.add(session);
+			}
+		}
+
 		private IFrame parseInstance(XResponseParser response) {
 
 			return responseParser.parse(createParseInput(response));
@@ -148,6 +186,16 @@ public abstract class XClientModel extends XClientEntity {
 			this.clientUpdate = clientUpdate;
 		}
 
+		void customiseRequest(XRequestRenderer request, IFrame masterRoot) {
+
+			InstanceSession replaced = instanceSessions.removeOrNull(masterRoot);
+
+			if (replaced != null) {
+
+				request.setReplacedInstanceSession(replaced.getId());
+			}
+		}
+
 		void customiseRenderInput(IInstanceRenderInput input) {
 
 			input.setValuesUpdate(clientUpdate);
@@ -170,6 +218,218 @@ public abstract class XClientModel extends XClientEntity {
 		}
 	}
 
+	private class SessionInstanceUpdateAction {
+
+		private InstanceSession session;
+
+		private XRequestRenderer request
+					= new XRequestRenderer(RModelActionType.UPDATE_SESSION_INSTANCE);
+
+		private class SlotValuesRenderer extends IValueVisitor {
+
+			private XRequestRenderer.SlotValuesParameter parameter;
+			private boolean renderable = true;
+
+			protected void visit(IFrame value) {
+
+				String xid = session.getXDocIdOrNull(value);
+
+				if (xid != null && value.getCategory().atomic()) {
+
+					parameter.addExistingIFrame(xid);
+				}
+				else if (xid == null && unpopulatedAtomicFrame(value)) {
+
+					parameter.addNewIFrame(value.getType(), session.addNewFrame(value));
+				}
+				else {
+
+					renderable = false;
+				}
+			}
+
+			protected void visit(INumber value) {
+
+				parameter.addINumber(value);
+			}
+
+			protected void visit(IString value) {
+
+				parameter.addIString(value);
+			}
+
+			protected void visit(CFrame value) {
+
+				parameter.addCFrame(value);
+			}
+
+			SlotValuesRenderer(ISlot slot, String containerXDocId) {
+
+				CIdentity slotId = slot.getType().getIdentity();
+
+				parameter = request.addSlotValuesParameter(containerXDocId, slotId);
+
+				for (IValue value : slot.getValues().getAssertedValues()) {
+
+					if (renderable) {
+
+						visit(value);
+					}
+				}
+			}
+
+			boolean renderable() {
+
+				return renderable;
+			}
+
+			private boolean unpopulatedAtomicFrame(IFrame frame) {
+
+				if (!frame.getCategory().atomic()) {
+
+					return false;
+				}
+
+				for (ISlot slot : frame.getSlots().asList()) {
+
+					if (!slot.getValues().getAssertedValues().isEmpty()) {
+
+						return false;
+					}
+				}
+
+				return true;
+			}
+		}
+
+		SessionInstanceUpdateAction(InstanceSession session) {
+
+			this.session = session;
+		}
+
+		RUpdates checkPerform(IValuesUpdate clientUpdate) {
+
+			if (renderRequest(clientUpdate.getSlot())) {
+
+				XResponseParser response = performAction(request);
+				if (!response.invalidatedInstanceSession()) {
+
+					return createUpdates(response.getUpdatedFramesResponseParseInputs());
+				}
+			}
+
+			return null;
+		}
+
+		private boolean renderRequest(ISlot slot) {
+
+			String containerXDocId = session.getXDocIdOrNull(slot.getContainer());
+
+			if (containerXDocId == null) {
+
+				return false;
+			}
+
+			request.setInstanceSession(session.getId());
+
+			return new SlotValuesRenderer(slot, containerXDocId).renderable();
+		}
+
+		private RUpdates createUpdates(List<IInstanceParseInput> updatedFrameInputs) {
+
+			RUpdates updates = new RUpdates();
+
+			Map<String, IFrame> idsToUpdates = new HashMap<String, IFrame>();
+			List<Map<String, IFrame>> parsedFrameMaps = new ArrayList<Map<String, IFrame>>();
+
+			for (IInstanceParseInput input : updatedFrameInputs) {
+
+				IFrame update = responseParser.parse(input);
+				Map<String, IFrame> parsedFrames = input.getFramesByXDocId();
+
+				idsToUpdates.put(findXDocId(parsedFrames, update), update);
+				parsedFrameMaps.add(parsedFrames);
+			}
+
+			for (Map.Entry<String, IFrame> entry : idsToUpdates.entrySet()) {
+
+				IFrame master = session.getMasterOrNull(entry.getKey());
+
+				if (master != null) {
+
+					updates.addMapping(master, entry.getValue());
+				}
+			}
+
+			for (Map<String, IFrame> parsedFrames : parsedFrameMaps) {
+
+				for (Map.Entry<String, IFrame> entry : parsedFrames.entrySet()) {
+
+					if (!addReferencedFrame(updates, idsToUpdates, entry.getKey(), entry.getValue())) {
+
+						return null;
+					}
+				}
+			}
+
+			session.setPendingUpdates(idsToUpdates, updates);
+
+			return updates;
+		}
+
+		private boolean addReferencedFrame(
+							RUpdates updates,
+							Map<String, IFrame> idsToUpdates,
+							String xid,
+							IFrame frame) {
+
+			IFrame update = idsToUpdates.get(xid);
+
+			if (update != null) {
+
+				if (update != frame) {
+
+					updates.addStubRedirection(update, frame);
+				}
+
+				return true;
+			}
+
+			IFrame master = session.getMasterOrNull(xid);
+			if (frame.getCategory().disjunction()) {
+
+				if (master != null) {
+
+					updates.addMapping(master, frame);
+				}
+
+				return true;
+			}
+
+			if (master != null) {
+
+				updates.addStubMapping(master, frame);
+
+				return true;
+			}
+
+			return false;
+		}
+
+		private String findXDocId(Map<String, IFrame> parsedFrames, IFrame frame) {
+
+			for (Map.Entry<String, IFrame> entry : parsedFrames.entrySet()) {
+
+				if (entry.getValue() == frame) {
+
+					return entry.getKey();
+				}
+			}
+
+			throw new Error("Cannot find identifier for parsed frame: " + frame);
+		}
+	}
+
 	private class XRClientModel extends RClientModel {
 
 		protected RUpdates initialiseOnServer(IFrame frame) {
@@ -184,8 +444,19 @@ public abstract class XClientModel extends XClientEntity {
 
 		protected RUpdates updateOnServer(IFrame rootFrame, IValuesUpdate clientUpdate) {
 
-			InstanceUpdateAction action = getUpdateAction(rootFrame);
+			InstanceSession session = instanceSessions.lookup(rootFrame);
+
+			if (session != null) {
+
+				RUpdates updates = new SessionInstanceUpdateAction(session).checkPerform(clientUpdate);
+
+				if (updates != null) {
 
+					return updates;
+				}
+			}
+
+			InstanceUpdateAction action = getUpdateAction(rootFrame);
 			action.setClientUpdate(clientUpdate);
 
 			return action.perform(rootFrame);
@@ -56,25 +56,187 @@ public abstract class XClientStore extends XClientEntity {
 
 	private RClientInstanceParser responseParser;
 
+	private class XClientMatchesCursor implements IMatchesCursor {
+
+		private IFrame query;
+		private String cursorId = null;
+
+		private boolean opened = false;
+		private boolean closed = false;
+
+		private boolean ranked = false;
+		private int totalMatches = 0;
+		private int deliveredMatches = 0;
+
+		public boolean ranked() {
+
+			checkOpen();
+
+			return ranked;
+		}
+
+		public int getTotalMatches() {
+
+			checkOpen();
+
+			return totalMatches;
+		}
+
+		public boolean moreMatches() {
+
+			checkOpen();
+
+			return !closed && deliveredMatches < totalMatches;
+		}
+
+		public IMatches getNextMatches(int maxMatches) {
+
+			if (!opened) {
+
+				return open(maxMatches);
+			}
+
+			if (!moreMatches()) {
+
+				return INoMatches.SINGLETON;
+			}
+
+			XRequestRenderer request = new XRequestRenderer(RStoreActionType.GET_NEXT_MATCHES);
+
+			request.setMatchesCursor(cursorId);
+			request.setMaxMatches(maxMatches);
+
+			XResponseParser response = performAction(request);
+
+			if (response.invalidatedMatchesCursor()) {
+
+				return open(maxMatches);
+			}
+
+			return registerDelivered(response.getMatchesResponse());
+		}
+
+		public void close() {
+
+			if (cursorId != null) {
+
+				XRequestRenderer request = new XRequestRenderer(RStoreActionType.CLOSE_MATCHES_CURSOR);
+
+				request.setMatchesCursor(cursorId);
+				performAction(request);
+
+				cursorId = null;
+			}
+
+			closed = true;
+		}
+
+		XClientMatchesCursor(IFrame query) {
+
+			this.query = query;
+		}
+
+		private void checkOpen() {
+
+			if (!opened) {
+
+				open(0);
+			}
+		}
+
+		private IMatches open(int maxMatches) {
+
+			XRequestRenderer request = new XRequestRenderer(RStoreActionType.OPEN_MATCHES_CURSOR);
+
+			request.addParameter(query);
+			request.setMaxMatches(maxMatches);
+			request.setMatchesOffset(deliveredMatches);
+
+			XResponseParser response = performAction(request);
+
+			opened = true;
+			ranked = response.rankedMatches();
+			totalMatches = response.getTotalMatches();
+			cursorId = response.getNewMatchesCursorOrNull();
+
+			return registerDelivered(response.getMatchesResponse());
+		}
+
+		private IMatches registerDelivered(IMatches matches) {
+
+			for (IMatchesRank rank : matches.getRanks()) {
+
+				deliveredMatches += rank.getMatchCount();
+			}
+
+			if (deliveredMatches >= totalMatches) {
+
+				cursorId = null;
+			}
+
+			return matches;
+		}
+	}
+
 	private class XClientIStore implements IStore {
 
 		public IFrame add(IFrame instance, CIdentity identity) {
 
-			XRequestRenderer request = new XRequestRenderer(RStoreActionType.ADD);
+			return toInstanceOrNull(performAction(createAddRequest(instance, identity)));
+		}
 
-			request.addParameter(instance);
-			request.addParameter(identity);
+		public boolean remove(CIdentity identity) {
 
-			return performInstanceOrNullResponseAction(request);
+			return performBooleanResponseAction(createRemoveRequest(identity));
 		}
 
-		public boolean remove(CIdentity identity) {
+		public Map<CIdentity, IFrame> addAll(Map<CIdentity, IFrame> instances) {
 
-			XRequestRenderer request = new XRequestRenderer(RStoreActionType.REMOVE);
+			List<CIdentity> identities = new ArrayList<CIdentity>();
+			List<XRequestRenderer> requests = new ArrayList<XRequestRenderer>();
 
-			request.addParameter(identity);
+			for (Map.Entry<CIdentity, IFrame> entry : instances.entrySet()) {
 
-			return performBooleanResponseAction(request);
+				CIdentity identity = entry.getKey();
+
+				identities.add(identity);
+				requests.add(createAddRequest(entry.getValue(), identity));
+			}
+
+			Map<CIdentity, IFrame> replaced = new HashMap<CIdentity, IFrame>();
+			Iterator<CIdentity> ids = identities.iterator();
+
+			for (XResponseParser response : performActions(requests)) {
+
+				CIdentity identity = ids.next();
+				IFrame previous = toInstanceOrNull(response);
+
+				if (previous != null) {
+
+					replaced.put(identity, previous);
+				}
+			}
+
+			return replaced;
+		}
+
+		public boolean removeAll(Collection<CIdentity> identities) {
+
+			List<XRequestRenderer> requests = new ArrayList<XRequestRenderer>();
+
+			for (CIdentity identity : identities) {
+
+				requests.add(createRemoveRequest(identity));
+			}
+
+			boolean anyRemoved = false;
+
+			for (XResponseParser response : performActions(requests)) {
+
+				anyRemoved |= response.getBooleanResponse();
+			}
+
+			return anyRemoved;
 		}
 
 		public boolean clear() {
@@ -155,6 +317,21 @@ public abstract class XClientStore extends XClientEntity {
 			return performMatchesResponseAction(request);
 		}
 
+		public IMatches match(IFrame query, int maxMatches) {
+
+			XRequestRenderer request = new XRequestRenderer(RStoreActionType.MATCH);
+
+			request.addParameter(query);
+			request.setMaxMatches(maxMatches);
+
+			return performMatchesResponseAction(request);
+		}
+
+		public IMatchesCursor openMatchesCursor(IFrame query) {
+
+			return new XClientMatchesCursor(query);
+		}
+
 		public boolean matches(IFrame query, IFrame instance) {
 
 			XRequestRenderer request = new XRequestRenderer(RStoreActionType.MATCHES);
@@ -197,9 +374,31 @@ public abstract class XClientStore extends XClientEntity {
 		return performAction(request).getBooleanResponse();
 	}
 
+	private XRequestRenderer createAddRequest(IFrame instance, CIdentity identity) {
+
+		XRequestRenderer request = new XRequestRenderer(RStoreActionType.ADD);
+
+		request.addParameter(instance);
+		request.addParameter(identity);
+
+		return request;
+	}
+
+	private XRequestRenderer createRemoveRequest(CIdentity identity) {
+
+		XRequestRenderer request = new XRequestRenderer(RStoreActionType.REMOVE);
+
+		request.addParameter(identity);
+
+		return request;
+	}
+
 	private IFrame performInstanceOrNullResponseAction(XRequestRenderer request) {
 
-		XResponseParser response = performAction(request);
+		return toInstanceOrNull(performAction(request));
+	}
+
+	private IFrame toInstanceOrNull(XResponseParser response) {
 
 		if (response.isNullResponse()) {
 
@@ -33,11 +33,54 @@ import uk.ac.manchester.cs.mekon_util.xdoc.*;
 /**
  * @author Colin Puleston
  */
-class XRequestRenderer extends XPackageSerialiser {
+class XRequestRenderer extends XPackageSerialiser implements ISerialiserVocab {
 
 	private RequestRenderer structureRenderer = new RequestRenderer();
 	private IInstanceRenderer instanceRenderer = new IInstanceRenderer();
 
+	class SlotValuesParameter {
+
+		private XNode valuesNode;
+
+		SlotValuesParameter(String containerXDocId, CIdentity slotId) {
+
+			XNode paramNode = addParameterNode();
+
+			paramNode.setValue(SLOT_CONTAINER_XDOC_ID_ATTR, containerXDocId);
+			FSerialiser.renderIdentity(slotId, paramNode.addChild(CSLOT_ID));
+
+			valuesNode = paramNode.addChild(IVALUES_ID);
+		}
+
+		void addExistingIFrame(String xid) {
+
+			valuesNode.addChild(IFRAME_ID).setValue(IFRAME_XDOC_ID_REF_ATTR, xid);
+		}
+
+		void addNewIFrame(CFrame type, String xid) {
+
+			XNode node = valuesNode.addChild(IFRAME_ID);
+
+			node.setValue(IFRAME_XDOC_ID_ATTR, xid);
+			FSerialiser.renderCFrame(type, node.addChild(CFRAME_ID));
+		}
+
+		void addCFrame(CFrame value) {
+
+			FSerialiser.renderCFrame(value, valuesNode.addChild(CFRAME_ID));
+		}
+
+		void addINumber(INumber value) {
+
+			FSerialiser.renderINumber(value, valuesNode.addChild(INUMBER_ID));
+		}
+
+		void addIString(IString value) {
+
+			FSerialiser.renderIString(value, valuesNode.addChild(ISTRING_ID));
+		}
+	}
+
 	XRequestRenderer(RModelActionType actionType) {
 
 		this(RActionCategory.MODEL, actionType);
@@ -53,6 +96,31 @@ class XRequestRenderer extends XPackageSerialiser {
 		structureRenderer.setClientExpiryCheckTime(time);
 	}
 
+	void setInstanceSession(String sessionId) {
+
+		structureRenderer.setInstanceSession(sessionId);
+	}
+
+	void setReplacedInstanceSession(String sessionId) {
+
+		structureRenderer.setReplacedInstanceSession(sessionId);
+	}
+
+	void setMatchesCursor(String cursorId) {
+
+		structureRenderer.setMatchesCursor(cursorId);
+	}
+
+	void setMaxMatches(int maxMatches) {
+
+		structureRenderer.setMaxMatches(maxMatches);
+	}
+
+	void setMatchesOffset(int offset) {
+
+		structureRenderer.setMatchesOffset(offset);
+	}
+
 	void addParameter(CIdentity identity) {
 
 		FSerialiser.renderIdentity(identity, addParameterNode());
@@ -68,6 +136,11 @@ class XRequestRenderer extends XPackageSerialiser {
 		instanceRenderer.render(instance, addParameterNode());
 	}
 
+	SlotValuesParameter addSlotValuesParameter(String containerXDocId, CIdentity slotId) {
+
+		return new SlotValuesParameter(containerXDocId, slotId);
+	}
+
 	private XRequestRenderer(RActionCategory actionCategory, Enum<?> actionType) {
 
 		super(REQUEST_ROOT_ID);
@@ -51,6 +51,36 @@ class XResponseParser extends XPackageSerialiser {
 		return structureParser.invalidatedClient();
 	}
 
+	boolean invalidatedInstanceSession() {
+
+		return structureParser.invalidatedInstanceSession();
+	}
+
+	String getNewInstanceSessionOrNull() {
+
+		return structureParser.getNewInstanceSessionOrNull();
+	}
+
+	boolean invalidatedMatchesCursor() {
+
+		return structureParser.invalidatedMatchesCursor();
+	}
+
+	String getNewMatchesCursorOrNull() {
+
+		return structureParser.getNewMatchesCursorOrNull();
+	}
+
+	boolean rankedMatches() {
+
+		return structureParser.rankedMatches();
+	}
+
+	int getTotalMatches() {
+
+		return structureParser.getTotalMatches();
+	}
+
 	boolean getBooleanResponse() {
 
 		return structureParser.getBooleanResponse();
@@ -71,6 +101,18 @@ class XResponseParser extends XPackageSerialiser {
 		return new IInstanceParseInput(getStructuredNode());
 	}
 
+	List<IInstanceParseInput> getUpdatedFramesResponseParseInputs() {
+
+		List<IInstanceParseInput> inputs = new ArrayList<IInstanceParseInput>();
+
+		for (XNode frameNode : getStructuredNode().getChildren(UPDATED_FRAME_ID)) {
+
+			inputs.add(new IInstanceParseInput(frameNode));
+		}
+
+		return inputs;
+	}
+
 	CIdentity getIdentityResponse() {
 
 		return FSerialiser.parseIdentity(getStructuredNode());
@@ -0,0 +1,300 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.remote.server.xml;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class InstanceSession {
+
+	static private final String FRAME_XDOC_ID_FORMAT = "xid-%s";
+
+	private String id;
+	private IFrame rootFrame;
+
+	private Map<IFrame, String> frameXDocIds = new IdentityHashMap<IFrame, String>();
+	private Map<String, IFrame> framesByXDocId = new HashMap<String, IFrame>();
+
+	private long lastAccessTime = System.currentTimeMillis();
+
+	private class FrameStatesRecorder {
+
+		private Map<IFrame, String> states = new IdentityHashMap<IFrame, String>();
+		private List<IFrame> atomicFrames = new ArrayList<IFrame>();
+
+		private Set<IFrame> visited = Collections.newSetFromMap(new IdentityHashMap<IFrame, Boolean>());
+		private Deque<IFrame> pending = new ArrayDeque<IFrame>();
+
+		FrameStatesRecorder() {
+
+			pending.push(rootFrame);
+
+			while (!pending.isEmpty()) {
+
+				checkRecord(pending.pop());
+			}
+		}
+
+		Map<IFrame, String> getStates() {
+
+			return states;
+		}
+
+		List<IFrame> getChangedFrames(Map<IFrame, String> previousStates) {
+
+			List<IFrame> changed = new ArrayList<IFrame>();
+
+			for (IFrame frame : atomicFrames) {
+
+				if (!states.get(frame).equals(previousStates.get(frame))) {
+
+					changed.add(frame);
+				}
+			}
+
+			return changed;
+		}
+
+		private void checkRecord(IFrame frame) {
+
+			if (visited.add(frame)) {
+
+				ensureXDocId(frame);
+
+				IFrameCategory category = frame.getCategory();
+
+				if (category.disjunction()) {
+
+					for (IFrame disjunct : frame.asDisjuncts()) {
+
+						pending.push(disjunct);
+					}
+				}
+				else if (category.atomic()) {
+
+					states.put(frame, describeState(frame));
+					atomicFrames.add(frame);
+				}
+			}
+		}
+
+		private String describeState(IFrame frame) {
+
+			StringBuilder state = new StringBuilder();
+
+			for (ISlot slot : frame.getSlots().asList()) {
+
+				CSlot type = slot.getType();
+				ISlotValues values = slot.getValues();
+
+				state.append(type.getIdentity());
+				state.append(type.getSource());
+				state.append(type.getCardinality());
+				state.append(type.getActivation());
+				state.append(slot.getValueType());
+				state.append(slot.getEditability());
+
+				describeValues(values.getFixedValues(), state);
+				describeValues(values.getAssertedValues(), state);
+			}
+
+			return state.toString();
+		}
+
+		private void describeValues(List<IValue> values, StringBuilder state) {
+
+			state.append('[');
+
+			for (IValue value : values) {
+
+				state.append(describeValue(value));
+				state.append(',');
+			}
+
+			state.append(']');
+		}
+
+		private String describeValue(IValue value) {
+
+			if (value instanceof IFrame) {
+
+				return describeFrameValue((IFrame)value);
+			}
+
+			if (value instanceof CFrame) {
+
+				return ((CFrame)value).getIdentity().toString();
+			}
+
+			return value.getDisplayLabel();
+		}
+
+		private String describeFrameValue(IFrame frame) {
+
+			pending.push(frame);
+
+			if (frame.getCategory().disjunction()) {
+
+				List<String> disjunctXDocIds = new ArrayList<String>();
+
+				for (IFrame disjunct : frame.asDisjuncts()) {
+
+					disjunctXDocIds.add(ensureXDocId(disjunct));
+				}
+
+				return disjunctXDocIds.toString();
+			}
+
+			return ensureXDocId(frame);
+		}
+	}
+
+	InstanceSession(String id, IFrame rootFrame, Map<String, IFrame> framesByXDocId) {
+
+		this.id = id;
+		this.rootFrame = rootFrame;
+
+		for (Map.Entry<String, IFrame> entry : framesByXDocId.entrySet()) {
+
+			addXDocId(entry.getValue(), entry.getKey());
+		}
+	}
+
+	void registerAccess() {
+
+		lastAccessTime = System.currentTimeMillis();
+	}
+
+	IFrame addNewFrame(CFrame type, String xid) {
+
+		if (getFramesByXDocId().containsKey(xid)) {
+
+			return null;
+		}
+
+		IFrame frame = type.instantiate(rootFrame.getFunction());
+
+		addXDocId(frame, xid);
+
+		return frame;
+	}
+
+	Map<IFrame, String> recordFrameStates() {
+
+		return new FrameStatesRecorder().getStates();
+	}
+
+	List<IFrame> getChangedFrames(Map<IFrame, String> previousStates) {
+
+		return new FrameStatesRecorder().getChangedFrames(previousStates);
+	}
+
+	String getId() {
+
+		return id;
+	}
+
+	Map<IFrame, String> getFrameXDocIds() {
+
+		return frameXDocIds;
+	}
+
+	IFrame getFrameOrNull(String xid) {
+
+		return getFramesByXDocId().get(xid);
+	}
+
+	ISlot getSlotOrNull(String containerXDocId, CIdentity slotId) {
+
+		IFrame container = getFrameOrNull(containerXDocId);
+
+		if (container == null || !container.getCategory().atomic()) {
+
+			return null;
+		}
+
+		return container.getSlots().getOrNull(slotId);
+	}
+
+	boolean lastAccessedBefore(long time) {
+
+		return lastAccessTime < time;
+	}
+
+	private String ensureXDocId(IFrame frame) {
+
+		String xid = frameXDocIds.get(frame);
+
+		if (xid == null) {
+
+			xid = createXDocId();
+
+			addXDocId(frame, xid);
+		}
+
+		return xid;
+	}
+
+	private String createXDocId() {
+
+		Map<String, IFrame> currentIds = getFramesByXDocId();
+		int index = frameXDocIds.size();
+		String xid = null;
+
+		do {
+
+			xid = String.format(FRAME_XDOC_ID_FORMAT, index++);
+		}
+		while (currentIds.containsKey(xid));
+
+		return xid;
+	}
+
+	private void addXDocId(IFrame frame, String xid) {
+
+		frameXDocIds.put(frame, xid);
+		framesByXDocId.put(xid, frame);
+	}
+
+	private Map<String, IFrame> getFramesByXDocId() {
+
+		if (framesByXDocId.size() != frameXDocIds.size()) {
+
+			framesByXDocId.clear();
+
+			for (Map.Entry<IFrame, String> entry : frameXDocIds.entrySet()) {
+
+				framesByXDocId.put(entry.getValue(), entry.getKey());
+			}
+		}
+
+		return framesByXDocId;
+	}
+}
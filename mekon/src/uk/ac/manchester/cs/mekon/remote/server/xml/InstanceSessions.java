@@ -0,0 +1,91 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.remote.server.xml;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class InstanceSessions {
+
+	static private final long DEFAULT_TIMEOUT = 30 * 60 * 1000;
+
+	private Map<String, InstanceSession> sessions = new HashMap<String, InstanceSession>();
+	private long timeout = DEFAULT_TIMEOUT;
+
+	synchronized void setTimeout(long timeout) {
+
+		this.timeout = timeout;
+	}
+
+	synchronized InstanceSession create(IFrame rootFrame, Map<String, IFrame> framesByXDocId) {
+
+		removeExpired();
+
+		String id = UUID.randomUUID().toString();
+		InstanceSession session = new InstanceSession(id, rootFrame, framesByXDocId);
+
+		sessions.put(id, session);
+
+		return session;
+	}
+
+	synchronized InstanceSession lookup(String id) {
+
+		removeExpired();
+
+		InstanceSession session = sessions.get(id);
+
+		if (session != null) {
+
+			session.registerAccess();
+		}
+
+		return session;
+	}
+
+	synchronized boolean discard(String id) {
+
+		return sessions.remove(id) != null;
+	}
+
+	private void removeExpired() {
+
+		long expiryTime = System.currentTimeMillis() - timeout;
+		Iterator<InstanceSession> i = sessions.values().iterator();
+
+		while (i.hasNext()) {
+
+			if (i.next().lastAccessedBefore(expiryTime)) {
+
+				i.remove();
+			}
+		}
+	}
+}
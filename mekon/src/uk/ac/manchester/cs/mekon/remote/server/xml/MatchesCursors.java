@@ -0,0 +1,112 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.remote.server.xml;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.store.*;
+
+/**
+ * @author Colin Puleston
+ */
+class MatchesCursors {
+
+	static private final long DEFAULT_TIMEOUT = 10 * 60 * 1000;
+
+	private Map<String, MatchesCursor> cursors = new HashMap<String, MatchesCursor>();
+	private long timeout = DEFAULT_TIMEOUT;
+
+	synchronized void setTimeout(long timeout) {
+
+		this.timeout = timeout;
+	}
+
+	synchronized MatchesCursor create(IMatchesCursor storeCursor) {
+
+		removeExpired();
+
+		String id = UUID.randomUUID().toString();
+		MatchesCursor cursor = new MatchesCursor(id, storeCursor);
+
+		cursors.put(id, cursor);
+
+		return cursor;
+	}
+
+	synchronized MatchesCursor lookup(String id) {
+
+		removeExpired();
+
+		MatchesCursor cursor = cursors.get(id);
+
+		if (cursor != null) {
+
+			cursor.registerAccess();
+		}
+
+		return cursor;
+	}
+
+	synchronized boolean discard(String id) {
+
+		MatchesCursor cursor = cursors.remove(id);
+
+		if (cursor == null) {
+
+			return false;
+		}
+
+		cursor.getCursor().close();
+
+		return true;
+	}
+
+	synchronized void discardAll() {
+
+		for (MatchesCursor cursor : cursors.values()) {
+
+			cursor.getCursor().close();
+		}
+
+		cursors.clear();
+	}
+
+	private void removeExpired() {
+
+		long expiryTime = System.currentTimeMillis() - timeout;
+		Iterator<MatchesCursor> i = cursors.values().iterator();
+
+		while (i.hasNext()) {
+
+			MatchesCursor cursor = i.next();
+
+			if (cursor.lastAccessedBefore(expiryTime)) {
+
+				cursor.getCursor().close();
+				i.remove();
+			}
+		}
+	}
+}
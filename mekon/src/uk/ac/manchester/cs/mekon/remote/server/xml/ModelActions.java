@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.remote.server.xml;
 
+import java.util.*;
+
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.model.serial.*;
 import uk.ac.manchester.cs.mekon.remote.server.*;
@@ -37,6 +39,8 @@ class ModelActions extends ServerActions<RModelActionType> {
 	private CModel model;
 	private RServerInstanceParser parameterParser;
 
+	private InstanceSessions instanceSessions = new InstanceSessions();
+
 	private class GetFrameHierarchyAction extends Action {
 
 		RModelActionType getActionType() {
@@ -59,7 +63,10 @@ class ModelActions extends ServerActions<RModelActionType> {
 			CFrame type = parameterParser.parseRootType(input);
 			IFrameFunction function = parameterParser.parseFunction(input);
 
-			response.setInstanceResponse(type.instantiate(function));
+			IFrame instance = type.instantiate(function);
+
+			awaitInstanceUpdates();
+			response.setInstanceResponse(instance);
 		}
 	}
 
@@ -85,11 +92,33 @@ class ModelActions extends ServerActions<RModelActionType> {
 
 			IInstanceParseInput parseInput = request.getInstanceParameterParseInput(0);
 			IFrame inAndOut = parameterParser.parse(parseInput);
+
+			checkDiscardReplacedSession(request);
+			awaitInstanceUpdates();
+
+			InstanceSession session = createSession(inAndOut, parseInput);
 			IInstanceRenderInput renderInput = new IInstanceRenderInput(inAndOut);
 
-			renderInput.setFrameXDocIds(parseInput.getFrameXDocIds());
+			renderInput.setFrameXDocIds(session.getFrameXDocIds());
+
+			response.setNewInstanceSession(session.getId());
 			response.setInstanceResponse(renderInput);
 		}
+
+		private void checkDiscardReplacedSession(XRequestParser request) {
+
+			String replacedId = request.getReplacedInstanceSessionOrNull();
+
+			if (replacedId != null) {
+
+				instanceSessions.discard(replacedId);
+			}
+		}
+
+		private InstanceSession createSession(IFrame rootFrame, IInstanceParseInput parseInput) {
+
+			return instanceSessions.create(rootFrame, parseInput.getFramesByXDocId());
+		}
 	}
 
 	private class UpdateAssertionAction extends UpdateInstanceAction {
@@ -108,6 +137,84 @@ class ModelActions extends ServerActions<RModelActionType> {
 		}
 	}
 
+	private class UpdateSessionInstanceAction extends Action {
+
+		RModelActionType getActionType() {
+
+			return RModelActionType.UPDATE_SESSION_INSTANCE;
+		}
+
+		void perform(XRequestParser request, XResponseRenderer response) {
+
+			InstanceSession session = instanceSessions.lookup(request.getInstanceSession());
+
+			if (session != null) {
+
+				synchronized (session) {
+
+					if (checkUpdate(session, request, response)) {
+
+						return;
+					}
+				}
+
+				instanceSessions.discard(session.getId());
+			}
+
+			response.setInvalidatedInstanceSession();
+		}
+
+		private boolean checkUpdate(
+							InstanceSession session,
+							XRequestParser request,
+							XResponseRenderer response) {
+
+			ISlot slot = request.getSessionSlotParameterOrNull(0, session);
+
+			if (slot == null || !editableSlot(slot)) {
+
+				return false;
+			}
+
+			Map<IFrame, String> previousStates = session.recordFrameStates();
+			List<IValue> values = request.getSessionSlotValuesParameterOrNull(0, slot, session);
+
+			if (values == null) {
+
+				return false;
+			}
+
+			slot.getValuesEditor().update(values);
+			awaitInstanceUpdates();
+
+			List<IFrame> changedFrames = session.getChangedFrames(previousStates);
+
+			response.setUpdatedFramesResponse(changedFrames, session.getFrameXDocIds());
+
+			return true;
+		}
+
+		private boolean editableSlot(ISlot slot) {
+
+			return slot.getType().getActivation().active() && slot.getEditability().editable();
+		}
+	}
+
+	private class DiscardInstanceSessionAction extends Action {
+
+		RModelActionType getActionType() {
+
+			return RModelActionType.DISCARD_INSTANCE_SESSION;
+		}
+
+		void perform(XRequestParser request, XResponseRenderer response) {
+
+			String sessionId = request.getInstanceSession();
+
+			response.setBooleanResponse(instanceSessions.discard(sessionId));
+		}
+	}
+
 	ModelActions(CModel model) {
 
 		this.model = model;
@@ -119,6 +226,13 @@ class ModelActions extends ServerActions<RModelActionType> {
 		new InitialiseQueryAction();
 		new UpdateAssertionAction();
 		new UpdateQueryAction();
+		new UpdateSessionInstanceAction();
+		new DiscardInstanceSessionAction();
+	}
+
+	void setInstanceSessionTimeout(long timeout) {
+
+		instanceSessions.setTimeout(timeout);
 	}
 
 	RActionCategory getActionCategory() {
@@ -130,4 +244,9 @@ class ModelActions extends ServerActions<RModelActionType> {
 
 		return request.getModelActionType();
 	}
+
+	private void awaitInstanceUpdates() {
+
+		model.getIUpdating().awaitQuiescence();
+	}
 }
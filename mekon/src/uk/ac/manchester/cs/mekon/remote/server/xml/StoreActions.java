@@ -36,6 +36,7 @@ import uk.ac.manchester.cs.mekon.remote.util.*;
 class StoreActions extends ServerActions<RStoreActionType> {
 
 	private IStore store;
+	private MatchesCursors matchesCursors;
 	private RServerInstanceParser parameterParser;
 
 	private class AddAction extends Action {
@@ -154,8 +155,103 @@ class StoreActions extends ServerActions<RStoreActionType> {
 		void perform(XRequestParser request, XResponseRenderer response) {
 
 			IFrame query = getQueryParameter(request, 0);
+			int maxMatches = request.getMaxMatches();
 
-			response.setMatchesResponse(store.match(query));
+			if (maxMatches == -1) {
+
+				response.setMatchesResponse(store.match(query));
+			}
+			else {
+
+				response.setMatchesResponse(store.match(query, maxMatches));
+			}
+		}
+	}
+
+	private class OpenMatchesCursorAction extends Action {
+
+		RStoreActionType getActionType() {
+
+			return RStoreActionType.OPEN_MATCHES_CURSOR;
+		}
+
+		void perform(XRequestParser request, XResponseRenderer response) {
+
+			IFrame query = getQueryParameter(request, 0);
+			IMatchesCursor cursor = store.openMatchesCursor(query);
+			int offset = request.getMatchesOffset();
+
+			if (offset > 0) {
+
+				cursor.getNextMatches(offset);
+			}
+
+			response.setMatchesSummary(cursor.ranked(), cursor.getTotalMatches());
+			response.setMatchesResponse(cursor.getNextMatches(request.getMaxMatches()));
+
+			if (cursor.moreMatches()) {
+
+				response.setNewMatchesCursor(matchesCursors.create(cursor).getId());
+			}
+			else {
+
+				cursor.close();
+			}
+		}
+	}
+
+	private class GetNextMatchesAction extends Action {
+
+		RStoreActionType getActionType() {
+
+			return RStoreActionType.GET_NEXT_MATCHES;
+		}
+
+		void perform(XRequestParser request, XResponseRenderer response) {
+
+			MatchesCursor cursor = matchesCursors.lookup(request.getMatchesCursor());
+
+			if (cursor == null) {
+
+				response.setInvalidatedMatchesCursor();
+			}
+			else {
+
+				synchronized (cursor) {
+
+					respondWithNextMatches(cursor, request.getMaxMatches(), response);
+				}
+			}
+		}
+
+		private void respondWithNextMatches(
+						MatchesCursor cursor,
+						int maxMatches,
+						XResponseRenderer response) {
+
+			IMatchesCursor storeCursor = cursor.getCursor();
+
+			response.setMatchesResponse(storeCursor.getNextMatches(maxMatches));
+
+			if (!storeCursor.moreMatches()) {
+
+				matchesCursors.discard(cursor.getId());
+			}
+		}
+	}
+
+	private class CloseMatchesCursorAction extends Action {
+
+		RStoreActionType getActionType() {
+
+			return RStoreActionType.CLOSE_MATCHES_CURSOR;
+		}
+
+		void perform(XRequestParser request, XResponseRenderer response) {
+
+			String cursorId = request.getMatchesCursor();
+
+			response.setBooleanResponse(matchesCursors.discard(cursorId));
 		}
 	}
 
@@ -175,9 +271,10 @@ class StoreActions extends ServerActions<RStoreActionType> {
 		}
 	}
 
-	StoreActions(IStore store) {
+	StoreActions(IStore store, MatchesCursors matchesCursors) {
 
 		this.store = store;
+		this.matchesCursors = matchesCursors;
 
 		parameterParser = new RServerInstanceParser(store.getModel());
 
@@ -190,6 +287,9 @@ class StoreActions extends ServerActions<RStoreActionType> {
 		new GetIdsAction();
 		new MatchAction();
 		new MatchesAction();
+		new OpenMatchesCursorAction();
+		new GetNextMatchesAction();
+		new CloseMatchesCursorAction();
 	}
 
 	RActionCategory getActionCategory() {
@@ -215,7 +315,15 @@ class StoreActions extends ServerActions<RStoreActionType> {
 	private IFrame getParameter(XRequestParser request, int index, boolean query) {
 
 		IInstanceParseInput input = request.getInstanceParameterParseInput(index);
+		IFrame instance = parameterParser.parse(input);
+
+		awaitInstanceUpdates();
+
+		return instance;
+	}
+
+	private void awaitInstanceUpdates() {
 
-		return parameterParser.parse(input);
+		store.getModel().getIUpdating().awaitQuiescence();
 	}
 }
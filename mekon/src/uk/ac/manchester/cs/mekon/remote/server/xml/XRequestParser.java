@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.remote.server.xml;
 
+import java.util.*;
+
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.model.serial.*;
 import uk.ac.manchester.cs.mekon.remote.xml.*;
@@ -33,10 +35,124 @@ import uk.ac.manchester.cs.mekon_util.xdoc.*;
 /**
  * @author Colin Puleston
  */
-class XRequestParser extends XPackageSerialiser {
+class XRequestParser extends XPackageSerialiser implements ISerialiserVocab {
 
 	private RequestParser structureParser = new RequestParser();
 
+	private class SlotValuesParser {
+
+		private ISlot slot;
+		private InstanceSession session;
+
+		SlotValuesParser(ISlot slot, InstanceSession session) {
+
+			this.slot = slot;
+			this.session = session;
+		}
+
+		List<IValue> parse(XNode valuesNode) {
+
+			List<IValue> values = new ArrayList<IValue>();
+
+			for (XNode valueNode : valuesNode.getAllChildren()) {
+
+				IValue value = parseValue(valueNode);
+
+				if (value == null) {
+
+					return null;
+				}
+
+				values.add(value);
+			}
+
+			return values;
+		}
+
+		private IValue parseValue(XNode valueNode) {
+
+			if (valueNode.hasId(IFRAME_ID)) {
+
+				return parseIFrame(valueNode);
+			}
+
+			if (valueNode.hasId(CFRAME_ID)) {
+
+				return parseCFrame(valueNode);
+			}
+
+			if (valueNode.hasId(INUMBER_ID)) {
+
+				return parseINumber(valueNode);
+			}
+
+			if (valueNode.hasId(ISTRING_ID)) {
+
+				return FSerialiser.parseIString(valueNode);
+			}
+
+			throw new XDocumentException("Unexpected slot-value node: " + valueNode.getId());
+		}
+
+		private IFrame parseIFrame(XNode valueNode) {
+
+			String xid = valueNode.getString(IFRAME_XDOC_ID_REF_ATTR, null);
+
+			if (xid != null) {
+
+				return session.getFrameOrNull(xid);
+			}
+
+			CFrame type = parseCFrame(valueNode.getChild(CFRAME_ID));
+
+			if (type == null) {
+
+				return null;
+			}
+
+			return session.addNewFrame(type, valueNode.getString(IFRAME_XDOC_ID_ATTR));
+		}
+
+		private CFrame parseCFrame(XNode valueNode) {
+
+			List<CFrame> disjuncts = new ArrayList<CFrame>();
+
+			for (CIdentity disjunctId : FSerialiser.parseCFrameAsDisjunctIds(valueNode)) {
+
+				CFrame disjunct = getCFrameOrNull(disjunctId);
+
+				if (disjunct == null) {
+
+					return null;
+				}
+
+				disjuncts.add(disjunct);
+			}
+
+			return CFrame.resolveDisjunction(disjuncts);
+		}
+
+		private INumber parseINumber(XNode valueNode) {
+
+			CValue<?> valueType = slot.getValueType();
+
+			if (valueType instanceof CNumber) {
+
+				return FSerialiser.parseINumber((CNumber)valueType, valueNode);
+			}
+
+			throw new XDocumentException("Unexpected number-value for slot: " + slot);
+		}
+
+		private CFrame getCFrameOrNull(CIdentity id) {
+
+			CModel model = slot.getContainer().getType().getModel();
+			CFrame rootFrame = model.getRootFrame();
+
+			return rootFrame.getIdentity().equals(id) ? rootFrame : model.getFrames().getOrNull(id);
+		}
+	}
+
 	XRequestParser(XDocument document) {
 
 		super(document);
@@ -67,8 +183,53 @@ class XRequestParser extends XPackageSerialiser {
 		return FSerialiser.parseIdentity(structureParser.getParameterNode(index));
 	}
 
+	String getInstanceSession() {
+
+		return structureParser.getInstanceSession();
+	}
+
+	String getReplacedInstanceSessionOrNull() {
+
+		return structureParser.getReplacedInstanceSessionOrNull();
+	}
+
+	String getMatchesCursor() {
+
+		return structureParser.getMatchesCursor();
+	}
+
+	int getMaxMatches() {
+
+		return structureParser.getMaxMatches();
+	}
+
+	int getMatchesOffset() {
+
+		return structureParser.getMatchesOffset();
+	}
+
 	IInstanceParseInput getInstanceParameterParseInput(int index) {
 
 		return new IInstanceParseInput(structureParser.getParameterNode(index));
 	}
+
+	ISlot getSessionSlotParameterOrNull(int index, InstanceSession session) {
+
+		XNode paramNode = structureParser.getParameterNode(index);
+
+		String containerXDocId = paramNode.getString(SLOT_CONTAINER_XDOC_ID_ATTR);
+		CIdentity slotId = FSerialiser.parseIdentity(paramNode.getChild(CSLOT_ID));
+
+		return session.getSlotOrNull(containerXDocId, slotId);
+	}
+
+	List<IValue> getSessionSlotValuesParameterOrNull(
+						int index,
+						ISlot slot,
+						InstanceSession session) {
+
+		XNode paramNode = structureParser.getParameterNode(index);
+
+		return new SlotValuesParser(slot, session).parse(paramNode.getChild(IVALUES_ID));
+	}
 }
@@ -40,10 +40,13 @@ class XResponseRenderer extends XPackageSerialiser {
 
 	private ResponseRenderer structureRenderer = new ResponseRenderer();
 	private IInstanceRenderer instanceRenderer = new IInstanceRenderer();
+	private IInstanceRenderer updatedFrameRenderer = new IInstanceRenderer();
 
 	XResponseRenderer() {
 
 		super(RESPONSE_ROOT_ID);
+
+		updatedFrameRenderer.setRenderNonRootsAsStubs(true);
 	}
 
 	void setInvalidatedClient() {
@@ -56,6 +59,31 @@ class XResponseRenderer extends XPackageSerialiser {
 		structureRenderer.setBooleanResponse(value);
 	}
 
+	void setNewInstanceSession(String sessionId) {
+
+		structureRenderer.setNewInstanceSession(sessionId);
+	}
+
+	void setInvalidatedInstanceSession() {
+
+		structureRenderer.setInvalidatedInstanceSession();
+	}
+
+	void setNewMatchesCursor(String cursorId) {
+
+		structureRenderer.setNewMatchesCursor(cursorId);
+	}
+
+	void setInvalidatedMatchesCursor() {
+
+		structureRenderer.setInvalidatedMatchesCursor();
+	}
+
+	void setMatchesSummary(boolean ranked, int totalMatches) {
+
+		structureRenderer.setMatchesSummary(ranked, totalMatches);
+	}
+
 	void setHierarchyResponse(CFrame rootFrame) {
 
 		CHierarchyRenderer renderer = new CHierarchyRenderer();
@@ -74,6 +102,19 @@ class XResponseRenderer extends XPackageSerialiser {
 		instanceRenderer.render(instance, addStructuredNode());
 	}
 
+	void setUpdatedFramesResponse(List<IFrame> frames, Map<IFrame, String> frameXDocIds) {
+
+		XNode node = addStructuredNode();
+
+		for (IFrame frame : frames) {
+
+			IInstanceRenderInput input = new IInstanceRenderInput(frame);
+
+			input.setFrameXDocIds(frameXDocIds);
+			updatedFrameRenderer.render(input, node.addChild(UPDATED_FRAME_ID));
+		}
+	}
+
 	void setInstanceOrNullResponse(IFrame instance) {
 
 		if (instance == null) {
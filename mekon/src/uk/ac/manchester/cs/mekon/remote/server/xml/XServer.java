@@ -52,6 +52,7 @@ public class XServer {
 
 	private ModelActions modelActions;
 	private StoreActions storeActions = null;
+	private MatchesCursors matchesCursors = new MatchesCursors();
 
 	private long serverStartupTime = System.currentTimeMillis();
 
@@ -74,7 +75,40 @@ public class XServer {
 	 */
 	public void setStore(IStore store) {
 
-		storeActions = new StoreActions(store);
+		matchesCursors.discardAll();
+
+		storeActions = new StoreActions(store, matchesCursors);
+	}
+
+	/**
+	 * Sets the period of inactivity after which a server-side
+	 * instance-session will be discarded. Instance-sessions hold
+	 * the live versions of the instances being edited by clients,
+	 * so that subsequent edits only require the transfer of the
+	 * updated slot-values, rather than of the complete instance.
+	 * Clients whose instance-sessions have been discarded revert
+	 * to sending the complete instance. Defaults to 30 minutes.
+	 *
+	 * @param timeout Inactivity period in milliseconds
+	 */
+	public void setInstanceSessionTimeout(long timeout) {
+
+		modelActions.setInstanceSessionTimeout(timeout);
+	}
+
+	/**
+	 * Sets the period of inactivity after which a server-side
+	 * matches cursor will be discarded. Matches cursors hold the
+	 * results of queries whose matches are being retrieved
+	 * incrementally by clients. Clients whose matches cursors have
+	 * been discarded will re-execute the relevant queries in order
+	 * to retrieve any remaining matches. Defaults to 10 minutes.
+	 *
+	 * @param timeout Inactivity period in milliseconds
+	 */
+	public void setMatchesCursorTimeout(long timeout) {
+
+		matchesCursors.setTimeout(timeout);
 	}
 
 	/**
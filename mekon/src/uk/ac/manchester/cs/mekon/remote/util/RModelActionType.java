@@ -54,5 +54,19 @@ public enum RModelActionType {
 	/**
 	 * Specifies an query-instance update action
 	 */
-	UPDATE_QUERY
+	UPDATE_QUERY,
+
+	/**
+	 * Specifies an update action for an instance held in a server-side
+	 * instance-session, whereby only the updated slot-values are sent to
+	 * the server, and only the frames that have changed as a result are
+	 * returned
+	 */
+	UPDATE_SESSION_INSTANCE,
+
+	/**
+	 * Specifies a discard action for a server-side instance-session
+	 * that is no longer required by the client
+	 */
+	DISCARD_INSTANCE_SESSION
 }
@@ -74,5 +74,22 @@ public enum RStoreActionType {
 	/**
 	 * Specifies a query/instance match test
 	 */
-	MATCHES
+	MATCHES,
+
+	/**
+	 * Specifies a query-matching action whose results are to be
+	 * retrieved incrementally via a server-side cursor
+	 */
+	OPEN_MATCHES_CURSOR,
+
+	/**
+	 * Specifies a retrieval of the next page of results from a
+	 * server-side matches cursor
+	 */
+	GET_NEXT_MATCHES,
+
+	/**
+	 * Specifies the closing of a server-side matches cursor
+	 */
+	CLOSE_MATCHES_CURSOR
 }
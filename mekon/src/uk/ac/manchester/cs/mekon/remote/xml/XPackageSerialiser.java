@@ -81,6 +81,63 @@ public abstract class XPackageSerialiser implements XRequestVocab, XResponseVoca
 			rootNode.setValue(ACTION_TYPE_ATTR, type);
 		}
 
+		/**
+		 * Adds an attribute representing the identifier of the server-side
+		 * instance-session to which an action request applies.
+		 *
+		 * @param sessionId Identifier of relevant instance-session
+		 */
+		public void setInstanceSession(String sessionId) {
+
+			rootNode.setValue(INSTANCE_SESSION_ATTR, sessionId);
+		}
+
+		/**
+		 * Adds an attribute representing the identifier of a server-side
+		 * instance-session that is to be superseded as a result of an
+		 * action request, and hence can be discarded.
+		 *
+		 * @param sessionId Identifier of instance-session to be discarded
+		 */
+		public void setReplacedInstanceSession(String sessionId) {
+
+			rootNode.setValue(REPLACED_INSTANCE_SESSION_ATTR, sessionId);
+		}
+
+		/**
+		 * Adds an attribute representing the identifier of the server-side
+		 * matches cursor to which an action request applies.
+		 *
+		 * @param cursorId Identifier of relevant matches cursor
+		 */
+		public void setMatchesCursor(String cursorId) {
+
+			rootNode.setValue(MATCHES_CURSOR_ATTR, cursorId);
+		}
+
+		/**
+		 * Adds an attribute representing the maximum number of query
+		 * matches to be provided in response to an action request.
+		 *
+		 * @param maxMatches Maximum number of matches to be provided
+		 */
+		public void setMaxMatches(int maxMatches) {
+
+			rootNode.setValue(MAX_MATCHES_ATTR, maxMatches);
+		}
+
+		/**
+		 * Adds an attribute representing the number of initial query
+		 * matches that are to be skipped when responding to an action
+		 * request.
+		 *
+		 * @param offset Number of initial matches to be skipped
+		 */
+		public void setMatchesOffset(int offset) {
+
+			rootNode.setValue(MATCHES_OFFSET_ATTR, offset);
+		}
+
 		/**
 		 * Adds a node for representing a parameter for an action request.
 		 *
@@ -139,6 +196,73 @@ public abstract class XPackageSerialiser implements XRequestVocab, XResponseVoca
 			return rootNode.getEnum(ACTION_TYPE_ATTR, type);
 		}
 
+		/**
+		 * Retrieves value of attribute representing the identifier of the
+		 * server-side instance-session to which an action request applies.
+		 *
+		 * @return Identifier of relevant instance-session
+		 * @throws XDocumentException if no value for attribute
+		 */
+		public String getInstanceSession() {
+
+			return rootNode.getString(INSTANCE_SESSION_ATTR);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, representing the
+		 * identifier of a server-side instance-session that is to be
+		 * superseded as a result of an action request.
+		 *
+		 * @return Identifier of instance-session to be discarded, or null
+		 * if not applicable
+		 */
+		public String getReplacedInstanceSessionOrNull() {
+
+			return rootNode.getString(REPLACED_INSTANCE_SESSION_ATTR, null);
+		}
+
+		/**
+		 * Retrieves value of attribute representing the identifier of the
+		 * server-side matches cursor to which an action request applies.
+		 *
+		 * @return Identifier of relevant matches cursor
+		 * @throws XDocumentException if no value for attribute
+		 */
+		public String getMatchesCursor() {
+
+			return rootNode.getString(MATCHES_CURSOR_ATTR);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, representing the
+		 * maximum number of query matches to be provided in response
+		 * to an action request.
+		 *
+		 * @return Maximum number of matches, or -1 if no maximum
+		 * specified
+		 * @throws XDocumentException if value for attribute exists but
+		 * is not of correct type
+		 */
+		public int getMaxMatches() {
+
+			return rootNode.getInteger(MAX_MATCHES_ATTR, -1);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, representing the
+		 * number of initial query matches that are to be skipped when
+		 * responding to an action request.
+		 *
+		 * @return Number of initial matches to be skipped, or 0 if not
+		 * specified
+		 * @throws XDocumentException if value for attribute exists but
+		 * is not of correct type
+		 */
+		public int getMatchesOffset() {
+
+			return rootNode.getInteger(MATCHES_OFFSET_ATTR, 0);
+		}
+
 		/**
 		 * Retrieves node representing a parameter for an action request.
 		 *
@@ -177,6 +301,63 @@ public abstract class XPackageSerialiser implements XRequestVocab, XResponseVoca
 			rootNode.setValue(BOOLEAN_RESPONSE_ATTR, value);
 		}
 
+		/**
+		 * Adds an attribute representing the identifier of a server-side
+		 * instance-session that has been created as a result of an action
+		 * request.
+		 *
+		 * @param sessionId Identifier of created instance-session
+		 */
+		public void setNewInstanceSession(String sessionId) {
+
+			rootNode.setValue(NEW_INSTANCE_SESSION_ATTR, sessionId);
+		}
+
+		/**
+		 * Adds an attribute with a value denoting that the server-side
+		 * instance-session to which an action request applied is either
+		 * no longer available, or could not be used to perform the action.
+		 */
+		public void setInvalidatedInstanceSession() {
+
+			rootNode.setValue(INVALIDATED_INSTANCE_SESSION_ATTR, true);
+		}
+
+		/**
+		 * Adds an attribute representing the identifier of a server-side
+		 * matches cursor that has been created as a result of an action
+		 * request.
+		 *
+		 * @param cursorId Identifier of created matches cursor
+		 */
+		public void setNewMatchesCursor(String cursorId) {
+
+			rootNode.setValue(NEW_MATCHES_CURSOR_ATTR, cursorId);
+		}
+
+		/**
+		 * Adds an attribute with a value denoting that the server-side
+		 * matches cursor to which an action request applied is no longer
+		 * available.
+		 */
+		public void setInvalidatedMatchesCursor() {
+
+			rootNode.setValue(INVALIDATED_MATCHES_CURSOR_ATTR, true);
+		}
+
+		/**
+		 * Adds attributes summarising the complete set of query matches
+		 * that are to be provided incrementally.
+		 *
+		 * @param ranked True if matches are ranked
+		 * @param totalMatches Total number of matches
+		 */
+		public void setMatchesSummary(boolean ranked, int totalMatches) {
+
+			rootNode.setValue(RANKED_MATCHES_ATTR, ranked);
+			rootNode.setValue(TOTAL_MATCHES_ATTR, totalMatches);
+		}
+
 		/**
 		 * Adds a node for representing a structured response to an action
 		 * request.
@@ -227,6 +408,82 @@ public abstract class XPackageSerialiser implements XRequestVocab, XResponseVoca
 			return rootNode.getBoolean(BOOLEAN_RESPONSE_ATTR);
 		}
 
+		/**
+		 * Retrieves value of attribute, if present, representing the
+		 * identifier of a server-side instance-session that has been
+		 * created as a result of an action request.
+		 *
+		 * @return Identifier of created instance-session, or null if
+		 * not applicable
+		 */
+		public String getNewInstanceSessionOrNull() {
+
+			return rootNode.getString(NEW_INSTANCE_SESSION_ATTR, null);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, denoting whether the
+		 * server-side instance-session to which an action request applied
+		 * could not be used to perform the action.
+		 *
+		 * @return value of attribute if present, false otherwise
+		 */
+		public boolean invalidatedInstanceSession() {
+
+			return rootNode.getBoolean(INVALIDATED_INSTANCE_SESSION_ATTR, false);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, representing the
+		 * identifier of a server-side matches cursor that has been
+		 * created as a result of an action request.
+		 *
+		 * @return Identifier of created matches cursor, or null if not
+		 * applicable
+		 */
+		public String getNewMatchesCursorOrNull() {
+
+			return rootNode.getString(NEW_MATCHES_CURSOR_ATTR, null);
+		}
+
+		/**
+		 * Retrieves value of attribute, if present, denoting whether the
+		 * server-side matches cursor to which an action request applied
+		 * is no longer available.
+		 *
+		 * @return value of attribute if present, false otherwise
+		 */
+		public boolean invalidatedMatchesCursor() {
+
+			return rootNode.getBoolean(INVALIDATED_MATCHES_CURSOR_ATTR, false);
+		}
+
+		/**
+		 * Retrieves value of attribute specifying whether the query
+		 * matches that are to be provided incrementally are ranked.
+		 *
+		 * @return True if matches are ranked
+		 * @throws XDocumentException if no value for attribute, or if
+		 * value does is not of correct type
+		 */
+		public boolean rankedMatches() {
+
+			return rootNode.getBoolean(RANKED_MATCHES_ATTR);
+		}
+
+		/**
+		 * Retrieves value of attribute representing the total number of
+		 * query matches that are to be provided incrementally.
+		 *
+		 * @return Total number of matches
+		 * @throws XDocumentException if no value for attribute, or if
+		 * value does is not of correct type
+		 */
+		public int getTotalMatches() {
+
+			return rootNode.getInteger(TOTAL_MATCHES_ATTR);
+		}
+
 		/**
 		 * Retrieves node representing a structured response to an action
 		 * request.
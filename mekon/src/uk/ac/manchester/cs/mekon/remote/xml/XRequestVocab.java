@@ -38,4 +38,10 @@ public interface XRequestVocab {
 	static public final String CLIENT_EXPIRY_CHECK_TIME_ATTR = "clientExpiryCheckTime";
 	static public final String ACTION_CATEGORY_ATTR = "actionCategory";
 	static public final String ACTION_TYPE_ATTR = "actionType";
+	static public final String INSTANCE_SESSION_ATTR = "instanceSession";
+	static public final String REPLACED_INSTANCE_SESSION_ATTR = "replacedInstanceSession";
+	static public final String SLOT_CONTAINER_XDOC_ID_ATTR = "slotContainerXid";
+	static public final String MATCHES_CURSOR_ATTR = "matchesCursor";
+	static public final String MAX_MATCHES_ATTR = "maxMatches";
+	static public final String MATCHES_OFFSET_ATTR = "matchesOffset";
 }
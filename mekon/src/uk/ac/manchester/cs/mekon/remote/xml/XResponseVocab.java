@@ -35,7 +35,14 @@ public interface XResponseVocab {
 	static public final String RESPONSE_ROOT_ID = "MekonActionResponse";
 	static public final String STRUCTURED_RESPONSE_ID = "StructuredResponse";
 	static public final String NULL_RESPONSE_ID = "NullResponse";
+	static public final String UPDATED_FRAME_ID = "UpdatedFrame";
 
 	static public final String INVALIDATED_CLIENT_ATTR = "invalidatedClient";
 	static public final String BOOLEAN_RESPONSE_ATTR = "booleanResponse";
+	static public final String NEW_INSTANCE_SESSION_ATTR = "newInstanceSession";
+	static public final String INVALIDATED_INSTANCE_SESSION_ATTR = "invalidatedInstanceSession";
+	static public final String NEW_MATCHES_CURSOR_ATTR = "newMatchesCursor";
+	static public final String INVALIDATED_MATCHES_CURSOR_ATTR = "invalidatedMatchesCursor";
+	static public final String RANKED_MATCHES_ATTR = "rankedMatches";
+	static public final String TOTAL_MATCHES_ATTR = "totalMatches";
 }
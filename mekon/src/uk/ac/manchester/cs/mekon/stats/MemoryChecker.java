@@ -38,6 +38,11 @@ public class MemoryChecker {
 		System.out.println("MEMORY USED: " + testName + ": " + getCurrent());
 	}
 
+ 	static public void printIncrease(String testName, long baseline) {
+
+		System.out.println("MEMORY ADDED: " + testName + ": " + (getCurrent() - baseline));
+	}
+
  	static private void requestFullGarbageCollection() {
 
 		getMemory().gc();
@@ -0,0 +1,354 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.manage.*;
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon.model.serial.*;
+import uk.ac.manchester.cs.mekon.store.*;
+import uk.ac.manchester.cs.mekon.network.*;
+import uk.ac.manchester.cs.mekon_util.config.*;
+
+/**
+ * Micro-benchmark harness covering the main store, matcher,
+ * model and serialisation hot-paths. Each benchmark is run
+ * over all configured combinations of store-size and
+ * branching-factor, with a number of warm-up iterations
+ * preceding the measured iterations. Results are written in
+ * CSV format, one line per benchmark/parameter combination,
+ * to either the configured results file or standard out.
+ *
+ * @author Colin Puleston
+ */
+public class BenchmarkRunner {
+
+	static private final String DEFAULT_CONFIG_FILENAME = "benchmarks.xml";
+
+	static private final String ADDED_IDENTITY_FORMAT = "BENCHMARK-ADDED-%d";
+
+	static public void main(String[] args) {
+
+		run(getConfigFile(args));
+	}
+
+	static public void run() {
+
+		run(getDefaultConfigFile());
+	}
+
+	static public void run(File configFile) {
+
+		new BenchmarkRunner(CManager.createBuilder().build(), configFile);
+	}
+
+	static public File getDefaultConfigFile() {
+
+		return KConfigResourceFinder.FILES.getResource(DEFAULT_CONFIG_FILENAME);
+	}
+
+	static private File getConfigFile(String[] args) {
+
+		return args.length == 0 ? getDefaultConfigFile() : new File(args[0]);
+	}
+
+	private Config config;
+	private Fixture fixture = null;
+
+	private List<Result> results = new ArrayList<Result>();
+	private int sink = 0;
+
+	private abstract class Benchmark {
+
+		private String name;
+
+		Benchmark(String name) {
+
+			this.name = name;
+		}
+
+		void checkRun() {
+
+			if (config.includeBenchmark(name)) {
+
+				run();
+			}
+		}
+
+		abstract Object runOperation(int index);
+
+		void endIteration() {
+		}
+
+		private void run() {
+
+			for (int i = 0 ; i < config.warmupIterations() ; i++) {
+
+				runIteration();
+			}
+
+			Result result = createResult();
+
+			for (int i = 0 ; i < config.measurementIterations() ; i++) {
+
+				result.addSample(runIteration(), config.operationsPerIteration());
+			}
+
+			results.add(result);
+		}
+
+		private long runIteration() {
+
+			int ops = config.operationsPerIteration();
+			long start = System.nanoTime();
+
+			for (int i = 0 ; i < ops ; i++) {
+
+				sink += System.identityHashCode(runOperation(i));
+			}
+
+			long nanos = System.nanoTime() - start;
+
+			endIteration();
+
+			return nanos;
+		}
+
+		private Result createResult() {
+
+			int size = fixture.getStoreSize();
+			int factor = fixture.getBranchingFactor();
+
+			return new Result(name, size, factor);
+		}
+	}
+
+	private class StoreAddBenchmark extends Benchmark {
+
+		private List<CIdentity> addedIds = new ArrayList<CIdentity>();
+
+		StoreAddBenchmark() {
+
+			super("IDiskStore.add");
+		}
+
+		Object runOperation(int index) {
+
+			CIdentity id = createAddedIdentity(index);
+
+			addedIds.add(id);
+
+			return getStore().add(fixture.getInstance(index), id);
+		}
+
+		void endIteration() {
+
+			getStore().removeAll(addedIds);
+			addedIds.clear();
+		}
+
+		private CIdentity createAddedIdentity(int index) {
+
+			String id = String.format(ADDED_IDENTITY_FORMAT, index);
+
+			return new CIdentity(id, id);
+		}
+	}
+
+	private class StoreGetBenchmark extends Benchmark {
+
+		StoreGetBenchmark() {
+
+			super("IDiskStore.get");
+		}
+
+		Object runOperation(int index) {
+
+			return getStore().get(fixture.getIdentity(index));
+		}
+	}
+
+	private class StoreMatchBenchmark extends Benchmark {
+
+		StoreMatchBenchmark() {
+
+			super("IDiskStore.match");
+		}
+
+		Object runOperation(int index) {
+
+			return getStore().match(fixture.getQuery(index)).getAllMatches();
+		}
+	}
+
+	private class NetworkMatchBenchmark extends Benchmark {
+
+		NetworkMatchBenchmark() {
+
+			super("NDirectMatcher.match");
+		}
+
+		Object runOperation(int index) {
+
+			return getMatcher().match(fixture.getQueryNetwork(index)).getAllMatches();
+		}
+	}
+
+	private class NodeMatchBenchmark extends Benchmark {
+
+		NodeMatchBenchmark() {
+
+			super("QueryNodeDirectMatcher.matches");
+		}
+
+		Object runOperation(int index) {
+
+			NNode query = fixture.getQueryNetwork(index);
+			NNode instance = fixture.getInstanceNetwork(index);
+
+			return getMatcher().matches(query, instance);
+		}
+	}
+
+	private class SubsumptionBenchmark extends Benchmark {
+
+		private List<CFrame> frames = fixture.getModel().getFrames().asList();
+
+		SubsumptionBenchmark() {
+
+			super("CFrame.subsumes");
+		}
+
+		Object runOperation(int index) {
+
+			CFrame subsumer = frames.get(index % frames.size());
+			CFrame subsumed = frames.get((index * 31 + 7) % frames.size());
+
+			return subsumer.subsumes(subsumed);
+		}
+	}
+
+	private class RenderBenchmark extends Benchmark {
+
+		private IInstanceRenderer renderer = new IInstanceRenderer();
+
+		RenderBenchmark() {
+
+			super("IInstanceRenderer.render");
+		}
+
+		Object runOperation(int index) {
+
+			IFrame instance = fixture.getInstance(index);
+
+			return renderer.render(new IInstanceRenderInput(instance));
+		}
+	}
+
+	private class ParseBenchmark extends Benchmark {
+
+		private IInstanceParser parser = new IInstanceParser(fixture.getModel());
+
+		ParseBenchmark() {
+
+			super("IInstanceParser.parse");
+		}
+
+		Object runOperation(int index) {
+
+			return parser.parse(new IInstanceParseInput(fixture.getRenderedInstance(index)));
+		}
+	}
+
+	private class FreeCopyBenchmark extends Benchmark {
+
+		FreeCopyBenchmark() {
+
+			super("IFreeCopier.createFreeCopy");
+		}
+
+		Object runOperation(int index) {
+
+			return IFreeCopier.get().createFreeCopy(fixture.getInstance(index));
+		}
+	}
+
+	private class NetworkCreationBenchmark extends Benchmark {
+
+		NetworkCreationBenchmark() {
+
+			super("NNetwork.create");
+		}
+
+		Object runOperation(int index) {
+
+			return new NNetwork(fixture.getInstance(index)).getRootNode();
+		}
+	}
+
+	public BenchmarkRunner(CModel model) {
+
+		this(model, getDefaultConfigFile());
+	}
+
+	public BenchmarkRunner(CModel model, File configFile) {
+
+		config = new ConfigFile(configFile).readConfig();
+
+		for (int storeSize : config.getStoreSizes()) {
+
+			for (int branchingFactor : config.getBranchingFactors()) {
+
+				runAll(model, storeSize, branchingFactor);
+			}
+		}
+
+		new ResultsWriter(config.getResultsFileOrNull()).write(results);
+	}
+
+	private void runAll(CModel model, int storeSize, int branchingFactor) {
+
+		fixture = new Fixture(model, config, storeSize, branchingFactor);
+
+		try {
+
+			for (Benchmark benchmark : createBenchmarks()) {
+
+				benchmark.checkRun();
+			}
+		}
+		finally {
+
+			fixture.stop();
+		}
+	}
+
+	private List<Benchmark> createBenchmarks() {
+
+		List<Benchmark> benchmarks = new ArrayList<Benchmark>();
+
+		benchmarks.add(new StoreAddBenchmark());
+		benchmarks.add(new StoreGetBenchmark());
+		benchmarks.add(new StoreMatchBenchmark());
+		benchmarks.add(new NetworkMatchBenchmark());
+		benchmarks.add(new NodeMatchBenchmark());
+		benchmarks.add(new SubsumptionBenchmark());
+		benchmarks.add(new RenderBenchmark());
+		benchmarks.add(new ParseBenchmark());
+		benchmarks.add(new FreeCopyBenchmark());
+		benchmarks.add(new NetworkCreationBenchmark());
+
+		return benchmarks;
+	}
+
+	private IStore getStore() {
+
+		return fixture.getStore();
+	}
+
+	private NDirectMatcher getMatcher() {
+
+		return fixture.getMatcher();
+	}
+}
@@ -0,0 +1,138 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+class Config {
+
+	private CIdentity instanceTypeId;
+
+	private boolean enableStrings = false;
+	private int maxNodes = 50;
+	private int totalQueries = 10;
+
+	private int warmupIterations = 3;
+	private int measurementIterations = 5;
+	private int operationsPerIteration = 1000;
+
+	private List<Integer> storeSizes = new ArrayList<Integer>();
+	private List<Integer> branchingFactors = new ArrayList<Integer>();
+	private Set<String> includedBenchmarks = new HashSet<String>();
+
+	private File resultsFile = null;
+
+	Config(String instanceTypeId) {
+
+		this.instanceTypeId = new CIdentity(instanceTypeId);
+	}
+
+	void setEnableStrings(boolean value) {
+
+		enableStrings = value;
+	}
+
+	void setMaxNodes(int value) {
+
+		maxNodes = value;
+	}
+
+	void setTotalQueries(int value) {
+
+		totalQueries = value;
+	}
+
+	void setWarmupIterations(int value) {
+
+		warmupIterations = value;
+	}
+
+	void setMeasurementIterations(int value) {
+
+		measurementIterations = value;
+	}
+
+	void setOperationsPerIteration(int value) {
+
+		operationsPerIteration = value;
+	}
+
+	void addStoreSize(int value) {
+
+		storeSizes.add(value);
+	}
+
+	void addBranchingFactor(int value) {
+
+		branchingFactors.add(value);
+	}
+
+	void addIncludedBenchmark(String name) {
+
+		includedBenchmarks.add(name);
+	}
+
+	void setResultsFile(File file) {
+
+		resultsFile = file;
+	}
+
+	CIdentity getInstanceTypeId() {
+
+		return instanceTypeId;
+	}
+
+	boolean enableStrings() {
+
+		return enableStrings;
+	}
+
+	int maxNodes() {
+
+		return maxNodes;
+	}
+
+	int totalQueries() {
+
+		return totalQueries;
+	}
+
+	int warmupIterations() {
+
+		return warmupIterations;
+	}
+
+	int measurementIterations() {
+
+		return measurementIterations;
+	}
+
+	int operationsPerIteration() {
+
+		return operationsPerIteration;
+	}
+
+	List<Integer> getStoreSizes() {
+
+		return storeSizes;
+	}
+
+	List<Integer> getBranchingFactors() {
+
+		return branchingFactors;
+	}
+
+	boolean includeBenchmark(String name) {
+
+		return includedBenchmarks.isEmpty() || includedBenchmarks.contains(name);
+	}
+
+	File getResultsFileOrNull() {
+
+		return resultsFile;
+	}
+}
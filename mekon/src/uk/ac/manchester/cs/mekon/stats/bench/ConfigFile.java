@@ -0,0 +1,93 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.io.*;
+
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ConfigFile {
+
+	static private final String INSTANCE_TYPE_ATTR = "instanceType";
+	static private final String ENABLE_STRINGS_ATTR = "enableStrings";
+	static private final String MAX_NODES_ATTR = "maxNodes";
+	static private final String TOTAL_QUERIES_ATTR = "queries";
+	static private final String WARMUP_ITERATIONS_ATTR = "warmupIterations";
+	static private final String MEASUREMENT_ITERATIONS_ATTR = "measurementIterations";
+	static private final String OPERATIONS_PER_ITERATION_ATTR = "operationsPerIteration";
+	static private final String STORE_SIZES_ATTR = "storeSizes";
+	static private final String BRANCHING_FACTORS_ATTR = "branchingFactors";
+	static private final String BENCHMARKS_ATTR = "benchmarks";
+	static private final String RESULTS_FILE_ATTR = "resultsFile";
+
+	static private final String LIST_SEPARATOR = ",";
+
+	private XNode rootNode;
+
+	ConfigFile(File file) {
+
+		rootNode = new XDocument(file).getRootNode();
+	}
+
+	Config readConfig() {
+
+		Config c = new Config(rootNode.getString(INSTANCE_TYPE_ATTR));
+
+		c.setEnableStrings(rootNode.getBoolean(ENABLE_STRINGS_ATTR, false));
+		c.setMaxNodes(rootNode.getInteger(MAX_NODES_ATTR, c.maxNodes()));
+		c.setTotalQueries(rootNode.getInteger(TOTAL_QUERIES_ATTR, c.totalQueries()));
+
+		readIterationConfig(c);
+		readParameterConfig(c);
+		readOutputConfig(c);
+
+		return c;
+	}
+
+	private void readIterationConfig(Config c) {
+
+		int wi = rootNode.getInteger(WARMUP_ITERATIONS_ATTR, c.warmupIterations());
+		int mi = rootNode.getInteger(MEASUREMENT_ITERATIONS_ATTR, c.measurementIterations());
+		int ops = rootNode.getInteger(OPERATIONS_PER_ITERATION_ATTR, c.operationsPerIteration());
+
+		c.setWarmupIterations(wi);
+		c.setMeasurementIterations(mi);
+		c.setOperationsPerIteration(ops);
+	}
+
+	private void readParameterConfig(Config c) {
+
+		for (String size : readList(STORE_SIZES_ATTR, "1000")) {
+
+			c.addStoreSize(Integer.parseInt(size));
+		}
+
+		for (String factor : readList(BRANCHING_FACTORS_ATTR, "2")) {
+
+			c.addBranchingFactor(Integer.parseInt(factor));
+		}
+
+		for (String benchmark : readList(BENCHMARKS_ATTR, "")) {
+
+			c.addIncludedBenchmark(benchmark);
+		}
+	}
+
+	private void readOutputConfig(Config c) {
+
+		String resultsFile = rootNode.getString(RESULTS_FILE_ATTR, null);
+
+		if (resultsFile != null) {
+
+			c.setResultsFile(new File(resultsFile));
+		}
+	}
+
+	private String[] readList(String attr, String defaultValue) {
+
+		String value = rootNode.getString(attr, defaultValue).trim();
+
+		return value.isEmpty() ? new String[0] : value.split("\\s*" + LIST_SEPARATOR + "\\s*");
+	}
+}
@@ -0,0 +1,174 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.manage.*;
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.serial.*;
+import uk.ac.manchester.cs.mekon.store.*;
+import uk.ac.manchester.cs.mekon.store.disk.*;
+import uk.ac.manchester.cs.mekon.network.*;
+import uk.ac.manchester.cs.mekon.stats.store.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * @author Colin Puleston
+ */
+class Fixture {
+
+	static private final String IDENTITY_FORMAT = "BENCHMARK-INSTANCE-%d";
+
+	private CModel model;
+
+	private int storeSize;
+	private int branchingFactor;
+
+	private IStore store;
+	private NDirectMatcher matcher = new NDirectMatcher();
+
+	private List<CIdentity> identities = new ArrayList<CIdentity>();
+	private List<IFrame> instances = new ArrayList<IFrame>();
+	private List<IFrame> queries = new ArrayList<IFrame>();
+
+	private List<NNode> instanceNetworks = new ArrayList<NNode>();
+	private List<NNode> queryNetworks = new ArrayList<NNode>();
+
+	private List<XDocument> renderedInstances = new ArrayList<XDocument>();
+
+	Fixture(CModel model, Config config, int storeSize, int branchingFactor) {
+
+		this.model = model;
+		this.storeSize = storeSize;
+		this.branchingFactor = branchingFactor;
+
+		CFrame type = model.getFrames().get(config.getInstanceTypeId());
+
+		generateInstances(type, config);
+		generateQueries(type, config);
+
+		createStore();
+	}
+
+	void stop() {
+
+		store.clear();
+
+		IDiskStoreManager.checkStopStore(model);
+	}
+
+	CModel getModel() {
+
+		return model;
+	}
+
+	int getStoreSize() {
+
+		return storeSize;
+	}
+
+	int getBranchingFactor() {
+
+		return branchingFactor;
+	}
+
+	IStore getStore() {
+
+		return store;
+	}
+
+	NDirectMatcher getMatcher() {
+
+		return matcher;
+	}
+
+	CIdentity getIdentity(int index) {
+
+		return identities.get(index % storeSize);
+	}
+
+	IFrame getInstance(int index) {
+
+		return instances.get(index % storeSize);
+	}
+
+	IFrame getQuery(int index) {
+
+		return queries.get(index % queries.size());
+	}
+
+	NNode getInstanceNetwork(int index) {
+
+		return instanceNetworks.get(index % storeSize);
+	}
+
+	NNode getQueryNetwork(int index) {
+
+		return queryNetworks.get(index % queryNetworks.size());
+	}
+
+	XDocument getRenderedInstance(int index) {
+
+		return renderedInstances.get(index % storeSize);
+	}
+
+	private void generateInstances(CFrame type, Config config) {
+
+		IInstanceRenderer renderer = new IInstanceRenderer();
+
+		for (int i = 0 ; i < storeSize ; i++) {
+
+			IFrame instance = generate(type, IFrameFunction.ASSERTION, config);
+
+			identities.add(createIdentity(i));
+			instances.add(instance);
+			instanceNetworks.add(toNetwork(instance));
+			renderedInstances.add(renderer.render(new IInstanceRenderInput(instance)));
+		}
+	}
+
+	private void generateQueries(CFrame type, Config config) {
+
+		for (int i = 0 ; i < config.totalQueries() ; i++) {
+
+			IFrame query = generate(type, IFrameFunction.QUERY, config);
+
+			queries.add(query);
+			queryNetworks.add(toNetwork(query));
+		}
+	}
+
+	private IFrame generate(CFrame type, IFrameFunction function, Config config) {
+
+		boolean s = config.enableStrings();
+		int mn = config.maxNodes();
+
+		return new InstanceGenerator(type, function, s, branchingFactor, mn).generate();
+	}
+
+	private void createStore() {
+
+		IDiskStoreBuilder builder = IDiskStoreManager.getBuilder(model);
+
+		builder.addMatcher(matcher);
+
+		store = builder.build();
+		store.clear();
+
+		for (int i = 0 ; i < storeSize ; i++) {
+
+			store.add(instances.get(i), identities.get(i));
+		}
+	}
+
+	private CIdentity createIdentity(int index) {
+
+		String id = String.format(IDENTITY_FORMAT, index);
+
+		return new CIdentity(id, id);
+	}
+
+	private NNode toNetwork(IFrame frame) {
+
+		return new NNetwork(frame).getRootNode();
+	}
+}
@@ -0,0 +1,83 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class Result {
+
+	private String benchmark;
+
+	private int storeSize;
+	private int branchingFactor;
+
+	private List<Double> nanosPerOpSamples = new ArrayList<Double>();
+
+	Result(String benchmark, int storeSize, int branchingFactor) {
+
+		this.benchmark = benchmark;
+		this.storeSize = storeSize;
+		this.branchingFactor = branchingFactor;
+	}
+
+	void addSample(long totalNanos, int operations) {
+
+		nanosPerOpSamples.add((double)totalNanos / operations);
+	}
+
+	String getBenchmark() {
+
+		return benchmark;
+	}
+
+	int getStoreSize() {
+
+		return storeSize;
+	}
+
+	int getBranchingFactor() {
+
+		return branchingFactor;
+	}
+
+	int getSampleCount() {
+
+		return nanosPerOpSamples.size();
+	}
+
+	double getMeanNanosPerOp() {
+
+		double total = 0;
+
+		for (double sample : nanosPerOpSamples) {
+
+			total += sample;
+		}
+
+		return total / nanosPerOpSamples.size();
+	}
+
+	double getMinNanosPerOp() {
+
+		return Collections.min(nanosPerOpSamples);
+	}
+
+	double getMaxNanosPerOp() {
+
+		return Collections.max(nanosPerOpSamples);
+	}
+
+	double getStdDevNanosPerOp() {
+
+		double mean = getMeanNanosPerOp();
+		double total = 0;
+
+		for (double sample : nanosPerOpSamples) {
+
+			total += (sample - mean) * (sample - mean);
+		}
+
+		return Math.sqrt(total / nanosPerOpSamples.size());
+	}
+}
@@ -0,0 +1,87 @@
+package uk.ac.manchester.cs.mekon.stats.bench;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon_util.config.*;
+
+/**
+ * @author Colin Puleston
+ */
+class ResultsWriter {
+
+	static private final String HEADER
+		= "benchmark,storeSize,branchingFactor,samples,"
+		+ "meanNanosPerOp,minNanosPerOp,maxNanosPerOp,stdDevNanosPerOp";
+
+	static private final String NUMBER_FORMAT = "%.1f";
+
+	private File fileOrNull;
+
+	ResultsWriter(File fileOrNull) {
+
+		this.fileOrNull = fileOrNull;
+	}
+
+	void write(List<Result> results) {
+
+		if (fileOrNull != null) {
+
+			writeToFile(results);
+		}
+		else {
+
+			write(results, System.out);
+		}
+	}
+
+	private void writeToFile(List<Result> results) {
+
+		try {
+
+			PrintStream out = new PrintStream(new FileOutputStream(fileOrNull));
+
+			try {
+
+				write(results, out);
+			}
+			finally {
+
+				out.close();
+			}
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	private void write(List<Result> results, PrintStream out) {
+
+		out.println(HEADER);
+
+		for (Result result : results) {
+
+			out.println(toLine(result));
+		}
+
+		out.flush();
+	}
+
+	private String toLine(Result result) {
+
+		return result.getBenchmark()
+				+ "," + result.getStoreSize()
+				+ "," + result.getBranchingFactor()
+				+ "," + result.getSampleCount()
+				+ "," + format(result.getMeanNanosPerOp())
+				+ "," + format(result.getMinNanosPerOp())
+				+ "," + format(result.getMaxNanosPerOp())
+				+ "," + format(result.getStdDevNanosPerOp());
+	}
+
+	private String format(double value) {
+
+		return String.format(Locale.ROOT, NUMBER_FORMAT, value);
+	}
+}
@@ -6,6 +6,7 @@ import java.util.*;
 import uk.ac.manchester.cs.mekon.manage.*;
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon.network.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.store.disk.*;
 import uk.ac.manchester.cs.mekon.stats.*;
@@ -38,11 +39,41 @@ public class StoreStatsChecker {
 		new StoreStatsChecker(model, store, configFile);
 	}
 
+	static public void runDirectMatcherNetworksComparison() {
+
+		runDirectMatcherNetworksComparison(getDefaultConfigFile());
+	}
+
+	static public void runDirectMatcherNetworksComparison(File configFile) {
+
+		runWithDirectMatcher(configFile, false);
+		runWithDirectMatcher(configFile, true);
+	}
+
 	static public File getDefaultConfigFile() {
 
 		return KConfigResourceFinder.FILES.getResource(DEFAULT_CONFIG_FILENAME);
 	}
 
+	static private void runWithDirectMatcher(File configFile, boolean compact) {
+
+		CModel model = CManager.createBuilder().build();
+		IDiskStoreBuilder storeBuilder = IDiskStoreManager.getBuilder(model);
+		NDirectMatcher matcher = new NDirectMatcher();
+
+		matcher.setCompactInstances(compact);
+		storeBuilder.addMatcher(matcher);
+
+		IStore store = storeBuilder.build();
+
+		store.clear();
+
+		System.out.println("DIRECT-MATCHER NETWORKS: " + (compact ? "COMPACT" : "FULL"));
+		System.out.println("");
+
+		new StoreStatsChecker(model, store, configFile);
+	}
+
 	static private File getConfigFile(String[] args) {
 
 		return args.length == 0 ? getDefaultConfigFile() : new File(args[0]);
@@ -53,6 +84,8 @@ public class StoreStatsChecker {
 
 	private IStore store;
 
+	private long prePopulationMemory;
+
 	private abstract class PhaseEnactor {
 
 		private PhaseConfig phaseConfig;
@@ -200,6 +233,8 @@ public class StoreStatsChecker {
 		reportPrePopulationMemory();
 
 		new StorePopulator();
+		reportPopulationMemoryIncrease();
+
 		new QueryExecutor();
 
 		if (!config.persistStore()) {
@@ -212,11 +247,20 @@ public class StoreStatsChecker {
 
 	private void reportPrePopulationMemory() {
 
+		prePopulationMemory = MemoryChecker.getCurrent();
+
 		MemoryChecker.printCurrent("PRE-INSTANCE STORAGE");
 
 		System.out.println("");
 	}
 
+	private void reportPopulationMemoryIncrease() {
+
+		MemoryChecker.printIncrease("INSTANCE STORAGE", prePopulationMemory);
+
+		System.out.println("");
+	}
+
 	private void report(String processName) {
 
 		TimeChecker.stop(processName);
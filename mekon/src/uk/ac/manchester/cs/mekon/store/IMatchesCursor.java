@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store;
+
+/**
+ * Provides incremental access to the results of an instance-matching
+ * query executed via an {@link IStore} object, with the results being
+ * delivered as a sequence of pages. Where the matches are ranked, the
+ * pages will be delivered in ranking order, highest first, with any
+ * rank that spans more than one page being split accordingly.
+ * <p>
+ * Cursors should be closed when no longer required, in order that any
+ * associated resources can be released.
+ *
+ * @author Colin Puleston
+ */
+public interface IMatchesCursor {
+
+	/**
+	 * Specifies whether matches are ranked.
+	 *
+	 * @return True if matches are ranked
+	 */
+	public boolean ranked();
+
+	/**
+	 * Provides the total number of matches found by the query.
+	 *
+	 * @return Total number of matches
+	 */
+	public int getTotalMatches();
+
+	/**
+	 * Specifies whether there are any matches that have not yet been
+	 * delivered.
+	 *
+	 * @return True if further matches are available
+	 */
+	public boolean moreMatches();
+
+	/**
+	 * Provides the next page of matches.
+	 *
+	 * @param maxMatches Maximum number of matches to be provided
+	 * @return Next page of matches, which will be empty if no more
+	 * matches are available
+	 */
+	public IMatches getNextMatches(int maxMatches);
+
+	/**
+	 * Releases any resources associated with the cursor, after which
+	 * no further matches will be available.
+	 */
+	public void close();
+}
@@ -45,6 +45,13 @@ public interface IMatchesRank {
 	 */
 	public List<CIdentity> getMatches();
 
+	/**
+	 * Provides the number of instances in rank.
+	 *
+	 * @return Number of instances in rank
+	 */
+	public int getMatchCount();
+
 	/**
 	 * Provides the ranking-value associated with the matches in
 	 * the rank.
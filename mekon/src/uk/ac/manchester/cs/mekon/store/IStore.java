@@ -62,6 +62,29 @@ public interface IStore {
 	 */
 	public boolean remove(CIdentity identity);
 
+	/**
+	 * Adds a set of instances to the store as a single batch, possibly
+	 * replacing existing instances with the same identities. Where
+	 * supported, the relevant matchers will defer any expensive
+	 * post-update processing until the entire batch has been added.
+	 *
+	 * @param instances Representations of instances to be stored,
+	 * mapped by unique identity
+	 * @return Existing instances that were replaced, mapped by identity
+	 */
+	public Map<CIdentity, IFrame> addAll(Map<CIdentity, IFrame> instances);
+
+	/**
+	 * Removes a set of instances from the store as a single batch.
+	 * Where supported, the relevant matchers will defer any expensive
+	 * post-update processing until the entire batch has been removed.
+	 *
+	 * @param identities Unique identities of instances
+	 * @return True if any instances removed, false if no instances
+	 * with specified identities were present
+	 */
+	public boolean removeAll(Collection<CIdentity> identities);
+
 	/**
 	 * Removes all instances from the store.
 	 *
@@ -134,6 +157,27 @@ public interface IStore {
 	 */
 	public IMatches match(IFrame query);
 
+	/**
+	 * Finds the instances that are matched by the supplied query, up
+	 * to the specified maximum. Where the matches are ranked, those
+	 * with the greatest ranking-values will be provided.
+	 *
+	 * @param query Representation of query
+	 * @param maxMatches Maximum number of matches to be provided
+	 * @return Results of query execution
+	 */
+	public IMatches match(IFrame query, int maxMatches);
+
+	/**
+	 * Finds all instances that are matched by the supplied query,
+	 * providing a cursor via which the results can be retrieved
+	 * incrementally.
+	 *
+	 * @param query Representation of query
+	 * @return Cursor for retrieving results of query execution
+	 */
+	public IMatchesCursor openMatchesCursor(IFrame query);
+
 	/**
 	 * Uses the query mechanisms associated with the store to test
 	 * whether the supplied instance is matched by the supplied query.
@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+/**
+ * Extension of {@link IMatcher} that is implemented by matchers
+ * that are able to defer expensive post-update processing, such
+ * as reasoner flushes or database commits, whilst a batch of
+ * instances is being added to, or removed from, the store. The
+ * store will invoke {@link #startBatch} prior to, and either
+ * {@link #endBatch} or {@link #failBatch} after, any such batch of
+ * {@link #add} and/or {@link #remove} operations, including the
+ * initial reloading of any stored instances. Calls will never be
+ * nested.
+ *
+ * @author Colin Puleston
+ */
+public interface IBatchMatcher extends IMatcher {
+
+	/**
+	 * Signals the start of a batch of additions and/or removals,
+	 * after which the matcher may defer any post-update processing
+	 * until {@link #endBatch} is invoked.
+	 */
+	public void startBatch();
+
+	/**
+	 * Signals the end of the current batch of additions and/or
+	 * removals, at which point the matcher should perform any
+	 * deferred post-update processing.
+	 */
+	public void endBatch();
+
+	/**
+	 * Signals that the current batch of additions and/or removals
+	 * has been abandoned, due to an exception having been thrown
+	 * part-way through. The store retains the effects of all
+	 * operations that completed before the failure, and none of
+	 * the effects of the failed operation. The matcher should
+	 * therefore apply all updates that it has successfully
+	 * received, as for {@link #endBatch}, so as to remain
+	 * consistent with the store.
+	 */
+	public void failBatch();
+}
@@ -44,7 +44,9 @@ public interface ICustomFrameMatcher extends ICustomValueMatcher {
 	 *
 	 * @param queryValue Query-value frame to be matched
 	 * @param instanceValue Instance-value frame to be tested
-	 * for matching
+	 * for matching, which will generally be a free-instance copy
+	 * of the stored value, so that only its type and slot-values
+	 * should be relied upon
 	 * @return true if query-value matches instance-value
 	 */
 	public boolean matches(IFrame queryValue, IFrame instanceValue);
@@ -26,18 +26,23 @@ package uk.ac.manchester.cs.mekon.store.disk;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.model.motor.*;
 import uk.ac.manchester.cs.mekon.network.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.store.motor.*;
+import uk.ac.manchester.cs.mekon_util.config.*;
 
 /**
  * @author Colin Puleston
  */
 class IDiskStore implements IStore {
 
+	static private final int PARALLEL_RELOAD_BATCH_SIZE = 1000;
+
 	private CModel model;
 
 	private StoreSerialiser serialiser;
@@ -45,6 +50,7 @@ class IDiskStore implements IStore {
 
 	private List<IMatcher> matchers = new ArrayList<IMatcher>();
 	private NDirectMatcher defaultMatcher = new NDirectMatcher();
+	private List<IBatchMatcher> batchingMatchers = new ArrayList<IBatchMatcher>();
 
 	private List<CIdentity> identities = new ArrayList<CIdentity>();
 	private Map<CIdentity, IRegenType> regenTypes = new HashMap<CIdentity, IRegenType>();
@@ -53,8 +59,132 @@ class IDiskStore implements IStore {
 	private IStoreActiveRegenReport regenReport;
 	private InstanceRefIntegrityManager refIntegrityManager;
 
+	private int reloadParallelism = 1;
+	private InstanceCache cache = new InstanceCache(0);
+
+	private ReadWriteLock lock = new ReentrantReadWriteLock();
+	private Lock readLock = lock.readLock();
+	private Lock writeLock = lock.writeLock();
+
+	private Object regenLock = new Object();
+
+	private class ReloadedInstance {
+
+		final CIdentity identity;
+		final IRegenInstance regen;
+		final IFrame freeCopy;
+
+		ReloadedInstance(IInstanceProfile profile) {
+
+			identity = profile.getInstanceIdentity();
+			regen = load(identity, profile.getIndex(), false);
+			freeCopy = createFreeCopyOrNull();
+		}
+
+		private IFrame createFreeCopyOrNull() {
+
+			if (regen.getStatus() == IRegenStatus.FULLY_INVALID) {
+
+				return null;
+			}
+
+			return createFreeCopy(regen.getRootFrame());
+		}
+	}
+
 	private class Initialiser {
 
+		private class ParallelReloader {
+
+			private ForkJoinPool pool = new ForkJoinPool(reloadParallelism);
+
+			private class Loader implements Callable<ReloadedInstance> {
+
+				private IInstanceProfile profile;
+
+				public ReloadedInstance call() {
+
+					return new ReloadedInstance(profile);
+				}
+
+				Loader(IInstanceProfile profile) {
+
+					this.profile = profile;
+				}
+			}
+
+			ParallelReloader(List<IInstanceProfile> profiles) {
+
+				try {
+
+					for (List<IInstanceProfile> batch : toBatches(profiles)) {
+
+						reloadBatch(batch);
+					}
+				}
+				finally {
+
+					pool.shutdown();
+				}
+			}
+
+			private void reloadBatch(List<IInstanceProfile> batch) {
+
+				List<Loader> loaders = new ArrayList<Loader>();
+
+				for (IInstanceProfile profile : batch) {
+
+					registerReloadedProfile(profile);
+					loaders.add(new Loader(profile));
+				}
+
+				for (Future<ReloadedInstance> reload : pool.invokeAll(loaders)) {
+
+					processReload(getReloaded(reload));
+				}
+			}
+
+			private ReloadedInstance getReloaded(Future<ReloadedInstance> reload) {
+
+				try {
+
+					return reload.get();
+				}
+				catch (InterruptedException e) {
+
+					Thread.currentThread().interrupt();
+
+					throw new KSystemConfigException("Store reload interrupted");
+				}
+				catch (ExecutionException e) {
+
+					Throwable cause = e.getCause();
+
+					if (cause instanceof RuntimeException) {
+
+						throw (RuntimeException)cause;
+					}
+
+					throw new KSystemConfigException("Store reload failed: " + cause);
+				}
+			}
+
+			private List<List<IInstanceProfile>> toBatches(List<IInstanceProfile> profiles) {
+
+				List<List<IInstanceProfile>> batches = new ArrayList<List<IInstanceProfile>>();
+				int size = profiles.size();
+
+				for (int i = 0 ; i < size ; i += PARALLEL_RELOAD_BATCH_SIZE) {
+
+					int end = Math.min(i + PARALLEL_RELOAD_BATCH_SIZE, size);
+
+					batches.add(profiles.subList(i, end));
+				}
+
+				return batches;
+			}
+		}
+
 		Initialiser(IMatcherConfig matcherConfig) {
 
 			initialiseMatchers(matcherConfig);
@@ -75,31 +205,61 @@ class IDiskStore implements IStore {
 
 		private void reloadInstances() {
 
-			for (IInstanceProfile profile : serialiser.resolveStoredProfiles()) {
+			List<IInstanceProfile> profiles = serialiser.resolveStoredProfiles();
+			boolean completed = false;
+
+			try {
+
+				startMatcherBatches();
+
+				if (reloadParallelism > 1) {
+
+					new ParallelReloader(profiles);
+				}
+				else {
 
-				reloadInstance(profile);
+					for (IInstanceProfile profile : profiles) {
+
+						reloadInstance(profile);
+					}
+				}
+
+				completed = true;
+			}
+			finally {
+
+				endMatcherBatches(completed);
 			}
 		}
 
 		private void reloadInstance(IInstanceProfile profile) {
 
+			registerReloadedProfile(profile);
+			processReload(new ReloadedInstance(profile));
+		}
+
+		private void registerReloadedProfile(IInstanceProfile profile) {
+
 			CIdentity identity = profile.getInstanceIdentity();
 			IRegenType regenType = createRegenType(profile.getTypeIdentity());
-			int index = profile.getIndex();
 
-			indexes.assignIndex(identity, index);
+			indexes.assignIndex(identity, profile.getIndex());
 			identities.add(identity);
 			regenTypes.put(identity, regenType);
 
 			refIntegrityManager.onReloadedInstance(identity, profile);
+		}
 
-			IRegenInstance regen = load(identity, index, false);
+		private void processReload(ReloadedInstance reloaded) {
+
+			CIdentity identity = reloaded.identity;
+			IRegenInstance regen = reloaded.regen;
 
 			logRegen(identity, regen);
 
-			if (regen.getStatus() != IRegenStatus.FULLY_INVALID) {
+			if (reloaded.freeCopy != null) {
 
-				addToMatcher(regen.getRootFrame(), identity);
+				getMatcher(regen.getRootFrame()).add(reloaded.freeCopy, identity);
 			}
 		}
 
@@ -120,47 +280,140 @@ class IDiskStore implements IStore {
 		}
 	}
 
-	public synchronized IFrame add(IFrame instance, CIdentity identity) {
+	public IFrame add(IFrame instance, CIdentity identity) {
 
-		IFrame previous = checkRemove(identity);
-		int index = indexes.assignIndex(identity);
+		awaitInstanceUpdates();
+		writeLock.lock();
 
-		identities.add(identity);
-		regenTypes.put(identity, createRegenType(instance));
+		try {
 
-		serialiser.write(instance, identity, index);
+			IFrame previous = checkRemove(identity);
+			int index = indexes.assignIndex(identity);
 
-		refIntegrityManager.onAddedInstance(instance, identity);
-		addToMatcher(instance, identity);
+			identities.add(identity);
+			regenTypes.put(identity, createRegenType(instance));
 
-		return previous;
-	}
+			try {
 
-	public synchronized boolean remove(CIdentity identity) {
+				serialiser.write(instance, identity, index);
+				addToMatcher(instance, identity);
+			}
+			catch (RuntimeException e) {
+
+				discardFailedAdd(identity, index);
 
-		if (checkRemove(identity) != null) {
+				throw e;
+			}
 
-			refIntegrityManager.onRemovedInstance(identity);
+			refIntegrityManager.onAddedInstance(instance, identity);
 
-			return true;
+			return previous;
 		}
+		finally {
 
-		return false;
+			writeLock.unlock();
+		}
 	}
 
-	public synchronized boolean clear() {
+	public boolean remove(CIdentity identity) {
 
-		if (identities.isEmpty()) {
+		writeLock.lock();
+
+		try {
+
+			if (checkRemove(identity) != null) {
+
+				refIntegrityManager.onRemovedInstance(identity);
+
+				return true;
+			}
 
 			return false;
 		}
+		finally {
+
+			writeLock.unlock();
+		}
+	}
+
+	public Map<CIdentity, IFrame> addAll(Map<CIdentity, IFrame> instances) {
+
+		Map<CIdentity, IFrame> replaced = new HashMap<CIdentity, IFrame>();
+		boolean completed = false;
+
+		awaitInstanceUpdates();
+		writeLock.lock();
+
+		try {
+
+			startMatcherBatches();
+
+			for (Map.Entry<CIdentity, IFrame> entry : instances.entrySet()) {
+
+				CIdentity identity = entry.getKey();
+				IFrame previous = add(entry.getValue(), identity);
+
+				if (previous != null) {
+
+					replaced.put(identity, previous);
+				}
+			}
+
+			completed = true;
+
+			return replaced;
+		}
+		finally {
+
+			endMatcherBatches(completed);
+			writeLock.unlock();
+		}
+	}
+
+	public boolean removeAll(Collection<CIdentity> identities) {
+
+		boolean anyRemoved = false;
+		boolean completed = false;
+
+		writeLock.lock();
+
+		try {
+
+			startMatcherBatches();
+
+			for (CIdentity identity : identities) {
+
+				anyRemoved |= remove(identity);
+			}
+
+			completed = true;
+
+			return anyRemoved;
+		}
+		finally {
+
+			endMatcherBatches(completed);
+			writeLock.unlock();
+		}
+	}
+
+	public boolean clear() {
+
+		writeLock.lock();
+
+		try {
+
+			if (identities.isEmpty()) {
 
-		for (CIdentity identity : getAllIdentities()) {
+				return false;
+			}
 
-			remove(identity);
+			return removeAll(getAllIdentities());
 		}
+		finally {
 
-		return true;
+			writeLock.unlock();
+		}
 	}
 
 	public CModel getModel() {
@@ -173,50 +426,120 @@ class IDiskStore implements IStore {
 		return regenReport;
 	}
 
-	public synchronized boolean contains(CIdentity identity) {
+	public boolean contains(CIdentity identity) {
+
+		readLock.lock();
 
-		return indexes.hasIndex(identity);
+		try {
+
+			return indexes.hasIndex(identity);
+		}
+		finally {
+
+			readLock.unlock();
+		}
 	}
 
-	public synchronized IRegenType getType(CIdentity identity) {
+	public IRegenType getType(CIdentity identity) {
+
+		readLock.lock();
+
+		try {
 
-		return regenTypes.get(identity);
+			return regenTypes.get(identity);
+		}
+		finally {
+
+			readLock.unlock();
+		}
 	}
 
-	public synchronized IRegenInstance get(CIdentity identity) {
+	public IRegenInstance get(CIdentity identity) {
+
+		readLock.lock();
+
+		try {
+
+			Integer index = indexes.getIndexOrNull(identity);
+
+			return index != null ? loadViaCache(identity, index) : null;
+		}
+		finally {
 
-		return indexes.hasIndex(identity) ? load(identity, false) : null;
+			readLock.unlock();
+		}
 	}
 
-	public synchronized List<CIdentity> getAllIdentities() {
+	public List<CIdentity> getAllIdentities() {
+
+		readLock.lock();
+
+		try {
+
+			return new ArrayList<CIdentity>(identities);
+		}
+		finally {
 
-		return new ArrayList<CIdentity>(identities);
+			readLock.unlock();
+		}
 	}
 
-	public synchronized IMatches match(IFrame query) {
+	public IMatches match(IFrame query) {
+
+		awaitInstanceUpdates();
 
 		query = createFreeCopy(query);
 
-		IMatches matches = getMatcher(query).match(query);
+		readLock.lock();
+
+		try {
+
+			IMatches matches = match(getMatcher(query), query);
+
+			indexes.ensureOriginalLabelsInMatches(matches);
+
+			return matches;
+		}
+		finally {
+
+			readLock.unlock();
+		}
+	}
+
+	public IMatches match(IFrame query, int maxMatches) {
+
+		return openMatchesCursor(query).getNextMatches(maxMatches);
+	}
 
-		indexes.ensureOriginalLabelsInMatches(matches);
+	public IMatchesCursor openMatchesCursor(IFrame query) {
 
-		return matches;
+		return new IBufferedMatchesCursor(match(query));
 	}
 
-	public synchronized boolean matches(IFrame query, IFrame instance) {
+	public boolean matches(IFrame query, IFrame instance) {
+
+		awaitInstanceUpdates();
 
 		query = createFreeCopy(query);
 		instance = createFreeCopy(instance);
 
-		IMatcher matcher = getMatcher(query);
+		readLock.lock();
 
-		if (matcher != getMatcher(instance)) {
+		try {
 
-			return false;
+			IMatcher matcher = getMatcher(query);
+
+			if (matcher != getMatcher(instance)) {
+
+				return false;
+			}
+
+			return matches(matcher, query, instance);
 		}
+		finally {
 
-		return matcher.matches(query, instance);
+			readLock.unlock();
+		}
 	}
 
 	IDiskStore(CModel model) {
@@ -228,12 +551,27 @@ class IDiskStore implements IStore {
 
 		this.model = model;
 
-		serialiser = new StoreSerialiser(model, structure);
+		serialiser = StoreSerialiser.create(model, structure);
 		logFile = new LogFile(structure.getMainDirectory());
 		regenReport = new IStoreActiveRegenReport(logFile.getFile());
 		refIntegrityManager = new InstanceRefIntegrityManager(this);
 	}
 
+	void setReloadParallelism(int reloadParallelism) {
+
+		this.reloadParallelism = reloadParallelism;
+	}
+
+	void setInstanceCacheSize(int maxSize) {
+
+		cache = new InstanceCache(maxSize);
+	}
+
+	IInstanceCacheStats getInstanceCacheStats() {
+
+		return cache.getStats();
+	}
+
 	void addMatchers(Collection<IMatcher> matchers) {
 
 		this.matchers.addAll(matchers);
@@ -256,18 +594,30 @@ class IDiskStore implements IStore {
 
 	void stop() {
 
-		for (IMatcher matcher : matchers) {
+		writeLock.lock();
+
+		try {
 
-			matcher.stop();
+			for (IMatcher matcher : matchers) {
+
+				matcher.stop();
+			}
+
+			matchers.clear();
+
+			serialiser.stop();
 		}
+		finally {
 
-		matchers.clear();
+			writeLock.unlock();
+		}
 	}
 
 	void update(IFrame instance, CIdentity identity) {
 
 		int index = indexes.getIndex(identity);
 
+		cache.remove(identity);
 		removeFromMatcher(instance, identity);
 
 		serialiser.remove(index);
@@ -296,20 +646,76 @@ class IDiskStore implements IStore {
 		int index = indexes.getIndex(identity);
 		IFrame removed = regenOrNull(identity, index, false);
 
-		if (removed != null) {
+		try {
+
+			if (removed != null) {
 
-			removeFromMatcher(removed, identity);
+				removeFromMatcher(removed, identity);
+			}
 		}
+		finally {
 
-		serialiser.remove(index);
-		indexes.freeIndex(identity);
+			serialiser.remove(index);
+			indexes.freeIndex(identity);
+			cache.remove(identity);
+		}
 
 		return removed;
 	}
 
 	private IFrame regenOrNull(CIdentity identity, int index, boolean freeInstance) {
 
-		IRegenInstance regen = load(identity, index, freeInstance);
+		if (freeInstance) {
+
+			return regenFreeOrNull(identity, index);
+		}
+
+		return getRootFrameOrNull(loadViaCache(identity, index));
+	}
+
+	private IFrame regenFreeOrNull(CIdentity identity, int index) {
+
+		synchronized (regenLock) {
+
+			IFrame instance = cache.getFreeInstanceOrNull(identity);
+
+			if (instance == null) {
+
+				instance = getRootFrameOrNull(load(identity, index, true));
+
+				if (instance != null) {
+
+					cache.checkAddFreeInstance(identity, instance);
+				}
+			}
+
+			return instance;
+		}
+	}
+
+	private IRegenInstance loadViaCache(CIdentity identity, int index) {
+
+		synchronized (regenLock) {
+
+			IRegenInstance regen = cache.getRegenOrNull(identity);
+
+			if (regen == null) {
+
+				regen = load(identity, index, false);
+
+				cache.checkAddRegen(identity, regen);
+			}
+
+			return regen;
+		}
+	}
+
+	private IRegenInstance load(CIdentity identity, int index, boolean freeInstance) {
+
+		return serialiser.read(identity, index, freeInstance);
+	}
+
+	private IFrame getRootFrameOrNull(IRegenInstance regen) {
 
 		if (regen.getStatus() == IRegenStatus.FULLY_INVALID) {
 
@@ -319,14 +725,102 @@ class IDiskStore implements IStore {
 		return regen.getRootFrame();
 	}
 
-	private IRegenInstance load(CIdentity identity, boolean freeInstance) {
+	private IMatches match(IMatcher matcher, IFrame query) {
+
+		if (matcher instanceof IConcurrentMatcher) {
+
+			return matcher.match(query);
+		}
+
+		synchronized (matcher) {
 
-		return load(identity, indexes.getIndex(identity), freeInstance);
+			return matcher.match(query);
+		}
 	}
 
-	private IRegenInstance load(CIdentity identity, int index, boolean freeInstance) {
+	private boolean matches(IMatcher matcher, IFrame query, IFrame instance) {
 
-		return serialiser.read(identity, index, freeInstance);
+		if (matcher instanceof IConcurrentMatcher) {
+
+			return matcher.matches(query, instance);
+		}
+
+		synchronized (matcher) {
+
+			return matcher.matches(query, instance);
+		}
+	}
+
+	private void startMatcherBatches() {
+
+		for (IMatcher matcher : getAllMatchers()) {
+
+			if (matcher instanceof IBatchMatcher) {
+
+				IBatchMatcher batchMatcher = (IBatchMatcher)matcher;
+
+				batchMatcher.startBatch();
+				batchingMatchers.add(batchMatcher);
+			}
+		}
+	}
+
+	private void endMatcherBatches(boolean completed) {
+
+		RuntimeException failure = null;
+
+		for (IBatchMatcher matcher : batchingMatchers) {
+
+			try {
+
+				endMatcherBatch(matcher, completed);
+			}
+			catch (RuntimeException e) {
+
+				if (failure == null) {
+
+					failure = e;
+				}
+			}
+		}
+
+		batchingMatchers.clear();
+
+		if (failure != null && completed) {
+
+			throw failure;
+		}
+	}
+
+	private void endMatcherBatch(IBatchMatcher matcher, boolean completed) {
+
+		if (completed) {
+
+			matcher.endBatch();
+		}
+		else {
+
+			matcher.failBatch();
+		}
+	}
+
+	private List<IMatcher> getAllMatchers() {
+
+		List<IMatcher> allMatchers = new ArrayList<IMatcher>(matchers);
+
+		allMatchers.add(defaultMatcher);
+
+		return allMatchers;
+	}
+
+	private void discardFailedAdd(CIdentity identity, int index) {
+
+		identities.remove(identity);
+		regenTypes.remove(identity);
+
+		serialiser.remove(index);
+		indexes.freeIndex(identity);
+		cache.remove(identity);
 	}
 
 	private void addToMatcher(IFrame instance, CIdentity identity) {
@@ -369,6 +863,11 @@ class IDiskStore implements IStore {
 		return type != null ? new IRegenValidType(type) : new IRegenInvalidType(typeId);
 	}
 
+	private void awaitInstanceUpdates() {
+
+		model.getIUpdating().awaitQuiescence();
+	}
+
 	private IFrame createFreeCopy(IFrame instance) {
 
 		return IFreeCopier.get().createFreeCopy(instance);
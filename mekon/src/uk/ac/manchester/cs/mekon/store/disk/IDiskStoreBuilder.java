@@ -48,6 +48,9 @@ public class IDiskStoreBuilder {
 
 	private StoreStructureBuilder structureBldr = new StoreStructureBuilder();
 
+	private int reloadParallelism = 1;
+	private int instanceCacheSize = 0;
+
 	private List<IMatcher> matchers = new ArrayList<IMatcher>();
 
 	private List<IValueMatchCustomiser> valueMatchCustomisers
@@ -77,6 +80,49 @@ public class IDiskStoreBuilder {
 		structureBldr.setDefaultNamedMainDirectory(parentDir);
 	}
 
+	/**
+	 * Sets the format in which the instance-store will be serialised.
+	 * Defaults to {@link IDiskStoreFormat#MULTI_FILE}.
+	 *
+	 * @param format Relevant serialisation format
+	 */
+	public void setStoreFormat(IDiskStoreFormat format) {
+
+		structureBldr.setFormat(format);
+	}
+
+	/**
+	 * Sets the maximum number of threads to be used for parsing the
+	 * stored instances when the store is reloaded at start-up. Profiles
+	 * will still be processed, and indexes assigned, in the stored order,
+	 * and all matcher insertions and logging will be performed on the
+	 * calling thread. Values greater than 1 should only be used when the
+	 * instantiation of frames from the model is thread-safe. By default
+	 * reloading will be sequential.
+	 *
+	 * @param reloadParallelism Maximum number of reload threads
+	 */
+	public void setReloadParallelism(int reloadParallelism) {
+
+		this.reloadParallelism = Math.max(1, reloadParallelism);
+	}
+
+	/**
+	 * Sets the maximum number of regenerated instances to be held in
+	 * the store's instance-cache, with the least recently used instances
+	 * being discarded first. Standard and free versions of instances are
+	 * cached separately, with each being subject to the specified limit.
+	 * Cached instances are never handed out directly, only copies. By
+	 * default the cache is disabled.
+	 *
+	 * @param instanceCacheSize Maximum number of cached instances of each
+	 * type, or zero if no caching is required
+	 */
+	public void setInstanceCacheSize(int instanceCacheSize) {
+
+		this.instanceCacheSize = Math.max(0, instanceCacheSize);
+	}
+
 	/**
 	 * Adds a sub-component of the main instance-store, within
 	 * which instances of the specified types will be stored.
@@ -189,6 +235,38 @@ public class IDiskStoreBuilder {
 		return structureBldr.getMainDirectory();
 	}
 
+	/**
+	 * Provides the format for instance-store serialisation.
+	 *
+	 * @return Relevant serialisation format
+	 */
+	public IDiskStoreFormat getStoreFormat() {
+
+		return structureBldr.getFormat();
+	}
+
+	/**
+	 * Provides the maximum number of threads to be used for reloading
+	 * the stored instances at start-up.
+	 *
+	 * @return Maximum number of reload threads
+	 */
+	public int getReloadParallelism() {
+
+		return reloadParallelism;
+	}
+
+	/**
+	 * Provides the maximum number of regenerated instances of each type
+	 * to be held in the store's instance-cache.
+	 *
+	 * @return Maximum number of cached instances of each type
+	 */
+	public int getInstanceCacheSize() {
+
+		return instanceCacheSize;
+	}
+
 	/**
 	 * Provides all matchers that have been registered.
 	 *
@@ -211,6 +289,8 @@ public class IDiskStoreBuilder {
 
 		StoreRegister.add(store);
 
+		store.setReloadParallelism(reloadParallelism);
+		store.setInstanceCacheSize(instanceCacheSize);
 		store.addMatchers(matchers);
 		store.initialisePostRegistration(valueMatchCustomisers);
 
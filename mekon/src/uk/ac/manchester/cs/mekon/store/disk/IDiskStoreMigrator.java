@@ -0,0 +1,201 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+import java.io.*;
+import java.nio.file.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon_util.config.*;
+
+/**
+ * Converts disk-based instance-stores from the {@link
+ * IDiskStoreFormat#MULTI_FILE} format to the {@link
+ * IDiskStoreFormat#SEGMENT_FILE} format. The conversion operates
+ * directly on the serialised profiles and instances, and hence
+ * does not require access to the relevant model.
+ * <p>
+ * The segment-file is built under a temporary name and only moved
+ * into place once complete, after which the original files are
+ * deleted. Any store-directory that already contains a segment-file
+ * will be left untouched.
+ * <p>
+ * Conversion will be performed automatically when a store that is
+ * configured with the segment-file format is first built. It can
+ * also be performed off-line via the {@link #main} method.
+ *
+ * @author Colin Puleston
+ */
+public class IDiskStoreMigrator implements IDiskStoreNames {
+
+	/**
+	 * Converts the store in the directory specified by the single
+	 * argument.
+	 *
+	 * @param args Single argument specifying store-directory
+	 */
+	static public void main(String[] args) {
+
+		if (args.length != 1) {
+
+			System.out.println("Usage: IDiskStoreMigrator <store-directory>");
+
+			return;
+		}
+
+		if (!migrateToSegmentFile(new File(args[0]))) {
+
+			System.out.println("No conversion required");
+		}
+	}
+
+	/**
+	 * Converts the store in the specified directory, including any
+	 * sub-stores, if the directory contains a multi-file format store
+	 * but no segment-file.
+	 *
+	 * @param storeDirectory Main directory for store
+	 * @return True if conversion was performed
+	 */
+	static public boolean migrateToSegmentFile(File storeDirectory) {
+
+		File segmentFile = getSegmentFile(storeDirectory);
+
+		if (segmentFile.exists()) {
+
+			return false;
+		}
+
+		List<StoreDirectory> storeDirs = findStoreDirectories(storeDirectory);
+
+		if (storeDirs.isEmpty()) {
+
+			return false;
+		}
+
+		File migrationFile = new File(storeDirectory, SEGMENT_FILE_NAME + MIGRATION_FILE_SUFFIX);
+
+		if (migrationFile.exists() && !migrationFile.delete()) {
+
+			throw new KSystemConfigException("Cannot delete file: " + migrationFile);
+		}
+
+		writeSegment(migrationFile, storeDirs);
+		moveFile(migrationFile, segmentFile);
+
+		for (StoreDirectory storeDir : storeDirs) {
+
+			storeDir.clear();
+		}
+
+		return true;
+	}
+
+	static File getSegmentFile(File storeDirectory) {
+
+		return new File(storeDirectory, SEGMENT_FILE_NAME);
+	}
+
+	static private List<StoreDirectory> findStoreDirectories(File storeDirectory) {
+
+		List<StoreDirectory> storeDirs = new ArrayList<StoreDirectory>();
+
+		if (storeDirectory.isDirectory()) {
+
+			checkAddStoreDirectory(storeDirs, storeDirectory);
+
+			for (File subDirectory : storeDirectory.listFiles()) {
+
+				if (subDirectory.isDirectory()) {
+
+					checkAddStoreDirectory(storeDirs, subDirectory);
+				}
+			}
+		}
+
+		return storeDirs;
+	}
+
+	static private void checkAddStoreDirectory(List<StoreDirectory> storeDirs, File directory) {
+
+		StoreDirectory storeDir = new StoreDirectory(directory);
+
+		if (storeDir.getAllProfileFiles().length != 0) {
+
+			storeDirs.add(storeDir);
+		}
+	}
+
+	static private void writeSegment(File file, List<StoreDirectory> storeDirs) {
+
+		StoreSegment segment = new StoreSegment(file);
+		Set<Integer> migratedIndices = new HashSet<Integer>();
+
+		segment.setSyncOnWrite(false);
+		segment.open();
+
+		for (StoreDirectory storeDir : storeDirs) {
+
+			for (File pFile : storeDir.getAllProfileFiles()) {
+
+				int index = storeDir.getProfileFileIndex(pFile);
+				File iFile = storeDir.getInstanceFile(index);
+
+				if (iFile.exists() && migratedIndices.add(index)) {
+
+					segment.put(index, readFile(pFile), readFile(iFile));
+				}
+			}
+		}
+
+		segment.sync();
+		segment.close();
+	}
+
+	static private byte[] readFile(File file) {
+
+		try {
+
+			return Files.readAllBytes(file.toPath());
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	static private void moveFile(File from, File to) {
+
+		try {
+
+			Files.move(from.toPath(), to.toPath(), StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+}
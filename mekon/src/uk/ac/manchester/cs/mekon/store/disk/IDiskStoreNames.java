@@ -39,6 +39,10 @@ public interface IDiskStoreNames {
 	static public final String INSTANCE_FILE_PREFIX = "INSTANCE-";
 	static public final String STORE_FILE_SUFFIX = ".xml";
 
+	static public final String SEGMENT_FILE_NAME = "STORE.seg";
+	static public final String COMPACTION_FILE_SUFFIX = ".compact";
+	static public final String MIGRATION_FILE_SUFFIX = ".migrate";
+
 	static String queriesSubDirName(String subStoreName) {
 
 		return subStoreName + "-queries";
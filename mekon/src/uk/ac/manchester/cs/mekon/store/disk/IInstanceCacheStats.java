@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+/**
+ * Snapshot of the usage statistics for the cache of regenerated
+ * instances maintained by a disk-based instance-store (see {@link
+ * IDiskStoreBuilder#setInstanceCacheSize}).
+ *
+ * @author Colin Puleston
+ */
+public class IInstanceCacheStats {
+
+	private int maxSize;
+	private int cachedInstances;
+	private int cachedFreeInstances;
+
+	private long hits;
+	private long misses;
+
+	/**
+	 * Provides the maximum number of instances of each type (standard
+	 * or free) that can be held in the cache.
+	 *
+	 * @return Maximum size of cache, or zero if cache disabled
+	 */
+	public int getMaxSize() {
+
+		return maxSize;
+	}
+
+	/**
+	 * Provides the number of standard (i.e. non-free) instances
+	 * currently held in the cache.
+	 *
+	 * @return Number of cached standard instances
+	 */
+	public int getCachedInstances() {
+
+		return cachedInstances;
+	}
+
+	/**
+	 * Provides the number of free instances currently held in the
+	 * cache.
+	 *
+	 * @return Number of cached free instances
+	 */
+	public int getCachedFreeInstances() {
+
+		return cachedFreeInstances;
+	}
+
+	/**
+	 * Provides the number of instance retrievals that have been
+	 * satisfied from the cache.
+	 *
+	 * @return Number of cache hits
+	 */
+	public long getHits() {
+
+		return hits;
+	}
+
+	/**
+	 * Provides the number of instance retrievals that have required
+	 * the instance to be regenerated from its serialised form.
+	 *
+	 * @return Number of cache misses
+	 */
+	public long getMisses() {
+
+		return misses;
+	}
+
+	IInstanceCacheStats(
+		int maxSize,
+		int cachedInstances,
+		int cachedFreeInstances,
+		long hits,
+		long misses) {
+
+		this.maxSize = maxSize;
+		this.cachedInstances = cachedInstances;
+		this.cachedFreeInstances = cachedFreeInstances;
+		this.hits = hits;
+		this.misses = misses;
+	}
+}
@@ -47,6 +47,44 @@ public class IProfileSerialiser extends FSerialiser implements IProfileSerialise
 	 */
 	static public void render(IInstanceProfile profile, File file) {
 
+		render(profile).writeToFile(file);
+	}
+
+	/**
+	 * Renders instance-profile information to output-stream.
+	 *
+	 * @param profile instance-profile information to be rendered
+	 * @param output Output-stream to render to
+	 */
+	static public void render(IInstanceProfile profile, OutputStream output) {
+
+		render(profile).writeToOutput(output);
+	}
+
+	/**
+	 * Parses instance-profile information from file.
+	 *
+	 * @param file File to parse from
+	 * @return parsed instance-profile information
+	 */
+	static public IInstanceProfile parse(File file) {
+
+		return parse(new XDocument(file));
+	}
+
+	/**
+	 * Parses instance-profile information from input-stream.
+	 *
+	 * @param input Input-stream to parse from
+	 * @return parsed instance-profile information
+	 */
+	static public IInstanceProfile parse(InputStream input) {
+
+		return parse(new XDocument(input));
+	}
+
+	static private XDocument render(IInstanceProfile profile) {
+
 		XDocument document = new XDocument(ROOT_ID);
 
 		XNode rootNode = document.getRootNode();
@@ -64,18 +102,12 @@ public class IProfileSerialiser extends FSerialiser implements IProfileSerialise
 
 		rootNode.setValue(FUNCTION_ATTR, profile.getFunction());
 
-		document.writeToFile(file);
+		return document;
 	}
 
-	/**
-	 * Parses instance-profile information from file.
-	 *
-	 * @param file File to parse from
-	 * @return parsed instance-profile information
-	 */
-	static public IInstanceProfile parse(File file) {
+	static private IInstanceProfile parse(XDocument document) {
 
-		XNode rootNode = new XDocument(file).getRootNode();
+		XNode rootNode = document.getRootNode();
 		XNode typeNode = rootNode.getChild(TYPE_ID);
 
 		return new IInstanceProfile(
@@ -0,0 +1,153 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
+import uk.ac.manchester.cs.mekon.store.*;
+import uk.ac.manchester.cs.mekon.store.motor.*;
+import uk.ac.manchester.cs.mekon_util.*;
+
+/**
+ * @author Colin Puleston
+ */
+class InstanceCache {
+
+	private int maxSize;
+
+	private KLRUMap<CIdentity, IRegenInstance> regens;
+	private KLRUMap<CIdentity, IFrame> freeInstances;
+
+	private long hits = 0;
+	private long misses = 0;
+
+	InstanceCache(int maxSize) {
+
+		this.maxSize = maxSize;
+
+		regens = new KLRUMap<CIdentity, IRegenInstance>(maxSize);
+		freeInstances = new KLRUMap<CIdentity, IFrame>(maxSize);
+	}
+
+	synchronized IRegenInstance getRegenOrNull(CIdentity identity) {
+
+		if (!enabled()) {
+
+			return null;
+		}
+
+		IRegenInstance master = regens.get(identity);
+
+		if (recordLookup(master) == null) {
+
+			return null;
+		}
+
+		if (master.getStatus() == IRegenStatus.FULLY_INVALID) {
+
+			return master;
+		}
+
+		return new IRegenValidInstance(master.getRootFrame().copy());
+	}
+
+	synchronized IFrame getFreeInstanceOrNull(CIdentity identity) {
+
+		if (!enabled()) {
+
+			return null;
+		}
+
+		IFrame master = freeInstances.get(identity);
+
+		if (recordLookup(master) == null) {
+
+			return null;
+		}
+
+		return IFreeCopier.get().createFreeCopy(master);
+	}
+
+	synchronized void checkAddRegen(CIdentity identity, IRegenInstance regen) {
+
+		if (enabled() && regen.getStatus() != IRegenStatus.PARTIALLY_VALID) {
+
+			regens.put(identity, copyRegen(regen));
+		}
+	}
+
+	synchronized void checkAddFreeInstance(CIdentity identity, IFrame instance) {
+
+		if (enabled()) {
+
+			freeInstances.put(identity, IFreeCopier.get().createFreeCopy(instance));
+		}
+	}
+
+	synchronized void remove(CIdentity identity) {
+
+		regens.remove(identity);
+		freeInstances.remove(identity);
+	}
+
+	synchronized IInstanceCacheStats getStats() {
+
+		return new IInstanceCacheStats(
+						maxSize,
+						regens.size(),
+						freeInstances.size(),
+						hits,
+						misses);
+	}
+
+	private boolean enabled() {
+
+		return maxSize > 0;
+	}
+
+	private <M>M recordLookup(M master) {
+
+		if (master != null) {
+
+			hits++;
+		}
+		else {
+
+			misses++;
+		}
+
+		return master;
+	}
+
+	private IRegenInstance copyRegen(IRegenInstance regen) {
+
+		if (regen.getStatus() == IRegenStatus.FULLY_INVALID) {
+
+			return regen;
+		}
+
+		return new IRegenValidInstance(regen.getRootFrame().copy());
+	}
+}
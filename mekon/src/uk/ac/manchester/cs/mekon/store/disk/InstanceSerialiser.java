@@ -38,26 +38,59 @@ class InstanceSerialiser {
 
 	private CModel model;
 	private IInstanceRenderer renderer = new IInstanceRenderer();
+	private IInstanceStringPool stringPool;
 
-	InstanceSerialiser(CModel model) {
+	private boolean binaryOutput;
+
+	InstanceSerialiser(CModel model, boolean binaryOutput) {
 
 		this.model = model;
+		this.binaryOutput = binaryOutput;
+
+		stringPool = new IInstanceStringPool(model);
 	}
 
 	void render(IFrame instance, File file) {
 
-		renderer.render(new IInstanceRenderInput(instance)).writeToFile(file);
+		render(instance).writeToFile(file);
+	}
+
+	void render(IFrame instance, OutputStream output) {
+
+		XDocument document = render(instance);
+
+		if (binaryOutput) {
+
+			document.writeToBinaryOutput(output);
+		}
+		else {
+
+			document.writeToOutput(output);
+		}
 	}
 
 	IRegenInstance parse(CIdentity identity, File file, boolean freeInstance) {
 
+		return parse(new XDocument(file), freeInstance);
+	}
+
+	IRegenInstance parse(CIdentity identity, InputStream input, boolean freeInstance) {
+
+		return parse(stringPool.read(input), freeInstance);
+	}
+
+	private XDocument render(IFrame instance) {
+
+		return renderer.render(new IInstanceRenderInput(instance));
+	}
+
+	private IRegenInstance parse(XDocument document, boolean freeInstance) {
+
 		IInstanceParser parser = new IInstanceParser(model);
 
 		parser.setFreeInstances(freeInstance);
 		parser.setPossibleModelUpdates(true);
 
-		IInstanceParseInput input = new IInstanceParseInput(new XDocument(file));
-
-		return parser.parse(input);
+		return parser.parse(new IInstanceParseInput(document));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+import java.io.*;
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.store.*;
+
+/**
+ * @author Colin Puleston
+ */
+class SegmentStoreSerialiser extends StoreSerialiser {
+
+	private StoreSegment segment;
+
+	SegmentStoreSerialiser(CModel model, StoreStructure structure) {
+
+		super(model, true);
+
+		File mainDirectory = structure.getMainDirectory();
+
+		IDiskStoreMigrator.migrateToSegmentFile(mainDirectory);
+
+		segment = new StoreSegment(IDiskStoreMigrator.getSegmentFile(mainDirectory));
+		segment.open();
+	}
+
+	void write(IFrame instance, CIdentity identity, int index) {
+
+		IInstanceProfile profile = createProfile(instance, identity);
+
+		ByteArrayOutputStream pOutput = new ByteArrayOutputStream();
+		ByteArrayOutputStream iOutput = new ByteArrayOutputStream();
+
+		IProfileSerialiser.render(profile, pOutput);
+		getInstanceSerialiser().render(instance, iOutput);
+
+		getSegment().put(index, pOutput.toByteArray(), iOutput.toByteArray());
+	}
+
+	IRegenInstance read(CIdentity identity, int index, boolean freeInstance) {
+
+		InputStream input = new ByteArrayInputStream(getSegment().readInstance(index));
+
+		return getInstanceSerialiser().parse(identity, input, freeInstance);
+	}
+
+	CIdentity readTypeId(int index) {
+
+		return readProfile(index).getTypeIdentity();
+	}
+
+	void remove(int index) {
+
+		getSegment().remove(index);
+	}
+
+	void clear() {
+
+		getSegment().clear();
+	}
+
+	List<IInstanceProfile> resolveStoredProfiles() {
+
+		List<IInstanceProfile> profiles = new ArrayList<IInstanceProfile>();
+
+		getSegment().checkCompact();
+
+		for (int index : getSegment().getIndexes()) {
+
+			IInstanceProfile profile = readProfile(index);
+
+			if (getTypeOrNull(profile) != null) {
+
+				profile.setIndex(index);
+				profiles.add(profile);
+			}
+		}
+
+		return profiles;
+	}
+
+	void stop() {
+
+		segment.close();
+	}
+
+	private IInstanceProfile readProfile(int index) {
+
+		byte[] profile = getSegment().readProfile(index);
+
+		return IProfileSerialiser.parse(new ByteArrayInputStream(profile));
+	}
+
+	private StoreSegment getSegment() {
+
+		segment.open();
+
+		return segment;
+	}
+}
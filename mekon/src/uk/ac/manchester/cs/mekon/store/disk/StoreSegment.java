@@ -0,0 +1,525 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.file.*;
+import java.util.*;
+import java.util.zip.*;
+
+import uk.ac.manchester.cs.mekon_util.config.*;
+
+/**
+ * @author Colin Puleston
+ */
+class StoreSegment {
+
+	static private final int RECORD_MARKER = 0x4D4B5347;
+
+	static private final byte PUT_RECORD = 1;
+	static private final byte REMOVE_RECORD = 2;
+
+	static private final int HEADER_SIZE = 21;
+
+	static private final long MIN_COMPACTION_BYTES = 1024 * 1024;
+
+	private File file;
+	private File compactionFile;
+
+	private FileChannel channel = null;
+	private long endPosition = 0;
+	private boolean syncOnWrite = true;
+
+	private SortedMap<Integer, Entry> entries = new TreeMap<Integer, Entry>();
+	private long liveBytes = 0;
+
+	private class Entry {
+
+		private long position;
+		private int profileLength;
+		private int instanceLength;
+
+		Entry(long position, int profileLength, int instanceLength) {
+
+			this.position = position;
+			this.profileLength = profileLength;
+			this.instanceLength = instanceLength;
+		}
+
+		byte[] readProfile() {
+
+			return read(getPayloadPosition(), profileLength);
+		}
+
+		byte[] readInstance() {
+
+			return read(getPayloadPosition() + profileLength, instanceLength);
+		}
+
+		byte[] readRecord() {
+
+			return read(position, getRecordSize());
+		}
+
+		int getRecordSize() {
+
+			return HEADER_SIZE + profileLength + instanceLength;
+		}
+
+		private long getPayloadPosition() {
+
+			return position + HEADER_SIZE;
+		}
+	}
+
+	private class Scanner {
+
+		private long position = 0;
+
+		Scanner() {
+
+			while (scanNextRecord());
+
+			if (position < endPosition) {
+
+				truncate(position);
+			}
+		}
+
+		private boolean scanNextRecord() {
+
+			if (position + HEADER_SIZE > endPosition) {
+
+				return false;
+			}
+
+			ByteBuffer header = readBuffer(position, HEADER_SIZE);
+
+			if (header.getInt() != RECORD_MARKER) {
+
+				return false;
+			}
+
+			byte type = header.get();
+			int index = header.getInt();
+			int profileLength = header.getInt();
+			int instanceLength = header.getInt();
+			int checksum = header.getInt();
+
+			if (!validRecordType(type) || profileLength < 0 || instanceLength < 0) {
+
+				return false;
+			}
+
+			long size = HEADER_SIZE + (long)profileLength + instanceLength;
+
+			if (position + size > endPosition) {
+
+				return false;
+			}
+
+			byte[] profile = read(position + HEADER_SIZE, profileLength);
+			byte[] instance = read(position + HEADER_SIZE + profileLength, instanceLength);
+
+			if (checksum != getChecksum(type, index, profile, instance)) {
+
+				return false;
+			}
+
+			if (type == PUT_RECORD) {
+
+				putEntry(index, new Entry(position, profileLength, instanceLength));
+			}
+			else {
+
+				removeEntry(index);
+			}
+
+			position += size;
+
+			return true;
+		}
+
+		private boolean validRecordType(byte type) {
+
+			return type == PUT_RECORD || type == REMOVE_RECORD;
+		}
+	}
+
+	StoreSegment(File file) {
+
+		this.file = file;
+
+		compactionFile = new File(file.getPath() + IDiskStoreNames.COMPACTION_FILE_SUFFIX);
+	}
+
+	boolean exists() {
+
+		return file.exists();
+	}
+
+	void open() {
+
+		if (channel != null) {
+
+			return;
+		}
+
+		if (compactionFile.exists()) {
+
+			deleteFile(compactionFile);
+		}
+
+		openChannel();
+		new Scanner();
+	}
+
+	void close() {
+
+		if (channel != null) {
+
+			try {
+
+				channel.close();
+			}
+			catch (IOException e) {
+
+				throw new KSystemConfigException(e);
+			}
+
+			channel = null;
+		}
+
+		entries.clear();
+		liveBytes = 0;
+	}
+
+	void setSyncOnWrite(boolean syncOnWrite) {
+
+		this.syncOnWrite = syncOnWrite;
+	}
+
+	void sync() {
+
+		try {
+
+			channel.force(true);
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	void put(int index, byte[] profile, byte[] instance) {
+
+		long position = append(PUT_RECORD, index, profile, instance);
+
+		putEntry(index, new Entry(position, profile.length, instance.length));
+
+		checkCompact();
+	}
+
+	void remove(int index) {
+
+		if (entries.containsKey(index)) {
+
+			append(REMOVE_RECORD, index, new byte[0], new byte[0]);
+			removeEntry(index);
+
+			checkCompact();
+		}
+	}
+
+	void clear() {
+
+		entries.clear();
+		liveBytes = 0;
+
+		truncate(0);
+	}
+
+	boolean contains(int index) {
+
+		return entries.containsKey(index);
+	}
+
+	Set<Integer> getIndexes() {
+
+		return new TreeSet<Integer>(entries.keySet());
+	}
+
+	byte[] readProfile(int index) {
+
+		return getEntry(index).readProfile();
+	}
+
+	byte[] readInstance(int index) {
+
+		return getEntry(index).readInstance();
+	}
+
+	void checkCompact() {
+
+		long deadBytes = endPosition - liveBytes;
+
+		if (deadBytes > liveBytes && deadBytes > MIN_COMPACTION_BYTES) {
+
+			compact();
+		}
+	}
+
+	private void compact() {
+
+		writeCompactionFile();
+
+		close();
+		moveFile(compactionFile, file);
+		open();
+	}
+
+	private void writeCompactionFile() {
+
+		try (FileOutputStream output = new FileOutputStream(compactionFile)) {
+
+			for (Entry entry : entries.values()) {
+
+				output.write(entry.readRecord());
+			}
+
+			output.getChannel().force(true);
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	private long append(byte type, int index, byte[] profile, byte[] instance) {
+
+		long position = endPosition;
+		ByteBuffer record = ByteBuffer.allocate(HEADER_SIZE + profile.length + instance.length);
+
+		record.putInt(RECORD_MARKER);
+		record.put(type);
+		record.putInt(index);
+		record.putInt(profile.length);
+		record.putInt(instance.length);
+		record.putInt(getChecksum(type, index, profile, instance));
+		record.put(profile);
+		record.put(instance);
+		record.flip();
+
+		try {
+
+			while (record.hasRemaining()) {
+
+				channel.write(record, endPosition + record.position());
+			}
+
+			if (syncOnWrite) {
+
+				channel.force(false);
+			}
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+
+		endPosition += record.limit();
+
+		return position;
+	}
+
+	private void putEntry(int index, Entry entry) {
+
+		removeEntry(index);
+
+		entries.put(index, entry);
+		liveBytes += entry.getRecordSize();
+	}
+
+	private void removeEntry(int index) {
+
+		Entry entry = entries.remove(index);
+
+		if (entry != null) {
+
+			liveBytes -= entry.getRecordSize();
+		}
+	}
+
+	private Entry getEntry(int index) {
+
+		Entry entry = entries.get(index);
+
+		if (entry == null) {
+
+			throw new KSystemConfigException("No stored instance with index: " + index);
+		}
+
+		return entry;
+	}
+
+	private byte[] read(long position, int length) {
+
+		return readBuffer(position, length).array();
+	}
+
+	private ByteBuffer readBuffer(long position, int length) {
+
+		ByteBuffer buffer = ByteBuffer.allocate(length);
+
+		try {
+
+			while (buffer.hasRemaining()) {
+
+				if (channel.read(buffer, position + buffer.position()) < 0) {
+
+					throw new KSystemConfigException("Unexpected end of store segment: " + file);
+				}
+			}
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+
+		buffer.flip();
+
+		return buffer;
+	}
+
+	private void truncate(long size) {
+
+		try {
+
+			channel.truncate(size);
+			channel.force(true);
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+
+		endPosition = size;
+	}
+
+	private int getChecksum(byte type, int index, byte[] profile, byte[] instance) {
+
+		CRC32 crc = new CRC32();
+
+		crc.update(type);
+		crc.update(ByteBuffer.allocate(4).putInt(index).array());
+		crc.update(profile);
+		crc.update(instance);
+
+		return (int)crc.getValue();
+	}
+
+	private void openChannel() {
+
+		try {
+
+			File directory = file.getParentFile();
+
+			if (directory != null && !directory.exists() && !directory.mkdirs()) {
+
+				throw new KSystemConfigException("Cannot create store directory: " + directory);
+			}
+
+			channel = FileChannel.open(
+							file.toPath(),
+							StandardOpenOption.CREATE,
+							StandardOpenOption.READ,
+							StandardOpenOption.WRITE);
+
+			endPosition = channel.size();
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+	}
+
+	private void moveFile(File from, File to) {
+
+		try {
+
+			Files.move(
+				from.toPath(),
+				to.toPath(),
+				StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (IOException e) {
+
+			throw new KSystemConfigException(e);
+		}
+
+		syncDirectory(to.getAbsoluteFile().getParentFile());
+	}
+
+	private void syncDirectory(File directory) {
+
+		FileChannel dirChannel = openDirectoryChannelOrNull(directory);
+
+		if (dirChannel != null) {
+
+			try (FileChannel closingChannel = dirChannel) {
+
+				closingChannel.force(true);
+			}
+			catch (IOException e) {
+
+				throw new KSystemConfigException(e);
+			}
+		}
+	}
+
+	private FileChannel openDirectoryChannelOrNull(File directory) {
+
+		try {
+
+			return FileChannel.open(directory.toPath(), StandardOpenOption.READ);
+		}
+		catch (IOException e) {
+
+			return null;
+		}
+	}
+
+	private void deleteFile(File file) {
+
+		if (!file.delete()) {
+
+			throw new KSystemConfigException("Cannot delete file: " + file);
+		}
+	}
+}
@@ -22,120 +22,60 @@
  * THE SOFTWARE.
  */
 
+
 package uk.ac.manchester.cs.mekon.store.disk;
 
-import java.io.*;
-import java.nio.file.*;
 import java.util.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.*;
-import uk.ac.manchester.cs.mekon_util.config.*;
 
 /**
  * @author Colin Puleston
  */
-class StoreSerialiser {
-
-	private CModel model;
-
-	private StoreStructure structure;
-	private InstanceSerialiser instanceSerialiser;
-
-	private StoreDirectory mainDirectory;
-	private Map<String, StoreDirectory> subDirectories = new HashMap<String, StoreDirectory>();
-
-	private List<StoreDirectory> allDirectories = new ArrayList<StoreDirectory>();
-
-	StoreSerialiser(CModel model, StoreStructure structure) {
-
-		this.model = model;
-		this.structure = structure;
+abstract class StoreSerialiser {
 
-		instanceSerialiser = new InstanceSerialiser(model);
-		mainDirectory = createStoreDirectory(structure.getMainDirectory());
+	static StoreSerialiser create(CModel model, StoreStructure structure) {
 
-		for (String subStoreName : structure.getSubStoreNames()) {
+		if (structure.getFormat() == IDiskStoreFormat.SEGMENT_FILE) {
 
-			subDirectories.put(subStoreName, createSubStoreDirectory(subStoreName));
+			return new SegmentStoreSerialiser(model, structure);
 		}
-	}
-
-	void write(IFrame instance, CIdentity identity, int index) {
-
-		IInstanceProfile profile = createProfile(instance, identity);
-		StoreDirectory storeDir = selectStoreDirectory(instance);
-
-		File pFile = storeDir.getProfileFile(index);
-		File iFile = storeDir.getInstanceFile(index);
-
-		IProfileSerialiser.render(profile, pFile);
-		instanceSerialiser.render(instance, iFile);
-	}
-
-	IRegenInstance read(CIdentity identity, int index, boolean freeInstance) {
-
-		File iFile = selectStoreDirectory(index).getInstanceFile(index);
 
-		return instanceSerialiser.parse(identity, iFile, freeInstance);
+		return new DirectoryStoreSerialiser(model, structure);
 	}
 
-	CIdentity readTypeId(int index) {
+	private CModel model;
+	private InstanceSerialiser instanceSerialiser;
 
-		File pFile = selectStoreDirectory(index).getProfileFile(index);
+	StoreSerialiser(CModel model, boolean binaryInstances) {
 
-		return IProfileSerialiser.parse(pFile).getTypeIdentity();
-	}
-
-	void remove(int index) {
+		this.model = model;
 
-		selectStoreDirectory(index).remove(index);
+		instanceSerialiser = new InstanceSerialiser(model, binaryInstances);
 	}
 
-	void clear() {
-
-		for (StoreDirectory directory : allDirectories) {
-
-			directory.clear();
-		}
-	}
+	abstract void write(IFrame instance, CIdentity identity, int index);
 
-	List<IInstanceProfile> resolveStoredProfiles() {
+	abstract IRegenInstance read(CIdentity identity, int index, boolean freeInstance);
 
-		List<IInstanceProfile> profiles = new ArrayList<IInstanceProfile>();
-		Set<Integer> resolvedIndices = new HashSet<Integer>();
+	abstract CIdentity readTypeId(int index);
 
-		for (StoreDirectory dir : allDirectories) {
+	abstract void remove(int index);
 
-			for (File pFile : dir.getAllProfileFiles()) {
+	abstract void clear();
 
-				IInstanceProfile profile = resolveStoredProfile(dir, pFile);
+	abstract List<IInstanceProfile> resolveStoredProfiles();
 
-				if (profile != null && resolvedIndices.add(profile.getIndex())) {
-
-					profiles.add(profile);
-				}
-			}
-		}
-
-		return profiles;
-	}
-
-	private StoreDirectory createSubStoreDirectory(String subStoreName) {
-
-		return createStoreDirectory(structure.getSubDirectory(subStoreName));
+	void stop() {
 	}
 
-	private StoreDirectory createStoreDirectory(File directory) {
-
-		StoreDirectory serialiser = new StoreDirectory(directory);
-
-		allDirectories.add(serialiser);
+	InstanceSerialiser getInstanceSerialiser() {
 
-		return serialiser;
+		return instanceSerialiser;
 	}
 
-	private IInstanceProfile createProfile(IFrame instance, CIdentity identity) {
+	IInstanceProfile createProfile(IFrame instance, CIdentity identity) {
 
 		CIdentity typeId = instance.getType().getIdentity();
 		List<CIdentity> refedIds = instance.getAllReferenceIds();
@@ -144,73 +84,8 @@ class StoreSerialiser {
 		return new IInstanceProfile(identity, typeId, refedIds, function);
 	}
 
-	private IInstanceProfile resolveStoredProfile(StoreDirectory dir, File pFile) {
-
-		IInstanceProfile profile = IProfileSerialiser.parse(pFile);
-		CFrame type = model.getFrames().getOrNull(profile.getTypeIdentity());
-
-		if (type == null) {
-
-			return null;
-		}
-
-		StoreDirectory typeDir = selectStoreDirectory(type, profile.getFunction());
-		int index = dir.getProfileFileIndex(pFile);
-
-		profile.setIndex(index);
-
-		if (typeDir != dir) {
-
-			File toDir = typeDir.getDirectory();
-
-			moveDirectory(toDir, pFile);
-			moveDirectory(toDir, dir.getInstanceFile(index));
-		}
-
-		return profile;
-	}
-
-	private void moveDirectory(File toDir, File fromFile) {
-
-		File toFile = new File(toDir, fromFile.getName());
-
-		try {
-
-			Files.move(toPath(fromFile), toPath(toFile));
-		}
-		catch (IOException e) {
-
-			throw new KSystemConfigException(e);
-		}
-	}
-
-	private Path toPath(File file) {
-
-		return Paths.get(file.getPath());
-	}
-
-	private StoreDirectory selectStoreDirectory(IFrame instance) {
-
-		return selectStoreDirectory(instance.getType(), instance.getFunction());
-	}
-
-	private StoreDirectory selectStoreDirectory(CFrame type, IFrameFunction function) {
-
-		String subStoreName = structure.lookForSubStoreName(type, function);
-
-		return subStoreName != null ? subDirectories.get(subStoreName) : mainDirectory;
-	}
-
-	private StoreDirectory selectStoreDirectory(int index) {
-
-		for (StoreDirectory subDir : subDirectories.values()) {
-
-			if (subDir.contains(index)) {
-
-				return subDir;
-			}
-		}
+	CFrame getTypeOrNull(IInstanceProfile profile) {
 
-		return mainDirectory;
+		return model.getFrames().getOrNull(profile.getTypeIdentity());
 	}
 }
@@ -42,6 +42,7 @@ class StoreStructure {
 	private CModel model;
 
 	private File mainDirectory;
+	private IDiskStoreFormat format;
 
 	private List<SubStore> subStores = new ArrayList<SubStore>();
 	private Set<String> subStoreNames = new HashSet<String>();
@@ -107,10 +108,11 @@ class StoreStructure {
 		}
 	}
 
-	StoreStructure(CModel model, File mainDirectory) {
+	StoreStructure(CModel model, File mainDirectory, IDiskStoreFormat format) {
 
 		this.model = model;
 		this.mainDirectory = mainDirectory;
+		this.format = format;
 	}
 
 	void addSubStore(
@@ -126,6 +128,11 @@ class StoreStructure {
 		return mainDirectory;
 	}
 
+	IDiskStoreFormat getFormat() {
+
+		return format;
+	}
+
 	Set<String> getSubStoreNames() {
 
 		return subStoreNames;
@@ -40,6 +40,7 @@ class StoreStructureBuilder {
 	}
 
 	private File mainDirectory = getDefaultNamedMainDirectory(new File("."));
+	private IDiskStoreFormat format = IDiskStoreFormat.MULTI_FILE;
 	private List<SubStore> subStores = new ArrayList<SubStore>();
 
 	private class SubStore {
@@ -74,6 +75,11 @@ class StoreStructureBuilder {
 		mainDirectory = getDefaultNamedMainDirectory(parentDir);
 	}
 
+	void setFormat(IDiskStoreFormat format) {
+
+		this.format = format;
+	}
+
 	void addSubStore(
 			String name,
 			boolean splitByFunction,
@@ -87,9 +93,14 @@ class StoreStructureBuilder {
 		return mainDirectory;
 	}
 
+	IDiskStoreFormat getFormat() {
+
+		return format;
+	}
+
 	StoreStructure build(CModel model) {
 
-		StoreStructure structure = new StoreStructure(model, mainDirectory);
+		StoreStructure structure = new StoreStructure(model, mainDirectory, format);
 
 		for (SubStore subStore : subStores) {
 
@@ -62,6 +62,11 @@ class ZIDiskStoreAccessorImpl extends ZIDiskStoreAccessor {
 		return StoreRegister.contains(model);
 	}
 
+	public IInstanceCacheStats getInstanceCacheStats(CModel model) {
+
+		return StoreRegister.get(model).getInstanceCacheStats();
+	}
+
 	public void checkStopStore(CModel model) {
 
 		if (storeBuilders.remove(model) != null) {
@@ -60,5 +60,7 @@ public abstract class ZIDiskStoreAccessor {
 
 	public abstract boolean storeFor(CModel model);
 
+	public abstract IInstanceCacheStats getInstanceCacheStats(CModel model);
+
 	public abstract void checkStopStore(CModel model);
 }
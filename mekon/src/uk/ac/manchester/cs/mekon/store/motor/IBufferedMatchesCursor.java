@@ -0,0 +1,187 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store.motor;
+
+import java.util.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.store.*;
+
+/**
+ * Implementation of {@link IMatchesCursor} that delivers pages from
+ * a complete set of matches that has already been obtained. The
+ * matches for each rank are only retrieved when the first page
+ * containing them is requested.
+ *
+ * @author Colin Puleston
+ */
+public class IBufferedMatchesCursor implements IMatchesCursor {
+
+	private boolean ranked;
+	private int totalMatches = 0;
+	private int deliveredMatches = 0;
+
+	private Iterator<IMatchesRank> ranks;
+	private IMatchesRank currentRank = null;
+	private List<CIdentity> currentRankMatches = Collections.emptyList();
+	private int currentRankOffset = 0;
+
+	private boolean closed = false;
+
+	private class PageBuilder {
+
+		private IRankedMatches rankedPage = new IRankedMatches();
+		private List<CIdentity> unrankedPage = new ArrayList<CIdentity>();
+
+		private int maxMatches;
+		private int pageMatches = 0;
+
+		PageBuilder(int maxMatches) {
+
+			this.maxMatches = maxMatches;
+		}
+
+		IMatches build() {
+
+			while (pageMatches < maxMatches && checkCurrentRank()) {
+
+				addFromCurrentRank();
+			}
+
+			if (pageMatches == 0) {
+
+				return INoMatches.SINGLETON;
+			}
+
+			return ranked ? rankedPage : new IUnrankedMatches(unrankedPage);
+		}
+
+		private void addFromCurrentRank() {
+
+			int end = currentRankOffset + maxMatches - pageMatches;
+
+			end = Math.min(end, currentRankMatches.size());
+
+			List<CIdentity> matches = currentRankMatches.subList(currentRankOffset, end);
+
+			if (ranked) {
+
+				rankedPage.addRank(matches, currentRank.getRankingValue());
+			}
+			else {
+
+				unrankedPage.addAll(matches);
+			}
+
+			pageMatches += matches.size();
+			deliveredMatches += matches.size();
+			currentRankOffset = end;
+		}
+	}
+
+	/**
+	 * Constructor.
+	 *
+	 * @param matches Complete set of matches to be delivered
+	 */
+	public IBufferedMatchesCursor(IMatches matches) {
+
+		ranked = matches.ranked();
+
+		List<IMatchesRank> rankList = matches.getRanks();
+
+		for (IMatchesRank rank : rankList) {
+
+			totalMatches += rank.getMatchCount();
+		}
+
+		ranks = rankList.iterator();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean ranked() {
+
+		return ranked;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public int getTotalMatches() {
+
+		return totalMatches;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public boolean moreMatches() {
+
+		return !closed && deliveredMatches < totalMatches;
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public IMatches getNextMatches(int maxMatches) {
+
+		if (closed) {
+
+			return INoMatches.SINGLETON;
+		}
+
+		return new PageBuilder(maxMatches).build();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 */
+	public void close() {
+
+		closed = true;
+
+		ranks = Collections.<IMatchesRank>emptyList().iterator();
+		currentRankMatches = Collections.emptyList();
+	}
+
+	private boolean checkCurrentRank() {
+
+		while (currentRankOffset == currentRankMatches.size()) {
+
+			if (!ranks.hasNext()) {
+
+				return false;
+			}
+
+			currentRank = ranks.next();
+			currentRankMatches = currentRank.getMatches();
+			currentRankOffset = 0;
+		}
+
+		return true;
+	}
+}
@@ -55,6 +55,11 @@ public class IRankedMatches implements IMatches {
 			return new ArrayList<CIdentity>(matches);
 		}
 
+		public int getMatchCount() {
+
+			return matches.size();
+		}
+
 		public int getRankingValue() {
 
 			return rankingValue;
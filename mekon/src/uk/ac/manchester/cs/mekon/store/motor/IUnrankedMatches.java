@@ -47,6 +47,11 @@ public class IUnrankedMatches implements IMatches {
 			return new ArrayList<CIdentity>(matches);
 		}
 
+		public int getMatchCount() {
+
+			return matches.size();
+		}
+
 		public int getRankingValue() {
 
 			return 0;
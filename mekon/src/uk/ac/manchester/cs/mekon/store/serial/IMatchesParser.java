@@ -75,7 +75,7 @@ public class IMatchesParser extends IMatchesSerialiser {
 
 		if (node.getBoolean(RANKED_ATTR)) {
 
-			parseRanked(rankNodes);
+			return parseRanked(rankNodes);
 		}
 
 		return new IUnrankedMatches(parseMatchIds(rankNodes.get(0)));
@@ -57,9 +57,16 @@ import uk.ac.manchester.cs.mekon.network.*;
 	ISlotSpecsViaDisjunctionsTest.class,
 	IDiskStoreAccessTest.class,
 	IDiskStoreStructureTest.class,
+	StoreSegmentTest.class,
 	IInstanceSerialiseTest.class,
 	NDirectMatcherTest.class,
+	NDirectMatcherParallelTest.class,
+	NDirectMatcherCompactTest.class,
+	NDirectMatcherPruningTest.class,
+	QueryNodeDirectMatcherTest.class,
+	RNetTransportTest.class,
 	RemoteIFrameTest.class,
+	RemoteInstanceSessionsTest.class,
 	RemoteISlotValuesTest.class,
 	RemoteIStoreAccessTest.class,
 	RemoteIMatcherTest.class})
@@ -42,15 +42,21 @@ public abstract class DemoModelBasedTest extends DemoModelIds {
 	private CModel clientModel = null;
 	private IStore clientStore = null;
 
-	public CBuilder buildModel(CSectionBuilder sectionBuilder) {
+	public CBuilder buildModel(CSectionBuilder... sectionBuilders) {
 
 		CBuilder cBuilder = CManager.createEmptyBuilder();
 
-		cBuilder.addSectionBuilder(sectionBuilder);
+		for (CSectionBuilder sectionBuilder : sectionBuilders) {
+
+			cBuilder.addSectionBuilder(sectionBuilder);
+		}
 
 		serverModel = cBuilder.build();
 		serverStore = IDiskStoreManager.getBuilder(cBuilder).build();
 
+		clientModel = null;
+		clientStore = null;
+
 		return cBuilder;
 	}
 
@@ -145,6 +145,35 @@ public class CFrameTest extends CValueTest<CFrame> {
 		testNeitherSubsumption(a, d);
 	}
 
+	@Test
+	public void test_subsumptionTestingAfterOptimisation() {
+
+		CFrame a = frames.create("A");
+		CFrame b = frames.create("B");
+		CFrame c = frames.create("C");
+		CFrame d = frames.create("D");
+
+		addSuperFrame(b, a);
+		addSuperFrame(c, b);
+
+		model.serverModel.optimiseSubsumptionTesting();
+
+		testStrictSubsumption(a, b);
+		testStrictSubsumption(a, c);
+		testNeitherSubsumption(a, d);
+		testNeitherSubsumption(c, d);
+
+		addSuperFrame(d, c);
+
+		testStrictSubsumption(a, d);
+		testStrictSubsumption(c, d);
+
+		model.serverModel.optimiseSubsumptionTesting();
+
+		testStrictSubsumption(a, d);
+		testStrictSubsumption(b, d);
+	}
+
 	@Test
 	public void test_hierarchyBuilding() {
 
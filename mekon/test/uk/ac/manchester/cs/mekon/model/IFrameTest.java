@@ -25,6 +25,7 @@
 package uk.ac.manchester.cs.mekon.model;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.junit.Test;
 import org.junit.Before;
@@ -41,6 +42,13 @@ public class IFrameTest {
 
 	static private final List<CFrame> NO_IFRAMES = Collections.emptyList();
 
+	static private final int ASYNC_EDITS = 6;
+	static private final long ASYNC_EDIT_INTERVAL = 40;
+	static private final long ASYNC_UPDATE_DELAY = 10;
+	static private final long ASYNC_UPDATE_PAUSE = 30;
+	static private final long ASYNC_DEBOUNCE_DELAY = 200;
+	static private final long ASYNC_UPDATE_TIMEOUT = 5000;
+
 	private MonitorIReasoner monitorIReasoner = new MonitorIReasoner();
 
 	private TestCFrames frameTypes;
@@ -48,6 +56,7 @@ public class IFrameTest {
 	private TestISlots slots;
 
 	private TestInstances instances;
+	private IUpdating iUpdating;
 
 	private class CFrameListMonitor implements KValuesListener<CFrame> {
 
@@ -68,12 +77,72 @@ public class IFrameTest {
 		}
 	}
 
+	private class ToggleValueEdit implements Runnable {
+
+		private ISlot slot;
+		private IFrame value;
+
+		private volatile boolean concurrentUpdate = false;
+
+		public void run() {
+
+			checkConcurrentUpdate();
+
+			if (slot.getValues().contains(value)) {
+
+				slot.getValuesEditor().remove(value);
+			}
+			else {
+
+				slot.getValuesEditor().add(value);
+			}
+
+			checkConcurrentUpdate();
+		}
+
+		ToggleValueEdit(ISlot slot, IFrame value) {
+
+			this.slot = slot;
+			this.value = value;
+		}
+
+		boolean concurrentUpdate() {
+
+			return concurrentUpdate;
+		}
+
+		private void checkConcurrentUpdate() {
+
+			if (monitorIReasoner.updating()) {
+
+				concurrentUpdate = true;
+			}
+		}
+	}
+
+	private class ThreadFinder implements Callable<Thread> {
+
+		public Thread call() {
+
+			return Thread.currentThread();
+		}
+	}
+
+	private class QuiescenceAwaiter implements Runnable {
+
+		public void run() {
+
+			iUpdating.awaitQuiescence();
+		}
+	}
+
 	@Before
 	public void setUp() {
 
 		TestCModel model = new TestCModel(monitorIReasoner);
 
 		instances = new TestInstances(model);
+		iUpdating = model.serverModel.getIUpdating();
 
 		model.setClientModel(resolveClientModel(model.serverModel));
 
@@ -134,6 +203,162 @@ public class IFrameTest {
 		testUpdateSlotValue(fb, "sbc", fc, Arrays.asList(fb, fa));
 	}
 
+	@Test
+	public void test_asyncAutoUpdate() {
+
+		IFrame fa = frames.create("A");
+		IFrame fb = frames.create("B");
+		IFrame fc = frames.create("C");
+
+		ISlot sab = slots.create(fa, "sab", fb.getType());
+		ISlot sac = slots.create(fa, "sac", fc.getType());
+
+		iUpdating.setAsyncAutoUpdateDelay(50);
+		iUpdating.setAsyncAutoUpdate(true);
+
+		try {
+
+			monitorIReasoner.resetRegisters();
+
+			sab.getValuesEditor().add(fb);
+			sac.getValuesEditor().add(fc);
+
+			iUpdating.awaitQuiescence();
+
+			testList(monitorIReasoner.getUpdateds(), Arrays.asList(fa));
+		}
+		finally {
+
+			iUpdating.setAsyncAutoUpdate(false);
+		}
+	}
+
+	@Test
+	public void test_asyncAutoUpdateWithConcurrentEdits() throws Exception {
+
+		ToggleValueEdit edit = createToggleValueEdit();
+
+		startAsyncAutoUpdate(null);
+
+		try {
+
+			for (int i = 0 ; i < ASYNC_EDITS ; i++) {
+
+				edit.run();
+
+				Thread.sleep(ASYNC_EDIT_INTERVAL);
+			}
+
+			iUpdating.awaitQuiescence();
+
+			testAsyncAutoUpdates(edit, Thread.currentThread());
+		}
+		finally {
+
+			stopAsyncAutoUpdate();
+		}
+	}
+
+	@Test
+	public void test_asyncAutoUpdateViaExecutor() throws Exception {
+
+		ToggleValueEdit edit = createToggleValueEdit();
+		ExecutorService editThread = Executors.newSingleThreadExecutor();
+
+		startAsyncAutoUpdate(editThread);
+
+		try {
+
+			for (int i = 0 ; i < ASYNC_EDITS ; i++) {
+
+				editThread.submit(edit).get();
+
+				Thread.sleep(ASYNC_EDIT_INTERVAL);
+			}
+
+			editThread.submit(new QuiescenceAwaiter()).get();
+
+			testAsyncAutoUpdates(edit, editThread.submit(new ThreadFinder()).get());
+		}
+		finally {
+
+			stopAsyncAutoUpdate();
+			editThread.shutdown();
+		}
+	}
+
+	@Test
+	public void test_asyncAutoUpdateDebounced() throws Exception {
+
+		IFrame fa = frames.create("A");
+		IFrame fb = frames.create("B");
+		IFrame fc = frames.create("C");
+
+		ISlot sab = slots.create(fa, "sab", fb.getType());
+		ISlot sac = slots.create(fa, "sac", fc.getType());
+
+		ExecutorService updateThread = Executors.newSingleThreadExecutor();
+
+		startAsyncAutoUpdate(updateThread);
+		iUpdating.setAsyncAutoUpdateDelay(ASYNC_DEBOUNCE_DELAY);
+		monitorIReasoner.setUpdatePause(0);
+
+		try {
+
+			sab.getValuesEditor().add(fb);
+			sac.getValuesEditor().add(fc);
+
+			awaitUpdates();
+			Thread.sleep(ASYNC_DEBOUNCE_DELAY * 2);
+
+			testList(monitorIReasoner.getUpdateds(), Arrays.asList(fa));
+			assertSame(
+				updateThread.submit(new ThreadFinder()).get(),
+				monitorIReasoner.getUpdateThreads().get(0));
+		}
+		finally {
+
+			stopAsyncAutoUpdate();
+			updateThread.shutdown();
+		}
+	}
+
+	@Test
+	public void test_asyncAutoUpdateWithoutExecutor() throws Exception {
+
+		IFrame fa = frames.create("A");
+		IFrame fb = frames.create("B");
+		IFrame fc = frames.create("C");
+		IFrame fd = frames.create("D");
+
+		ISlot sab = slots.create(fa, "sab", fb.getType());
+		ISlot scd = slots.create(fc, "scd", fd.getType());
+
+		startAsyncAutoUpdate(null);
+		monitorIReasoner.setUpdatePause(0);
+
+		try {
+
+			sab.getValuesEditor().add(fb);
+			Thread.sleep(ASYNC_DEBOUNCE_DELAY);
+
+			assertTrue(monitorIReasoner.getUpdateds().isEmpty());
+
+			scd.getValuesEditor().add(fd);
+
+			testList(monitorIReasoner.getUpdateds(), Arrays.asList(fa));
+
+			iUpdating.awaitQuiescence();
+
+			testList(monitorIReasoner.getUpdateds(), Arrays.asList(fa, fc));
+			testAsyncAutoUpdateThreads(Thread.currentThread());
+		}
+		finally {
+
+			stopAsyncAutoUpdate();
+		}
+	}
+
 	@Test
 	public void test_copyAndMatch() {
 
@@ -169,6 +394,62 @@ public class IFrameTest {
 		return serverModel;
 	}
 
+	private ToggleValueEdit createToggleValueEdit() {
+
+		IFrame fa = frames.create("A");
+		IFrame fb = frames.create("B");
+
+		return new ToggleValueEdit(slots.create(fa, "sab", fb.getType()), fb);
+	}
+
+	private void startAsyncAutoUpdate(Executor executor) {
+
+		iUpdating.setAsyncAutoUpdateDelay(ASYNC_UPDATE_DELAY);
+		iUpdating.setAsyncAutoUpdateExecutor(executor);
+		iUpdating.setAsyncAutoUpdate(true);
+
+		monitorIReasoner.setUpdatePause(ASYNC_UPDATE_PAUSE);
+		monitorIReasoner.resetRegisters();
+	}
+
+	private void stopAsyncAutoUpdate() {
+
+		iUpdating.setAsyncAutoUpdate(false);
+		iUpdating.setAsyncAutoUpdateExecutor(null);
+
+		monitorIReasoner.setUpdatePause(0);
+	}
+
+	private void awaitUpdates() throws InterruptedException {
+
+		long timeout = System.currentTimeMillis() + ASYNC_UPDATE_TIMEOUT;
+
+		while (monitorIReasoner.getUpdateThreads().isEmpty()) {
+
+			assertTrue("No updates performed", System.currentTimeMillis() < timeout);
+
+			Thread.sleep(ASYNC_UPDATE_DELAY);
+		}
+	}
+
+	private void testAsyncAutoUpdateThreads(Thread editThread) {
+
+		for (Thread updateThread : monitorIReasoner.getUpdateThreads()) {
+
+			assertSame("Update performed on unexpected thread", editThread, updateThread);
+		}
+	}
+
+	private void testAsyncAutoUpdates(ToggleValueEdit edit, Thread editThread) {
+
+		List<Thread> updateThreads = monitorIReasoner.getUpdateThreads();
+
+		assertFalse("No updates performed", updateThreads.isEmpty());
+		assertFalse("Update performed concurrently with edit", edit.concurrentUpdate());
+
+		testAsyncAutoUpdateThreads(editThread);
+	}
+
 	private void testSubsumption(IFrame subsumer, IFrame subsumed) {
 
 		assertFalse(subsumer == subsumed);
@@ -35,6 +35,10 @@ class MonitorIReasoner extends IReasonerDefault {
 
 	List<IFrame> initialiseds = new ArrayList<IFrame>();
 	List<IFrame> updateds = new ArrayList<IFrame>();
+	List<Thread> updateThreads = Collections.synchronizedList(new ArrayList<Thread>());
+
+	private long updatePauseMillis = 0;
+	private volatile boolean updating = false;
 
 	public void initialise(IFrame frame, IEditor iEditor, boolean initSlotValues) {
 
@@ -45,7 +49,19 @@ class MonitorIReasoner extends IReasonerDefault {
 
 	public Set<IUpdateOp> update( IFrame frame, IEditor iEditor, Set<IUpdateOp> ops) {
 
-		updateds.add(frame);
+		updating = true;
+
+		try {
+
+			updateds.add(frame);
+			updateThreads.add(Thread.currentThread());
+
+			pauseUpdate();
+		}
+		finally {
+
+			updating = false;
+		}
 
 		return Collections.<IUpdateOp>emptySet();
 	}
@@ -54,6 +70,17 @@ class MonitorIReasoner extends IReasonerDefault {
 
 		initialiseds.clear();
 		updateds.clear();
+		updateThreads.clear();
+	}
+
+	void setUpdatePause(long pauseMillis) {
+
+		updatePauseMillis = pauseMillis;
+	}
+
+	boolean updating() {
+
+		return updating;
 	}
 
 	List<IFrame> getInitialiseds() {
@@ -65,4 +92,24 @@ class MonitorIReasoner extends IReasonerDefault {
 
 		return updateds;
 	}
+
+	List<Thread> getUpdateThreads() {
+
+		return new ArrayList<Thread>(updateThreads);
+	}
+
+	private void pauseUpdate() {
+
+		if (updatePauseMillis != 0) {
+
+			try {
+
+				Thread.sleep(updatePauseMillis);
+			}
+			catch (InterruptedException e) {
+
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
 }
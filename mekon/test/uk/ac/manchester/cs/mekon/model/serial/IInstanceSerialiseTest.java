@@ -24,6 +24,8 @@
 
 package uk.ac.manchester.cs.mekon.model.serial;
 
+import java.io.*;
+
 import org.junit.Test;
 import org.junit.Before;
 import static org.junit.Assert.*;
@@ -45,6 +47,7 @@ public class IInstanceSerialiseTest {
 	private boolean renderAsTree = false;
 	private boolean includeEmptySlots = false;
 	private boolean includeAbstractValues = false;
+	private boolean binaryFormat = false;
 
 	@Test
 	public void test_renderAndParse() {
@@ -84,6 +87,50 @@ public class IInstanceSerialiseTest {
 		testRenderAndParse();
 	}
 
+	@Test
+	public void test_renderBinaryAndParse() {
+
+		binaryFormat = true;
+
+		testRenderAndParse();
+	}
+
+	@Test
+	public void test_renderAsTreeBinaryAndParse() {
+
+		binaryFormat = true;
+		renderAsTree = true;
+
+		testRenderAndParse();
+	}
+
+	@Test
+	public void test_renderBinaryAndParseWithEmptySlots() {
+
+		binaryFormat = true;
+		includeEmptySlots = true;
+
+		testRenderAndParse();
+	}
+
+	@Test
+	public void test_renderBinaryAndParseWithDynamicSlotInsertion() {
+
+		binaryFormat = true;
+		instances.setDynamicSlotInsertion();
+
+		testRenderAndParse();
+	}
+
+	@Test
+	public void test_renderBinaryAndParseWithAbstractValues() {
+
+		binaryFormat = true;
+		includeAbstractValues = true;
+
+		testRenderAndParse();
+	}
+
 	private void testRenderAndParse() {
 
 		IFrame original = createTestInstance();
@@ -95,7 +142,20 @@ public class IInstanceSerialiseTest {
 
 	private XDocument render(IFrame frame) {
 
-		return createRenderer().render(new IInstanceRenderInput(frame));
+		XDocument rendering = createRenderer().render(new IInstanceRenderInput(frame));
+
+		return binaryFormat ? viaBinaryFormat(rendering) : rendering;
+	}
+
+	private XDocument viaBinaryFormat(XDocument rendering) {
+
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+		rendering.writeToBinaryOutput(output);
+
+		InputStream input = new ByteArrayInputStream(output.toByteArray());
+
+		return new IInstanceStringPool(model.serverModel).read(input);
 	}
 
 	private IRegenInstance parse(XDocument rendering) {
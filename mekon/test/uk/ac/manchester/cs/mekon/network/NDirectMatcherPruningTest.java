@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import org.junit.Test;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class NDirectMatcherPruningTest extends NDirectMatcherTest {
+
+	@Test
+	public void test_candidatePruningWithCustomMatchFeatures() {
+
+		setJobHourlyRates();
+
+		addValueMatchCustomiser(INDUSTRY_PROPERTY, new ComplementFrameMatcher());
+		addValueMatchCustomiser(PAY_RATE_PROPERTY, new ComplementNumberMatcher());
+		addValueMatchCustomiser(NAME_PROPERTY, new RegexStringMatcher());
+
+		testPrunedMatching(
+			createAcademiaQuery(),
+			DOCTORING_JOB_ID);
+
+		testPrunedMatching(
+			createPayRateQuery(MIN_PAY_RATE, HIGH_PAY_RATE - 1),
+			DOCTORING_JOB_ID);
+
+		testPrunedMatching(
+			createPersonalNameAddressQuery(BOB_OR_LODGER_NAMES_REGEX, BOB_ADDRESS),
+			BOB_ID,
+			BOBS_LODGER_ID);
+	}
+
+	@Test
+	public void test_candidatePruningWithDisjunctionLinks() {
+
+		setJobIndustrySectors();
+
+		testPrunedMatching(
+			createPostOrUndergradTeachingQuery(),
+			UNDERGRAD_TEACHING_JOB_ID,
+			POSTGRAD_TEACHING_JOB_ID);
+
+		testPrunedMatching(
+			createHealthOrPublicSectorAcademicQuery(),
+			UNDERGRAD_TEACHING_JOB_ID,
+			DOCTORING_JOB_ID);
+	}
+
+	@Test
+	public void test_candidatePruningWithInstanceRefQueries() {
+
+		testPrunedMatching(
+			createCitizenRefQuery(ACADEMIC_RESEARCHING_JOB_ID),
+			ACADEMIC_RESEARCHER_ID);
+
+		testPrunedMatching(
+			createCitizenRefQuery(DOCTORING_JOB_ID),
+			DOCTOR_ID);
+
+		testPrunedMatching(
+			createRefQueryIFrame(JOB, DOCTORING_JOB_ID));
+
+		testPrunedMatching(
+			createRetypedJobRefEmploymentQuery(DOCTORING_JOB_ID, ACADEMIC_JOB),
+			DOCTOR_EMPLOYMENT_ID);
+	}
+
+	@Test
+	public void test_candidatePruningWithNumberRanges() {
+
+		setJobHourlyRates();
+
+		testPrunedMatching(
+			createPayRateQuery(LOW_PAY_RATE, LOW_PAY_RATE),
+			UNDERGRAD_TEACHING_JOB_ID);
+
+		testPrunedMatching(
+			createPayRateQuery(MID_PAY_RATE, HIGH_PAY_RATE),
+			POSTGRAD_TEACHING_JOB_ID,
+			ACADEMIC_RESEARCHING_JOB_ID,
+			DOCTORING_JOB_ID);
+
+		testPrunedMatching(
+			createPayRateQuery(LOW_PAY_RATE + 1, MID_PAY_RATE),
+			POSTGRAD_TEACHING_JOB_ID,
+			ACADEMIC_RESEARCHING_JOB_ID);
+
+		testPrunedMatching(
+			createPayRateQuery(HIGH_PAY_RATE + 1, MAX_PAY_RATE));
+	}
+
+	private NNode createRetypedJobRefEmploymentQuery(CIdentity jobId, CIdentity refTypeId) {
+
+		IFrame employment = createQueryIFrame(EMPLOYMENT);
+
+		addISlotValue(employment, JOB_PROPERTY, createRefQueryIFrame(JOB, jobId));
+
+		NNode query = toNetwork(employment);
+		NNode jobRef = query.getLinks().get(0).getValues().get(0);
+
+		jobRef.reset(getCFrame(refTypeId));
+
+		return query;
+	}
+
+	private void testPrunedMatching(IFrame query, CIdentity... expectedMatchIds) {
+
+		List<CIdentity> expected = Arrays.asList(expectedMatchIds);
+		NDirectMatcher matcher = getDirectMatcher();
+
+		testListContents(matcher.match(query).getAllMatches(), expected);
+
+		matcher.setCandidatePruning(false);
+		testListContents(matcher.match(query).getAllMatches(), expected);
+		matcher.setCandidatePruning(true);
+
+		testPrunedMatching(toNetwork(query), expectedMatchIds);
+	}
+
+	private void testPrunedMatching(NNode query, CIdentity... expectedMatchIds) {
+
+		List<CIdentity> expected = Arrays.asList(expectedMatchIds);
+		NDirectMatcher matcher = getDirectMatcher();
+
+		testListContents(matcher.match(query).getAllMatches(), expected);
+
+		matcher.setCandidatePruning(false);
+		testListContents(matcher.match(query).getAllMatches(), expected);
+		matcher.setCandidatePruning(true);
+	}
+
+	private NDirectMatcher getDirectMatcher() {
+
+		return (NDirectMatcher)getMatcher();
+	}
+
+	private NNode toNetwork(IFrame frame) {
+
+		return new NNetwork(frame).getRootNode();
+	}
+}
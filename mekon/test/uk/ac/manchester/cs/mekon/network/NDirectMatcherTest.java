@@ -24,11 +24,29 @@
 
 package uk.ac.manchester.cs.mekon.network;
 
+import org.junit.Test;
+
 /**
  * @author Colin Puleston
  */
 public class NDirectMatcherTest extends NMatcherTest {
 
+	@Test
+	public void test_customFrameMatchQueriesViaInstanceRefs() {
+
+		testMatching(
+			createCitizenQuery(createAcademiaQuery()),
+			UNDERGRAD_TEACHER_ID,
+			POSTGRAD_TEACHER_ID,
+			ACADEMIC_RESEARCHER_ID);
+
+		addValueMatchCustomiser(INDUSTRY_PROPERTY, new ComplementFrameMatcher());
+
+		testMatching(
+			createCitizenQuery(createAcademiaQuery()),
+			DOCTOR_ID);
+	}
+
 	protected NMatcher createNMatcher() {
 
 		return new NDirectMatcher();
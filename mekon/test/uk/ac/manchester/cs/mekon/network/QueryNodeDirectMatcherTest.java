@@ -0,0 +1,287 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.network;
+
+import java.util.*;
+
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.store.disk.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class QueryNodeDirectMatcherTest {
+
+	static private final CIdentity NODE_TYPE = new CIdentity("NodeType");
+
+	static private final CIdentity NEXT_LINK = new CIdentity("next");
+	static private final CIdentity OWNER_LINK = new CIdentity("owner");
+
+	static private final CIdentity CODE_STRING = new CIdentity("code");
+	static private final CIdentity NAME_STRING = new CIdentity("name");
+	static private final CIdentity TAG_STRING = new CIdentity("tag");
+
+	private List<IValueMatchCustomiser> customisers = new ArrayList<IValueMatchCustomiser>();
+
+	private class RecordingStringMatcher implements ICustomStringMatcher {
+
+		final List<String> queryValues = new ArrayList<String>();
+
+		public boolean matches(String queryValue, String instanceValue) {
+
+			queryValues.add(queryValue);
+
+			return instanceValue.matches(queryValue);
+		}
+	}
+
+	@Test
+	public void test_dataFeaturesTestedBeforeLinks() {
+
+		RecordingStringMatcher nameMatcher = addRecordingMatcher(NAME_STRING);
+
+		NNode query = createNode();
+		NNode qOwner = createNode();
+
+		addLink(query, OWNER_LINK, qOwner);
+		addString(qOwner, NAME_STRING, "B.*");
+		addString(query, CODE_STRING, "A");
+
+		NNode instance = createNode();
+		NNode iOwner = createNode();
+
+		addLink(instance, OWNER_LINK, iOwner);
+		addString(iOwner, NAME_STRING, "Bob");
+		addString(instance, CODE_STRING, "X");
+
+		testMatch(query, instance, false);
+		assertTrue(nameMatcher.queryValues.isEmpty());
+
+		resetString(instance, CODE_STRING, "A");
+
+		testMatch(query, instance, true);
+		assertFalse(nameMatcher.queryValues.isEmpty());
+	}
+
+	@Test
+	public void test_nonCustomFeaturesTestedBeforeCustom() {
+
+		RecordingStringMatcher nameMatcher = addRecordingMatcher(NAME_STRING);
+
+		NNode query = createNode();
+
+		addString(query, NAME_STRING, "B.*");
+		addString(query, CODE_STRING, "A");
+
+		NNode instance = createNode();
+
+		addString(instance, NAME_STRING, "Bob");
+		addString(instance, CODE_STRING, "X");
+
+		testMatch(query, instance, false);
+		assertTrue(nameMatcher.queryValues.isEmpty());
+	}
+
+	@Test
+	public void test_multiValueFeaturesTestedFirst() {
+
+		RecordingStringMatcher matcher = addRecordingMatcher(NAME_STRING, TAG_STRING);
+
+		NNode query = createNode();
+
+		addString(query, NAME_STRING, "B.*");
+		addString(query, TAG_STRING, "T1", "T2");
+
+		NNode instance = createNode();
+
+		addString(instance, NAME_STRING, "Bob");
+		addString(instance, TAG_STRING, "T3");
+
+		testMatch(query, instance, false);
+		assertFalse(matcher.queryValues.contains("B.*"));
+	}
+
+	@Test
+	public void test_cyclicInstanceGraphs() {
+
+		NNode query = createNode();
+		NNode qNext = createNode();
+
+		addLink(query, NEXT_LINK, qNext);
+		addLink(qNext, NEXT_LINK, query);
+
+		NNode instance = createNode();
+		NNode iNext = createNode();
+
+		addLink(instance, NEXT_LINK, iNext);
+		addLink(iNext, NEXT_LINK, instance);
+
+		testMatch(query, instance, true);
+
+		addString(qNext, CODE_STRING, "A");
+		addString(iNext, CODE_STRING, "A");
+
+		testMatch(query, instance, true);
+
+		addString(query, CODE_STRING, "A");
+		addString(instance, CODE_STRING, "X");
+
+		testMatch(query, instance, false);
+	}
+
+	@Test
+	public void test_acyclicQueryAgainstCyclicInstance() {
+
+		NNode query = createNode();
+		NNode qNext1 = createNode();
+		NNode qNext2 = createNode();
+
+		addLink(query, NEXT_LINK, qNext1);
+		addLink(qNext1, NEXT_LINK, qNext2);
+		addString(qNext2, CODE_STRING, "A");
+
+		NNode instance = createNode();
+		NNode iNext = createNode();
+
+		addLink(instance, NEXT_LINK, iNext);
+		addLink(iNext, NEXT_LINK, instance);
+		addString(instance, CODE_STRING, "A");
+
+		testMatch(query, instance, true);
+
+		resetString(instance, CODE_STRING, "X");
+
+		testMatch(query, instance, false);
+	}
+
+	@Test
+	public void test_customMatcherNodes() {
+
+		addRecordingMatcher(NAME_STRING);
+
+		NNode query = createNode();
+		NNode qOwner = createNode();
+
+		addLink(query, OWNER_LINK, qOwner);
+		addString(qOwner, NAME_STRING, "B.*");
+
+		NNode instance = createNode();
+		NNode iOwner = createNode();
+
+		addLink(instance, OWNER_LINK, iOwner);
+		addString(iOwner, NAME_STRING, "Bob");
+
+		testMatch(query, instance, true);
+
+		resetString(iOwner, NAME_STRING, "Jim");
+
+		testMatch(query, instance, false);
+	}
+
+	@Test
+	public void test_customMatcherNodesInCycles() {
+
+		addRecordingMatcher(NAME_STRING);
+
+		NNode query = createNode();
+		NNode qNext = createNode();
+
+		addLink(query, NEXT_LINK, qNext);
+		addLink(qNext, NEXT_LINK, query);
+		addString(qNext, NAME_STRING, "B.*");
+
+		NNode instance = createNode();
+		NNode iNext = createNode();
+
+		addLink(instance, NEXT_LINK, iNext);
+		addLink(iNext, NEXT_LINK, instance);
+		addString(iNext, NAME_STRING, "Bob");
+
+		testMatch(query, instance, true);
+
+		resetString(iNext, NAME_STRING, "Jim");
+
+		testMatch(query, instance, false);
+	}
+
+	private RecordingStringMatcher addRecordingMatcher(CIdentity... slotIds) {
+
+		RecordingStringMatcher matcher = new RecordingStringMatcher();
+
+		customisers.add(new IValueMatchCustomiser(matcher, Arrays.asList(slotIds)));
+
+		return matcher;
+	}
+
+	private NNode createNode() {
+
+		return new NNode(NODE_TYPE);
+	}
+
+	private void addLink(NNode source, CIdentity type, NNode target) {
+
+		NLink link = new NLink(type);
+
+		link.addValue(target);
+		source.addFeature(link);
+	}
+
+	private void addString(NNode node, CIdentity type, String... values) {
+
+		NString string = new NString(type);
+
+		string.addValues(Arrays.asList(values));
+		node.addFeature(string);
+	}
+
+	private void resetString(NNode node, CIdentity type, String value) {
+
+		for (NString string : node.getStrings()) {
+
+			if (string.getType().equals(type)) {
+
+				node.removeFeature(string);
+			}
+		}
+
+		addString(node, type, value);
+	}
+
+	private void testMatch(NNode query, NNode instance, boolean expectMatch) {
+
+		QueryCustomiser customiser = new QueryCustomiser(customisers);
+		CompactNetworkDictionary dictionary = new CompactNetworkDictionary();
+		CompactNetwork compactInstance = new CompactNetwork(instance, dictionary, customiser);
+
+		QueryNodeDirectMatcher matcher = new QueryNodeDirectMatcher(customiser, query);
+		QueryNodeDirectMatcher compactMatcher = new QueryNodeDirectMatcher(customiser, query, dictionary);
+
+		assertEquals(expectMatch, matcher.matches(instance));
+		assertEquals(expectMatch, compactMatcher.matches(compactInstance));
+	}
+}
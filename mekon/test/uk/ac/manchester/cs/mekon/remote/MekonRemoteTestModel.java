@@ -23,11 +23,16 @@
  */
 package uk.ac.manchester.cs.mekon.remote;
 
+import java.util.*;
+
 import uk.ac.manchester.cs.mekon.manage.*;
 import uk.ac.manchester.cs.mekon.model.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.remote.client.xml.*;
 import uk.ac.manchester.cs.mekon.remote.server.xml.*;
+import uk.ac.manchester.cs.mekon.remote.xml.*;
+import uk.ac.manchester.cs.mekon.remote.util.*;
+import uk.ac.manchester.cs.mekon_util.remote.*;
 import uk.ac.manchester.cs.mekon_util.xdoc.*;
 
 /**
@@ -39,13 +44,52 @@ public class MekonRemoteTestModel {
 	public final IStore clientStore;
 
 	private CModel serverModel;
+	private IStore serverStore;
 	private XServer server;
 
+	private int instanceSessionRequests = 0;
+	private int invalidatedInstanceSessions = 0;
+	private int instanceSessionDiscardRequests = 0;
+	private int discardedInstanceSessions = 0;
+
 	private class LocalXClientModel extends XClientModel {
 
 		protected XDocument performActionOnServer(XDocument request) {
 
-			return server.performAction(request);
+			XDocument response = server.performAction(request);
+
+			if (isActionType(request, RModelActionType.UPDATE_SESSION_INSTANCE)) {
+
+				instanceSessionRequests++;
+
+				if (hasTrueValue(response, XResponseVocab.INVALIDATED_INSTANCE_SESSION_ATTR)) {
+
+					invalidatedInstanceSessions++;
+				}
+			}
+			else if (isActionType(request, RModelActionType.DISCARD_INSTANCE_SESSION)) {
+
+				instanceSessionDiscardRequests++;
+
+				if (hasTrueValue(response, XResponseVocab.BOOLEAN_RESPONSE_ATTR)) {
+
+					discardedInstanceSessions++;
+				}
+			}
+
+			return response;
+		}
+
+		private boolean isActionType(XDocument request, RModelActionType type) {
+
+			XNode rootNode = request.getRootNode();
+
+			return type.toString().equals(rootNode.getString(XRequestVocab.ACTION_TYPE_ATTR, null));
+		}
+
+		private boolean hasTrueValue(XDocument response, String attr) {
+
+			return response.getRootNode().getBoolean(attr, false);
 		}
 
 		LocalXClientModel() {
@@ -61,6 +105,11 @@ public class MekonRemoteTestModel {
 			return server.performAction(request);
 		}
 
+		protected List<XDocument> performActionsOnServer(List<XDocument> requests) {
+
+			return performActionsViaEnvelopes(requests);
+		}
+
 		LocalXClientStore(XClientModel xClientModel) {
 
 			super(xClientModel, false);
@@ -75,9 +124,9 @@ public class MekonRemoteTestModel {
 	public MekonRemoteTestModel(CModel serverModel, IStore serverStore) {
 
 		this.serverModel = serverModel;
+		this.serverStore = serverStore;
 
-		server = new XServer(serverModel);
-		server.setStore(serverStore);
+		startServer();
 
 		XClientModel xClientModel = new LocalXClientModel();
 
@@ -92,8 +141,63 @@ public class MekonRemoteTestModel {
 
 	public IStore resetServerStore(IStore serverStore) {
 
+		this.serverStore = serverStore;
+
 		server.setStore(serverStore);
 
 		return serverStore;
 	}
+
+	public void restartServer() {
+
+		startServer();
+	}
+
+	public void setInstanceSessionTimeout(long timeout) {
+
+		server.setInstanceSessionTimeout(timeout);
+	}
+
+	public int getInstanceSessionRequests() {
+
+		return instanceSessionRequests;
+	}
+
+	public int getInvalidatedInstanceSessions() {
+
+		return invalidatedInstanceSessions;
+	}
+
+	public int getInstanceSessionDiscardRequests() {
+
+		return instanceSessionDiscardRequests;
+	}
+
+	public int getDiscardedInstanceSessions() {
+
+		return discardedInstanceSessions;
+	}
+
+	private void startServer() {
+
+		server = new XServer(serverModel);
+		server.setStore(serverStore);
+	}
+
+	private List<XDocument> performActionsViaEnvelopes(List<XDocument> requests) {
+
+		List<XDocument> responses = new ArrayList<XDocument>();
+
+		for (XDocument request : transmit(RNetVocab.MULTI_ACTION_REQUEST_ID, requests)) {
+
+			responses.add(server.performAction(request));
+		}
+
+		return transmit(RNetVocab.MULTI_ACTION_RESPONSE_ID, responses);
+	}
+
+	private List<XDocument> transmit(String envelopeId, List<XDocument> documents) {
+
+		return RNetEnvelope.unpack(RNetEnvelope.pack(envelopeId, documents));
+	}
 }
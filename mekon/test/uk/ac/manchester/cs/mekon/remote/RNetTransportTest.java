@@ -0,0 +1,389 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.remote;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.lang.reflect.Proxy;
+import java.net.*;
+import java.util.*;
+import javax.servlet.*;
+import javax.servlet.http.*;
+
+import com.sun.net.httpserver.*;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import uk.ac.manchester.cs.mekon_util.remote.*;
+import uk.ac.manchester.cs.mekon_util.remote.client.*;
+import uk.ac.manchester.cs.mekon_util.remote.server.*;
+import uk.ac.manchester.cs.mekon_util.xdoc.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class RNetTransportTest {
+
+	static private final String REQUEST_ID = "Request";
+	static private final String ECHO_ID = "Echo";
+	static private final String PAYLOAD_ATTR = "payload";
+	static private final String REQUEST_ID_ATTR = "requestId";
+
+	static private final int PAYLOAD_REPEATS = 200;
+	static private final int TRANSFER_BUFFER_SIZE = 8192;
+
+	static private final String CONTENT_ENCODING_HEADER = "Content-Encoding";
+
+	private HttpServer httpServer;
+	private RNetClient client;
+
+	private boolean uncompressedServer = false;
+
+	private byte[] lastRequest = null;
+	private byte[] lastResponse = null;
+	private String lastResponseEncoding = null;
+
+	private class EchoNetServer extends RNetServer {
+
+		static private final long serialVersionUID = -1;
+
+		protected void initNetServer() {
+		}
+
+		protected XDocument performAction(XDocument request) {
+
+			XNode requestNode = request.getRootNode();
+			XDocument response = new XDocument(ECHO_ID);
+			XNode responseNode = response.getRootNode();
+
+			responseNode.setValue(REQUEST_ID_ATTR, requestNode.getId());
+			responseNode.setValue(PAYLOAD_ATTR, requestNode.getString(PAYLOAD_ATTR));
+
+			return response;
+		}
+	}
+
+	private class ServletBridge implements HttpHandler {
+
+		private RNetServer netServer = new EchoNetServer();
+
+		public void handle(HttpExchange exchange) throws IOException {
+
+			try {
+
+				lastRequest = readFully(exchange.getRequestBody());
+				lastResponseEncoding = null;
+
+				ByteArrayOutputStream responseBytes = new ByteArrayOutputStream();
+
+				netServer.service(
+					createRequest(getServerRequest()),
+					createResponse(responseBytes));
+
+				lastResponse = responseBytes.toByteArray();
+
+				exchange.sendResponseHeaders(200, lastResponse.length);
+				exchange.getResponseBody().write(lastResponse);
+			}
+			catch (ServletException e) {
+
+				exchange.sendResponseHeaders(500, -1);
+			}
+			finally {
+
+				exchange.close();
+			}
+		}
+
+		private byte[] getServerRequest() throws IOException {
+
+			return uncompressedServer ? decompress(lastRequest) : lastRequest;
+		}
+	}
+
+	private class RequestHandler implements InvocationHandler {
+
+		private InputStream input;
+
+		public Object invoke(Object proxy, Method method, Object[] args) {
+
+			if (method.getName().equals("getInputStream")) {
+
+				return new ServletInputStream() {
+
+					public int read() throws IOException {
+
+						return input.read();
+					}
+				};
+			}
+
+			return null;
+		}
+
+		RequestHandler(byte[] request) {
+
+			input = new ByteArrayInputStream(request);
+		}
+	}
+
+	private class ResponseHandler implements InvocationHandler {
+
+		private OutputStream output;
+
+		public Object invoke(Object proxy, Method method, Object[] args) {
+
+			if (method.getName().equals("getOutputStream")) {
+
+				return new ServletOutputStream() {
+
+					public void write(int b) throws IOException {
+
+						output.write(b);
+					}
+				};
+			}
+
+			if (method.getName().equals("setHeader")
+				&& args[0].equals(CONTENT_ENCODING_HEADER)) {
+
+				lastResponseEncoding = (String)args[1];
+			}
+
+			return null;
+		}
+
+		ResponseHandler(OutputStream output) {
+
+			this.output = output;
+		}
+	}
+
+	@Before
+	public void setUp() throws IOException {
+
+		httpServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+
+		httpServer.createContext("/", new ServletBridge());
+		httpServer.start();
+
+		client = new RNetClient(getServerURL());
+	}
+
+	@After
+	public void clearUp() {
+
+		httpServer.stop(0);
+	}
+
+	@Test
+	public void test_xmlTransport() throws IOException {
+
+		testRoundTrip();
+
+		assertFalse(compressed(lastRequest));
+		assertFalse(binary(lastRequest));
+		assertFalse(compressed(lastResponse));
+		assertFalse(binary(lastResponse));
+		assertNull(lastResponseEncoding);
+	}
+
+	@Test
+	public void test_binaryTransport() throws IOException {
+
+		client.setBinaryTransport(true);
+
+		testRoundTrip();
+
+		assertFalse(compressed(lastRequest));
+		assertTrue(binary(lastRequest));
+		assertFalse(compressed(lastResponse));
+		assertTrue(binary(lastResponse));
+	}
+
+	@Test
+	public void test_compressedTransport() throws IOException {
+
+		client.setCompressedTransport(true);
+
+		testRoundTrip();
+
+		assertTrue(compressed(lastRequest));
+		assertFalse(binary(lastRequest));
+		assertTrue(compressed(lastResponse));
+		assertFalse(binary(lastResponse));
+		assertEquals(RNetCompression.ENCODING, lastResponseEncoding);
+	}
+
+	@Test
+	public void test_compressedBinaryTransport() throws IOException {
+
+		client.setBinaryTransport(true);
+		client.setCompressedTransport(true);
+
+		testRoundTrip();
+
+		assertTrue(compressed(lastRequest));
+		assertTrue(binary(lastRequest));
+		assertTrue(compressed(lastResponse));
+		assertTrue(binary(lastResponse));
+	}
+
+	@Test
+	public void test_compressedBinaryMultiActionTransport() throws IOException {
+
+		client.setBinaryTransport(true);
+		client.setCompressedTransport(true);
+
+		List<XDocument> requests = new ArrayList<XDocument>();
+
+		for (int i = 0 ; i < 3 ; i++) {
+
+			requests.add(createRequest(REQUEST_ID + i, getPayload() + i));
+		}
+
+		List<XDocument> responses = client.performActionsOnServer(requests);
+
+		assertEquals(requests.size(), responses.size());
+
+		for (int i = 0 ; i < requests.size() ; i++) {
+
+			testResponse(responses.get(i), REQUEST_ID + i, getPayload() + i);
+		}
+
+		assertTrue(compressed(lastRequest));
+		assertTrue(compressed(lastResponse));
+	}
+
+	@Test
+	public void test_compressedRequestToUncompressedServer() throws IOException {
+
+		uncompressedServer = true;
+		client.setCompressedTransport(true);
+
+		testRoundTrip();
+
+		assertTrue(compressed(lastRequest));
+		assertFalse(compressed(lastResponse));
+		assertNull(lastResponseEncoding);
+	}
+
+	private void testRoundTrip() {
+
+		XDocument request = createRequest(REQUEST_ID, getPayload());
+
+		testResponse(client.performActionOnServer(request), REQUEST_ID, getPayload());
+	}
+
+	private XDocument createRequest(String requestId, String payload) {
+
+		XDocument request = new XDocument(requestId);
+
+		request.getRootNode().setValue(PAYLOAD_ATTR, payload);
+
+		return request;
+	}
+
+	private void testResponse(XDocument response, String requestId, String payload) {
+
+		XNode responseNode = response.getRootNode();
+
+		assertTrue(responseNode.hasId(ECHO_ID));
+		assertEquals(requestId, responseNode.getString(REQUEST_ID_ATTR));
+		assertEquals(payload, responseNode.getString(PAYLOAD_ATTR));
+	}
+
+	private String getPayload() {
+
+		StringBuilder payload = new StringBuilder();
+
+		for (int i = 0 ; i < PAYLOAD_REPEATS ; i++) {
+
+			payload.append("payload-");
+		}
+
+		return payload.toString();
+	}
+
+	private URL getServerURL() throws MalformedURLException {
+
+		return new URL("http://localhost:" + httpServer.getAddress().getPort() + "/");
+	}
+
+	private ServletRequest createRequest(byte[] request) {
+
+		return (ServletRequest)Proxy.newProxyInstance(
+									getClass().getClassLoader(),
+									new Class<?>[] {ServletRequest.class},
+									new RequestHandler(request));
+	}
+
+	private ServletResponse createResponse(OutputStream output) {
+
+		return (ServletResponse)Proxy.newProxyInstance(
+									getClass().getClassLoader(),
+									new Class<?>[] {HttpServletResponse.class},
+									new ResponseHandler(output));
+	}
+
+	private boolean compressed(byte[] bytes) throws IOException {
+
+		return RNetCompression.compressedFormat(new ByteArrayInputStream(bytes));
+	}
+
+	private boolean binary(byte[] bytes) throws IOException {
+
+		return XDocument.binaryFormat(new ByteArrayInputStream(decompress(bytes)));
+	}
+
+	private byte[] decompress(byte[] bytes) throws IOException {
+
+		if (compressed(bytes)) {
+
+			InputStream input = new ByteArrayInputStream(bytes);
+
+			return readFully(RNetCompression.toDecompressing(input));
+		}
+
+		return bytes;
+	}
+
+	private byte[] readFully(InputStream input) throws IOException {
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		byte[] buffer = new byte[TRANSFER_BUFFER_SIZE];
+		int count;
+
+		while ((count = input.read(buffer)) != -1) {
+
+			bytes.write(buffer, 0, count);
+		}
+
+		return bytes.toByteArray();
+	}
+}
@@ -24,6 +24,9 @@
 
 package uk.ac.manchester.cs.mekon.remote;
 
+import org.junit.Test;
+import static org.junit.Assert.*;
+
 import uk.ac.manchester.cs.mekon.model.*;
 
 /**
@@ -31,8 +34,20 @@ import uk.ac.manchester.cs.mekon.model.*;
  */
 public class RemoteIFrameTest extends IFrameTest {
 
+	private MekonRemoteTestModel remoteModel = null;
+
+	@Test
+	public void test_subsumption_viaInstanceSessions() {
+
+		test_subsumption();
+
+		assertTrue(remoteModel.getInstanceSessionRequests() > 0);
+	}
+
 	protected CModel resolveClientModel(CModel serverModel) {
 
-		return new MekonRemoteTestModel(serverModel).clientModel;
+		remoteModel = new MekonRemoteTestModel(serverModel);
+
+		return remoteModel.clientModel;
 	}
 }
@@ -0,0 +1,160 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.remote;
+
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+import uk.ac.manchester.cs.mekon.model.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class RemoteInstanceSessionsTest {
+
+	static private final CIdentity SLOT_ID = new CIdentity("sac", "sac");
+
+	static private final int CLIENT_SESSIONS_LIMIT = 50;
+	static private final long EXPIRY_WAIT = 20;
+	static private final long DEFAULT_TIMEOUT = 30 * 60 * 1000;
+
+	private TestInstances instances;
+	private MekonRemoteTestModel remoteModel;
+
+	@Before
+	public void setUp() {
+
+		TestCModel model = new TestCModel();
+
+		instances = new TestInstances(model);
+		remoteModel = new MekonRemoteTestModel(model.serverModel);
+
+		model.setClientModel(remoteModel.clientModel);
+	}
+
+	@Test
+	public void test_sessionUpdates() {
+
+		IFrame instance = instances.getBasic();
+		int sessionRequests = remoteModel.getInstanceSessionRequests();
+
+		testReplaceValue(instance);
+
+		assertTrue(remoteModel.getInstanceSessionRequests() > sessionRequests);
+		assertEquals(0, remoteModel.getInvalidatedInstanceSessions());
+	}
+
+	@Test
+	public void test_invalidatedSessionFallback() {
+
+		IFrame instance = instances.getBasic();
+
+		remoteModel.restartServer();
+
+		testReplaceValue(instance);
+		assertEquals(1, remoteModel.getInvalidatedInstanceSessions());
+
+		testReplaceValue(instance);
+		assertEquals(1, remoteModel.getInvalidatedInstanceSessions());
+	}
+
+	@Test
+	public void test_serverSessionExpiry() throws InterruptedException {
+
+		IFrame instance = instances.getBasic();
+
+		remoteModel.setInstanceSessionTimeout(0);
+		Thread.sleep(EXPIRY_WAIT);
+
+		testClearValues(instance);
+		assertEquals(1, remoteModel.getInvalidatedInstanceSessions());
+
+		remoteModel.setInstanceSessionTimeout(DEFAULT_TIMEOUT);
+
+		testAddValue(instance);
+		assertEquals(1, remoteModel.getInvalidatedInstanceSessions());
+	}
+
+	@Test
+	public void test_clientSessionEviction() {
+
+		List<IFrame> createdInstances = new ArrayList<IFrame>();
+
+		for (int i = 0 ; i <= CLIENT_SESSIONS_LIMIT ; i++) {
+
+			createdInstances.add(instances.getBasic());
+		}
+
+		int discardRequests = remoteModel.getInstanceSessionDiscardRequests();
+
+		assertTrue(discardRequests > 0);
+		assertEquals(discardRequests, remoteModel.getDiscardedInstanceSessions());
+
+		int sessionRequests = remoteModel.getInstanceSessionRequests();
+
+		testClearValues(createdInstances.get(0));
+
+		assertEquals(sessionRequests, remoteModel.getInstanceSessionRequests());
+		assertEquals(0, remoteModel.getInvalidatedInstanceSessions());
+	}
+
+	private void testReplaceValue(IFrame instance) {
+
+		testClearValues(instance);
+		testAddValue(instance);
+	}
+
+	private void testClearValues(IFrame instance) {
+
+		ISlot slot = getSlot(instance);
+
+		slot.getValuesEditor().clear();
+		assertTrue(slot.getValues().isEmpty());
+	}
+
+	private void testAddValue(IFrame instance) {
+
+		ISlot slot = getSlot(instance);
+		IFrame value = createValue(slot);
+
+		slot.getValuesEditor().add(value);
+		assertEquals(Arrays.asList(value), slot.getValues().asList());
+	}
+
+	private ISlot getSlot(IFrame instance) {
+
+		return instance.getSlots().get(SLOT_ID);
+	}
+
+	private IFrame createValue(ISlot slot) {
+
+		CFrame type = (CFrame)slot.getValueType();
+
+		return FramesTestUtils.createIFrame(type);
+	}
+}
@@ -43,6 +43,10 @@ public abstract class IStoreAccessTest {
 	static private final CIdentity FIRST_ID = new CIdentity("First");
 	static private final CIdentity SECOND_ID = new CIdentity("Second");
 
+	static private final String PAGED_ID_PREFIX = "Paged";
+	static private final int PAGED_INSTANCES = 5;
+	static private final int PAGE_SIZE = 2;
+
 	private IStore store;
 	private TestInstances instances;
 
@@ -74,6 +78,21 @@ public abstract class IStoreAccessTest {
 		testRemove();
 	}
 
+	@Test
+	public void test_storeAllAndRemoveAll() {
+
+		Map<CIdentity, IFrame> all = new HashMap<CIdentity, IFrame>();
+
+		all.put(FIRST_ID, createInstance(FIRST_ID));
+		all.put(SECOND_ID, createInstance(SECOND_ID));
+
+		assertTrue(store.addAll(all).isEmpty());
+		testStoredIds(FIRST_ID, SECOND_ID);
+
+		assertTrue(store.removeAll(all.keySet()));
+		testStoredIds();
+	}
+
 	@Test
 	public void test_storeAndRetrieve() {
 
@@ -89,6 +108,37 @@ public abstract class IStoreAccessTest {
 		testRetrieve();
 	}
 
+	@Test
+	public void test_matchPagesAndTopMatches() {
+
+		IFrame query = createAndStorePagedInstances();
+		List<CIdentity> allMatches = store.match(query).getAllMatches();
+
+		assertEquals(PAGED_INSTANCES, allMatches.size());
+
+		List<CIdentity> topMatches = store.match(query, PAGE_SIZE).getAllMatches();
+
+		assertEquals(allMatches.subList(0, PAGE_SIZE), topMatches);
+
+		IMatchesCursor cursor = store.openMatchesCursor(query);
+		List<CIdentity> pagedMatches = new ArrayList<CIdentity>();
+
+		assertEquals(PAGED_INSTANCES, cursor.getTotalMatches());
+
+		while (cursor.moreMatches()) {
+
+			List<CIdentity> page = cursor.getNextMatches(PAGE_SIZE).getAllMatches();
+
+			assertTrue(page.size() <= PAGE_SIZE);
+			pagedMatches.addAll(page);
+		}
+
+		cursor.close();
+
+		assertEquals(allMatches, pagedMatches);
+		assertFalse(cursor.getNextMatches(PAGE_SIZE).anyMatches());
+	}
+
 	protected abstract TestCModel createTestModel();
 
 	protected abstract IStore createStore();
@@ -124,6 +174,22 @@ public abstract class IStoreAccessTest {
 		testStoredIds();
 	}
 
+	private IFrame createAndStorePagedInstances() {
+
+		IFrame instance = null;
+
+		instances.setTypesPrefix(PAGED_ID_PREFIX + "Type");
+
+		for (int i = 0 ; i < PAGED_INSTANCES ; i++) {
+
+			instance = instances.getBasic();
+
+			store.add(instance, new CIdentity(PAGED_ID_PREFIX + i));
+		}
+
+		return instance.getType().instantiateQuery();
+	}
+
 	private IFrame createAndStoreInstance(CIdentity id) {
 
 		IFrame instance = createInstance(id);
@@ -25,11 +25,13 @@
 package uk.ac.manchester.cs.mekon.store.disk;
 
 import java.util.*;
+import java.util.concurrent.*;
 
 import org.junit.Test;
 import static org.junit.Assert.*;
 
 import uk.ac.manchester.cs.mekon.model.*;
+import uk.ac.manchester.cs.mekon.model.motor.*;
 import uk.ac.manchester.cs.mekon.store.*;
 import uk.ac.manchester.cs.mekon.store.motor.*;
 
@@ -41,12 +43,285 @@ public class IDiskStoreAccessTest extends IStoreAccessTest {
 	static private final CIdentity FIRST_ID = new CIdentity("First");
 	static private final CIdentity SECOND_ID = new CIdentity("Second");
 
+	static private final String FAILING_BATCH_INSTANCE_NAME = "Failing";
+
 	private TestCModel model;
 	private IDiskStore store;
 
+	private RegenMonitorIReasoner regenMonitor = new RegenMonitorIReasoner();
+
 	private IFrame first = null;
 	private IFrame second = null;
 
+	private class ConcurrentAccessTester {
+
+		static private final int WRITER_COUNT = 4;
+		static private final int READER_COUNT = 4;
+		static private final int ITERATIONS = 25;
+
+		private CFrame type = model.serverCFrames.create("Concurrent");
+		private IFrame query = type.instantiateQuery();
+
+		private List<Throwable> failures = new CopyOnWriteArrayList<Throwable>();
+		private CountDownLatch startSignal = new CountDownLatch(1);
+
+		private abstract class Accessor extends Thread {
+
+			public void run() {
+
+				try {
+
+					startSignal.await();
+
+					for (int i = 0 ; i < ITERATIONS ; i++) {
+
+						access(i);
+					}
+				}
+				catch (Throwable t) {
+
+					failures.add(t);
+				}
+			}
+
+			abstract void access(int iteration);
+		}
+
+		private class Writer extends Accessor {
+
+			private String prefix;
+
+			Writer(int index) {
+
+				prefix = "W" + index + "-";
+			}
+
+			void access(int iteration) {
+
+				CIdentity id = new CIdentity(prefix + iteration);
+
+				store.add(type.instantiate(), id);
+
+				assertTrue(store.contains(id));
+				assertNotNull(store.getType(id));
+				assertNotNull(store.get(id).getRootFrame());
+				assertTrue(store.match(query).getAllMatches().contains(id));
+
+				if (iteration % 2 == 0) {
+
+					assertTrue(store.remove(id));
+				}
+			}
+		}
+
+		private class Reader extends Accessor {
+
+			void access(int iteration) {
+
+				for (CIdentity id : store.getAllIdentities()) {
+
+					store.getType(id);
+					store.get(id);
+				}
+
+				store.match(query);
+				assertTrue(store.matches(query, type.instantiate()));
+			}
+		}
+
+		void test() throws InterruptedException {
+
+			List<Thread> accessors = new ArrayList<Thread>();
+
+			for (int i = 0 ; i < WRITER_COUNT ; i++) {
+
+				accessors.add(new Writer(i));
+			}
+
+			for (int i = 0 ; i < READER_COUNT ; i++) {
+
+				accessors.add(new Reader());
+			}
+
+			for (Thread accessor : accessors) {
+
+				accessor.start();
+			}
+
+			startSignal.countDown();
+
+			for (Thread accessor : accessors) {
+
+				accessor.join();
+			}
+
+			assertTrue(failures.toString(), failures.isEmpty());
+
+			int expectInstances = WRITER_COUNT * (ITERATIONS / 2);
+
+			assertEquals(expectInstances, store.getAllIdentities().size());
+			assertEquals(expectInstances, store.match(query).getAllMatches().size());
+		}
+	}
+
+	private class RegenMonitorIReasoner extends IReasonerDefault {
+
+		private boolean monitoring = false;
+
+		private int activeCalls = 0;
+		private boolean overlappingCalls = false;
+
+		public void initialise(IFrame frame, IEditor iEditor, boolean initSlotValues) {
+
+			startCall();
+
+			try {
+
+				super.initialise(frame, iEditor, initSlotValues);
+			}
+			finally {
+
+				endCall();
+			}
+		}
+
+		public Set<IUpdateOp> update(IFrame frame, IEditor iEditor, Set<IUpdateOp> ops) {
+
+			startCall();
+
+			try {
+
+				return super.update(frame, iEditor, ops);
+			}
+			finally {
+
+				endCall();
+			}
+		}
+
+		void startMonitoring() {
+
+			monitoring = true;
+		}
+
+		synchronized boolean overlappingCalls() {
+
+			return overlappingCalls;
+		}
+
+		private void startCall() {
+
+			if (monitoring) {
+
+				registerCallStart();
+				pause();
+			}
+		}
+
+		private void endCall() {
+
+			if (monitoring) {
+
+				registerCallEnd();
+			}
+		}
+
+		private synchronized void registerCallStart() {
+
+			if (++activeCalls > 1) {
+
+				overlappingCalls = true;
+			}
+		}
+
+		private synchronized void registerCallEnd() {
+
+			activeCalls--;
+		}
+
+		private void pause() {
+
+			try {
+
+				Thread.sleep(1);
+			}
+			catch (InterruptedException e) {
+
+				throw new Error(e);
+			}
+		}
+	}
+
+	private class ConcurrentRegenTester {
+
+		static private final int INSTANCE_COUNT = 8;
+		static private final int READER_COUNT = 4;
+
+		private CFrame type = model.serverCFrames.create("Reasoned");
+		private List<CIdentity> ids = new ArrayList<CIdentity>();
+
+		private List<Throwable> failures = new CopyOnWriteArrayList<Throwable>();
+		private CountDownLatch startSignal = new CountDownLatch(1);
+
+		private class Reader extends Thread {
+
+			public void run() {
+
+				try {
+
+					startSignal.await();
+
+					for (CIdentity id : ids) {
+
+						assertNotNull(store.get(id).getRootFrame());
+					}
+				}
+				catch (Throwable t) {
+
+					failures.add(t);
+				}
+			}
+		}
+
+		ConcurrentRegenTester() {
+
+			for (int i = 0 ; i < INSTANCE_COUNT ; i++) {
+
+				CIdentity id = new CIdentity("R" + i);
+
+				store.add(type.instantiate(), id);
+				ids.add(id);
+			}
+		}
+
+		void test() throws InterruptedException {
+
+			List<Thread> readers = new ArrayList<Thread>();
+
+			for (int i = 0 ; i < READER_COUNT ; i++) {
+
+				readers.add(new Reader());
+			}
+
+			regenMonitor.startMonitoring();
+
+			for (Thread reader : readers) {
+
+				reader.start();
+			}
+
+			startSignal.countDown();
+
+			for (Thread reader : readers) {
+
+				reader.join();
+			}
+
+			assertTrue(failures.toString(), failures.isEmpty());
+			assertFalse(regenMonitor.overlappingCalls());
+		}
+	}
+
 	private class TestMatcher implements IMatcher {
 
 		final IFrame instance;
@@ -128,6 +403,123 @@ public class IDiskStoreAccessTest extends IStoreAccessTest {
 		}
 	}
 
+	private class TestBatchMatcher implements IBatchMatcher {
+
+		private CFrame type = model.serverCFrames.create("Batched");
+		private List<String> events = new ArrayList<String>();
+
+		private Set<CIdentity> contents = new HashSet<CIdentity>();
+		private boolean failBatchStarts = false;
+
+		public void initialise(IMatcherConfig config) {
+		}
+
+		public boolean handlesType(CFrame type) {
+
+			return type == this.type;
+		}
+
+		public void add(IFrame instance, CIdentity identity) {
+
+			if (identity.getIdentifier().equals(FAILING_BATCH_INSTANCE_NAME)) {
+
+				throw new RuntimeException("Failing batch-instance: " + identity);
+			}
+
+			contents.add(identity);
+			events.add("add");
+		}
+
+		public void remove(CIdentity identity) {
+
+			contents.remove(identity);
+			events.add("remove");
+		}
+
+		public IMatches match(IFrame query) {
+
+			return new IUnrankedMatches(new ArrayList<CIdentity>(contents));
+		}
+
+		public boolean matches(IFrame query, IFrame instance) {
+
+			return false;
+		}
+
+		public void stop() {
+		}
+
+		public void startBatch() {
+
+			if (failBatchStarts) {
+
+				throw new RuntimeException("Failing batch-start");
+			}
+
+			events.add("start");
+		}
+
+		public void endBatch() {
+
+			events.add("end");
+		}
+
+		public void failBatch() {
+
+			events.add("fail");
+		}
+
+		TestBatchMatcher() {
+
+			store.addMatcher(this);
+		}
+
+		Map<CIdentity, IFrame> createInstances(String... names) {
+
+			Map<CIdentity, IFrame> instances = new LinkedHashMap<CIdentity, IFrame>();
+
+			for (String name : names) {
+
+				instances.put(new CIdentity(name), type.instantiate());
+			}
+
+			return instances;
+		}
+
+		void setFailBatchStarts(boolean failBatchStarts) {
+
+			this.failBatchStarts = failBatchStarts;
+		}
+
+		void testEvents(String... expectEvents) {
+
+			assertEquals(Arrays.asList(expectEvents), events);
+
+			events.clear();
+		}
+
+		void testStoreAndMatcherContents(String... expectNames) {
+
+			Set<CIdentity> expectIds = new HashSet<CIdentity>();
+
+			for (String name : expectNames) {
+
+				expectIds.add(new CIdentity(name));
+			}
+
+			IFrame query = type.instantiate(IFrameFunction.QUERY);
+			List<CIdentity> matchIds = store.match(query).getAllMatches();
+
+			assertEquals(expectIds, new HashSet<CIdentity>(store.getAllIdentities()));
+			assertEquals(expectIds, new HashSet<CIdentity>(matchIds));
+
+			for (CIdentity id : expectIds) {
+
+				assertNotNull(store.get(id));
+			}
+		}
+	}
+
 	@Test
 	public void test_matching() {
 
@@ -144,13 +536,163 @@ public class IDiskStoreAccessTest extends IStoreAccessTest {
 		matcherB.removeMatcherInstanceFromStore();
 	}
 
+	@Test
+	public void test_batchUpdates() {
+
+		TestBatchMatcher matcher = new TestBatchMatcher();
+		Map<CIdentity, IFrame> instances = matcher.createInstances("B1", "B2");
+		Map<CIdentity, IFrame> replacements = matcher.createInstances("B1");
+
+		assertTrue(store.addAll(instances).isEmpty());
+		matcher.testEvents("start", "add", "add", "end");
+
+		assertEquals(instances.keySet(), new HashSet<CIdentity>(store.getAllIdentities()));
+
+		assertEquals(replacements.keySet(), store.addAll(replacements).keySet());
+		matcher.testEvents("start", "remove", "add", "end");
+
+		assertTrue(store.removeAll(instances.keySet()));
+		matcher.testEvents("start", "remove", "remove", "end");
+
+		assertTrue(store.getAllIdentities().isEmpty());
+
+		assertFalse(store.removeAll(instances.keySet()));
+		matcher.testEvents("start", "end");
+	}
+
+	@Test
+	public void test_failedBatchUpdate() {
+
+		TestBatchMatcher matcher = new TestBatchMatcher();
+
+		assertTrue(store.addAll(matcher.createInstances("B1")).isEmpty());
+		matcher.testEvents("start", "add", "end");
+
+		try {
+
+			store.addAll(
+				matcher.createInstances(
+					"B2",
+					FAILING_BATCH_INSTANCE_NAME,
+					"B3"));
+
+			fail("Expected exception from matcher");
+		}
+		catch (RuntimeException e) {
+
+			matcher.testEvents("start", "add", "fail");
+		}
+
+		matcher.testStoreAndMatcherContents("B1", "B2");
+		assertNull(store.get(new CIdentity(FAILING_BATCH_INSTANCE_NAME)));
+
+		assertTrue(store.addAll(matcher.createInstances("B3")).isEmpty());
+		matcher.testEvents("start", "add", "end");
+
+		matcher.testStoreAndMatcherContents("B1", "B2", "B3");
+	}
+
+	@Test
+	public void test_failedBatchStartReleasesStore() throws Exception {
+
+		final TestBatchMatcher matcher = new TestBatchMatcher();
+
+		matcher.setFailBatchStarts(true);
+
+		try {
+
+			store.addAll(matcher.createInstances("B1"));
+
+			fail("Expected exception from matcher");
+		}
+		catch (RuntimeException e) {
+
+			matcher.testEvents();
+		}
+
+		matcher.setFailBatchStarts(false);
+
+		FutureTask<Boolean> otherThreadAdd = new FutureTask<Boolean>(
+			new Callable<Boolean>() {
+
+				public Boolean call() {
+
+					return store.addAll(matcher.createInstances("B2")).isEmpty();
+				}
+			});
+
+		new Thread(otherThreadAdd).start();
+
+		assertTrue(otherThreadAdd.get(10, TimeUnit.SECONDS));
+		matcher.testEvents("start", "add", "end");
+
+		matcher.testStoreAndMatcherContents("B2");
+	}
+
+	@Test
+	public void test_concurrentAccess() throws InterruptedException {
+
+		new ConcurrentAccessTester().test();
+	}
+
+	@Test
+	public void test_concurrentRegenerationWithReasoner() throws InterruptedException {
+
+		new ConcurrentRegenTester().test();
+	}
+
+	@Test
+	public void test_instanceCache() {
+
+		CFrame type = model.serverCFrames.create("Cached");
+		CIdentity id = new CIdentity("Cached");
+		IFrame instance = type.instantiate();
+
+		store.setInstanceCacheSize(10);
+		store.add(instance, id);
+
+		IFrame first = store.get(id).getRootFrame();
+		IFrame second = store.get(id).getRootFrame();
+		IFrame free = store.regenOrNull(id, true);
+
+		assertNotSame(first, second);
+		assertTrue(first.equalsStructure(instance));
+		assertTrue(second.equalsStructure(instance));
+		assertTrue(free.equalsStructure(store.regenOrNull(id, true)));
+
+		testInstanceCacheStats(1, 1, 2, 2);
+
+		store.add(type.instantiate(), id);
+		testInstanceCacheStats(0, 0, 3, 2);
+
+		store.get(id);
+		store.remove(id);
+
+		assertNull(store.get(id));
+		testInstanceCacheStats(0, 0, 4, 3);
+	}
+
 	protected TestCModel createTestModel() {
 
-		model = new TestCModel();
+		model = new TestCModel(regenMonitor);
 
 		return model;
 	}
 
+	private void testInstanceCacheStats(
+					int expectInstances,
+					int expectFreeInstances,
+					long expectHits,
+					long expectMisses) {
+
+		IInstanceCacheStats stats = store.getInstanceCacheStats();
+
+		assertEquals(expectInstances, stats.getCachedInstances());
+		assertEquals(expectFreeInstances, stats.getCachedFreeInstances());
+		assertEquals(expectHits, stats.getHits());
+		assertEquals(expectMisses, stats.getMisses());
+	}
+
 	protected IStore createStore() {
 
 		store = new IDiskStore(model.serverModel);
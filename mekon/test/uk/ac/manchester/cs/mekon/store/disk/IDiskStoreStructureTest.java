@@ -64,6 +64,7 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 		int instances = 0;
 
 		boolean log = false;
+		boolean segment = false;
 
 		StoreFileCounter(File dir) {
 
@@ -81,6 +82,10 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 
 					log = true;
 				}
+				else if (fileName.equals(SEGMENT_FILE_NAME)) {
+
+					segment = true;
+				}
 			}
 		}
 	}
@@ -103,6 +108,7 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 		if (store != null) {
 
 			store.clear();
+			store.stop();
 			deleteStructure(storeDir);
 		}
 
@@ -184,6 +190,62 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 		testMainStoreDirectory(DEFAULT_DIR, 4);
 	}
 
+	@Test
+	public void test_segmentFileStructure() {
+
+		structureBuilder.setMainDirectory(TEST_DIR);
+		structureBuilder.setFormat(IDiskStoreFormat.SEGMENT_FILE);
+		initialiseStore();
+
+		testSegmentFileStore(4);
+
+		store.remove(new CIdentity("A-QUERY"));
+		reloadStore();
+
+		testSegmentFileStore(3);
+	}
+
+	@Test
+	public void test_migrationToSegmentFile() {
+
+		structureBuilder.setMainDirectory(TEST_DIR);
+		createSubStoreStructure(false);
+		initialiseStore();
+
+		testSubStoreDirectory(SUBSTORE_A_NAME, 2);
+
+		structureBuilder.setFormat(IDiskStoreFormat.SEGMENT_FILE);
+		reloadStore();
+
+		testSegmentFileStore(4);
+		testSubStoreDirectory(SUBSTORE_A_NAME, 0);
+	}
+
+	@Test
+	public void test_parallelReload() {
+
+		structureBuilder.setMainDirectory(TEST_DIR);
+		initialiseStore();
+		reloadStore();
+
+		IFrame query = FramesTestUtils.createIFrame(typeA, IFrameFunction.QUERY);
+
+		List<CIdentity> identities = store.getAllIdentities();
+		List<CIdentity> matches = store.match(query).getAllMatches();
+
+		reloadStore(4);
+
+		assertEquals(identities, store.getAllIdentities());
+		assertEquals(matches, store.match(query).getAllMatches());
+
+		testMainStoreDirectory(TEST_DIR, 4);
+
+		for (CIdentity identity : identities) {
+
+			assertNotNull(store.get(identity).getRootFrame());
+		}
+	}
+
 	protected IStore getStore() {
 
 		return store;
@@ -220,6 +282,22 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 		addInstance(typeB, "B-QUERY", IFrameFunction.QUERY);
 	}
 
+	private void reloadStore() {
+
+		reloadStore(1);
+	}
+
+	private void reloadStore(int reloadParallelism) {
+
+		store.stop();
+
+		structure = structureBuilder.build(model);
+		store = new IDiskStore(model, structure);
+
+		store.setReloadParallelism(reloadParallelism);
+		store.initialisePostRegistration();
+	}
+
 	private void addInstance(CFrame type, String instanceId, IFrameFunction function) {
 
 		store.add(FramesTestUtils.createIFrame(type, function), new CIdentity(instanceId));
@@ -257,6 +335,22 @@ public class IDiskStoreStructureTest implements IDiskStoreNames {
 		testSubStoreDirectory(IDiskStoreNames.queriesSubDirName(subStoreName), expectInstances);
 	}
 
+	private void testSegmentFileStore(int expectInstances) {
+
+		StoreFileCounter fileCounter = new StoreFileCounter(storeDir);
+
+		assertEquals(0, fileCounter.profiles);
+		assertEquals(0, fileCounter.instances);
+		assertTrue(fileCounter.segment);
+
+		assertEquals(expectInstances, store.getAllIdentities().size());
+
+		for (CIdentity identity : store.getAllIdentities()) {
+
+			assertNotNull(store.get(identity).getRootFrame());
+		}
+	}
+
 	private void testStoreFiles(File dir, int expectInstances, boolean expectLog) {
 
 		StoreFileCounter fileCounter = new StoreFileCounter(dir);
@@ -43,34 +43,34 @@ import uk.ac.manchester.cs.mekon.test_util.*;
  */
 public abstract class IMatcherTest extends DemoModelBasedTest {
 
-	static private final CIdentity UNDERGRAD_TEACHING_JOB_ID = createInstanceId("UndergradTeaching");
-	static private final CIdentity POSTGRAD_TEACHING_JOB_ID = createInstanceId("PostgradTeaching");
-	static private final CIdentity ACADEMIC_RESEARCHING_JOB_ID = createInstanceId("AcademicResearching");
-	static private final CIdentity DOCTORING_JOB_ID = createInstanceId("Doctoring");
+	static protected final CIdentity UNDERGRAD_TEACHING_JOB_ID = createInstanceId("UndergradTeaching");
+	static protected final CIdentity POSTGRAD_TEACHING_JOB_ID = createInstanceId("PostgradTeaching");
+	static protected final CIdentity ACADEMIC_RESEARCHING_JOB_ID = createInstanceId("AcademicResearching");
+	static protected final CIdentity DOCTORING_JOB_ID = createInstanceId("Doctoring");
 
-	static private final CIdentity DOCTOR_EMPLOYMENT_ID = createInstanceId("DoctorEmployment");
+	static protected final CIdentity DOCTOR_EMPLOYMENT_ID = createInstanceId("DoctorEmployment");
 
-	static private final CIdentity UNDERGRAD_TEACHER_ID = createInstanceId("UndergradTeacher");
-	static private final CIdentity POSTGRAD_TEACHER_ID = createInstanceId("PostgradTeacher");
-	static private final CIdentity ACADEMIC_RESEARCHER_ID = createInstanceId("AcademicResearcher");
-	static private final CIdentity DOCTOR_ID = createInstanceId("Doctor");
+	static protected final CIdentity UNDERGRAD_TEACHER_ID = createInstanceId("UndergradTeacher");
+	static protected final CIdentity POSTGRAD_TEACHER_ID = createInstanceId("PostgradTeacher");
+	static protected final CIdentity ACADEMIC_RESEARCHER_ID = createInstanceId("AcademicResearcher");
+	static protected final CIdentity DOCTOR_ID = createInstanceId("Doctor");
 
-	static private final CIdentity BOB_ID = createInstanceId("Bob");
-	static private final CIdentity BOBS_LODGER_ID = createInstanceId("BobsLodger");
+	static protected final CIdentity BOB_ID = createInstanceId("Bob");
+	static protected final CIdentity BOBS_LODGER_ID = createInstanceId("BobsLodger");
 
-	static private final int MIN_PAY_RATE = 10;
-	static private final int MAX_PAY_RATE = 20;
+	static protected final int MIN_PAY_RATE = 10;
+	static protected final int MAX_PAY_RATE = 20;
 
-	static private final int LOW_PAY_RATE = 14;
-	static private final int MID_PAY_RATE = 15;
-	static private final int HIGH_PAY_RATE = 16;
+	static protected final int LOW_PAY_RATE = 14;
+	static protected final int MID_PAY_RATE = 15;
+	static protected final int HIGH_PAY_RATE = 16;
 
-	static private final IString BOB_NAME = createIString("Bob Bell");
-	static private final IString BOB_ADDRESS = createIString("66 Bob Street, Bobsville");
-	static private final IString BOBS_LODGER_NAME = createIString("Jim the lodger");
-	static private final IString BOB_OR_LODGER_NAMES_REGEX = createIString("Bob Bell|Jim the lodger");
+	static protected final IString BOB_NAME = createIString("Bob Bell");
+	static protected final IString BOB_ADDRESS = createIString("66 Bob Street, Bobsville");
+	static protected final IString BOBS_LODGER_NAME = createIString("Jim the lodger");
+	static protected final IString BOB_OR_LODGER_NAMES_REGEX = createIString("Bob Bell|Jim the lodger");
 
-	static class RegexStringMatcher implements ICustomStringMatcher {
+	static public class RegexStringMatcher implements ICustomStringMatcher {
 
 		public boolean matches(String queryValue, String instanceValue) {
 
@@ -78,7 +78,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		}
 	}
 
-	static class ComplementFrameMatcher implements ICustomFrameMatcher {
+	static public class ComplementFrameMatcher implements ICustomFrameMatcher {
 
 		public boolean matches(IFrame queryValue, IFrame instanceValue) {
 
@@ -86,7 +86,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		}
 	}
 
-	static class ComplementNumberMatcher implements ICustomNumberMatcher {
+	static public class ComplementNumberMatcher implements ICustomNumberMatcher {
 
 		public boolean matches(INumber queryValue, INumber instanceValue) {
 
@@ -235,10 +235,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 			return;
 		}
 
-		setIndustrySector(undergradTeachingJob, PUBLIC);
-		setIndustrySector(postgradTeachingJob, PRIVATE);
-		setIndustrySector(academicResearchJob, PRIVATE);
-		setIndustrySector(doctoringJob, PRIVATE);
+		setJobIndustrySectors();
 
 		testMatching(
 			createHealthOrPublicSectorAcademicQuery(),
@@ -299,10 +296,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 	@Test
 	public void test_numberBasedQueries() {
 
-		setHourlyRate(undergradTeachingJob, LOW_PAY_RATE);
-		setHourlyRate(postgradTeachingJob, MID_PAY_RATE);
-		setHourlyRate(academicResearchJob, MID_PAY_RATE);
-		setHourlyRate(doctoringJob, HIGH_PAY_RATE);
+		setJobHourlyRates();
 
 		testMatching(
 			createPayRateQuery(MIN_PAY_RATE, MAX_PAY_RATE),
@@ -382,10 +376,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 	@Test
 	public void test_customNumberMatchQueries() {
 
-		setHourlyRate(undergradTeachingJob, LOW_PAY_RATE);
-		setHourlyRate(postgradTeachingJob, MID_PAY_RATE);
-		setHourlyRate(academicResearchJob, MID_PAY_RATE);
-		setHourlyRate(doctoringJob, HIGH_PAY_RATE);
+		setJobHourlyRates();
 
 		testMatching(
 			createPayRateQuery(MIN_PAY_RATE, HIGH_PAY_RATE - 1),
@@ -430,11 +421,27 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return matcher;
 	}
 
-	private void addValueMatchCustomiser(CIdentity slotId, ICustomValueMatcher matcher) {
+	protected void addValueMatchCustomiser(CIdentity slotId, ICustomValueMatcher matcher) {
 
 		addValueMatchCustomiser(new IValueMatchCustomiser(matcher, slotId));
 	}
 
+	protected void setJobHourlyRates() {
+
+		setHourlyRate(undergradTeachingJob, LOW_PAY_RATE);
+		setHourlyRate(postgradTeachingJob, MID_PAY_RATE);
+		setHourlyRate(academicResearchJob, MID_PAY_RATE);
+		setHourlyRate(doctoringJob, HIGH_PAY_RATE);
+	}
+
+	protected void setJobIndustrySectors() {
+
+		setIndustrySector(undergradTeachingJob, PUBLIC);
+		setIndustrySector(postgradTeachingJob, PRIVATE);
+		setIndustrySector(academicResearchJob, PRIVATE);
+		setIndustrySector(doctoringJob, PRIVATE);
+	}
+
 	private IFrame addUndergradTeachingJob() {
 
 		return addAcademicTeachingJob(UNDERGRAD_TEACHING_JOB_ID, UNDERGRAD);
@@ -590,7 +597,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return job;
 	}
 
-	private IFrame createAcademiaQuery() {
+	protected IFrame createAcademiaQuery() {
 
 		IFrame job = createJobQuery();
 		IFrame industry = createQueryIFrame(ACADEMIA);
@@ -610,7 +617,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return createStudentTeachingQuery(POSTGRAD);
 	}
 
-	private IFrame createPostOrUndergradTeachingQuery() {
+	protected IFrame createPostOrUndergradTeachingQuery() {
 
 		CFrame studentTypeConcept = createPostOrUndergradDisjunction();
 		IFrame studentType = studentTypeConcept.instantiateQuery();
@@ -632,7 +639,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return job;
 	}
 
-	private IFrame createHealthOrPublicSectorAcademicQuery() {
+	protected IFrame createHealthOrPublicSectorAcademicQuery() {
 
 		IFrame job = createJobQuery();
 		IFrame health = createQueryIFrame(HEALTH);
@@ -646,7 +653,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return job;
 	}
 
-	private IFrame createPayRateQuery(int minHourlyPay, int maxHourlyPay) {
+	protected IFrame createPayRateQuery(int minHourlyPay, int maxHourlyPay) {
 
 		IFrame job = createJobQuery();
 		INumber hourlyPay = createRangeAsINumber(minHourlyPay, maxHourlyPay);
@@ -690,12 +697,12 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return createCitizenQuery(job);
 	}
 
-	private IFrame createCitizenRefQuery(CIdentity jobId) {
+	protected IFrame createCitizenRefQuery(CIdentity jobId) {
 
 		return createCitizenQuery(createRefQueryIFrame(JOB, jobId));
 	}
 
-	private IFrame createCitizenQuery(IFrame job) {
+	protected IFrame createCitizenQuery(IFrame job) {
 
 		IFrame citizen = createCitizenQuery();
 		IFrame employment = createQueryIFrame(EMPLOYMENT);
@@ -729,7 +736,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		return personal;
 	}
 
-	private IFrame createPersonalNameAddressQuery(IString name, IString address) {
+	protected IFrame createPersonalNameAddressQuery(IString name, IString address) {
 
 		IFrame personal = createQueryIFrame(PERSONAL);
 
@@ -779,7 +786,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		clientStore.add(instance, id);
 	}
 
-	private void testMatching(IFrame query, CIdentity... expectedMatchIds) {
+	protected void testMatching(IFrame query, CIdentity... expectedMatchIds) {
 
 		List<CIdentity> matchIds = clientStore.match(query).getAllMatches();
 
@@ -807,7 +814,7 @@ public abstract class IMatcherTest extends DemoModelBasedTest {
 		throw new Error("No id for: " + instance);
 	}
 
-	private <E>void testListContents(List<? extends E> got, List<? extends E> expected) {
+	protected <E>void testListContents(List<? extends E> got, List<? extends E> expected) {
 
 		MekonTestUtils.testListContents(got, expected);
 	}
@@ -0,0 +1,286 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2014 University of Manchester
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+
+package uk.ac.manchester.cs.mekon.store.disk;
+
+import java.io.*;
+import java.util.*;
+
+import org.junit.Before;
+import org.junit.After;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * @author Colin Puleston
+ */
+public class StoreSegmentTest {
+
+	static private final int LARGE_PAYLOAD_SIZE = 64 * 1024;
+	static private final int OVERWRITES = 40;
+
+	private File file;
+	private StoreSegment segment;
+
+	@Before
+	public void setUp() throws IOException {
+
+		file = File.createTempFile("mekon-segment", ".dat");
+		segment = new StoreSegment(file);
+
+		segment.open();
+	}
+
+	@After
+	public void clearUp() {
+
+		segment.close();
+		file.delete();
+	}
+
+	@Test
+	public void test_putAndRemove() {
+
+		put(1, "A");
+		put(2, "B");
+		put(1, "C");
+		segment.remove(2);
+
+		testContents(1, "C");
+
+		reopen();
+
+		testContents(1, "C");
+	}
+
+	@Test
+	public void test_tornTailRecovery() throws IOException {
+
+		put(1, "A");
+		put(2, "B");
+
+		long validLength = file.length();
+
+		put(3, "C");
+		segment.close();
+
+		truncateFile(file.length() - 3);
+		segment.open();
+
+		testContents(1, "A", 2, "B");
+		assertEquals(validLength, file.length());
+
+		put(3, "D");
+		reopen();
+
+		testContents(1, "A", 2, "B", 3, "D");
+	}
+
+	@Test
+	public void test_corruptTailRecovery() throws IOException {
+
+		put(1, "A");
+		put(2, "B");
+
+		long validLength = file.length();
+
+		segment.close();
+
+		appendToFile(new byte[] {0x4D, 0x4B, 0x53, 0x47, 1, 0, 0});
+		segment.open();
+
+		testContents(1, "A", 2, "B");
+		assertEquals(validLength, file.length());
+	}
+
+	@Test
+	public void test_compactionAfterOverwrites() {
+
+		segment.setSyncOnWrite(false);
+
+		put(1, "A");
+
+		for (int i = 0 ; i < OVERWRITES ; i++) {
+
+			putLarge(2, i);
+		}
+
+		put(3, "C");
+
+		testCompacted();
+		testContents(1, "A", 2, largeValue(OVERWRITES - 1), 3, "C");
+
+		reopen();
+
+		testContents(1, "A", 2, largeValue(OVERWRITES - 1), 3, "C");
+	}
+
+	@Test
+	public void test_compactionAfterRemoves() {
+
+		segment.setSyncOnWrite(false);
+
+		put(1, "A");
+
+		for (int i = 0 ; i < OVERWRITES ; i++) {
+
+			putLarge(i + 10, i);
+		}
+
+		for (int i = 0 ; i < OVERWRITES - 1 ; i++) {
+
+			segment.remove(i + 10);
+		}
+
+		testCompacted();
+		testContents(1, "A", OVERWRITES + 9, largeValue(OVERWRITES - 1));
+
+		put(2, "B");
+		reopen();
+
+		testContents(1, "A", 2, "B", OVERWRITES + 9, largeValue(OVERWRITES - 1));
+	}
+
+	private void put(int index, String value) {
+
+		segment.put(index, toProfile(value), toInstance(value));
+	}
+
+	private void putLarge(int index, int version) {
+
+		put(index, largeValue(version));
+	}
+
+	private String largeValue(int version) {
+
+		char[] chars = new char[LARGE_PAYLOAD_SIZE];
+
+		Arrays.fill(chars, (char)('a' + version % 26));
+
+		return version + new String(chars);
+	}
+
+	private void reopen() {
+
+		segment.close();
+		segment.open();
+	}
+
+	private void testCompacted() {
+
+		long maxLength = (long)LARGE_PAYLOAD_SIZE * 2 * (OVERWRITES / 2);
+
+		assertTrue("Segment not compacted", file.length() < maxLength);
+	}
+
+	private void testContents(Object... indexesAndValues) {
+
+		Set<Integer> expectedIndexes = new TreeSet<Integer>();
+
+		for (int i = 0 ; i < indexesAndValues.length ; i += 2) {
+
+			int index = (Integer)indexesAndValues[i];
+			String value = (String)indexesAndValues[i + 1];
+
+			expectedIndexes.add(index);
+
+			assertEquals(value, fromProfile(segment.readProfile(index)));
+			assertEquals(value, fromInstance(segment.readInstance(index)));
+		}
+
+		assertEquals(expectedIndexes, segment.getIndexes());
+	}
+
+	private byte[] toProfile(String value) {
+
+		return toBytes("profile:" + value);
+	}
+
+	private byte[] toInstance(String value) {
+
+		return toBytes("instance:" + value);
+	}
+
+	private String fromProfile(byte[] bytes) {
+
+		return fromBytes(bytes).substring("profile:".length());
+	}
+
+	private String fromInstance(byte[] bytes) {
+
+		return fromBytes(bytes).substring("instance:".length());
+	}
+
+	private byte[] toBytes(String value) {
+
+		try {
+
+			return value.getBytes("UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+
+			throw new Error(e);
+		}
+	}
+
+	private String fromBytes(byte[] bytes) {
+
+		try {
+
+			return new String(bytes, "UTF-8");
+		}
+		catch (UnsupportedEncodingException e) {
+
+			throw new Error(e);
+		}
+	}
+
+	private void truncateFile(long length) throws IOException {
+
+		RandomAccessFile access = new RandomAccessFile(file, "rw");
+
+		try {
+
+			access.setLength(length);
+		}
+		finally {
+
+			access.close();
+		}
+	}
+
+	private void appendToFile(byte[] bytes) throws IOException {
+
+		FileOutputStream output = new FileOutputStream(file, true);
+
+		try {
+
+			output.write(bytes);
+		}
+		finally {
+
+			output.close();
+		}
+	}
+}